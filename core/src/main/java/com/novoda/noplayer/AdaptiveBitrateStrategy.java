@@ -0,0 +1,21 @@
+package com.novoda.noplayer;
+
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+
+/**
+ * Strategy used to switch between video qualities of adaptive content.
+ * A reused player is recreated whenever the loaded {@link Options} carry a strategy that is not equal to the previous one.
+ *
+ * @see ThroughputAdaptiveBitrateStrategy
+ * @see BufferBasedAdaptiveBitrateStrategy
+ */
+public interface AdaptiveBitrateStrategy {
+
+    /**
+     * @param bandwidthMeter measures the network throughput of the player.
+     * @param options        the content is loaded with.
+     * @return the factory of the {@link TrackSelection}s that switch between video tracks.
+     */
+    TrackSelection.Factory createTrackSelectionFactory(BandwidthMeter bandwidthMeter, Options options);
+}
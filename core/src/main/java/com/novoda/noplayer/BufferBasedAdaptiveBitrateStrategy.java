@@ -0,0 +1,32 @@
+package com.novoda.noplayer;
+
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+import com.novoda.noplayer.internal.exoplayer.BufferBasedTrackSelection;
+
+/**
+ * Picks the quality from the amount of buffered media (BOLA), capping upward switches at the measured throughput.
+ */
+public final class BufferBasedAdaptiveBitrateStrategy implements AdaptiveBitrateStrategy {
+
+    @Override
+    public TrackSelection.Factory createTrackSelectionFactory(BandwidthMeter bandwidthMeter, Options options) {
+        return new BufferBasedTrackSelection.Factory(bandwidthMeter, Clock.DEFAULT);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BufferBasedAdaptiveBitrateStrategy";
+    }
+}
@@ -8,6 +8,7 @@ public enum DetailErrorType {
 
     // SOURCE,
     LIVE_STALE_MANIFEST_AND_NEW_MANIFEST_COULD_NOT_LOAD_ERROR,
+    BEHIND_LIVE_WINDOW_ERROR,
     PARSING_MEDIA_DATA_OR_METADATA_ERROR,
 
     AD_LOAD_ERROR_THEN_WILL_SKIP,
@@ -0,0 +1,49 @@
+package com.novoda.noplayer;
+
+import java.util.List;
+
+/**
+ * Options of {@link Options} that control how failed requests are retried and failed over to mirrors.
+ */
+final class FailoverOptions {
+
+    private final List<String> mirrorBaseUrls;
+    private final RetryPolicy retryPolicy;
+
+    FailoverOptions(List<String> mirrorBaseUrls, RetryPolicy retryPolicy) {
+        this.mirrorBaseUrls = mirrorBaseUrls;
+        this.retryPolicy = retryPolicy;
+    }
+
+    List<String> mirrorBaseUrls() {
+        return mirrorBaseUrls;
+    }
+
+    RetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        FailoverOptions that = (FailoverOptions) o;
+
+        if (!mirrorBaseUrls.equals(that.mirrorBaseUrls)) {
+            return false;
+        }
+        return retryPolicy.equals(that.retryPolicy);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mirrorBaseUrls.hashCode();
+        result = 31 * result + retryPolicy.hashCode();
+        return result;
+    }
+}
@@ -89,6 +89,21 @@ public interface Listeners {
      */
     void removeInfoListener(NoPlayer.InfoListener infoListener);
 
+    /**
+     * Add an {@link NoPlayer.InfoEventListener} to be notified of internal player callbacks
+     * without formatting parameters that are not read.
+     *
+     * @param infoEventListener to notify.
+     */
+    void addInfoEventListener(NoPlayer.InfoEventListener infoEventListener);
+
+    /**
+     * Remove a given {@link NoPlayer.InfoEventListener}.
+     *
+     * @param infoEventListener to remove.
+     */
+    void removeInfoEventListener(NoPlayer.InfoEventListener infoEventListener);
+
     /**
      * Add a {@link NoPlayer.BitrateChangedListener} to be notified of video and audio bitrate changes.
      *
@@ -110,6 +125,15 @@ public interface Listeners {
      */
     void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback);
 
+    /**
+     * Add a {@link NoPlayer.HeartbeatCallback} to be notified at the given interval during playback with a {@link NoPlayer}.
+     * Beats of every player are scheduled together, prefer the longest interval the callback can work with.
+     *
+     * @param heartbeatCallback to notify.
+     * @param intervalInMillis  time between two notifications, rounded to the shortest interval of the other callbacks.
+     */
+    void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis);
+
     /**
      * Remove a given {@link NoPlayer.HeartbeatCallback}.
      *
@@ -144,4 +168,35 @@ public interface Listeners {
      * @param droppedVideoFramesListener to remove.
      */
     void removeDroppedVideoFrames(NoPlayer.DroppedVideoFramesListener droppedVideoFramesListener);
+
+    /**
+     * Add a given {@link NoPlayer.SegmentCacheListener} to be notified of segment cache hits and misses.
+     * Only notified when the {@link NoPlayer} is built with a segment cache.
+     *
+     * @param segmentCacheListener to notify.
+     * @see PlayerBuilder#withSegmentCache(java.io.File, long)
+     */
+    void addSegmentCacheListener(NoPlayer.SegmentCacheListener segmentCacheListener);
+
+    /**
+     * Remove a given {@link NoPlayer.SegmentCacheListener}.
+     *
+     * @param segmentCacheListener to remove.
+     */
+    void removeSegmentCacheListener(NoPlayer.SegmentCacheListener segmentCacheListener);
+
+    /**
+     * Add a given {@link NoPlayer.StartupListener} to be notified with a {@link com.novoda.noplayer.model.StartupReport}
+     * once the first frame of each loaded video is rendered. Only notified by {@link PlayerType#EXO_PLAYER}.
+     *
+     * @param startupListener to notify.
+     */
+    void addStartupListener(NoPlayer.StartupListener startupListener);
+
+    /**
+     * Remove a given {@link NoPlayer.StartupListener}.
+     *
+     * @param startupListener to remove.
+     */
+    void removeStartupListener(NoPlayer.StartupListener startupListener);
 }
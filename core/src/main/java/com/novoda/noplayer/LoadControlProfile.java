@@ -0,0 +1,27 @@
+package com.novoda.noplayer;
+
+/**
+ * Buffering behaviour of the underlying player.
+ */
+public enum LoadControlProfile {
+    /**
+     * Buffer sizes of the underlying player.
+     */
+    DEFAULT,
+    /**
+     * Starts playback with less media buffered, for a faster first frame.
+     */
+    FAST_START,
+    /**
+     * Keeps a small buffer bounded in bytes, for devices with little memory.
+     */
+    LOW_MEMORY,
+    /**
+     * Buffers further ahead and keeps played media behind the playhead, for unstable networks.
+     */
+    LONG_BUFFER,
+    /**
+     * Bounds the buffer from the memory class of the device and shrinks it when the system is low on memory.
+     */
+    AUTOMATIC
+}
@@ -6,9 +6,13 @@ import android.support.annotation.FloatRange;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.InfoEvent;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+import com.novoda.noplayer.model.PlaybackStats;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.PlayerVideoTrack;
+import com.novoda.noplayer.model.StartupReport;
 import com.novoda.noplayer.model.Timeout;
 
 import java.util.List;
@@ -73,6 +77,17 @@ public interface NoPlayer extends PlayerState {
      */
     void release();
 
+    /**
+     * Starts loading the video content without requiring a {@link PlayerView}, so that a later call to
+     * {@link NoPlayer#loadVideo(Uri, Options)} with the same uri and options can start from the buffered state.
+     * The {@link NoPlayer.PreparedListener} is held back until the content is loaded.
+     * Does nothing for players that cannot prepare without a surface.
+     *
+     * @param uri     link to the content.
+     * @param options to be passed to the underlying player.
+     */
+    void preload(Uri uri, Options options);
+
     /**
      * Loads the video content and triggers the {@link NoPlayer.PreparedListener}.
      *
@@ -93,6 +108,82 @@ public interface NoPlayer extends PlayerState {
      */
     void loadVideoWithTimeout(Uri uri, Options options, Timeout timeout, LoadTimeoutCallback loadTimeoutCallback);
 
+    /**
+     * Appends content to the queue started by {@link NoPlayer#loadVideo(Uri, Options)}, which is at index 0.
+     * Queued content is prepared while the content before it plays, so that playback continues without a gap.
+     * The {@link NoPlayer.CompletionListener} is triggered once the last content of the queue has finished.
+     *
+     * @param uri     link to the content.
+     * @param options to be passed to the underlying player, only the content type applies to queued content.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    void appendToQueue(Uri uri, Options options) throws IllegalStateException;
+
+    /**
+     * Removes content from the queue, playback moves on to the following content when removing the current one.
+     *
+     * @param index of the content in the queue.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    void removeFromQueue(int index) throws IllegalStateException;
+
+    /**
+     * Moves content to another position of the queue.
+     *
+     * @param fromIndex current index of the content in the queue.
+     * @param toIndex   index of the content in the queue once moved.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    void moveInQueue(int fromIndex, int toIndex) throws IllegalStateException;
+
+    /**
+     * @return the number of contents in the queue.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    int queueSize() throws IllegalStateException;
+
+    /**
+     * @return the index of the content that is currently playing in the queue.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    int currentQueueIndex() throws IllegalStateException;
+
+    /**
+     * Calls back as soon as playback reaches a position of the content that is currently playing, without polling the playhead.
+     * The cue point is reached again after seeking back before it or when the content repeats.
+     * Cue points are removed along with the content, e.g. on {@link NoPlayer#stop()}.
+     *
+     * @param positionInMillis position in the content at which to call back.
+     * @param cuePointCallback to notify.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    void addCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException;
+
+    /**
+     * Removes a cue point added with {@link NoPlayer#addCuePoint(long, CuePointCallback)}.
+     *
+     * @param positionInMillis position the cue point was added at.
+     * @param cuePointCallback the cue point was added with.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    void removeCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException;
+
+    /**
+     * Unlike the {@link PlayerState} getters, this can be called from any thread, as it never calls into the underlying player.
+     * A new snapshot is published whenever the playback changes and on every heartbeat while playing.
+     *
+     * @return the latest {@link PlaybackSnapshot}, which can extrapolate the position in between snapshots.
+     */
+    PlaybackSnapshot getPlaybackSnapshot();
+
+    /**
+     * Like {@link NoPlayer#getPlaybackSnapshot()}, this can be called from any thread.
+     * The stats of a session stay available after it is stopped, until the next video is loaded.
+     *
+     * @return the {@link PlaybackStats} of the current or last playback session.
+     */
+    PlaybackStats getPlaybackStats();
+
     /**
      * Supplies information about the underlying player.
      *
@@ -239,6 +330,14 @@ public interface NoPlayer extends PlayerState {
      */
     void setMaxVideoBitrate(int maxVideoBitrate);
 
+    /**
+     * Starts editing the track selection, so that several changes are applied in a single update
+     * instead of re-selecting the tracks, and possibly discarding buffered media, for each of them.
+     *
+     * @return a {@link TrackSelectionEditor} that changes nothing until applied.
+     */
+    TrackSelectionEditor editTracks();
+
     interface PlayerError {
 
         PlayerErrorType type();
@@ -306,6 +405,21 @@ public interface NoPlayer extends PlayerState {
         void onNewInfo(String callingMethod, Map<String, String> callingMethodParams);
     }
 
+    /**
+     * A listener for debugging information that only formats the parameters it reads.
+     */
+    interface InfoEventListener {
+
+        /**
+         * All event listeners attached to implementations of {@link NoPlayer} will
+         * forward information through this to provide debugging
+         * information to client applications.
+         *
+         * @param infoEvent The method name and parameters from where this call originated.
+         */
+        void onInfoEvent(InfoEvent infoEvent);
+    }
+
     interface LoadTimeoutCallback {
 
         LoadTimeoutCallback NULL_IMPL = new LoadTimeoutCallback() {
@@ -323,8 +437,25 @@ public interface NoPlayer extends PlayerState {
         void onBeat(NoPlayer player);
     }
 
+    interface CuePointCallback {
+
+        void onCuePoint(long positionInMillis);
+    }
+
     interface DroppedVideoFramesListener {
 
         void onDroppedVideoFrames(int droppedFrames, long elapsedMsSinceLastDroppedFrames);
     }
+
+    interface SegmentCacheListener {
+
+        void onCacheHit(long bytesReadFromCache);
+
+        void onCacheMiss(long bytesReadFromNetwork);
+    }
+
+    interface StartupListener {
+
+        void onStartupCompleted(StartupReport startupReport);
+    }
 }
@@ -32,10 +32,14 @@ class NoPlayerCreator {
         this.drmSessionCreatorFactory = drmSessionCreatorFactory;
     }
 
-    NoPlayer create(DrmType drmType, DrmHandler drmHandler, boolean downgradeSecureDecoder, boolean allowCrossProtocolRedirects) {
+    NoPlayer create(DrmType drmType,
+                    DrmHandler drmHandler,
+                    boolean downgradeSecureDecoder,
+                    boolean allowCrossProtocolRedirects,
+                    boolean reusePlayer) {
         for (PlayerType player : prioritizedPlayerTypes) {
             if (player.supports(drmType)) {
-                return createPlayerForType(player, drmType, drmHandler, downgradeSecureDecoder, allowCrossProtocolRedirects);
+                return createPlayerForType(player, drmType, drmHandler, downgradeSecureDecoder, allowCrossProtocolRedirects, reusePlayer);
             }
         }
         throw UnableToCreatePlayerException.unhandledDrmType(drmType);
@@ -45,7 +49,8 @@ class NoPlayerCreator {
                                          DrmType drmType,
                                          DrmHandler drmHandler,
                                          boolean downgradeSecureDecoder,
-                                         boolean allowCrossProtocolRedirects) {
+                                         boolean allowCrossProtocolRedirects,
+                                         boolean reusePlayer) {
         switch (playerType) {
             case MEDIA_PLAYER:
                 return noPlayerMediaPlayerCreator.createMediaPlayer(context);
@@ -56,7 +61,8 @@ class NoPlayerCreator {
                             context,
                             drmSessionCreator,
                             downgradeSecureDecoder,
-                            allowCrossProtocolRedirects
+                            allowCrossProtocolRedirects,
+                            reusePlayer
                     );
                 } catch (DrmSessionCreatorException exception) {
                     throw new UnableToCreatePlayerException(exception);
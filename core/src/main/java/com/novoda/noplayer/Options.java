@@ -2,16 +2,20 @@ package com.novoda.noplayer;
 
 import com.novoda.noplayer.internal.utils.Optional;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Options to customise the underlying player.
  */
 public class Options {
 
     private final ContentType contentType;
-    private final int minDurationBeforeQualityIncreaseInMillis;
-    private final int maxInitialBitrate;
-    private final int maxVideoBitrate;
+    private final VideoQualityOptions videoQualityOptions;
     private final Optional<Long> initialPositionInMillis;
+    private final LoadControlProfile loadControlProfile;
+    private final Optional<byte[]> widevineInitData;
+    private final FailoverOptions failoverOptions;
 
     /**
      * Creates a {@link OptionsBuilder} from this Options.
@@ -21,26 +25,37 @@ public class Options {
     public OptionsBuilder toOptionsBuilder() {
         OptionsBuilder optionsBuilder = new OptionsBuilder()
                 .withContentType(contentType)
-                .withMinDurationBeforeQualityIncreaseInMillis(minDurationBeforeQualityIncreaseInMillis)
-                .withMaxInitialBitrate(maxInitialBitrate)
-                .withMaxVideoBitrate(maxVideoBitrate);
-
+                .withMinDurationBeforeQualityIncreaseInMillis(minDurationBeforeQualityIncreaseInMillis())
+                .withMaxVideoBitrate(maxVideoBitrate())
+                .withAdaptiveBitrateStrategy(adaptiveBitrateStrategy())
+                .withLoadControlProfile(loadControlProfile)
+                .withMirrorBaseUrls(mirrorBaseUrls())
+                .withRetryPolicy(retryPolicy());
+
+        if (getMaxInitialBitrateCap().isPresent()) {
+            optionsBuilder = optionsBuilder.withMaxInitialBitrate(getMaxInitialBitrateCap().get());
+        }
         if (initialPositionInMillis.isPresent()) {
             optionsBuilder = optionsBuilder.withInitialPositionInMillis(initialPositionInMillis.get());
         }
+        if (widevineInitData.isPresent()) {
+            optionsBuilder = optionsBuilder.withWidevineInitData(widevineInitData.get());
+        }
         return optionsBuilder;
     }
 
     Options(ContentType contentType,
-            int minDurationBeforeQualityIncreaseInMillis,
-            int maxInitialBitrate,
-            int maxVideoBitrate,
-            Optional<Long> initialPositionInMillis) {
+            VideoQualityOptions videoQualityOptions,
+            Optional<Long> initialPositionInMillis,
+            LoadControlProfile loadControlProfile,
+            Optional<byte[]> widevineInitData,
+            FailoverOptions failoverOptions) {
         this.contentType = contentType;
-        this.minDurationBeforeQualityIncreaseInMillis = minDurationBeforeQualityIncreaseInMillis;
-        this.maxInitialBitrate = maxInitialBitrate;
-        this.maxVideoBitrate = maxVideoBitrate;
+        this.videoQualityOptions = videoQualityOptions;
         this.initialPositionInMillis = initialPositionInMillis;
+        this.loadControlProfile = loadControlProfile;
+        this.widevineInitData = widevineInitData;
+        this.failoverOptions = failoverOptions;
     }
 
     public ContentType contentType() {
@@ -48,21 +63,57 @@ public class Options {
     }
 
     public int minDurationBeforeQualityIncreaseInMillis() {
-        return minDurationBeforeQualityIncreaseInMillis;
+        return videoQualityOptions.minDurationBeforeQualityIncreaseInMillis();
     }
 
+    /**
+     * @return the maximum initial bitrate set with {@link OptionsBuilder#withMaxInitialBitrate(int)}, or 800 kbps when it was not set.
+     */
     public int maxInitialBitrate() {
-        return maxInitialBitrate;
+        return videoQualityOptions.maxInitialBitrate();
+    }
+
+    /**
+     * @return the maximum initial bitrate set with {@link OptionsBuilder#withMaxInitialBitrate(int)}, absent when it was not set.
+     */
+    public Optional<Integer> getMaxInitialBitrateCap() {
+        return videoQualityOptions.maxInitialBitrateCap();
     }
 
     public int maxVideoBitrate() {
-        return maxVideoBitrate;
+        return videoQualityOptions.maxVideoBitrate();
     }
 
     public Optional<Long> getInitialPositionInMillis() {
         return initialPositionInMillis;
     }
 
+    public AdaptiveBitrateStrategy adaptiveBitrateStrategy() {
+        return videoQualityOptions.adaptiveBitrateStrategy();
+    }
+
+    public LoadControlProfile loadControlProfile() {
+        return loadControlProfile;
+    }
+
+    /**
+     * @return a copy of the Widevine PSSH data of the content, if any.
+     */
+    public Optional<byte[]> widevineInitData() {
+        if (widevineInitData.isAbsent()) {
+            return widevineInitData;
+        }
+        return Optional.of(widevineInitData.get().clone());
+    }
+
+    public List<String> mirrorBaseUrls() {
+        return failoverOptions.mirrorBaseUrls();
+    }
+
+    public RetryPolicy retryPolicy() {
+        return failoverOptions.retryPolicy();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -74,16 +125,19 @@ public class Options {
 
         Options options = (Options) o;
 
-        if (minDurationBeforeQualityIncreaseInMillis != options.minDurationBeforeQualityIncreaseInMillis) {
+        if (contentType != options.contentType) {
             return false;
         }
-        if (maxInitialBitrate != options.maxInitialBitrate) {
+        if (!videoQualityOptions.equals(options.videoQualityOptions)) {
             return false;
         }
-        if (maxVideoBitrate != options.maxVideoBitrate) {
+        if (loadControlProfile != options.loadControlProfile) {
             return false;
         }
-        if (contentType != options.contentType) {
+        if (!Arrays.equals(widevineInitData.or((byte[]) null), options.widevineInitData.or((byte[]) null))) {
+            return false;
+        }
+        if (!failoverOptions.equals(options.failoverOptions)) {
             return false;
         }
         return initialPositionInMillis != null
@@ -93,10 +147,11 @@ public class Options {
     @Override
     public int hashCode() {
         int result = contentType != null ? contentType.hashCode() : 0;
-        result = 31 * result + minDurationBeforeQualityIncreaseInMillis;
-        result = 31 * result + maxInitialBitrate;
-        result = 31 * result + maxVideoBitrate;
+        result = 31 * result + videoQualityOptions.hashCode();
         result = 31 * result + (initialPositionInMillis != null ? initialPositionInMillis.hashCode() : 0);
+        result = 31 * result + (loadControlProfile != null ? loadControlProfile.hashCode() : 0);
+        result = 31 * result + Arrays.hashCode(widevineInitData.or((byte[]) null));
+        result = 31 * result + failoverOptions.hashCode();
         return result;
     }
 
@@ -104,10 +159,15 @@ public class Options {
     public String toString() {
         return "Options{"
                 + "contentType=" + contentType
-                + ", minDurationBeforeQualityIncreaseInMillis=" + minDurationBeforeQualityIncreaseInMillis
-                + ", maxInitialBitrate=" + maxInitialBitrate
-                + ", maxVideoBitrate=" + maxVideoBitrate
+                + ", minDurationBeforeQualityIncreaseInMillis=" + minDurationBeforeQualityIncreaseInMillis()
+                + ", maxInitialBitrate=" + maxInitialBitrate()
+                + ", maxVideoBitrate=" + maxVideoBitrate()
                 + ", initialPositionInMillis=" + initialPositionInMillis
+                + ", adaptiveBitrateStrategy=" + adaptiveBitrateStrategy()
+                + ", loadControlProfile=" + loadControlProfile
+                + ", widevineInitData=" + Arrays.toString(widevineInitData.or((byte[]) null))
+                + ", mirrorBaseUrls=" + mirrorBaseUrls()
+                + ", retryPolicy=" + retryPolicy()
                 + '}';
     }
 }
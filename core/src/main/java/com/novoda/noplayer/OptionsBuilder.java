@@ -4,20 +4,28 @@ import android.net.Uri;
 
 import com.novoda.noplayer.internal.utils.Optional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Builds instances of {@link Options} for {@link NoPlayer#loadVideo(Uri, Options)}.
  */
 public class OptionsBuilder {
 
     private static final int DEFAULT_MIN_DURATION_FOR_QUALITY_INCREASE_MS = 10000;
-    private static final int DEFAULT_MAX_INITIAL_BITRATE = 800000;
     private static final int DEFAULT_MAX_VIDEO_BITRATE = Integer.MAX_VALUE;
 
     private ContentType contentType = ContentType.H264;
     private int minDurationBeforeQualityIncreaseInMillis = DEFAULT_MIN_DURATION_FOR_QUALITY_INCREASE_MS;
-    private int maxInitialBitrate = DEFAULT_MAX_INITIAL_BITRATE;
+    private Optional<Integer> maxInitialBitrate = Optional.absent();
     private int maxVideoBitrate = DEFAULT_MAX_VIDEO_BITRATE;
     private Optional<Long> initialPositionInMillis = Optional.absent();
+    private AdaptiveBitrateStrategy adaptiveBitrateStrategy = new ThroughputAdaptiveBitrateStrategy();
+    private LoadControlProfile loadControlProfile = LoadControlProfile.DEFAULT;
+    private Optional<byte[]> widevineInitData = Optional.absent();
+    private List<String> mirrorBaseUrls = Collections.emptyList();
+    private RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
 
     /**
      * Sets {@link OptionsBuilder} to build {@link Options} with a given {@link ContentType}.
@@ -46,13 +54,14 @@ public class OptionsBuilder {
     /**
      * Sets {@link OptionsBuilder} to build {@link Options} with given maximum initial bitrate in order to
      * control what is the quality with which {@link NoPlayer} starts the playback. Setting a higher value
-     * allows the player to choose a higher quality video track at the beginning.
+     * allows the player to choose a higher quality video track at the beginning. Omitting to set this starts the playback
+     * at the latest bandwidth estimate of the network type, or at 800 kbps when there is none yet.
      *
      * @param maxInitialBitrate maximum bitrate that limits the initial track selection.
      * @return {@link OptionsBuilder}.
      */
     public OptionsBuilder withMaxInitialBitrate(int maxInitialBitrate) {
-        this.maxInitialBitrate = maxInitialBitrate;
+        this.maxInitialBitrate = Optional.of(maxInitialBitrate);
         return this;
     }
 
@@ -82,6 +91,70 @@ public class OptionsBuilder {
         return this;
     }
 
+    /**
+     * Sets {@link OptionsBuilder} to build {@link Options} with given {@link AdaptiveBitrateStrategy} in order
+     * to control how {@link NoPlayer} switches between video tracks. Omitting to set this will use
+     * {@link ThroughputAdaptiveBitrateStrategy}.
+     *
+     * @param adaptiveBitrateStrategy strategy used to switch between video tracks.
+     * @return {@link OptionsBuilder}.
+     */
+    public OptionsBuilder withAdaptiveBitrateStrategy(AdaptiveBitrateStrategy adaptiveBitrateStrategy) {
+        this.adaptiveBitrateStrategy = adaptiveBitrateStrategy;
+        return this;
+    }
+
+    /**
+     * Sets {@link OptionsBuilder} to build {@link Options} with given {@link LoadControlProfile} in order
+     * to control how much content {@link NoPlayer} buffers. Omitting to set this will use
+     * {@link LoadControlProfile#DEFAULT}.
+     *
+     * @param loadControlProfile buffering behaviour of the player.
+     * @return {@link OptionsBuilder}.
+     */
+    public OptionsBuilder withLoadControlProfile(LoadControlProfile loadControlProfile) {
+        this.loadControlProfile = loadControlProfile;
+        return this;
+    }
+
+    /**
+     * Sets {@link OptionsBuilder} to build {@link Options} with the Widevine PSSH data of the content in order
+     * to request the license while the manifest and first segments are loading, instead of once they have been parsed.
+     * Only used with {@link com.novoda.noplayer.drm.DrmType#WIDEVINE_MODULAR_STREAM}, the data must match the one in the manifest.
+     *
+     * @param widevineInitData Widevine PSSH box data of the content, copied so that later changes to the array are ignored.
+     * @return {@link OptionsBuilder}.
+     */
+    public OptionsBuilder withWidevineInitData(byte[] widevineInitData) {
+        this.widevineInitData = Optional.of(widevineInitData.clone());
+        return this;
+    }
+
+    /**
+     * Sets {@link OptionsBuilder} to build {@link Options} with mirrors of the content, in the order in which they are used
+     * when requests to the content uri keep failing or responding slowly, see {@link RetryPolicy#withFailover(long, int)}.
+     * A mirror base url replaces the scheme and host of the content uri, e.g. {@code https://cdn2.example.com}.
+     *
+     * @param mirrorBaseUrls base urls of the mirrors.
+     * @return {@link OptionsBuilder}.
+     */
+    public OptionsBuilder withMirrorBaseUrls(List<String> mirrorBaseUrls) {
+        this.mirrorBaseUrls = Collections.unmodifiableList(new ArrayList<>(mirrorBaseUrls));
+        return this;
+    }
+
+    /**
+     * Sets {@link OptionsBuilder} to build {@link Options} with given {@link RetryPolicy} in order to control how
+     * failed requests are retried and when they fail over to a mirror. Omitting to set this will use {@link RetryPolicy#DEFAULT}.
+     *
+     * @param retryPolicy retry and failover behaviour of the requests.
+     * @return {@link OptionsBuilder}.
+     */
+    public OptionsBuilder withRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
     /**
      * Builds a new {@link Options} instance.
      *
@@ -90,10 +163,16 @@ public class OptionsBuilder {
     public Options build() {
         return new Options(
                 contentType,
-                minDurationBeforeQualityIncreaseInMillis,
-                maxInitialBitrate,
-                maxVideoBitrate,
-                initialPositionInMillis
+                new VideoQualityOptions(
+                        minDurationBeforeQualityIncreaseInMillis,
+                        maxInitialBitrate,
+                        maxVideoBitrate,
+                        adaptiveBitrateStrategy
+                ),
+                initialPositionInMillis,
+                loadControlProfile,
+                widevineInitData,
+                new FailoverOptions(mirrorBaseUrls, retryPolicy)
         );
     }
 }
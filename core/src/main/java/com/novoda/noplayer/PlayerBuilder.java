@@ -1,19 +1,28 @@
 package com.novoda.noplayer;
 
 import android.content.Context;
+import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
 
+import com.google.android.exoplayer2.upstream.cache.Cache;
 import com.novoda.noplayer.drm.DownloadedModularDrm;
 import com.novoda.noplayer.drm.DrmHandler;
 import com.novoda.noplayer.drm.DrmType;
 import com.novoda.noplayer.drm.StreamingModularDrm;
+import com.novoda.noplayer.internal.LooperBoundPlayer;
+import com.novoda.noplayer.internal.PlaybackThread;
 import com.novoda.noplayer.internal.drm.provision.ProvisionExecutorCreator;
 import com.novoda.noplayer.internal.exoplayer.NoPlayerExoPlayerCreator;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreatorFactory;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmWarmUp;
+import com.novoda.noplayer.internal.exoplayer.drm.OfflineLicenseStore;
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCacheProvider;
 import com.novoda.noplayer.internal.mediaplayer.NoPlayerMediaPlayerCreator;
 import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.Optional;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -28,7 +37,13 @@ public class PlayerBuilder {
     private List<PlayerType> prioritizedPlayerTypes = Arrays.asList(PlayerType.EXO_PLAYER, PlayerType.MEDIA_PLAYER);
     private boolean downgradeSecureDecoder; /* initialised to false by default */
     private boolean allowCrossProtocolRedirects; /* initialised to false by default */
+    private boolean reusePlayer; /* initialised to false by default */
+    private boolean persistStreamingLicenses; /* initialised to false by default */
+    private Optional<File> segmentCacheDirectory = Optional.absent();
+    private long maxSegmentCacheSizeInBytes;
     private String userAgent = "user-agent";
+    private Optional<Looper> playerLooper = Optional.absent();
+    private boolean runOnBackgroundThread; /* initialised to false by default */
 
     /**
      * Sets {@link PlayerBuilder} to build a {@link NoPlayer} which supports Widevine classic DRM.
@@ -51,6 +66,20 @@ public class PlayerBuilder {
         return withDrm(DrmType.WIDEVINE_MODULAR_STREAM, streamingModularDrm);
     }
 
+    /**
+     * Stores the licenses obtained while streaming Widevine modular content so that watching the same content again
+     * restores them instead of contacting the license server. Licenses are requested as offline licenses, which must be
+     * allowed by the license server. Expired licenses are acquired again online.
+     * Only applies to {@link DrmType#WIDEVINE_MODULAR_STREAM} with {@link PlayerType#EXO_PLAYER}.
+     *
+     * @return {@link PlayerBuilder}
+     * @see #withWidevineModularStreamingDrm(StreamingModularDrm)
+     */
+    public PlayerBuilder withPersistentLicenseCache() {
+        persistStreamingLicenses = true;
+        return this;
+    }
+
     /**
      * Sets {@link PlayerBuilder} to build a {@link NoPlayer} which supports Widevine modular download DRM.
      *
@@ -122,6 +151,77 @@ public class PlayerBuilder {
         return this;
     }
 
+    /**
+     * Keeps the underlying player and its renderers alive between calls to {@link NoPlayer#loadVideo(Uri, Options)},
+     * only swapping the content and track selection parameters. The underlying player is dropped on {@link NoPlayer#release()}.
+     * Only applies to {@link PlayerType#EXO_PLAYER}.
+     *
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withPlayerReuse() {
+        reusePlayer = true;
+        return this;
+    }
+
+    /**
+     * Caches downloaded media segments and progressive content on disk so that replays and seeks
+     * to already watched positions are served locally. Once the cache is full the least recently used
+     * content is evicted. Players built with the same cache directory share the same cache,
+     * building one with a different maximum size for that directory fails with an {@link IllegalArgumentException}.
+     * Only applies to {@link PlayerType#EXO_PLAYER}.
+     *
+     * @param cacheDirectory      A dedicated directory for the cache, it must not be used for anything else.
+     * @param maxCacheSizeInBytes The maximum size of the cache.
+     * @return {@link PlayerBuilder}
+     * @see Listeners#addSegmentCacheListener(NoPlayer.SegmentCacheListener)
+     */
+    public PlayerBuilder withSegmentCache(File cacheDirectory, long maxCacheSizeInBytes) {
+        segmentCacheDirectory = Optional.of(cacheDirectory);
+        maxSegmentCacheSizeInBytes = maxCacheSizeInBytes;
+        return this;
+    }
+
+    /**
+     * Runs the underlying player on the thread of the given {@link Looper} instead of the main thread, so that its
+     * media, DRM and bandwidth events, the heartbeats and the {@link Listeners} callbacks do not compete with the UI.
+     * {@link NoPlayer} can still be called from any thread: calls made on other threads are posted to the {@link Looper}
+     * and wait for it, so they return the result of the player and throw its exceptions, in the order in which they were made.
+     * Release the player before quitting the {@link Looper}, calls that are waiting when it quits never return.
+     * The attached {@link PlayerView} is still only updated from the main thread.
+     * Only applies to {@link PlayerType#EXO_PLAYER}, MediaPlayer drives its views directly so it always runs on the main thread.
+     *
+     * @param looper The {@link Looper} of a thread dedicated to playback.
+     * @return {@link PlayerBuilder}
+     * @see #withBackgroundThread()
+     */
+    public PlayerBuilder withLooper(Looper looper) {
+        playerLooper = Optional.of(looper);
+        runOnBackgroundThread = false;
+        return this;
+    }
+
+    /**
+     * Same as {@link #withLooper(Looper)} with a background thread created by NoPlayer,
+     * which is shared by all the players built this way and lives as long as the application.
+     *
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withBackgroundThread() {
+        playerLooper = Optional.absent();
+        runOnBackgroundThread = true;
+        return this;
+    }
+
+    /**
+     * Provisions the device for Widevine modular DRM in the background, e.g. when the application starts,
+     * so that the first playback of protected content does not wait for it.
+     * Provisioning requests made at the same time by several players are only sent once.
+     * Does nothing on devices that do not support Widevine modular DRM or that are already provisioned.
+     */
+    public void warmUpDrm() {
+        DrmWarmUp.newInstance(new ProvisionExecutorCreator()).warmUp();
+    }
+
     /**
      * Builds a new {@link NoPlayer} instance.
      *
@@ -132,21 +232,49 @@ public class PlayerBuilder {
      */
     public NoPlayer build(Context context) throws UnableToCreatePlayerException {
         Context applicationContext = context.getApplicationContext();
-        Handler handler = new Handler(Looper.getMainLooper());
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        Handler handler = new Handler(playerLooper());
         ProvisionExecutorCreator provisionExecutorCreator = new ProvisionExecutorCreator();
         DrmSessionCreatorFactory drmSessionCreatorFactory = new DrmSessionCreatorFactory(
                 AndroidDeviceVersion.newInstance(),
                 provisionExecutorCreator,
-                handler
+                handler,
+                createOfflineLicenseStore(applicationContext)
         );
         NoPlayerCreator noPlayerCreator = new NoPlayerCreator(
                 applicationContext,
                 prioritizedPlayerTypes,
-                NoPlayerExoPlayerCreator.newInstance(userAgent, handler),
-                NoPlayerMediaPlayerCreator.newInstance(handler),
+                NoPlayerExoPlayerCreator.newInstance(userAgent, handler, createSegmentCache()),
+                NoPlayerMediaPlayerCreator.newInstance(mainHandler),
                 drmSessionCreatorFactory
         );
-        return noPlayerCreator.create(drmType, drmHandler, downgradeSecureDecoder, allowCrossProtocolRedirects);
+        NoPlayer player = noPlayerCreator.create(drmType, drmHandler, downgradeSecureDecoder, allowCrossProtocolRedirects, reusePlayer);
+        boolean isExoPlayer = player.getPlayerInformation().getPlayerType() == PlayerType.EXO_PLAYER;
+        return LooperBoundPlayer.bind(player, isExoPlayer ? handler : mainHandler, mainHandler);
+    }
+
+    private Looper playerLooper() {
+        if (playerLooper.isPresent()) {
+            return playerLooper.get();
+        } else if (runOnBackgroundThread) {
+            return PlaybackThread.looper();
+        } else {
+            return Looper.getMainLooper();
+        }
+    }
+
+    private Optional<OfflineLicenseStore> createOfflineLicenseStore(Context context) {
+        if (persistStreamingLicenses) {
+            return Optional.of(OfflineLicenseStore.newInstance(context));
+        }
+        return Optional.absent();
+    }
+
+    private Optional<Cache> createSegmentCache() {
+        if (segmentCacheDirectory.isPresent()) {
+            return Optional.of(SegmentCacheProvider.obtain(segmentCacheDirectory.get(), maxSegmentCacheSizeInBytes));
+        }
+        return Optional.absent();
     }
 
 }
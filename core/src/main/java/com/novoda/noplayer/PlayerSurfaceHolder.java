@@ -35,6 +35,17 @@ public class PlayerSurfaceHolder {
         return surfaceHolder;
     }
 
+    /**
+     * Notifies the listener of the size of the surface, immediately when it is already known and then every time it changes.
+     */
+    public void addSurfaceSizeListener(SurfaceSizeListener surfaceSizeListener) {
+        surfaceHolder.addSurfaceSizeListener(surfaceSizeListener);
+    }
+
+    public void removeSurfaceSizeListener(SurfaceSizeListener surfaceSizeListener) {
+        surfaceHolder.removeSurfaceSizeListener(surfaceSizeListener);
+    }
+
     public void attach(Player.VideoComponent videoPlayer) {
         if (containsSurfaceView()) {
             videoPlayer.setVideoSurfaceView(surfaceView);
@@ -52,4 +63,9 @@ public class PlayerSurfaceHolder {
     private boolean containsTextureView() {
         return textureView != null;
     }
+
+    public interface SurfaceSizeListener {
+
+        void onSurfaceSizeChanged(int width, int height);
+    }
 }
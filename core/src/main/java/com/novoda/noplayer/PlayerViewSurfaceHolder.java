@@ -9,12 +9,19 @@ import com.novoda.noplayer.model.Either;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 class PlayerViewSurfaceHolder implements SurfaceHolder.Callback, TextureView.SurfaceTextureListener, SurfaceRequester {
 
+    private static final int NO_SIZE = -1;
+
     private final List<Callback> callbacks = new ArrayList<>();
+    // Players running off the main thread add and remove their listener from the player thread
+    private final List<PlayerSurfaceHolder.SurfaceSizeListener> surfaceSizeListeners = new CopyOnWriteArrayList<>();
     @Nullable
     private Either<Surface, SurfaceHolder> eitherSurface;
+    private int surfaceWidth = NO_SIZE;
+    private int surfaceHeight = NO_SIZE;
 
     @Override
     public void surfaceCreated(SurfaceHolder surfaceHolder) {
@@ -25,7 +32,7 @@ class PlayerViewSurfaceHolder implements SurfaceHolder.Callback, TextureView.Sur
 
     @Override
     public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
-        // do nothing
+        onSurfaceSizeChanged(width, height);
     }
 
     @Override
@@ -39,6 +46,7 @@ class PlayerViewSurfaceHolder implements SurfaceHolder.Callback, TextureView.Sur
         this.eitherSurface = Either.left(new Surface(surfaceTexture));
         notifyListeners(eitherSurface);
         callbacks.clear();
+        onSurfaceSizeChanged(width, height);
     }
 
     private void notifyListeners(Either<Surface, SurfaceHolder> either) {
@@ -49,7 +57,18 @@ class PlayerViewSurfaceHolder implements SurfaceHolder.Callback, TextureView.Sur
 
     @Override
     public void onSurfaceTextureSizeChanged(SurfaceTexture surface, int width, int height) {
-        // do nothing
+        onSurfaceSizeChanged(width, height);
+    }
+
+    private void onSurfaceSizeChanged(int width, int height) {
+        if (width == surfaceWidth && height == surfaceHeight) {
+            return;
+        }
+        surfaceWidth = width;
+        surfaceHeight = height;
+        for (PlayerSurfaceHolder.SurfaceSizeListener surfaceSizeListener : surfaceSizeListeners) {
+            surfaceSizeListener.onSurfaceSizeChanged(width, height);
+        }
     }
 
     @Override
@@ -86,4 +105,15 @@ class PlayerViewSurfaceHolder implements SurfaceHolder.Callback, TextureView.Sur
     public void removeCallback(Callback callback) {
         callbacks.remove(callback);
     }
+
+    void addSurfaceSizeListener(PlayerSurfaceHolder.SurfaceSizeListener surfaceSizeListener) {
+        surfaceSizeListeners.add(surfaceSizeListener);
+        if (surfaceWidth != NO_SIZE && surfaceHeight != NO_SIZE) {
+            surfaceSizeListener.onSurfaceSizeChanged(surfaceWidth, surfaceHeight);
+        }
+    }
+
+    void removeSurfaceSizeListener(PlayerSurfaceHolder.SurfaceSizeListener surfaceSizeListener) {
+        surfaceSizeListeners.remove(surfaceSizeListener);
+    }
 }
@@ -0,0 +1,138 @@
+package com.novoda.noplayer;
+
+/**
+ * How failed manifest and segment requests are retried, and when they fail over to the next mirror
+ * given with {@link OptionsBuilder#withMirrorBaseUrls(java.util.List)}.
+ * Instances are immutable, every {@code with} method returns a new {@link RetryPolicy}.
+ */
+public final class RetryPolicy {
+
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_INITIAL_BACKOFF_IN_MILLIS = 1000;
+    private static final long DEFAULT_MAX_BACKOFF_IN_MILLIS = 5000;
+    private static final long DEFAULT_FAILOVER_LATENCY_IN_MILLIS = 4000;
+    private static final int DEFAULT_FAILOVER_ERROR_COUNT = 2;
+
+    /**
+     * Retries a request three times, waiting one second and doubling the wait every time up to five seconds.
+     * Fails over to the next mirror after two consecutive requests either failed or took more than four seconds to respond.
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(
+            DEFAULT_MAX_RETRIES,
+            DEFAULT_INITIAL_BACKOFF_IN_MILLIS,
+            DEFAULT_MAX_BACKOFF_IN_MILLIS,
+            DEFAULT_FAILOVER_LATENCY_IN_MILLIS,
+            DEFAULT_FAILOVER_ERROR_COUNT
+    );
+
+    private final int maxRetries;
+    private final long initialBackoffInMillis;
+    private final long maxBackoffInMillis;
+    private final long failoverLatencyInMillis;
+    private final int failoverErrorCount;
+
+    private RetryPolicy(int maxRetries,
+                        long initialBackoffInMillis,
+                        long maxBackoffInMillis,
+                        long failoverLatencyInMillis,
+                        int failoverErrorCount) {
+        this.maxRetries = maxRetries;
+        this.initialBackoffInMillis = initialBackoffInMillis;
+        this.maxBackoffInMillis = maxBackoffInMillis;
+        this.failoverLatencyInMillis = failoverLatencyInMillis;
+        this.failoverErrorCount = failoverErrorCount;
+    }
+
+    /**
+     * @param maxRetries number of times a failed request is retried before playback fails.
+     * @return a copy of this {@link RetryPolicy}.
+     */
+    public RetryPolicy withMaxRetries(int maxRetries) {
+        return new RetryPolicy(maxRetries, initialBackoffInMillis, maxBackoffInMillis, failoverLatencyInMillis, failoverErrorCount);
+    }
+
+    /**
+     * @param initialBackoffInMillis time to wait before the first retry, doubled for every following retry.
+     * @param maxBackoffInMillis     longest time to wait before a retry.
+     * @return a copy of this {@link RetryPolicy}.
+     */
+    public RetryPolicy withBackoff(long initialBackoffInMillis, long maxBackoffInMillis) {
+        return new RetryPolicy(maxRetries, initialBackoffInMillis, maxBackoffInMillis, failoverLatencyInMillis, failoverErrorCount);
+    }
+
+    /**
+     * @param failoverLatencyInMillis time to respond after which a request counts towards failing over.
+     * @param failoverErrorCount      number of consecutive failed or slow requests after which the next mirror is used.
+     * @return a copy of this {@link RetryPolicy}.
+     */
+    public RetryPolicy withFailover(long failoverLatencyInMillis, int failoverErrorCount) {
+        return new RetryPolicy(maxRetries, initialBackoffInMillis, maxBackoffInMillis, failoverLatencyInMillis, failoverErrorCount);
+    }
+
+    public int maxRetries() {
+        return maxRetries;
+    }
+
+    public long initialBackoffInMillis() {
+        return initialBackoffInMillis;
+    }
+
+    public long maxBackoffInMillis() {
+        return maxBackoffInMillis;
+    }
+
+    public long failoverLatencyInMillis() {
+        return failoverLatencyInMillis;
+    }
+
+    public int failoverErrorCount() {
+        return failoverErrorCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        RetryPolicy that = (RetryPolicy) o;
+
+        if (maxRetries != that.maxRetries) {
+            return false;
+        }
+        if (initialBackoffInMillis != that.initialBackoffInMillis) {
+            return false;
+        }
+        if (maxBackoffInMillis != that.maxBackoffInMillis) {
+            return false;
+        }
+        if (failoverLatencyInMillis != that.failoverLatencyInMillis) {
+            return false;
+        }
+        return failoverErrorCount == that.failoverErrorCount;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxRetries;
+        result = 31 * result + (int) (initialBackoffInMillis ^ (initialBackoffInMillis >>> 32));
+        result = 31 * result + (int) (maxBackoffInMillis ^ (maxBackoffInMillis >>> 32));
+        result = 31 * result + (int) (failoverLatencyInMillis ^ (failoverLatencyInMillis >>> 32));
+        result = 31 * result + failoverErrorCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{"
+                + "maxRetries=" + maxRetries
+                + ", initialBackoffInMillis=" + initialBackoffInMillis
+                + ", maxBackoffInMillis=" + maxBackoffInMillis
+                + ", failoverLatencyInMillis=" + failoverLatencyInMillis
+                + ", failoverErrorCount=" + failoverErrorCount
+                + '}';
+    }
+}
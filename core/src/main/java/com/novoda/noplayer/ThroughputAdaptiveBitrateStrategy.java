@@ -0,0 +1,42 @@
+package com.novoda.noplayer;
+
+import com.google.android.exoplayer2.trackselection.AdaptiveTrackSelection;
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+
+/**
+ * Picks the highest quality that fits the measured network throughput.
+ * Qualities only increase after {@link Options#minDurationBeforeQualityIncreaseInMillis()} of buffered content.
+ */
+public final class ThroughputAdaptiveBitrateStrategy implements AdaptiveBitrateStrategy {
+
+    @Override
+    public TrackSelection.Factory createTrackSelectionFactory(BandwidthMeter bandwidthMeter, Options options) {
+        return new AdaptiveTrackSelection.Factory(
+                bandwidthMeter,
+                options.minDurationBeforeQualityIncreaseInMillis(),
+                AdaptiveTrackSelection.DEFAULT_MAX_DURATION_FOR_QUALITY_DECREASE_MS,
+                AdaptiveTrackSelection.DEFAULT_MIN_DURATION_TO_RETAIN_AFTER_DISCARD_MS,
+                AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION,
+                AdaptiveTrackSelection.DEFAULT_BUFFERED_FRACTION_TO_LIVE_EDGE_FOR_QUALITY_INCREASE,
+                AdaptiveTrackSelection.DEFAULT_MIN_TIME_BETWEEN_BUFFER_REEVALUTATION_MS,
+                Clock.DEFAULT
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ThroughputAdaptiveBitrateStrategy";
+    }
+}
@@ -0,0 +1,63 @@
+package com.novoda.noplayer;
+
+import android.net.Uri;
+
+import com.novoda.noplayer.model.PlayerAudioTrack;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+
+/**
+ * Collects track selection changes so that they are applied to the Player at once,
+ * e.g. when restoring the saved preferences of a user.
+ * Nothing changes until {@link TrackSelectionEditor#apply()} is called, the last change made to a track type wins.
+ */
+public interface TrackSelectionEditor {
+
+    /**
+     * @see NoPlayer#selectAudioTrack(PlayerAudioTrack)
+     */
+    TrackSelectionEditor audio(PlayerAudioTrack audioTrack);
+
+    /**
+     * @see NoPlayer#clearAudioTrackSelection()
+     */
+    TrackSelectionEditor clearAudio();
+
+    /**
+     * @see NoPlayer#selectVideoTrack(PlayerVideoTrack)
+     */
+    TrackSelectionEditor video(PlayerVideoTrack videoTrack);
+
+    /**
+     * @see NoPlayer#clearVideoTrackSelection()
+     */
+    TrackSelectionEditor clearVideo();
+
+    /**
+     * @see NoPlayer#showSubtitleTrack(PlayerSubtitleTrack)
+     */
+    TrackSelectionEditor subtitles(PlayerSubtitleTrack subtitleTrack);
+
+    /**
+     * @see NoPlayer#hideSubtitleTrack()
+     */
+    TrackSelectionEditor hideSubtitles();
+
+    /**
+     * @see NoPlayer#setMaxVideoBitrate(int)
+     */
+    TrackSelectionEditor maxVideoBitrate(int maxVideoBitrate);
+
+    /**
+     * @see NoPlayer#clearMaxVideoBitrate()
+     */
+    TrackSelectionEditor clearMaxVideoBitrate();
+
+    /**
+     * Applies all of the collected changes in a single track selection update.
+     *
+     * @return whether all of the selections were successful.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, Options)}.
+     */
+    boolean apply() throws IllegalStateException;
+}
@@ -0,0 +1,78 @@
+package com.novoda.noplayer;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+/**
+ * Options of {@link Options} that control which video track is played.
+ */
+final class VideoQualityOptions {
+
+    private static final int DEFAULT_MAX_INITIAL_BITRATE = 800000;
+
+    private final int minDurationBeforeQualityIncreaseInMillis;
+    private final Optional<Integer> maxInitialBitrate;
+    private final int maxVideoBitrate;
+    private final AdaptiveBitrateStrategy adaptiveBitrateStrategy;
+
+    VideoQualityOptions(int minDurationBeforeQualityIncreaseInMillis,
+                        Optional<Integer> maxInitialBitrate,
+                        int maxVideoBitrate,
+                        AdaptiveBitrateStrategy adaptiveBitrateStrategy) {
+        this.minDurationBeforeQualityIncreaseInMillis = minDurationBeforeQualityIncreaseInMillis;
+        this.maxInitialBitrate = maxInitialBitrate;
+        this.maxVideoBitrate = maxVideoBitrate;
+        this.adaptiveBitrateStrategy = adaptiveBitrateStrategy;
+    }
+
+    int minDurationBeforeQualityIncreaseInMillis() {
+        return minDurationBeforeQualityIncreaseInMillis;
+    }
+
+    int maxInitialBitrate() {
+        return maxInitialBitrate.or(DEFAULT_MAX_INITIAL_BITRATE);
+    }
+
+    Optional<Integer> maxInitialBitrateCap() {
+        return maxInitialBitrate;
+    }
+
+    int maxVideoBitrate() {
+        return maxVideoBitrate;
+    }
+
+    AdaptiveBitrateStrategy adaptiveBitrateStrategy() {
+        return adaptiveBitrateStrategy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        VideoQualityOptions that = (VideoQualityOptions) o;
+
+        if (minDurationBeforeQualityIncreaseInMillis != that.minDurationBeforeQualityIncreaseInMillis) {
+            return false;
+        }
+        if (!maxInitialBitrate.equals(that.maxInitialBitrate)) {
+            return false;
+        }
+        if (maxVideoBitrate != that.maxVideoBitrate) {
+            return false;
+        }
+        return adaptiveBitrateStrategy.equals(that.adaptiveBitrateStrategy);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minDurationBeforeQualityIncreaseInMillis;
+        result = 31 * result + maxInitialBitrate.hashCode();
+        result = 31 * result + maxVideoBitrate;
+        result = 31 * result + adaptiveBitrateStrategy.hashCode();
+        return result;
+    }
+}
@@ -26,26 +26,37 @@ import com.google.android.exoplayer2.util.Util;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.TreeSet;
 
 /**
  * A representation of a WebVTT subtitle.
+ *
+ * <p>The cues active between two consecutive event times never change, so the active cue indices are
+ * indexed per event time segment when decoding and the merged cues are cached per segment on first
+ * lookup.
  */
 /* package */ final class WebvttSubtitle implements Subtitle {
 
+  private static final int[] NO_CUE_INDICES = new int[0];
+
   private final List<WebvttCue> cues;
-  private final int numCues;
-  private final long[] cueTimesUs;
   private final long[] sortedCueTimesUs;
+  private final long[] segmentStartTimesUs;
+  private final int[][] segmentCueIndices;
+  private final List<List<Cue>> segmentCues;
 
   /**
    * @param cues A list of the cues in this subtitle.
    */
   public WebvttSubtitle(List<WebvttCue> cues) {
     this.cues = cues;
-    numCues = cues.size();
-    cueTimesUs = new long[2 * numCues];
+    int numCues = cues.size();
+    long[] cueTimesUs = new long[2 * numCues];
     for (int cueIndex = 0; cueIndex < numCues; cueIndex++) {
       WebvttCue cue = cues.get(cueIndex);
       int arrayIndex = cueIndex * 2;
@@ -54,6 +65,71 @@ import java.util.List;
     }
     sortedCueTimesUs = Arrays.copyOf(cueTimesUs, cueTimesUs.length);
     Arrays.sort(sortedCueTimesUs);
+    segmentStartTimesUs = distinct(sortedCueTimesUs);
+    segmentCueIndices = indexActiveCues(cues, segmentStartTimesUs);
+    segmentCues = new ArrayList<>(Collections.<List<Cue>>nCopies(segmentStartTimesUs.length, null));
+  }
+
+  private static long[] distinct(long[] sortedTimesUs) {
+    int count = 0;
+    long[] distinctTimesUs = new long[sortedTimesUs.length];
+    for (long timeUs : sortedTimesUs) {
+      if (count == 0 || distinctTimesUs[count - 1] != timeUs) {
+        distinctTimesUs[count++] = timeUs;
+      }
+    }
+    return Arrays.copyOf(distinctTimesUs, count);
+  }
+
+  /**
+   * Sweeps the segment boundaries once, keeping the set of active cues sorted by their original
+   * position so that merged cues keep the order in which they appear in the file.
+   */
+  private static int[][] indexActiveCues(final List<WebvttCue> cues, long[] segmentStartTimesUs) {
+    int numCues = cues.size();
+    Integer[] byStartTime = new Integer[numCues];
+    for (int cueIndex = 0; cueIndex < numCues; cueIndex++) {
+      byStartTime[cueIndex] = cueIndex;
+    }
+    Arrays.sort(byStartTime, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer first, Integer second) {
+        long firstStartTime = cues.get(first).startTime;
+        long secondStartTime = cues.get(second).startTime;
+        return firstStartTime < secondStartTime ? -1 : (firstStartTime == secondStartTime ? 0 : 1);
+      }
+    });
+
+    int[][] segmentCueIndices = new int[segmentStartTimesUs.length][];
+    TreeSet<Integer> activeCueIndices = new TreeSet<>();
+    int nextStartingCue = 0;
+    for (int segment = 0; segment < segmentStartTimesUs.length; segment++) {
+      long segmentStartTimeUs = segmentStartTimesUs[segment];
+      while (nextStartingCue < numCues && cues.get(byStartTime[nextStartingCue]).startTime <= segmentStartTimeUs) {
+        activeCueIndices.add(byStartTime[nextStartingCue]);
+        nextStartingCue++;
+      }
+      Iterator<Integer> iterator = activeCueIndices.iterator();
+      while (iterator.hasNext()) {
+        if (cues.get(iterator.next()).endTime <= segmentStartTimeUs) {
+          iterator.remove();
+        }
+      }
+      segmentCueIndices[segment] = toArray(activeCueIndices);
+    }
+    return segmentCueIndices;
+  }
+
+  private static int[] toArray(Collection<Integer> cueIndices) {
+    if (cueIndices.isEmpty()) {
+      return NO_CUE_INDICES;
+    }
+    int[] array = new int[cueIndices.size()];
+    int index = 0;
+    for (Integer cueIndex : cueIndices) {
+      array[index++] = cueIndex;
+    }
+    return array;
   }
 
   @Override
@@ -76,31 +152,42 @@ import java.util.List;
 
   @Override
   public List<Cue> getCues(long timeUs) {
-    ArrayList<Cue> list = null;
+    int segment = Util.binarySearchFloor(segmentStartTimesUs, timeUs, true, false);
+    if (segment < 0) {
+      return Collections.emptyList();
+    }
+    List<Cue> cachedCues = segmentCues.get(segment);
+    if (cachedCues == null) {
+      cachedCues = mergeCues(segmentCueIndices[segment]);
+      segmentCues.set(segment, cachedCues);
+    }
+    return cachedCues;
+  }
+
+  private List<Cue> mergeCues(int[] activeCueIndices) {
+    if (activeCueIndices.length == 0) {
+      return Collections.emptyList();
+    }
+    ArrayList<Cue> list = new ArrayList<>();
     WebvttCue firstNormalCue = null;
     SpannableStringBuilder normalCueTextBuilder = null;
 
-    for (int i = 0; i < numCues; i++) {
-      if ((cueTimesUs[i * 2] <= timeUs) && (timeUs < cueTimesUs[i * 2 + 1])) {
-        if (list == null) {
-          list = new ArrayList<>();
-        }
-        WebvttCue cue = cues.get(i);
-        if (cue.isNormalCue()) {
-          // we want to merge all of the normal cues into a single cue to ensure they are drawn
-          // correctly (i.e. don't overlap) and to emulate roll-up, but only if there are multiple
-          // normal cues, otherwise we can just append the single normal cue
-          if (firstNormalCue == null) {
-            firstNormalCue = cue;
-          } else if (normalCueTextBuilder == null) {
-            normalCueTextBuilder = new SpannableStringBuilder();
-            normalCueTextBuilder.append(firstNormalCue.text).append("\n").append(cue.text);
-          } else {
-            normalCueTextBuilder.append("\n").append(cue.text);
-          }
+    for (int cueIndex : activeCueIndices) {
+      WebvttCue cue = cues.get(cueIndex);
+      if (cue.isNormalCue()) {
+        // we want to merge all of the normal cues into a single cue to ensure they are drawn
+        // correctly (i.e. don't overlap) and to emulate roll-up, but only if there are multiple
+        // normal cues, otherwise we can just append the single normal cue
+        if (firstNormalCue == null) {
+          firstNormalCue = cue;
+        } else if (normalCueTextBuilder == null) {
+          normalCueTextBuilder = new SpannableStringBuilder();
+          normalCueTextBuilder.append(firstNormalCue.text).append("\n").append(cue.text);
         } else {
-          list.add(cue);
+          normalCueTextBuilder.append("\n").append(cue.text);
         }
+      } else {
+        list.add(cue);
       }
     }
     if (normalCueTextBuilder != null) {
@@ -110,12 +197,7 @@ import java.util.List;
       // there was only a single normal cue, so just add it to the list
       list.add(firstNormalCue);
     }
-
-    if (list != null) {
-      return list;
-    } else {
-      return Collections.emptyList();
-    }
+    return Collections.unmodifiableList(list);
   }
 
 }
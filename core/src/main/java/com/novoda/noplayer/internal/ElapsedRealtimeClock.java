@@ -0,0 +1,13 @@
+package com.novoda.noplayer.internal;
+
+/**
+ * Monotonic time since boot, for durations that must not jump when the wall clock is changed by the user or the network.
+ */
+public class ElapsedRealtimeClock implements Clock {
+
+    @Override
+    public long getCurrentTime() {
+        return android.os.SystemClock.elapsedRealtime();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.novoda.noplayer.internal;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Suspends the {@link HeartbeatScheduler} once the last started activity stops, and resumes it when one starts.
+ * Activities that were already started when this was registered are unknown, so they never suspend it.
+ * Activity callbacks come on the main thread, so the scheduler is suspended and resumed on its own thread,
+ * and the scheduler is forgotten once that thread has quit.
+ */
+class ForegroundActivities implements Application.ActivityLifecycleCallbacks {
+
+    private final Set<Integer> startedActivities = new HashSet<>();
+    private final HeartbeatScheduler scheduler;
+    private final Handler schedulerHandler;
+
+    ForegroundActivities(HeartbeatScheduler scheduler, Handler schedulerHandler) {
+        this.scheduler = scheduler;
+        this.schedulerHandler = schedulerHandler;
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+        boolean wasInBackground = startedActivities.isEmpty();
+        startedActivities.add(System.identityHashCode(activity));
+        if (wasInBackground) {
+            postToScheduler(resumeScheduler);
+        }
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+        boolean wasStarted = startedActivities.remove(System.identityHashCode(activity));
+        if (wasStarted && startedActivities.isEmpty()) {
+            postToScheduler(suspendScheduler);
+        }
+    }
+
+    private void postToScheduler(Runnable action) {
+        if (!schedulerHandler.post(action)) {
+            HeartbeatScheduler.forget(schedulerHandler.getLooper());
+        }
+    }
+
+    private final Runnable resumeScheduler = new Runnable() {
+        @Override
+        public void run() {
+            scheduler.resume();
+        }
+    };
+
+    private final Runnable suspendScheduler = new Runnable() {
+        @Override
+        public void run() {
+            scheduler.suspend();
+        }
+    };
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+        // Not interested in this event
+    }
+}
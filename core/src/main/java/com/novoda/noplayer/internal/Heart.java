@@ -1,58 +1,82 @@
 package com.novoda.noplayer.internal;
 
+import android.content.Context;
 import android.os.Handler;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
 
 @SuppressWarnings("checkstyle:FinalClass")  // We cannot make it final as we need to mock it in tests
 public class Heart {
 
-    private static final long HEART_BEAT_FREQUENCY_IN_MILLIS = 500;
-
+    private final HeartbeatScheduler scheduler;
     private final Handler handler;
-    private final long heartbeatFrequency;
 
     private Heartbeat heartbeatAction;
 
     private boolean beating;
+    private boolean released;
 
-    public static Heart newInstance(Handler handler) {
-        return new Heart(handler, HEART_BEAT_FREQUENCY_IN_MILLIS);
+    public static Heart newInstance(Context context, Handler handler) {
+        return new Heart(HeartbeatScheduler.obtain(context, handler), handler);
     }
 
-    private Heart(Handler handler, long heartbeatFrequencyInMillis) {
+    Heart(HeartbeatScheduler scheduler, Handler handler) {
+        this.scheduler = scheduler;
         this.handler = handler;
-        this.heartbeatFrequency = heartbeatFrequencyInMillis;
     }
 
     public void bind(Heartbeat onHeartbeat) {
         this.heartbeatAction = onHeartbeat;
+        onHeartbeat.callbacks.setCallbackRegisteredListener(new HeartbeatCallbacks.CallbackRegisteredListener() {
+            @Override
+            public void onCallbackRegistered() {
+                handler.post(resumeBeating);
+            }
+        });
     }
 
+    // A heart without callbacks stops beating, callbacks can be registered from any thread
+    private final Runnable resumeBeating = new Runnable() {
+        @Override
+        public void run() {
+            if (beating) {
+                scheduler.start(Heart.this);
+            }
+        }
+    };
+
     public void startBeatingHeart() {
         if (heartbeatAction == null) {
             throw new IllegalStateException("You must call bind() with a valid non-null " + Heartbeat.class.getSimpleName());
         }
         stopBeatingHeart();
         beating = true;
-        handler.post(heartbeat);
+        scheduler.start(this);
     }
 
-    private final Runnable heartbeat = new Runnable() {
-        @Override
-        public void run() {
-            handler.post(heartbeatAction);
-            scheduleNextBeat();
-        }
-    };
+    long intervalInMillis() {
+        return heartbeatAction.intervalInMillis();
+    }
 
-    private void scheduleNextBeat() {
-        handler.postDelayed(heartbeat, heartbeatFrequency);
+    void beat() {
+        heartbeatAction.run();
     }
 
     public void stopBeatingHeart() {
         beating = false;
-        handler.removeCallbacks(heartbeat);
+        scheduler.stop(this);
+    }
+
+    /**
+     * Stops beating and lets go of the scheduler shared with the other players of the looper.
+     */
+    public void release() {
+        stopBeatingHeart();
+        if (!released) {
+            released = true;
+            HeartbeatScheduler.release(scheduler);
+        }
     }
 
     public void forceBeat() {
@@ -68,18 +92,22 @@ public class Heart {
 
     public static class Heartbeat implements Runnable {
 
-        private final NoPlayer.HeartbeatCallback callback;
+        private final HeartbeatCallbacks callbacks;
         private final NoPlayer player;
 
-        public Heartbeat(NoPlayer.HeartbeatCallback callback, NoPlayer player) {
-            this.callback = callback;
+        public Heartbeat(HeartbeatCallbacks callbacks, NoPlayer player) {
+            this.callbacks = callbacks;
             this.player = player;
         }
 
+        long intervalInMillis() {
+            return callbacks.shortestIntervalInMillis();
+        }
+
         @Override
         public void run() {
             if (player.isPlaying()) {
-                callback.onBeat(player);
+                callbacks.onBeat(player);
             }
         }
     }
@@ -0,0 +1,186 @@
+package com.novoda.noplayer.internal;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Beats the {@link Heart} of every player sharing a {@link Looper} from a single runnable. Hearts that are due
+ * close to each other beat together, so several players wake the thread up once instead of once each.
+ * Nothing is scheduled while no heart is beating or while the application is in the background.
+ * A scheduler is shared until the last player of its looper is released or until the looper quits.
+ */
+@SuppressWarnings("checkstyle:FinalClass")  // We cannot make it final as we need to mock it in tests
+public class HeartbeatScheduler {
+
+    private static final Map<Looper, SharedScheduler> SCHEDULERS = new HashMap<>();
+    private static final long NOT_SCHEDULED = -1;
+    // A heart due within a quarter of its interval beats along with the others rather than on its own
+    private static final int COALESCING_FRACTION_OF_INTERVAL = 4;
+
+    private final Handler handler;
+    private final Clock clock;
+    private final Map<Heart, Long> nextBeatTimes = new LinkedHashMap<>();
+
+    private boolean suspended;
+    private long scheduledTickTime = NOT_SCHEDULED;
+
+    static synchronized HeartbeatScheduler obtain(Context context, Handler handler) {
+        Looper looper = handler.getLooper();
+        SharedScheduler sharedScheduler = SCHEDULERS.get(looper);
+        if (sharedScheduler == null) {
+            HeartbeatScheduler scheduler = new HeartbeatScheduler(handler, new SystemClock());
+            Context applicationContext = context.getApplicationContext();
+            Application application = applicationContext instanceof Application ? (Application) applicationContext : null;
+            sharedScheduler = new SharedScheduler(scheduler, application, new ForegroundActivities(scheduler, handler));
+            sharedScheduler.registerForegroundActivities();
+            SCHEDULERS.put(looper, sharedScheduler);
+        }
+        sharedScheduler.playerCount++;
+        return sharedScheduler.scheduler;
+    }
+
+    /**
+     * Forgets the scheduler once the last player that obtained it is released, so that it can be collected along with its looper.
+     */
+    static synchronized void release(HeartbeatScheduler scheduler) {
+        for (Map.Entry<Looper, SharedScheduler> entry : SCHEDULERS.entrySet()) {
+            SharedScheduler sharedScheduler = entry.getValue();
+            if (sharedScheduler.scheduler == scheduler) {
+                sharedScheduler.playerCount--;
+                if (sharedScheduler.playerCount == 0) {
+                    SCHEDULERS.remove(entry.getKey());
+                    sharedScheduler.unregisterForegroundActivities();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forgets the scheduler of a looper that has quit, as nothing can run on it anymore.
+     */
+    static synchronized void forget(Looper looper) {
+        SharedScheduler sharedScheduler = SCHEDULERS.remove(looper);
+        if (sharedScheduler != null) {
+            sharedScheduler.unregisterForegroundActivities();
+        }
+    }
+
+    HeartbeatScheduler(Handler handler, Clock clock) {
+        this.handler = handler;
+        this.clock = clock;
+    }
+
+    void start(Heart heart) {
+        if (nextBeatTimes.containsKey(heart) || heart.intervalInMillis() == HeartbeatCallbacks.NO_INTERVAL) {
+            return;
+        }
+        nextBeatTimes.put(heart, clock.getCurrentTime());
+        scheduleNextTick();
+    }
+
+    void stop(Heart heart) {
+        nextBeatTimes.remove(heart);
+        if (nextBeatTimes.isEmpty()) {
+            cancelTick();
+        }
+    }
+
+    void suspend() {
+        suspended = true;
+        cancelTick();
+    }
+
+    void resume() {
+        suspended = false;
+        scheduleNextTick();
+    }
+
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            scheduledTickTime = NOT_SCHEDULED;
+            long currentTime = clock.getCurrentTime();
+            for (Heart heart : new ArrayList<>(nextBeatTimes.keySet())) {
+                Long nextBeatTime = nextBeatTimes.get(heart);
+                long intervalInMillis = heart.intervalInMillis();
+                if (intervalInMillis == HeartbeatCallbacks.NO_INTERVAL) {
+                    // Nothing to notify, the heart is started again once a callback is registered
+                    nextBeatTimes.remove(heart);
+                    continue;
+                }
+                // A beat can stop hearts that come after it
+                if (nextBeatTime != null && nextBeatTime <= currentTime + intervalInMillis / COALESCING_FRACTION_OF_INTERVAL) {
+                    nextBeatTimes.put(heart, currentTime + intervalInMillis);
+                    heart.beat();
+                }
+            }
+            scheduleNextTick();
+        }
+    };
+
+    private void scheduleNextTick() {
+        if (suspended || nextBeatTimes.isEmpty()) {
+            cancelTick();
+            return;
+        }
+        long nextTickTime = Long.MAX_VALUE;
+        for (long nextBeatTime : nextBeatTimes.values()) {
+            nextTickTime = Math.min(nextTickTime, nextBeatTime);
+        }
+        if (scheduledTickTime != NOT_SCHEDULED && scheduledTickTime <= nextTickTime) {
+            return;
+        }
+        handler.removeCallbacks(tick);
+        scheduledTickTime = nextTickTime;
+        long delayInMillis = nextTickTime - clock.getCurrentTime();
+        if (delayInMillis > 0) {
+            handler.postDelayed(tick, delayInMillis);
+        } else {
+            handler.post(tick);
+        }
+    }
+
+    private void cancelTick() {
+        scheduledTickTime = NOT_SCHEDULED;
+        handler.removeCallbacks(tick);
+    }
+
+    private static final class SharedScheduler {
+
+        private final HeartbeatScheduler scheduler;
+        @Nullable
+        private final Application application;
+        private final ForegroundActivities foregroundActivities;
+
+        private int playerCount;
+
+        SharedScheduler(HeartbeatScheduler scheduler, @Nullable Application application, ForegroundActivities foregroundActivities) {
+            this.scheduler = scheduler;
+            this.application = application;
+            this.foregroundActivities = foregroundActivities;
+        }
+
+        void registerForegroundActivities() {
+            if (application != null) {
+                application.registerActivityLifecycleCallbacks(foregroundActivities);
+            }
+        }
+
+        void unregisterForegroundActivities() {
+            if (application != null) {
+                application.unregisterActivityLifecycleCallbacks(foregroundActivities);
+            }
+        }
+    }
+}
@@ -0,0 +1,605 @@
+package com.novoda.noplayer.internal;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.support.annotation.FloatRange;
+
+import com.novoda.noplayer.Listeners;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.Options;
+import com.novoda.noplayer.PlayerInformation;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.TrackSelectionEditor;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+import com.novoda.noplayer.model.PlaybackStats;
+import com.novoda.noplayer.model.PlayerAudioTrack;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+import com.novoda.noplayer.model.Timeout;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs the calls to a {@link NoPlayer} on the thread of the {@link android.os.Looper} that the player is bound to.
+ * Calls made on that thread run straight away, calls made on other threads are posted to it and wait for it to run them,
+ * so they return its result, throw its exceptions and run in the order in which they were made.
+ * The listeners, the player information and the playback snapshots and stats are read on the calling thread,
+ * as they never call into the underlying player.
+ * Attached {@link PlayerView}s are only ever updated from the main thread.
+ */
+public final class LooperBoundPlayer implements NoPlayer {
+
+    private final NoPlayer player;
+    private final Handler playerHandler;
+    private final Handler mainHandler;
+    private final Map<PlayerView, MainThreadPlayerView> attachedPlayerViews = new HashMap<>();
+
+    public static NoPlayer bind(NoPlayer player, Handler playerHandler, Handler mainHandler) {
+        return new LooperBoundPlayer(player, playerHandler, mainHandler);
+    }
+
+    LooperBoundPlayer(NoPlayer player, Handler playerHandler, Handler mainHandler) {
+        this.player = player;
+        this.playerHandler = playerHandler;
+        this.mainHandler = mainHandler;
+    }
+
+    @Override
+    public Listeners getListeners() {
+        return player.getListeners();
+    }
+
+    @Override
+    public void play() throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.play();
+            }
+        });
+    }
+
+    @Deprecated
+    @Override
+    public void playAt(final long positionInMillis) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.playAt(positionInMillis);
+            }
+        });
+    }
+
+    @Override
+    public void pause() throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.pause();
+            }
+        });
+    }
+
+    @Override
+    public void seekTo(final long positionInMillis) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.seekTo(positionInMillis);
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.stop();
+            }
+        });
+    }
+
+    @Override
+    public void release() {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.release();
+            }
+        });
+    }
+
+    @Override
+    public void preload(final Uri uri, final Options options) {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.preload(uri, options);
+            }
+        });
+    }
+
+    @Override
+    public void loadVideo(final Uri uri, final Options options) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.loadVideo(uri, options);
+            }
+        });
+    }
+
+    @Override
+    public void loadVideoWithTimeout(final Uri uri, final Options options, final Timeout timeout, final LoadTimeoutCallback loadTimeoutCallback) {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.loadVideoWithTimeout(uri, options, timeout, loadTimeoutCallback);
+            }
+        });
+    }
+
+    @Override
+    public void appendToQueue(final Uri uri, final Options options) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.appendToQueue(uri, options);
+            }
+        });
+    }
+
+    @Override
+    public void removeFromQueue(final int index) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.removeFromQueue(index);
+            }
+        });
+    }
+
+    @Override
+    public void moveInQueue(final int fromIndex, final int toIndex) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.moveInQueue(fromIndex, toIndex);
+            }
+        });
+    }
+
+    @Override
+    public int queueSize() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return player.queueSize();
+            }
+        });
+    }
+
+    @Override
+    public int currentQueueIndex() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return player.currentQueueIndex();
+            }
+        });
+    }
+
+    @Override
+    public void addCuePoint(final long positionInMillis, final CuePointCallback cuePointCallback) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.addCuePoint(positionInMillis, cuePointCallback);
+            }
+        });
+    }
+
+    @Override
+    public void removeCuePoint(final long positionInMillis, final CuePointCallback cuePointCallback) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.removeCuePoint(positionInMillis, cuePointCallback);
+            }
+        });
+    }
+
+    @Override
+    public PlaybackSnapshot getPlaybackSnapshot() {
+        return player.getPlaybackSnapshot();
+    }
+
+    @Override
+    public PlaybackStats getPlaybackStats() {
+        return player.getPlaybackStats();
+    }
+
+    @Override
+    public PlayerInformation getPlayerInformation() {
+        return player.getPlayerInformation();
+    }
+
+    @Override
+    public void attach(PlayerView playerView) {
+        final PlayerView attachedPlayerView = runsOnMainThread() ? playerView : mainThreadPlayerViewFor(playerView);
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.attach(attachedPlayerView);
+            }
+        });
+    }
+
+    @Override
+    public void detach(PlayerView playerView) {
+        final PlayerView attachedPlayerView = runsOnMainThread() ? playerView : detachedPlayerViewFor(playerView);
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.detach(attachedPlayerView);
+            }
+        });
+    }
+
+    @Override
+    public List<PlayerVideoTrack> getVideoTracks() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<List<PlayerVideoTrack>>() {
+            @Override
+            public List<PlayerVideoTrack> call() {
+                return player.getVideoTracks();
+            }
+        });
+    }
+
+    @Override
+    public boolean selectVideoTrack(final PlayerVideoTrack videoTrack) throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.selectVideoTrack(videoTrack);
+            }
+        });
+    }
+
+    @Override
+    public Optional<PlayerVideoTrack> getSelectedVideoTrack() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Optional<PlayerVideoTrack>>() {
+            @Override
+            public Optional<PlayerVideoTrack> call() {
+                return player.getSelectedVideoTrack();
+            }
+        });
+    }
+
+    @Override
+    public boolean clearVideoTrackSelection() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.clearVideoTrackSelection();
+            }
+        });
+    }
+
+    @Override
+    public AudioTracks getAudioTracks() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<AudioTracks>() {
+            @Override
+            public AudioTracks call() {
+                return player.getAudioTracks();
+            }
+        });
+    }
+
+    @Override
+    public boolean selectAudioTrack(final PlayerAudioTrack audioTrack) throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.selectAudioTrack(audioTrack);
+            }
+        });
+    }
+
+    @Override
+    public boolean clearAudioTrackSelection() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.clearAudioTrackSelection();
+            }
+        });
+    }
+
+    @Override
+    public List<PlayerSubtitleTrack> getSubtitleTracks() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<List<PlayerSubtitleTrack>>() {
+            @Override
+            public List<PlayerSubtitleTrack> call() {
+                return player.getSubtitleTracks();
+            }
+        });
+    }
+
+    @Override
+    public boolean showSubtitleTrack(final PlayerSubtitleTrack subtitleTrack) throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.showSubtitleTrack(subtitleTrack);
+            }
+        });
+    }
+
+    @Override
+    public boolean hideSubtitleTrack() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.hideSubtitleTrack();
+            }
+        });
+    }
+
+    @Override
+    public void setRepeating(final boolean repeating) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.setRepeating(repeating);
+            }
+        });
+    }
+
+    @Override
+    public void setVolume(@FloatRange(from = 0.0f, to = 1.0f) final float volume) throws IllegalStateException {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.setVolume(volume);
+            }
+        });
+    }
+
+    @Override
+    @FloatRange(from = 0.0f, to = 1.0f)
+    public float getVolume() throws IllegalStateException {
+        return callOnPlayerThread(new Callable<Float>() {
+            @Override
+            public Float call() {
+                return player.getVolume();
+            }
+        });
+    }
+
+    @Override
+    public void clearMaxVideoBitrate() {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.clearMaxVideoBitrate();
+            }
+        });
+    }
+
+    @Override
+    public void setMaxVideoBitrate(final int maxVideoBitrate) {
+        runOnPlayerThread(new Runnable() {
+            @Override
+            public void run() {
+                player.setMaxVideoBitrate(maxVideoBitrate);
+            }
+        });
+    }
+
+    @Override
+    public TrackSelectionEditor editTracks() {
+        return new PlayerThreadTrackSelectionEditor(callOnPlayerThread(new Callable<TrackSelectionEditor>() {
+            @Override
+            public TrackSelectionEditor call() {
+                return player.editTracks();
+            }
+        }));
+    }
+
+    @Override
+    public boolean isPlaying() {
+        return callOnPlayerThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return player.isPlaying();
+            }
+        });
+    }
+
+    @Override
+    public int videoWidth() {
+        return callOnPlayerThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return player.videoWidth();
+            }
+        });
+    }
+
+    @Override
+    public int videoHeight() {
+        return callOnPlayerThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return player.videoHeight();
+            }
+        });
+    }
+
+    @Override
+    public long playheadPositionInMillis() {
+        return callOnPlayerThread(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return player.playheadPositionInMillis();
+            }
+        });
+    }
+
+    @Override
+    public long mediaDurationInMillis() {
+        return callOnPlayerThread(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return player.mediaDurationInMillis();
+            }
+        });
+    }
+
+    @Override
+    public int bufferPercentage() {
+        return callOnPlayerThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return player.bufferPercentage();
+            }
+        });
+    }
+
+    private synchronized PlayerView mainThreadPlayerViewFor(PlayerView playerView) {
+        MainThreadPlayerView mainThreadPlayerView = attachedPlayerViews.get(playerView);
+        if (mainThreadPlayerView == null) {
+            mainThreadPlayerView = new MainThreadPlayerView(playerView, mainHandler);
+            attachedPlayerViews.put(playerView, mainThreadPlayerView);
+        }
+        return mainThreadPlayerView;
+    }
+
+    private synchronized PlayerView detachedPlayerViewFor(PlayerView playerView) {
+        MainThreadPlayerView mainThreadPlayerView = attachedPlayerViews.remove(playerView);
+        return mainThreadPlayerView == null ? playerView : mainThreadPlayerView;
+    }
+
+    private boolean runsOnMainThread() {
+        return playerHandler.getLooper() == mainHandler.getLooper();
+    }
+
+    private void runOnPlayerThread(Runnable call) {
+        callOnPlayerThread(Executors.callable(call));
+    }
+
+    private <T> T callOnPlayerThread(Callable<T> call) {
+        FutureTask<T> task = new FutureTask<>(call);
+        if (playerHandler.getLooper().getThread() == Thread.currentThread()) {
+            task.run();
+        } else if (!playerHandler.post(task)) {
+            HeartbeatScheduler.forget(playerHandler.getLooper());
+            throw new IllegalStateException("The player thread has quit, the player can no longer be used");
+        }
+        return resultOf(task);
+    }
+
+    private static <T> T resultOf(FutureTask<T> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // The call runs regardless, returning early would let the next call overtake it
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final class PlayerThreadTrackSelectionEditor implements TrackSelectionEditor {
+
+        private final TrackSelectionEditor editor;
+
+        PlayerThreadTrackSelectionEditor(TrackSelectionEditor editor) {
+            this.editor = editor;
+        }
+
+        @Override
+        public TrackSelectionEditor audio(PlayerAudioTrack audioTrack) {
+            editor.audio(audioTrack);
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor clearAudio() {
+            editor.clearAudio();
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor video(PlayerVideoTrack videoTrack) {
+            editor.video(videoTrack);
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor clearVideo() {
+            editor.clearVideo();
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor subtitles(PlayerSubtitleTrack subtitleTrack) {
+            editor.subtitles(subtitleTrack);
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor hideSubtitles() {
+            editor.hideSubtitles();
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor maxVideoBitrate(int maxVideoBitrate) {
+            editor.maxVideoBitrate(maxVideoBitrate);
+            return this;
+        }
+
+        @Override
+        public TrackSelectionEditor clearMaxVideoBitrate() {
+            editor.clearMaxVideoBitrate();
+            return this;
+        }
+
+        @Override
+        public boolean apply() throws IllegalStateException {
+            return callOnPlayerThread(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return editor.apply();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.novoda.noplayer.internal;
+
+import android.os.Handler;
+import android.view.View;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerSurfaceHolder;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.model.TextCues;
+
+/**
+ * Hands the updates of a {@link PlayerView} made from the player thread over to the main thread.
+ */
+class MainThreadPlayerView implements PlayerView {
+
+    private final PlayerView playerView;
+    private final Handler mainHandler;
+    private final NoPlayer.VideoSizeChangedListener videoSizeChangedListener;
+    private final NoPlayer.StateChangedListener stateChangedListener;
+
+    MainThreadPlayerView(PlayerView playerView, Handler mainHandler) {
+        this.playerView = playerView;
+        this.mainHandler = mainHandler;
+        this.videoSizeChangedListener = new MainThreadVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
+        this.stateChangedListener = new MainThreadStateChangedListener(playerView.getStateChangedListener());
+    }
+
+    @Override
+    public View getContainerView() {
+        return playerView.getContainerView();
+    }
+
+    @Override
+    public PlayerSurfaceHolder getPlayerSurfaceHolder() {
+        return playerView.getPlayerSurfaceHolder();
+    }
+
+    @Override
+    public NoPlayer.VideoSizeChangedListener getVideoSizeChangedListener() {
+        return videoSizeChangedListener;
+    }
+
+    @Override
+    public NoPlayer.StateChangedListener getStateChangedListener() {
+        return stateChangedListener;
+    }
+
+    @Override
+    public void showSubtitles() {
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                playerView.showSubtitles();
+            }
+        });
+    }
+
+    @Override
+    public void hideSubtitles() {
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                playerView.hideSubtitles();
+            }
+        });
+    }
+
+    @Override
+    public void setSubtitleCue(final TextCues textCues) {
+        runOnMainThread(new Runnable() {
+            @Override
+            public void run() {
+                playerView.setSubtitleCue(textCues);
+            }
+        });
+    }
+
+    private void runOnMainThread(Runnable action) {
+        if (mainHandler.getLooper().getThread() == Thread.currentThread()) {
+            action.run();
+        } else {
+            mainHandler.post(action);
+        }
+    }
+
+    private class MainThreadVideoSizeChangedListener implements NoPlayer.VideoSizeChangedListener {
+
+        private final NoPlayer.VideoSizeChangedListener listener;
+
+        MainThreadVideoSizeChangedListener(NoPlayer.VideoSizeChangedListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onVideoSizeChanged(final int width,
+                                       final int height,
+                                       final int unappliedRotationDegrees,
+                                       final float pixelWidthHeightRatio) {
+            runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onVideoSizeChanged(width, height, unappliedRotationDegrees, pixelWidthHeightRatio);
+                }
+            });
+        }
+    }
+
+    private class MainThreadStateChangedListener implements NoPlayer.StateChangedListener {
+
+        private final NoPlayer.StateChangedListener listener;
+
+        MainThreadStateChangedListener(NoPlayer.StateChangedListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onVideoPlaying() {
+            runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onVideoPlaying();
+                }
+            });
+        }
+
+        @Override
+        public void onVideoPaused() {
+            runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onVideoPaused();
+                }
+            });
+        }
+
+        @Override
+        public void onVideoStopped() {
+            runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onVideoStopped();
+                }
+            });
+        }
+    }
+}
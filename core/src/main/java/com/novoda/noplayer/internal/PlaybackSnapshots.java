@@ -0,0 +1,57 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the latest {@link PlaybackSnapshot}. Snapshots are only published from the player thread and swapped in atomically,
+ * so that any thread can read the latest one without locking or calling into the player.
+ */
+public class PlaybackSnapshots implements NoPlayer.BitrateChangedListener {
+
+    private static final Bitrate NO_BITRATE = Bitrate.fromBitsPerSecond(0);
+
+    private final AtomicReference<PlaybackSnapshot> latestSnapshot;
+    private final Clock clock;
+
+    private Bitrate audioBitrate = NO_BITRATE;
+    private Bitrate videoBitrate = NO_BITRATE;
+
+    public PlaybackSnapshots(Clock clock) {
+        this.clock = clock;
+        this.latestSnapshot = new AtomicReference<>(PlaybackSnapshot.idle(clock.getCurrentTime()));
+    }
+
+    public PlaybackSnapshot latest() {
+        return latestSnapshot.get();
+    }
+
+    public void publish(PlaybackSnapshot.State state, long positionInMillis, long bufferedPositionInMillis, long durationInMillis) {
+        latestSnapshot.set(new PlaybackSnapshot(
+                state,
+                positionInMillis,
+                bufferedPositionInMillis,
+                durationInMillis,
+                audioBitrate,
+                videoBitrate,
+                clock.getCurrentTime()
+        ));
+    }
+
+    @Override
+    public void onBitrateChanged(Bitrate audioBitrate, Bitrate videoBitrate) {
+        this.audioBitrate = audioBitrate;
+        this.videoBitrate = videoBitrate;
+        // Keeps the capture time, the position would be extrapolated from the wrong time otherwise
+        latestSnapshot.set(latestSnapshot.get().withBitrates(audioBitrate, videoBitrate));
+    }
+
+    public void reset() {
+        audioBitrate = NO_BITRATE;
+        videoBitrate = NO_BITRATE;
+        latestSnapshot.set(PlaybackSnapshot.idle(clock.getCurrentTime()));
+    }
+}
@@ -0,0 +1,192 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.PlaybackStats;
+import com.novoda.noplayer.model.VideoQualityStats;
+
+/**
+ * Aggregates the events of the player into the {@link PlaybackStats} of the current session.
+ * Events arrive on the player thread while stats can be read from any thread, reading only adds up a few counters.
+ */
+public class PlaybackStatsCollector implements NoPlayer.BufferStateListener,
+        NoPlayer.StateChangedListener,
+        NoPlayer.BitrateChangedListener,
+        NoPlayer.DroppedVideoFramesListener {
+
+    private static final int KILOBIT = 1000;
+    private static final Bitrate NO_BITRATE = Bitrate.fromBitsPerSecond(0);
+
+    private final Clock clock;
+
+    private long loadRequestedAtInMillis;
+    private long lastUpdatedAtInMillis;
+    private boolean playRequested;
+    private boolean buffering;
+    private boolean seeking;
+    private Optional<Long> joinTimeInMillis = Optional.absent();
+    private long playingDurationInMillis;
+    private int stallCount;
+    private long stallDurationInMillis;
+    private Bitrate videoBitrate = NO_BITRATE;
+    private boolean videoBitrateSelected;
+    private long playedBits;
+    private int qualitySwitchCount;
+    private int droppedFrames;
+    private long bytesLoaded;
+
+    public PlaybackStatsCollector(Clock clock) {
+        this.clock = clock;
+    }
+
+    public synchronized void startSession() {
+        lastUpdatedAtInMillis = clock.getCurrentTime();
+        loadRequestedAtInMillis = lastUpdatedAtInMillis;
+        playRequested = false;
+        buffering = false;
+        seeking = false;
+        joinTimeInMillis = Optional.absent();
+        playingDurationInMillis = 0;
+        stallCount = 0;
+        stallDurationInMillis = 0;
+        // Keeps the video bitrate, it is only forwarded again when the next video plays at a different one
+        videoBitrateSelected = false;
+        playedBits = 0;
+        qualitySwitchCount = 0;
+        droppedFrames = 0;
+        bytesLoaded = 0;
+    }
+
+    /**
+     * Times the join from now on, so that a video preloaded before it was asked for does not count the wait in between.
+     */
+    public synchronized void onLoadRequested() {
+        loadRequestedAtInMillis = clock.getCurrentTime();
+    }
+
+    /**
+     * Stops timing the session, its stats stay readable until the next one starts.
+     */
+    public synchronized void endSession() {
+        accumulate();
+        playRequested = false;
+        buffering = false;
+        seeking = false;
+    }
+
+    /**
+     * Buffering from now until the player is ready again is caused by the seek, so it is neither a stall nor playing time.
+     */
+    public synchronized void onSeekStarted() {
+        accumulate();
+        seeking = true;
+    }
+
+    /**
+     * Ends a seek that did not need to buffer, e.g. within the buffered media, so that the next buffering counts as a stall.
+     */
+    public synchronized void onSeekCompleted() {
+        if (!buffering) {
+            seeking = false;
+        }
+    }
+
+    public synchronized void onBytesLoaded(long bytes) {
+        bytesLoaded += bytes;
+    }
+
+    @Override
+    public synchronized void onBufferStarted() {
+        if (buffering) {
+            return;
+        }
+        accumulate();
+        buffering = true;
+        if (playRequested && joinTimeInMillis.isPresent() && !seeking) {
+            stallCount++;
+        }
+    }
+
+    @Override
+    public synchronized void onBufferCompleted() {
+        accumulate();
+        buffering = false;
+        seeking = false;
+        markJoinedIfPlaying();
+    }
+
+    @Override
+    public synchronized void onVideoPlaying() {
+        accumulate();
+        playRequested = true;
+        markJoinedIfPlaying();
+    }
+
+    @Override
+    public synchronized void onVideoPaused() {
+        accumulate();
+        playRequested = false;
+    }
+
+    @Override
+    public void onVideoStopped() {
+        endSession();
+    }
+
+    @Override
+    public synchronized void onBitrateChanged(Bitrate audioBitrate, Bitrate videoBitrate) {
+        if (NO_BITRATE.equals(videoBitrate)) {
+            return;
+        }
+        accumulate();
+        if (videoBitrateSelected && !videoBitrate.equals(this.videoBitrate)) {
+            qualitySwitchCount++;
+        }
+        videoBitrateSelected = true;
+        this.videoBitrate = videoBitrate;
+    }
+
+    @Override
+    public synchronized void onDroppedVideoFrames(int droppedFrames, long elapsedMsSinceLastDroppedFrames) {
+        this.droppedFrames += droppedFrames;
+    }
+
+    public synchronized PlaybackStats stats() {
+        accumulate();
+        Bitrate averageVideoBitrate = playingDurationInMillis == 0
+                ? NO_BITRATE
+                : Bitrate.fromBitsPerSecond(playedBits * KILOBIT / playingDurationInMillis);
+        return new PlaybackStats(
+                joinTimeInMillis,
+                playingDurationInMillis,
+                stallCount,
+                stallDurationInMillis,
+                new VideoQualityStats(averageVideoBitrate, qualitySwitchCount, droppedFrames),
+                bytesLoaded
+        );
+    }
+
+    private void markJoinedIfPlaying() {
+        if (playRequested && !buffering && joinTimeInMillis.isAbsent()) {
+            joinTimeInMillis = Optional.of(clock.getCurrentTime() - loadRequestedAtInMillis);
+        }
+    }
+
+    private void accumulate() {
+        long now = clock.getCurrentTime();
+        long elapsedInMillis = now - lastUpdatedAtInMillis;
+        lastUpdatedAtInMillis = now;
+        if (!playRequested || joinTimeInMillis.isAbsent()) {
+            return;
+        }
+        if (buffering) {
+            if (!seeking) {
+                stallDurationInMillis += elapsedInMillis;
+            }
+        } else {
+            playingDurationInMillis += elapsedInMillis;
+            playedBits += videoBitrate.asKilobits() * elapsedInMillis;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.novoda.noplayer.internal;
+
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+/**
+ * A background thread for the players that should not run on the main thread. It is shared by all of them
+ * and never quits, like the main thread.
+ */
+public final class PlaybackThread {
+
+    @Nullable
+    private static HandlerThread thread;
+
+    private PlaybackThread() {
+        // Not instantiable
+    }
+
+    public static synchronized Looper looper() {
+        if (thread == null) {
+            thread = new HandlerThread("NoPlayer");
+            thread.start();
+        }
+        return thread.getLooper();
+    }
+}
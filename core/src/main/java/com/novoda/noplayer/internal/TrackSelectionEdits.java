@@ -0,0 +1,123 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.TrackSelectionEditor;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.PlayerAudioTrack;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+
+public class TrackSelectionEdits implements TrackSelectionEditor {
+
+    private final Applier applier;
+
+    private Optional<PlayerAudioTrack> audioTrack = Optional.absent();
+    private boolean clearsAudioTrack;
+    private Optional<PlayerVideoTrack> videoTrack = Optional.absent();
+    private boolean clearsVideoTrack;
+    private Optional<PlayerSubtitleTrack> subtitleTrack = Optional.absent();
+    private boolean hidesSubtitleTrack;
+    private Optional<Integer> maxVideoBitrate = Optional.absent();
+    private boolean clearsMaxVideoBitrate;
+
+    public TrackSelectionEdits(Applier applier) {
+        this.applier = applier;
+    }
+
+    @Override
+    public TrackSelectionEditor audio(PlayerAudioTrack audioTrack) {
+        this.audioTrack = Optional.of(audioTrack);
+        clearsAudioTrack = false;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor clearAudio() {
+        audioTrack = Optional.absent();
+        clearsAudioTrack = true;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor video(PlayerVideoTrack videoTrack) {
+        this.videoTrack = Optional.of(videoTrack);
+        clearsVideoTrack = false;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor clearVideo() {
+        videoTrack = Optional.absent();
+        clearsVideoTrack = true;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor subtitles(PlayerSubtitleTrack subtitleTrack) {
+        this.subtitleTrack = Optional.of(subtitleTrack);
+        hidesSubtitleTrack = false;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor hideSubtitles() {
+        subtitleTrack = Optional.absent();
+        hidesSubtitleTrack = true;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor maxVideoBitrate(int maxVideoBitrate) {
+        this.maxVideoBitrate = Optional.of(maxVideoBitrate);
+        clearsMaxVideoBitrate = false;
+        return this;
+    }
+
+    @Override
+    public TrackSelectionEditor clearMaxVideoBitrate() {
+        maxVideoBitrate = Optional.absent();
+        clearsMaxVideoBitrate = true;
+        return this;
+    }
+
+    @Override
+    public boolean apply() throws IllegalStateException {
+        return applier.apply(this);
+    }
+
+    public Optional<PlayerAudioTrack> audioTrack() {
+        return audioTrack;
+    }
+
+    public boolean clearsAudioTrack() {
+        return clearsAudioTrack;
+    }
+
+    public Optional<PlayerVideoTrack> videoTrack() {
+        return videoTrack;
+    }
+
+    public boolean clearsVideoTrack() {
+        return clearsVideoTrack;
+    }
+
+    public Optional<PlayerSubtitleTrack> subtitleTrack() {
+        return subtitleTrack;
+    }
+
+    public boolean hidesSubtitleTrack() {
+        return hidesSubtitleTrack;
+    }
+
+    public Optional<Integer> maxVideoBitrate() {
+        return maxVideoBitrate;
+    }
+
+    public boolean clearsMaxVideoBitrate() {
+        return clearsMaxVideoBitrate;
+    }
+
+    public interface Applier {
+
+        boolean apply(TrackSelectionEdits edits) throws IllegalStateException;
+    }
+}
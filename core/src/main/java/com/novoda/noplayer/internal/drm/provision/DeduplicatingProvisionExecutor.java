@@ -0,0 +1,103 @@
+package com.novoda.noplayer.internal.drm.provision;
+
+import android.support.annotation.Nullable;
+
+import com.novoda.noplayer.drm.ModularDrmProvisionRequest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Sends one provisioning request at a time, so that players provisioning the device concurrently do not all hit the
+ * provisioning server at once. A response only answers the request it was issued for, the device rejects it for any other,
+ * so callers arriving while a different request is in flight wait for it to complete and then send their own.
+ * Callers sending the very request that is in flight receive its response.
+ */
+class DeduplicatingProvisionExecutor implements ProvisionExecutor {
+
+    private final ProvisionExecutor provisionExecutor;
+
+    @Nullable
+    private InFlightProvision inFlightProvision;
+
+    DeduplicatingProvisionExecutor(ProvisionExecutor provisionExecutor) {
+        this.provisionExecutor = provisionExecutor;
+    }
+
+    @Override
+    public byte[] execute(ModularDrmProvisionRequest request) throws IOException, UnableToProvisionException {
+        while (true) {
+            InFlightProvision provision;
+            boolean isLeader = false;
+            synchronized (this) {
+                if (inFlightProvision == null) {
+                    inFlightProvision = new InFlightProvision(request);
+                    isLeader = true;
+                }
+                provision = inFlightProvision;
+            }
+
+            if (isLeader) {
+                provide(provision);
+                return provision.await();
+            }
+            if (provision.request.equals(request)) {
+                return provision.await();
+            }
+            provision.awaitCompletion();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // Waiting callers must be released whatever the outcome of the request is
+    private void provide(InFlightProvision provision) {
+        try {
+            provision.response = provisionExecutor.execute(provision.request);
+        } catch (IOException | UnableToProvisionException | RuntimeException e) {
+            provision.failure = e;
+        } finally {
+            synchronized (this) {
+                inFlightProvision = null;
+            }
+            provision.completed.countDown();
+        }
+    }
+
+    private static final class InFlightProvision {
+
+        private final ModularDrmProvisionRequest request;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Nullable
+        private volatile byte[] response;
+        @Nullable
+        private volatile Exception failure;
+
+        InFlightProvision(ModularDrmProvisionRequest request) {
+            this.request = request;
+        }
+
+        void awaitCompletion() throws InterruptedIOException {
+            try {
+                completed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for provisioning");
+            }
+        }
+
+        byte[] await() throws IOException, UnableToProvisionException {
+            awaitCompletion();
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure instanceof UnableToProvisionException) {
+                throw (UnableToProvisionException) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            return response;
+        }
+    }
+}
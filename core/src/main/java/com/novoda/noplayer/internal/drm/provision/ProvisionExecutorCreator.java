@@ -1,10 +1,15 @@
 package com.novoda.noplayer.internal.drm.provision;
 
+/**
+ * Provisioning is shared by every player of the process, so that concurrent requests are sent one at a time.
+ */
 public class ProvisionExecutorCreator {
 
+    private static final ProvisionExecutor PROVISION_EXECUTOR = new DeduplicatingProvisionExecutor(
+            new HttpPostingProvisionExecutor(new HttpUrlConnectionPoster(), ProvisioningCapabilities.newInstance())
+    );
+
     public ProvisionExecutor create() {
-        HttpUrlConnectionPoster httpPoster = new HttpUrlConnectionPoster();
-        ProvisioningCapabilities capabilities = ProvisioningCapabilities.newInstance();
-        return new HttpPostingProvisionExecutor(httpPoster, capabilities);
+        return PROVISION_EXECUTOR;
     }
 }
@@ -0,0 +1,53 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+class BandwidthEstimateStore {
+
+    private static final String PREFERENCES_NAME = "noplayer_bandwidth_estimates";
+    private static final String KEY_PREFIX = "bitrate_estimate_";
+    private static final String NO_NETWORK = "none";
+    private static final long NO_ESTIMATE = -1;
+
+    private final SharedPreferences preferences;
+    private final ConnectivityManager connectivityManager;
+
+    static BandwidthEstimateStore newInstance(Context context) {
+        Context applicationContext = context.getApplicationContext();
+        SharedPreferences preferences = applicationContext.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+        ConnectivityManager connectivityManager = (ConnectivityManager) applicationContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+        return new BandwidthEstimateStore(preferences, connectivityManager);
+    }
+
+    BandwidthEstimateStore(SharedPreferences preferences, ConnectivityManager connectivityManager) {
+        this.preferences = preferences;
+        this.connectivityManager = connectivityManager;
+    }
+
+    String currentNetworkType() {
+        NetworkInfo networkInfo = connectivityManager.getActiveNetworkInfo();
+        if (networkInfo == null || !networkInfo.isConnected()) {
+            return NO_NETWORK;
+        }
+        return String.valueOf(networkInfo.getType());
+    }
+
+    Optional<Long> estimateFor(String networkType) {
+        long bitrateEstimate = preferences.getLong(KEY_PREFIX + networkType, NO_ESTIMATE);
+        if (bitrateEstimate == NO_ESTIMATE) {
+            return Optional.absent();
+        }
+        return Optional.of(bitrateEstimate);
+    }
+
+    void save(String networkType, long bitrateEstimate) {
+        preferences.edit()
+                .putLong(KEY_PREFIX + networkType, bitrateEstimate)
+                .apply();
+    }
+}
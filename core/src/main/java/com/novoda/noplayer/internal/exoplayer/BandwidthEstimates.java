@@ -0,0 +1,80 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.Context;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latest bandwidth estimate of each network type, shared by every player of the process.
+ * Only the estimates themselves are shared, each player measures with its own meter.
+ * Estimates are persisted at most every 30 seconds for each network type, rather than on every sample.
+ */
+class BandwidthEstimates {
+
+    private static final long SAVE_INTERVAL_IN_MILLIS = 30000;
+    private static final Object LOCK = new Object();
+
+    private static BandwidthEstimates sharedInstance;
+
+    private final BandwidthEstimateStore bandwidthEstimateStore;
+    private final Clock clock;
+    private final Map<String, Long> latestEstimates = new HashMap<>();
+    private final Map<String, Long> savedAtInMillis = new HashMap<>();
+
+    static BandwidthEstimates shared(Context context) {
+        synchronized (LOCK) {
+            if (sharedInstance == null) {
+                sharedInstance = new BandwidthEstimates(BandwidthEstimateStore.newInstance(context), new SystemClock());
+            }
+            return sharedInstance;
+        }
+    }
+
+    BandwidthEstimates(BandwidthEstimateStore bandwidthEstimateStore, Clock clock) {
+        this.bandwidthEstimateStore = bandwidthEstimateStore;
+        this.clock = clock;
+    }
+
+    String currentNetworkType() {
+        return bandwidthEstimateStore.currentNetworkType();
+    }
+
+    /**
+     * @return the latest estimate for the network type, capped only by a maximum initial bitrate the app set,
+     * or the default initial bitrate when there is no estimate yet.
+     */
+    long initialEstimateFor(String networkType, Optional<Integer> maxInitialBitrateCap, long defaultInitialBitrate) {
+        Optional<Long> estimate;
+        synchronized (LOCK) {
+            estimate = Optional.fromNullable(latestEstimates.get(networkType));
+        }
+        if (estimate.isAbsent()) {
+            estimate = bandwidthEstimateStore.estimateFor(networkType);
+        }
+        if (estimate.isAbsent()) {
+            return defaultInitialBitrate;
+        }
+        if (maxInitialBitrateCap.isPresent()) {
+            return Math.min(estimate.get(), maxInitialBitrateCap.get());
+        }
+        return estimate.get();
+    }
+
+    void update(String networkType, long bitrateEstimate) {
+        long now = clock.getCurrentTime();
+        synchronized (LOCK) {
+            latestEstimates.put(networkType, bitrateEstimate);
+            Long lastSavedAtInMillis = savedAtInMillis.get(networkType);
+            if (lastSavedAtInMillis != null && now - lastSavedAtInMillis < SAVE_INTERVAL_IN_MILLIS) {
+                return;
+            }
+            savedAtInMillis.put(networkType, now);
+        }
+        bandwidthEstimateStore.save(networkType, bitrateEstimate);
+    }
+}
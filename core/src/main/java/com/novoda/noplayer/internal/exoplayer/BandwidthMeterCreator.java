@@ -1,19 +1,61 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.content.Context;
+import android.os.Handler;
+import android.support.annotation.Nullable;
 
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
 import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
+import com.novoda.noplayer.Options;
 
+/**
+ * Creates a bandwidth meter for each player, seeded with the latest estimate of any player on the same network type.
+ */
 class BandwidthMeterCreator {
+
     private final Context context;
+    private final BandwidthEstimates bandwidthEstimates;
+    private final Handler handler;
 
-    BandwidthMeterCreator(Context context) {
+    BandwidthMeterCreator(Context context, BandwidthEstimates bandwidthEstimates, Handler handler) {
         this.context = context;
+        this.bandwidthEstimates = bandwidthEstimates;
+        this.handler = handler;
     }
 
-    DefaultBandwidthMeter create(long maxInitialBitrate) {
-        return new DefaultBandwidthMeter.Builder(context)
-                .setInitialBitrateEstimate(maxInitialBitrate)
+    DefaultBandwidthMeter create(Options options) {
+        String networkType = bandwidthEstimates.currentNetworkType();
+        EstimateUpdatingListener listener = new EstimateUpdatingListener(bandwidthEstimates, networkType);
+        DefaultBandwidthMeter bandwidthMeter = new DefaultBandwidthMeter.Builder(context)
+                .setInitialBitrateEstimate(initialEstimateFor(networkType, options))
+                .setEventListener(handler, listener)
                 .build();
+        listener.bandwidthMeter = bandwidthMeter;
+        return bandwidthMeter;
+    }
+
+    private long initialEstimateFor(String networkType, Options options) {
+        return bandwidthEstimates.initialEstimateFor(networkType, options.getMaxInitialBitrateCap(), options.maxInitialBitrate());
+    }
+
+    static final class EstimateUpdatingListener implements BandwidthMeter.EventListener {
+
+        private final BandwidthEstimates bandwidthEstimates;
+        private final String networkType;
+
+        @Nullable
+        BandwidthMeter bandwidthMeter;
+
+        EstimateUpdatingListener(BandwidthEstimates bandwidthEstimates, String networkType) {
+            this.bandwidthEstimates = bandwidthEstimates;
+            this.networkType = networkType;
+        }
+
+        @Override
+        public void onBandwidthSample(int elapsedMs, long bytes, long bitrate) {
+            if (bandwidthMeter != null) {
+                bandwidthEstimates.update(networkType, bandwidthMeter.getBitrateEstimate());
+            }
+        }
     }
 }
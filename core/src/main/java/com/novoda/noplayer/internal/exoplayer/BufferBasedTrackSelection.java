@@ -0,0 +1,178 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.chunk.MediaChunk;
+import com.google.android.exoplayer2.source.chunk.MediaChunkIterator;
+import com.google.android.exoplayer2.trackselection.BaseTrackSelection;
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+
+import java.util.List;
+
+/**
+ * Buffer based adaptive selection following BOLA (https://arxiv.org/abs/1601.06748).
+ * While the buffer is below {@link #MINIMUM_BUFFER_US} tracks are picked from the measured throughput,
+ * afterwards from the buffer level. Switching up is capped at the throughput (BOLA-O) to avoid oscillations.
+ */
+public class BufferBasedTrackSelection extends BaseTrackSelection {
+
+    private static final long MINIMUM_BUFFER_US = 10000000;
+    private static final long BUFFER_TARGET_US = 30000000;
+    private static final double MICROS_PER_SECOND = 1000000d;
+    private static final float BANDWIDTH_FRACTION = 0.75f;
+
+    private final BandwidthMeter bandwidthMeter;
+    private final Clock clock;
+    private final int[] bitrates;
+    private final double[] utilities;
+    private final double bufferUtilityWeight;
+    private final double minimumBufferUtility;
+
+    private int selectedIndex;
+    private int reason;
+
+    public static class Factory implements TrackSelection.Factory {
+
+        private final BandwidthMeter bandwidthMeter;
+        private final Clock clock;
+
+        public Factory(BandwidthMeter bandwidthMeter, Clock clock) {
+            this.bandwidthMeter = bandwidthMeter;
+            this.clock = clock;
+        }
+
+        @Override
+        public TrackSelection createTrackSelection(TrackGroup group, BandwidthMeter playerBandwidthMeter, int... tracks) {
+            return new BufferBasedTrackSelection(group, tracks, bandwidthMeter, clock);
+        }
+    }
+
+    BufferBasedTrackSelection(TrackGroup group, int[] tracks, BandwidthMeter bandwidthMeter, Clock clock) {
+        super(group, tracks);
+        this.bandwidthMeter = bandwidthMeter;
+        this.clock = clock;
+
+        bitrates = new int[length];
+        for (int i = 0; i < length; i++) {
+            bitrates[i] = Math.max(1, getFormat(i).bitrate);
+        }
+        utilities = utilitiesOf(bitrates);
+
+        double highestUtility = utilities[0];
+        double bufferTargetInSeconds = BUFFER_TARGET_US / MICROS_PER_SECOND;
+        double minimumBufferInSeconds = MINIMUM_BUFFER_US / MICROS_PER_SECOND;
+        minimumBufferUtility = (highestUtility - 1) / (bufferTargetInSeconds / minimumBufferInSeconds - 1);
+        bufferUtilityWeight = minimumBufferUtility > 0 ? minimumBufferInSeconds / minimumBufferUtility : 0;
+
+        selectedIndex = determineInitialIndex();
+        reason = C.SELECTION_REASON_INITIAL;
+    }
+
+    /**
+     * Tracks are sorted by decreasing bitrate, the lowest one is given a utility of 1.
+     */
+    private static double[] utilitiesOf(int[] bitrates) {
+        double lowestBitrateLog = Math.log(bitrates[bitrates.length - 1]);
+        double[] utilities = new double[bitrates.length];
+        for (int i = 0; i < bitrates.length; i++) {
+            utilities[i] = Math.log(bitrates[i]) - lowestBitrateLog + 1;
+        }
+        return utilities;
+    }
+
+    @Override
+    public void updateSelectedTrack(long playbackPositionUs,
+                                    long bufferedDurationUs,
+                                    long availableDurationUs,
+                                    List<? extends MediaChunk> queue,
+                                    MediaChunkIterator[] mediaChunkIterators) {
+        long nowMs = clock.elapsedRealtime();
+        int previousIndex = selectedIndex;
+        int throughputIndex = determineThroughputIndex(nowMs);
+
+        if (bufferedDurationUs < MINIMUM_BUFFER_US || bufferUtilityWeight == 0) {
+            selectedIndex = throughputIndex;
+        } else {
+            int bufferIndex = determineBufferIndex(bufferedDurationUs, nowMs);
+            if (bufferIndex < previousIndex) {
+                int highestAllowedIndex = isTrackBlacklisted(previousIndex, nowMs) ? throughputIndex : Math.min(previousIndex, throughputIndex);
+                bufferIndex = Math.max(bufferIndex, highestAllowedIndex);
+            }
+            selectedIndex = bufferIndex;
+        }
+
+        if (selectedIndex != previousIndex) {
+            reason = C.SELECTION_REASON_ADAPTIVE;
+        }
+    }
+
+    private int determineInitialIndex() {
+        long effectiveBitrate = effectiveBitrate();
+        for (int i = 0; i < length; i++) {
+            if (bitrates[i] <= effectiveBitrate) {
+                return i;
+            }
+        }
+        return length - 1;
+    }
+
+    private int determineThroughputIndex(long nowMs) {
+        long effectiveBitrate = effectiveBitrate();
+        int lowestBitrateNonBlacklistedIndex = 0;
+        for (int i = 0; i < length; i++) {
+            if (!isTrackBlacklisted(i, nowMs)) {
+                if (bitrates[i] <= effectiveBitrate) {
+                    return i;
+                }
+                lowestBitrateNonBlacklistedIndex = i;
+            }
+        }
+        return lowestBitrateNonBlacklistedIndex;
+    }
+
+    private long effectiveBitrate() {
+        return (long) (bandwidthMeter.getBitrateEstimate() * BANDWIDTH_FRACTION);
+    }
+
+    private int determineBufferIndex(long bufferedDurationUs, long nowMs) {
+        double bufferLevelInSeconds = bufferedDurationUs / MICROS_PER_SECOND;
+        int bestIndex = selectedIndex;
+        double bestScore = -Double.MAX_VALUE;
+        for (int i = 0; i < length; i++) {
+            if (isTrackBlacklisted(i, nowMs)) {
+                continue;
+            }
+            double score = (bufferUtilityWeight * (utilities[i] + minimumBufferUtility) - bufferLevelInSeconds) / bitrates[i];
+            if (score > bestScore) {
+                bestScore = score;
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+
+    // Tracks are blacklisted against the system clock of Android, so tests override this instead
+    boolean isTrackBlacklisted(int index, long nowMs) {
+        return isBlacklisted(index, nowMs);
+    }
+
+    @Override
+    public int getSelectedIndex() {
+        return selectedIndex;
+    }
+
+    @Override
+    public int getSelectionReason() {
+        return reason;
+    }
+
+    @Nullable
+    @Override
+    public Object getSelectionData() {
+        return null;
+    }
+}
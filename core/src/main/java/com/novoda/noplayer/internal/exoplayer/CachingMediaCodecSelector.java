@@ -0,0 +1,102 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.mediacodec.MediaCodecUtil;
+import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the decoders selected for each mime type, so that a new process only looks up the capabilities
+ * of those decoders instead of enumerating every codec of the device. Falls back to the given selector
+ * when nothing is stored for the current build or when a stored decoder is no longer available.
+ */
+class CachingMediaCodecSelector implements MediaCodecSelector {
+
+    private final MediaCodecSelector mediaCodecSelector;
+    private final CodecInfoStore codecInfoStore;
+    private final CodecCapabilitiesReader capabilitiesReader;
+    private final Map<String, List<MediaCodecInfo>> decoderInfos = new HashMap<>();
+
+    static CachingMediaCodecSelector newInstance(Context context) {
+        return new CachingMediaCodecSelector(
+                MediaCodecSelector.DEFAULT_WITH_FALLBACK,
+                CodecInfoStore.newInstance(context),
+                new CodecCapabilitiesReader(AndroidDeviceVersion.newInstance())
+        );
+    }
+
+    CachingMediaCodecSelector(MediaCodecSelector mediaCodecSelector, CodecInfoStore codecInfoStore, CodecCapabilitiesReader capabilitiesReader) {
+        this.mediaCodecSelector = mediaCodecSelector;
+        this.codecInfoStore = codecInfoStore;
+        this.capabilitiesReader = capabilitiesReader;
+    }
+
+    @Override
+    public synchronized List<MediaCodecInfo> getDecoderInfos(String mimeType, boolean requiresSecureDecoder)
+            throws MediaCodecUtil.DecoderQueryException {
+        String key = mimeType + requiresSecureDecoder;
+        List<MediaCodecInfo> cachedDecoderInfos = decoderInfos.get(key);
+        if (cachedDecoderInfos != null) {
+            return cachedDecoderInfos;
+        }
+
+        List<MediaCodecInfo> restoredDecoderInfos = restore(codecInfoStore.decodersFor(mimeType, requiresSecureDecoder));
+        if (restoredDecoderInfos == null) {
+            List<MediaCodecInfo> queriedDecoderInfos = mediaCodecSelector.getDecoderInfos(mimeType, requiresSecureDecoder);
+            codecInfoStore.saveDecoders(mimeType, requiresSecureDecoder, queriedDecoderInfos);
+            decoderInfos.put(key, queriedDecoderInfos);
+            return queriedDecoderInfos;
+        }
+        decoderInfos.put(key, restoredDecoderInfos);
+        return restoredDecoderInfos;
+    }
+
+    @Nullable
+    private List<MediaCodecInfo> restore(Optional<List<CodecInfoStore.StoredDecoder>> storedDecoders) {
+        if (storedDecoders.isAbsent()) {
+            return null;
+        }
+        List<MediaCodecInfo> restoredDecoderInfos = new ArrayList<>(storedDecoders.get().size());
+        for (CodecInfoStore.StoredDecoder storedDecoder : storedDecoders.get()) {
+            android.media.MediaCodecInfo.CodecCapabilities capabilities = capabilitiesReader.capabilitiesFor(
+                    storedDecoder.name,
+                    storedDecoder.mimeType
+            );
+            if (capabilities == null) {
+                return null;
+            }
+            restoredDecoderInfos.add(MediaCodecInfo.newInstance(
+                    storedDecoder.name,
+                    storedDecoder.mimeType,
+                    capabilities,
+                    !storedDecoder.adaptive,
+                    storedDecoder.secure
+            ));
+        }
+        return Collections.unmodifiableList(restoredDecoderInfos);
+    }
+
+    @Nullable
+    @Override
+    public MediaCodecInfo getPassthroughDecoderInfo() throws MediaCodecUtil.DecoderQueryException {
+        Optional<String> passthroughDecoderName = codecInfoStore.passthroughDecoderName();
+        if (passthroughDecoderName.isPresent()) {
+            return MediaCodecInfo.newPassthroughInstance(passthroughDecoderName.get());
+        }
+        MediaCodecInfo passthroughDecoderInfo = mediaCodecSelector.getPassthroughDecoderInfo();
+        if (passthroughDecoderInfo != null) {
+            codecInfoStore.savePassthroughDecoderName(passthroughDecoderInfo.name);
+        }
+        return passthroughDecoderInfo;
+    }
+}
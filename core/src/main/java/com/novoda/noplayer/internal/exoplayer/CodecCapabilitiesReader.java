@@ -0,0 +1,97 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.annotation.TargetApi;
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.os.Build;
+import android.support.annotation.Nullable;
+
+import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Looks up the capabilities of known decoders by name, without querying the capabilities of every decoder of the device.
+ */
+class CodecCapabilitiesReader {
+
+    private static final String SECURE_SUFFIX = ".secure";
+
+    private final AndroidDeviceVersion androidDeviceVersion;
+
+    @Nullable
+    private Map<String, MediaCodecInfo> decodersByName;
+
+    CodecCapabilitiesReader(AndroidDeviceVersion androidDeviceVersion) {
+        this.androidDeviceVersion = androidDeviceVersion;
+    }
+
+    /**
+     * From Jelly Bean MR2 the decoder is instantiated by name to read its capabilities, so only the given decoder is queried.
+     * Older devices cannot look up a single decoder, so their decoders are listed once and kept for the following lookups.
+     */
+    @Nullable
+    MediaCodecInfo.CodecCapabilities capabilitiesFor(String decoderName, String mimeType) {
+        MediaCodecInfo.CodecCapabilities capabilities = capabilitiesOf(decoderName, mimeType);
+        if (capabilities == null && decoderName.endsWith(SECURE_SUFFIX)) {
+            // Secure decoders are named after their insecure counterpart when the device does not list them explicitly
+            capabilities = capabilitiesOf(decoderName.substring(0, decoderName.length() - SECURE_SUFFIX.length()), mimeType);
+        }
+        return capabilities;
+    }
+
+    @Nullable
+    private MediaCodecInfo.CodecCapabilities capabilitiesOf(String decoderName, String mimeType) {
+        MediaCodecInfo codecInfo = androidDeviceVersion.isJellyBeanEighteenOrAbove()
+                ? codecInfoOfInstanceV18(decoderName)
+                : listedDecodersV16().get(decoderName);
+        if (codecInfo == null) {
+            return null;
+        }
+        try {
+            return codecInfo.getCapabilitiesForType(mimeType);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private MediaCodecInfo codecInfoOfInstanceV18(String decoderName) {
+        MediaCodec decoder;
+        try {
+            decoder = createDecoder(decoderName);
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+        try {
+            return decoder.getCodecInfo();
+        } catch (IllegalStateException e) {
+            return null;
+        } finally {
+            decoder.release();
+        }
+    }
+
+    MediaCodec createDecoder(String decoderName) throws IOException {
+        return MediaCodec.createByCodecName(decoderName);
+    }
+
+    @SuppressWarnings("deprecation") // The replacement MediaCodecList#getCodecInfos is only available from Lollipop
+    private Map<String, MediaCodecInfo> listedDecodersV16() {
+        if (decodersByName == null) {
+            int codecCount = MediaCodecList.getCodecCount();
+            decodersByName = new HashMap<>(codecCount);
+            for (int i = 0; i < codecCount; i++) {
+                MediaCodecInfo codecInfo = MediaCodecList.getCodecInfoAt(i);
+                if (!codecInfo.isEncoder()) {
+                    decodersByName.put(codecInfo.getName(), codecInfo);
+                }
+            }
+        }
+        return decodersByName;
+    }
+}
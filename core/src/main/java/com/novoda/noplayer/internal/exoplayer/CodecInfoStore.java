@@ -0,0 +1,135 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers the decoders found for each mime type, for as long as the device runs the same build.
+ */
+class CodecInfoStore {
+
+    private static final String PREFERENCES_NAME = "noplayer_codec_infos";
+    private static final String KEY_BUILD_FINGERPRINT = "build_fingerprint";
+    private static final String KEY_DECODERS_PREFIX = "decoders_";
+    private static final String KEY_PASSTHROUGH_DECODER = "passthrough_decoder";
+    private static final String SECURE = "_secure";
+    private static final String DECODER_SEPARATOR = ";";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String NOT_STORED = null;
+    private static final int NAME = 0;
+    private static final int MIME_TYPE = 1;
+    private static final int ADAPTIVE = 2;
+    private static final int SECURE_DECODER = 3;
+
+    private final SharedPreferences preferences;
+    private final String buildFingerprint;
+
+    static CodecInfoStore newInstance(Context context) {
+        SharedPreferences preferences = context.getApplicationContext().getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+        return new CodecInfoStore(preferences, Build.FINGERPRINT);
+    }
+
+    CodecInfoStore(SharedPreferences preferences, String buildFingerprint) {
+        this.preferences = preferences;
+        this.buildFingerprint = buildFingerprint;
+    }
+
+    Optional<List<StoredDecoder>> decodersFor(String mimeType, boolean requiresSecureDecoder) {
+        String decoders = readForCurrentBuild(keyFor(mimeType, requiresSecureDecoder));
+        if (decoders == null) {
+            return Optional.absent();
+        }
+        if (decoders.isEmpty()) {
+            return Optional.of(Collections.<StoredDecoder>emptyList());
+        }
+        List<StoredDecoder> storedDecoders = new ArrayList<>();
+        for (String decoder : decoders.split(Pattern.quote(DECODER_SEPARATOR))) {
+            String[] fields = decoder.split(Pattern.quote(FIELD_SEPARATOR));
+            storedDecoders.add(new StoredDecoder(
+                    fields[NAME],
+                    fields[MIME_TYPE],
+                    Boolean.parseBoolean(fields[ADAPTIVE]),
+                    Boolean.parseBoolean(fields[SECURE_DECODER])
+            ));
+        }
+        return Optional.of(storedDecoders);
+    }
+
+    void saveDecoders(String mimeType, boolean requiresSecureDecoder, List<MediaCodecInfo> decoderInfos) {
+        StringBuilder decoders = new StringBuilder();
+        for (MediaCodecInfo decoderInfo : decoderInfos) {
+            if (decoders.length() > 0) {
+                decoders.append(DECODER_SEPARATOR);
+            }
+            String codecMimeType = decoderInfo.mimeType == null ? mimeType : decoderInfo.mimeType;
+            decoders.append(decoderInfo.name)
+                    .append(FIELD_SEPARATOR).append(codecMimeType)
+                    .append(FIELD_SEPARATOR).append(decoderInfo.adaptive)
+                    .append(FIELD_SEPARATOR).append(decoderInfo.secure);
+        }
+        editForCurrentBuild()
+                .putString(keyFor(mimeType, requiresSecureDecoder), decoders.toString())
+                .apply();
+    }
+
+    Optional<String> passthroughDecoderName() {
+        String passthroughDecoderName = readForCurrentBuild(KEY_PASSTHROUGH_DECODER);
+        if (passthroughDecoderName == null) {
+            return Optional.absent();
+        }
+        return Optional.of(passthroughDecoderName);
+    }
+
+    void savePassthroughDecoderName(String passthroughDecoderName) {
+        editForCurrentBuild()
+                .putString(KEY_PASSTHROUGH_DECODER, passthroughDecoderName)
+                .apply();
+    }
+
+    private String readForCurrentBuild(String key) {
+        if (isForCurrentBuild()) {
+            return preferences.getString(key, NOT_STORED);
+        }
+        return NOT_STORED;
+    }
+
+    private SharedPreferences.Editor editForCurrentBuild() {
+        SharedPreferences.Editor editor = preferences.edit();
+        if (!isForCurrentBuild()) {
+            editor.clear().putString(KEY_BUILD_FINGERPRINT, buildFingerprint);
+        }
+        return editor;
+    }
+
+    private boolean isForCurrentBuild() {
+        return buildFingerprint.equals(preferences.getString(KEY_BUILD_FINGERPRINT, NOT_STORED));
+    }
+
+    private static String keyFor(String mimeType, boolean requiresSecureDecoder) {
+        return KEY_DECODERS_PREFIX + mimeType + (requiresSecureDecoder ? SECURE : "");
+    }
+
+    static final class StoredDecoder {
+
+        final String name;
+        final String mimeType;
+        final boolean adaptive;
+        final boolean secure;
+
+        StoredDecoder(String name, String mimeType, boolean adaptive, boolean secure) {
+            this.name = name;
+            this.mimeType = mimeType;
+            this.adaptive = adaptive;
+            this.secure = secure;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.novoda.noplayer.internal.exoplayer;
 
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.TrackSelector;
 import com.novoda.noplayer.ContentType;
+import com.novoda.noplayer.Options;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerAudioTrackSelector;
+import com.novoda.noplayer.internal.TrackSelectionEdits;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerSubtitleTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerVideoTrackSelector;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
@@ -18,15 +24,22 @@ import java.util.List;
 class CompositeTrackSelector {
 
     private final DefaultTrackSelector defaultTrackSelector;
+    private final ExoPlayerTrackSelector exoPlayerTrackSelector;
     private final ExoPlayerAudioTrackSelector audioTrackSelector;
     private final ExoPlayerVideoTrackSelector videoTrackSelector;
     private final ExoPlayerSubtitleTrackSelector subtitleTrackSelector;
 
+    private ContentType contentType;
+    @Nullable
+    private TrackCatalog trackCatalog;
+
     CompositeTrackSelector(DefaultTrackSelector defaultTrackSelector,
+                           ExoPlayerTrackSelector exoPlayerTrackSelector,
                            ExoPlayerAudioTrackSelector audioTrackSelector,
                            ExoPlayerVideoTrackSelector videoTrackSelector,
                            ExoPlayerSubtitleTrackSelector subtitleTrackSelector) {
         this.defaultTrackSelector = defaultTrackSelector;
+        this.exoPlayerTrackSelector = exoPlayerTrackSelector;
         this.audioTrackSelector = audioTrackSelector;
         this.videoTrackSelector = videoTrackSelector;
         this.subtitleTrackSelector = subtitleTrackSelector;
@@ -36,12 +49,39 @@ class CompositeTrackSelector {
         return defaultTrackSelector;
     }
 
+    void resetParameters(Options options) {
+        DefaultTrackSelector.Parameters parameters = DefaultTrackSelector.Parameters.DEFAULT.buildUpon()
+                .setMaxVideoBitrate(options.maxVideoBitrate())
+                .build();
+        defaultTrackSelector.setParameters(parameters);
+        contentType = options.contentType();
+        invalidateTrackCatalog();
+    }
+
+    /**
+     * Must be called whenever the player reports that its tracks changed, the catalog is then rebuilt on the next request.
+     */
+    void invalidateTrackCatalog() {
+        trackCatalog = null;
+    }
+
+    private TrackCatalog trackCatalog(RendererTypeRequester rendererTypeRequester) {
+        if (trackCatalog == null) {
+            trackCatalog = TrackCatalog.from(
+                    audioTrackSelector.getAudioTracks(rendererTypeRequester),
+                    videoTrackSelector.getVideoTracks(rendererTypeRequester, contentType),
+                    subtitleTrackSelector.getSubtitleTracks(rendererTypeRequester)
+            );
+        }
+        return trackCatalog;
+    }
+
     boolean selectAudioTrack(PlayerAudioTrack audioTrack, RendererTypeRequester rendererTypeRequester) {
         return audioTrackSelector.selectAudioTrack(audioTrack, rendererTypeRequester);
     }
 
     AudioTracks getAudioTracks(RendererTypeRequester rendererTypeRequester) {
-        return audioTrackSelector.getAudioTracks(rendererTypeRequester);
+        return trackCatalog(rendererTypeRequester).audioTracks();
     }
 
     boolean clearAudioTrack(RendererTypeRequester rendererTypeRequester) {
@@ -52,14 +92,18 @@ class CompositeTrackSelector {
         return videoTrackSelector.selectVideoTrack(videoTrack, rendererTypeRequester);
     }
 
-    List<PlayerVideoTrack> getVideoTracks(RendererTypeRequester rendererTypeRequester, ContentType contentType) {
-        return videoTrackSelector.getVideoTracks(rendererTypeRequester, contentType);
+    List<PlayerVideoTrack> getVideoTracks(RendererTypeRequester rendererTypeRequester) {
+        return trackCatalog(rendererTypeRequester).videoTracks();
     }
 
-    Optional<PlayerVideoTrack> getSelectedVideoTrack(SimpleExoPlayer exoPlayer,
-                                                     RendererTypeRequester rendererTypeRequester,
-                                                     ContentType contentType) {
-        return videoTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester, contentType);
+    Optional<PlayerVideoTrack> getSelectedVideoTrack(SimpleExoPlayer exoPlayer, RendererTypeRequester rendererTypeRequester) {
+        Format selectedVideoFormat = exoPlayer.getVideoFormat();
+
+        if (selectedVideoFormat == null) {
+            return Optional.absent();
+        }
+
+        return trackCatalog(rendererTypeRequester).videoTrackWithId(selectedVideoFormat.id);
     }
 
     boolean clearVideoTrack(RendererTypeRequester rendererTypeRequester) {
@@ -71,13 +115,56 @@ class CompositeTrackSelector {
     }
 
     List<PlayerSubtitleTrack> getSubtitleTracks(RendererTypeRequester rendererTypeRequester) {
-        return subtitleTrackSelector.getSubtitleTracks(rendererTypeRequester);
+        return trackCatalog(rendererTypeRequester).subtitleTracks();
     }
 
     boolean clearSubtitleTrack(RendererTypeRequester rendererTypeRequester) {
         return subtitleTrackSelector.clearSubtitleTrack(rendererTypeRequester);
     }
 
+    boolean apply(TrackSelectionEdits edits, RendererTypeRequester rendererTypeRequester) {
+        exoPlayerTrackSelector.beginTransaction();
+        try {
+            boolean applied = applyAudio(edits, rendererTypeRequester);
+            applied = applyVideo(edits, rendererTypeRequester) && applied;
+            applied = applySubtitles(edits, rendererTypeRequester) && applied;
+            applyMaxVideoBitrate(edits);
+            exoPlayerTrackSelector.commitTransaction();
+            return applied;
+        } finally {
+            exoPlayerTrackSelector.discardTransaction();
+        }
+    }
+
+    private boolean applyAudio(TrackSelectionEdits edits, RendererTypeRequester rendererTypeRequester) {
+        if (edits.audioTrack().isPresent()) {
+            return selectAudioTrack(edits.audioTrack().get(), rendererTypeRequester);
+        }
+        return !edits.clearsAudioTrack() || clearAudioTrack(rendererTypeRequester);
+    }
+
+    private boolean applyVideo(TrackSelectionEdits edits, RendererTypeRequester rendererTypeRequester) {
+        if (edits.videoTrack().isPresent()) {
+            return selectVideoTrack(edits.videoTrack().get(), rendererTypeRequester);
+        }
+        return !edits.clearsVideoTrack() || clearVideoTrack(rendererTypeRequester);
+    }
+
+    private boolean applySubtitles(TrackSelectionEdits edits, RendererTypeRequester rendererTypeRequester) {
+        if (edits.subtitleTrack().isPresent()) {
+            return selectTextTrack(edits.subtitleTrack().get(), rendererTypeRequester);
+        }
+        return !edits.hidesSubtitleTrack() || clearSubtitleTrack(rendererTypeRequester);
+    }
+
+    private void applyMaxVideoBitrate(TrackSelectionEdits edits) {
+        if (edits.maxVideoBitrate().isPresent()) {
+            setMaxVideoBitrate(edits.maxVideoBitrate().get());
+        } else if (edits.clearsMaxVideoBitrate()) {
+            clearMaxVideoBitrate();
+        }
+    }
+
     void clearMaxVideoBitrate() {
         videoTrackSelector.clearMaxVideoBitrate();
     }
@@ -85,4 +172,8 @@ class CompositeTrackSelector {
     void setMaxVideoBitrate(int maxVideoBitrate) {
         videoTrackSelector.setMaxVideoBitrate(maxVideoBitrate);
     }
+
+    void setViewportSize(int width, int height) {
+        videoTrackSelector.setViewportSize(width, height);
+    }
 }
@@ -0,0 +1,48 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.PlayerMessage;
+import com.novoda.noplayer.NoPlayer;
+
+/**
+ * Sent to the player as a message at the position of the cue point, which the playback thread delivers
+ * once it renders that position.
+ */
+class CuePoint implements PlayerMessage.Target {
+
+    private final long positionInMillis;
+    private final NoPlayer.CuePointCallback callback;
+
+    CuePoint(long positionInMillis, NoPlayer.CuePointCallback callback) {
+        this.positionInMillis = positionInMillis;
+        this.callback = callback;
+    }
+
+    @Override
+    public void handleMessage(int messageType, Object payload) {
+        callback.onCuePoint(positionInMillis);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CuePoint cuePoint = (CuePoint) o;
+
+        if (positionInMillis != cuePoint.positionInMillis) {
+            return false;
+        }
+        return callback.equals(cuePoint.callback);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (positionInMillis ^ (positionInMillis >>> 32));
+        result = 31 * result + callback.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.mediacodec.MediaCodecUtil;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leaves out decoders that failed to initialise, so that preparing the player again picks the next decoder
+ * for the same mime type. Decoders stay excluded for the lifetime of the player, as they are likely to fail again.
+ */
+class DecoderFallbackCodecSelector implements MediaCodecSelector {
+
+    private final MediaCodecSelector mediaCodecSelector;
+    private final Set<String> excludedDecoderNames = new HashSet<>();
+
+    DecoderFallbackCodecSelector(MediaCodecSelector mediaCodecSelector) {
+        this.mediaCodecSelector = mediaCodecSelector;
+    }
+
+    @Override
+    public synchronized List<MediaCodecInfo> getDecoderInfos(String mimeType, boolean requiresSecureDecoder)
+            throws MediaCodecUtil.DecoderQueryException {
+        List<MediaCodecInfo> decoderInfos = mediaCodecSelector.getDecoderInfos(mimeType, requiresSecureDecoder);
+        if (excludedDecoderNames.isEmpty()) {
+            return decoderInfos;
+        }
+        List<MediaCodecInfo> remainingDecoderInfos = new ArrayList<>(decoderInfos.size());
+        for (MediaCodecInfo decoderInfo : decoderInfos) {
+            if (!excludedDecoderNames.contains(decoderInfo.name)) {
+                remainingDecoderInfos.add(decoderInfo);
+            }
+        }
+        return remainingDecoderInfos;
+    }
+
+    @Nullable
+    @Override
+    public MediaCodecInfo getPassthroughDecoderInfo() throws MediaCodecUtil.DecoderQueryException {
+        return mediaCodecSelector.getPassthroughDecoderInfo();
+    }
+
+    /**
+     * @return whether another decoder is available for the mime type once the given decoder is left out.
+     */
+    synchronized boolean exclude(@Nullable String decoderName, String mimeType, boolean requiresSecureDecoder) {
+        if (decoderName == null) {
+            return false;
+        }
+        excludedDecoderNames.add(decoderName);
+        try {
+            return !getDecoderInfos(mimeType, requiresSecureDecoder).isEmpty();
+        } catch (MediaCodecUtil.DecoderQueryException e) {
+            return false;
+        }
+    }
+}
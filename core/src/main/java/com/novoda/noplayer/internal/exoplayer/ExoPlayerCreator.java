@@ -1,19 +1,20 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.content.Context;
+import android.os.Looper;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
-import com.google.android.exoplayer2.DefaultLoadControl;
 import com.google.android.exoplayer2.ExoPlayerFactory;
+import com.google.android.exoplayer2.LoadControl;
 import com.google.android.exoplayer2.RenderersFactory;
 import com.google.android.exoplayer2.SimpleExoPlayer;
-import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
 import com.google.android.exoplayer2.drm.DrmSessionManager;
 import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
 import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
 import com.google.android.exoplayer2.trackselection.TrackSelector;
-import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.LoadControlProfile;
 import com.novoda.noplayer.text.NoPlayerSubtitleDecoderFactory;
 
 import static com.novoda.noplayer.internal.exoplayer.SimpleRenderersFactory.EXTENSION_RENDERER_MODE_OFF;
@@ -23,17 +24,20 @@ class ExoPlayerCreator {
     private static final long DEFAULT_ALLOWED_VIDEO_JOINING_TIME_MS = 5000;
 
     private final Context context;
+    private final LoadControlCreator loadControlCreator;
+    private final Looper looper;
 
-    ExoPlayerCreator(Context context) {
+    ExoPlayerCreator(Context context, LoadControlCreator loadControlCreator, Looper looper) {
         this.context = context;
+        this.loadControlCreator = loadControlCreator;
+        this.looper = looper;
     }
 
     @NonNull
-    public SimpleExoPlayer create(DrmSessionCreator drmSessionCreator,
-                                  DefaultDrmSessionEventListener drmSessionEventListener,
+    public SimpleExoPlayer create(@Nullable DrmSessionManager<FrameworkMediaCrypto> drmSessionManager,
                                   MediaCodecSelector mediaCodecSelector,
-                                  TrackSelector trackSelector) {
-        DrmSessionManager<FrameworkMediaCrypto> drmSessionManager = drmSessionCreator.create(drmSessionEventListener);
+                                  TrackSelector trackSelector,
+                                  LoadControlProfile loadControlProfile) {
         SubtitleDecoderFactory subtitleDecoderFactory = new NoPlayerSubtitleDecoderFactory();
         RenderersFactory renderersFactory = new SimpleRenderersFactory(
                 context,
@@ -43,7 +47,8 @@ class ExoPlayerCreator {
                 subtitleDecoderFactory
         );
 
-        DefaultLoadControl loadControl = new DefaultLoadControl();
-        return ExoPlayerFactory.newSimpleInstance(context, renderersFactory, trackSelector, loadControl, drmSessionManager);
+        LoadControl loadControl = loadControlCreator.create(loadControlProfile);
+        // The player must only be accessed from the thread of this looper, which also receives its events
+        return ExoPlayerFactory.newSimpleInstance(context, renderersFactory, trackSelector, loadControl, drmSessionManager, looper);
     }
 }
@@ -1,32 +1,47 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.net.Uri;
+import android.os.Handler;
 import android.support.annotation.Nullable;
 
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.PlayerMessage;
 import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.audio.AudioAttributes;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.source.ConcatenatingMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
+import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.Options;
 import com.novoda.noplayer.PlayerSurfaceHolder;
+import com.novoda.noplayer.internal.TrackSelectionEdits;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionPreAcquirer;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
 import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.PlaybackSnapshot;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.PlayerVideoTrack;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 class ExoPlayerFacade {
 
     private static final boolean DO_NOT_RESET_STATE = false;
+    private static final boolean RESET_POSITION = true;
+    private static final boolean DO_NOT_RESET_POSITION = false;
+    private static final boolean RESET_PLAYER = true;
+    private static final int NO_VIEWPORT_CONSTRAINT = Integer.MAX_VALUE;
 
     private final BandwidthMeterCreator bandwidthMeterCreator;
     private final AndroidDeviceVersion androidDeviceVersion;
@@ -34,28 +49,47 @@ class ExoPlayerFacade {
     private final CompositeTrackSelectorCreator trackSelectorCreator;
     private final ExoPlayerCreator exoPlayerCreator;
     private final RendererTypeRequesterCreator rendererTypeRequesterCreator;
+    private final DrmSessionPreAcquirer drmSessionPreAcquirer;
+    private final Handler handler;
+    private final boolean reusePlayer;
+    private final Map<CuePoint, PlayerMessage> cuePointMessages = new HashMap<>();
 
     @Nullable
     private SimpleExoPlayer exoPlayer;
     @Nullable
+    private SimpleExoPlayer reusableExoPlayer;
+    @Nullable
+    private DrmSessionManager<FrameworkMediaCrypto> drmSessionManager;
+    @Nullable
+    private DefaultBandwidthMeter bandwidthMeter;
+    @Nullable
     private CompositeTrackSelector compositeTrackSelector;
     @Nullable
     private RendererTypeRequester rendererTypeRequester;
     @Nullable
     private Options options;
+    @Nullable
+    private ConcatenatingMediaSource mediaSourceQueue;
+    @Nullable
+    private Uri preloadedUri;
+    private int viewportWidth = NO_VIEWPORT_CONSTRAINT;
+    private int viewportHeight = NO_VIEWPORT_CONSTRAINT;
 
-    ExoPlayerFacade(BandwidthMeterCreator bandwidthMeterCreator,
+    ExoPlayerFacade(PlayerComponentCreators playerComponentCreators,
                     AndroidDeviceVersion androidDeviceVersion,
                     MediaSourceFactory mediaSourceFactory,
-                    CompositeTrackSelectorCreator trackSelectorCreator,
-                    ExoPlayerCreator exoPlayerCreator,
-                    RendererTypeRequesterCreator rendererTypeRequesterCreator) {
-        this.bandwidthMeterCreator = bandwidthMeterCreator;
+                    DrmSessionPreAcquirer drmSessionPreAcquirer,
+                    Handler handler,
+                    boolean reusePlayer) {
+        this.bandwidthMeterCreator = playerComponentCreators.bandwidthMeterCreator();
         this.androidDeviceVersion = androidDeviceVersion;
         this.mediaSourceFactory = mediaSourceFactory;
-        this.trackSelectorCreator = trackSelectorCreator;
-        this.exoPlayerCreator = exoPlayerCreator;
-        this.rendererTypeRequesterCreator = rendererTypeRequesterCreator;
+        this.trackSelectorCreator = playerComponentCreators.trackSelectorCreator();
+        this.exoPlayerCreator = playerComponentCreators.exoPlayerCreator();
+        this.rendererTypeRequesterCreator = playerComponentCreators.rendererTypeRequesterCreator();
+        this.drmSessionPreAcquirer = drmSessionPreAcquirer;
+        this.handler = handler;
+        this.reusePlayer = reusePlayer;
     }
 
     boolean isPlaying() {
@@ -77,6 +111,26 @@ class ExoPlayerFacade {
         return exoPlayer.getBufferedPercentage();
     }
 
+    long bufferedPositionInMillis() throws IllegalStateException {
+        assertVideoLoaded();
+        return exoPlayer.getBufferedPosition();
+    }
+
+    PlaybackSnapshot.State playbackState() throws IllegalStateException {
+        assertVideoLoaded();
+        switch (exoPlayer.getPlaybackState()) {
+            case Player.STATE_BUFFERING:
+                return PlaybackSnapshot.State.BUFFERING;
+            case Player.STATE_READY:
+                return exoPlayer.getPlayWhenReady() ? PlaybackSnapshot.State.PLAYING : PlaybackSnapshot.State.PAUSED;
+            case Player.STATE_ENDED:
+                return PlaybackSnapshot.State.ENDED;
+            case Player.STATE_IDLE:
+            default:
+                return PlaybackSnapshot.State.IDLE;
+        }
+    }
+
     void play(long positionInMillis) throws IllegalStateException {
         seekTo(positionInMillis);
         play();
@@ -98,35 +152,80 @@ class ExoPlayerFacade {
     }
 
     void release() {
-        if (exoPlayer != null) {
+        if (exoPlayer == null) {
+            return;
+        }
+        drmSessionPreAcquirer.release();
+        if (reusePlayer) {
+            exoPlayer.stop(RESET_PLAYER);
+            reusableExoPlayer = exoPlayer;
+        } else {
             exoPlayer.release();
-            exoPlayer = null;
+        }
+        exoPlayer = null;
+        mediaSourceQueue = null;
+        // Stopping the player drops its pending messages
+        cuePointMessages.clear();
+        preloadedUri = null;
+    }
+
+    void releaseReusablePlayer() {
+        release();
+        if (reusableExoPlayer != null) {
+            reusableExoPlayer.release();
+            reusableExoPlayer = null;
         }
     }
 
+    void preload(DrmSessionCreator drmSessionCreator,
+                 Uri uri,
+                 Options options,
+                 ExoPlayerForwarder forwarder,
+                 MediaCodecSelector mediaCodecSelector) {
+        prepareVideo(drmSessionCreator, uri, options, forwarder, mediaCodecSelector);
+        preloadedUri = uri;
+    }
+
+    boolean isPreloaded(Uri uri, Options options) {
+        return exoPlayer != null
+                && uri.equals(preloadedUri)
+                && options.equals(this.options);
+    }
+
     void loadVideo(PlayerSurfaceHolder playerSurfaceHolder,
                    DrmSessionCreator drmSessionCreator,
                    Uri uri,
                    Options options,
                    ExoPlayerForwarder forwarder,
                    MediaCodecSelector mediaCodecSelector) {
-        this.options = options;
-
-        DefaultBandwidthMeter bandwidthMeter = bandwidthMeterCreator.create(options.maxInitialBitrate());
+        if (!isPreloaded(uri, options)) {
+            prepareVideo(drmSessionCreator, uri, options, forwarder, mediaCodecSelector);
+        }
+        preloadedUri = null;
+        attachToSurface(playerSurfaceHolder);
+    }
 
-        compositeTrackSelector = trackSelectorCreator.create(options, bandwidthMeter);
-        exoPlayer = exoPlayerCreator.create(
-                drmSessionCreator,
-                forwarder.drmSessionEventListener(),
-                mediaCodecSelector,
-                compositeTrackSelector.trackSelector()
-        );
-        rendererTypeRequester = rendererTypeRequesterCreator.createfrom(exoPlayer);
-        exoPlayer.addListener(forwarder.exoPlayerEventListener());
-        exoPlayer.addAnalyticsListener(forwarder.analyticsListener());
-        exoPlayer.addVideoListener(forwarder.videoListener());
+    private void prepareVideo(DrmSessionCreator drmSessionCreator,
+                              Uri uri,
+                              Options options,
+                              ExoPlayerForwarder forwarder,
+                              MediaCodecSelector mediaCodecSelector) {
+        release();
+
+        if (canReusePlayerFor(options)) {
+            exoPlayer = reusableExoPlayer;
+            reusableExoPlayer = null;
+            compositeTrackSelector.resetParameters(options);
+        } else {
+            releaseReusablePlayer();
+            createExoPlayer(drmSessionCreator, options, forwarder, mediaCodecSelector);
+        }
+        compositeTrackSelector.setViewportSize(viewportWidth, viewportHeight);
+        this.options = options;
 
-        setMovieAudioAttributes(exoPlayer);
+        if (options.widevineInitData().isPresent()) {
+            drmSessionPreAcquirer.preAcquire(exoPlayer, drmSessionManager, options.widevineInitData().get());
+        }
 
         MediaSource mediaSource = mediaSourceFactory.create(
                 options,
@@ -134,7 +233,6 @@ class ExoPlayerFacade {
                 forwarder.mediaSourceEventListener(),
                 bandwidthMeter
         );
-        attachToSurface(playerSurfaceHolder);
 
         boolean hasInitialPosition = options.getInitialPositionInMillis().isPresent();
         if (hasInitialPosition) {
@@ -142,7 +240,113 @@ class ExoPlayerFacade {
             exoPlayer.seekTo(initialPositionInMillis);
         }
 
-        exoPlayer.prepare(mediaSource, !hasInitialPosition, DO_NOT_RESET_STATE);
+        // Queued content is prepared while the content before it plays, so that there is no gap between them
+        mediaSourceQueue = new ConcatenatingMediaSource(mediaSource);
+        exoPlayer.prepare(mediaSourceQueue, !hasInitialPosition, DO_NOT_RESET_STATE);
+    }
+
+    void appendToQueue(Uri uri, Options options, ExoPlayerForwarder forwarder) throws IllegalStateException {
+        assertVideoLoaded();
+        MediaSource mediaSource = mediaSourceFactory.create(
+                options,
+                uri,
+                forwarder.mediaSourceEventListener(),
+                bandwidthMeter
+        );
+        mediaSourceQueue.addMediaSource(mediaSource);
+    }
+
+    void removeFromQueue(int index) throws IllegalStateException {
+        assertVideoLoaded();
+        mediaSourceQueue.removeMediaSource(index);
+    }
+
+    void moveInQueue(int fromIndex, int toIndex) throws IllegalStateException {
+        assertVideoLoaded();
+        mediaSourceQueue.moveMediaSource(fromIndex, toIndex);
+    }
+
+    int queueSize() throws IllegalStateException {
+        assertVideoLoaded();
+        return mediaSourceQueue.getSize();
+    }
+
+    int currentQueueIndex() throws IllegalStateException {
+        assertVideoLoaded();
+        return exoPlayer.getCurrentWindowIndex();
+    }
+
+    /**
+     * Prepares the content again after an error, keeping the playhead and the loaded queue.
+     */
+    void prepareAgainAtCurrentPosition() throws IllegalStateException {
+        assertVideoLoaded();
+        exoPlayer.prepare(mediaSourceQueue, DO_NOT_RESET_POSITION, DO_NOT_RESET_STATE);
+    }
+
+    /**
+     * Prepares the content again after an error, starting from the default position, e.g. the live edge.
+     */
+    void prepareAgainAtDefaultPosition() throws IllegalStateException {
+        assertVideoLoaded();
+        exoPlayer.prepare(mediaSourceQueue, RESET_POSITION, DO_NOT_RESET_STATE);
+    }
+
+    void addCuePoint(long positionInMillis, NoPlayer.CuePointCallback cuePointCallback) throws IllegalStateException {
+        assertVideoLoaded();
+        CuePoint cuePoint = new CuePoint(positionInMillis, cuePointCallback);
+        if (cuePointMessages.containsKey(cuePoint)) {
+            return;
+        }
+        // Messages that are kept after delivery are delivered again whenever playback goes past their position
+        PlayerMessage message = exoPlayer.createMessage(cuePoint)
+                .setPosition(positionInMillis)
+                .setHandler(handler)
+                .setDeleteAfterDelivery(false)
+                .send();
+        cuePointMessages.put(cuePoint, message);
+    }
+
+    void removeCuePoint(long positionInMillis, NoPlayer.CuePointCallback cuePointCallback) throws IllegalStateException {
+        assertVideoLoaded();
+        PlayerMessage message = cuePointMessages.remove(new CuePoint(positionInMillis, cuePointCallback));
+        if (message != null) {
+            message.cancel();
+        }
+    }
+
+    private boolean canReusePlayerFor(Options options) {
+        // The adaptive track selection factory and load control are created along with the player and cannot be swapped
+        return reusableExoPlayer != null
+                && this.options != null
+                && this.options.minDurationBeforeQualityIncreaseInMillis() == options.minDurationBeforeQualityIncreaseInMillis()
+                && this.options.adaptiveBitrateStrategy().equals(options.adaptiveBitrateStrategy())
+                && this.options.loadControlProfile() == options.loadControlProfile();
+    }
+
+    private void createExoPlayer(DrmSessionCreator drmSessionCreator,
+                                 Options options,
+                                 ExoPlayerForwarder forwarder,
+                                 MediaCodecSelector mediaCodecSelector) {
+        bandwidthMeter = bandwidthMeterCreator.create(options);
+
+        compositeTrackSelector = trackSelectorCreator.create(options, bandwidthMeter);
+        drmSessionManager = forwarder.traceStartupOf(drmSessionCreator.create(forwarder.drmSessionEventListener()));
+        exoPlayer = exoPlayerCreator.create(
+                drmSessionManager,
+                mediaCodecSelector,
+                compositeTrackSelector.trackSelector(),
+                options.loadControlProfile()
+        );
+        forwarder.onPlayerCreated();
+        rendererTypeRequester = rendererTypeRequesterCreator.createfrom(exoPlayer);
+        // Added ahead of the forwarder so that listeners reacting to new tracks do not read a stale catalog
+        exoPlayer.addListener(new TrackCatalogInvalidator(compositeTrackSelector));
+        exoPlayer.addListener(forwarder.exoPlayerEventListener());
+        exoPlayer.addAnalyticsListener(forwarder.analyticsListener());
+        exoPlayer.addVideoListener(forwarder.videoListener());
+
+        setMovieAudioAttributes(exoPlayer);
     }
 
     private void setMovieAudioAttributes(SimpleExoPlayer exoPlayer) {
@@ -180,12 +384,12 @@ class ExoPlayerFacade {
 
     Optional<PlayerVideoTrack> getSelectedVideoTrack() {
         assertVideoLoaded();
-        return compositeTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester, options.contentType());
+        return compositeTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester);
     }
 
     List<PlayerVideoTrack> getVideoTracks() {
         assertVideoLoaded();
-        return compositeTrackSelector.getVideoTracks(rendererTypeRequester, options.contentType());
+        return compositeTrackSelector.getVideoTracks(rendererTypeRequester);
     }
 
     boolean clearVideoTrackSelection() {
@@ -247,6 +451,32 @@ class ExoPlayerFacade {
         compositeTrackSelector.setMaxVideoBitrate(maxVideoBitrate);
     }
 
+    boolean applyTrackSelection(TrackSelectionEdits edits) throws IllegalStateException {
+        assertVideoLoaded();
+        return compositeTrackSelector.apply(edits, rendererTypeRequester);
+    }
+
+    /**
+     * Video tracks larger than the viewport are not selected, the size applies to every following video.
+     * Surface sizes are reported on the main thread, so the size is handed over to the player thread.
+     */
+    void setViewportSize(final int width, final int height) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                viewportWidth = width;
+                viewportHeight = height;
+                if (compositeTrackSelector != null) {
+                    compositeTrackSelector.setViewportSize(width, height);
+                }
+            }
+        });
+    }
+
+    void clearViewportSize() {
+        setViewportSize(NO_VIEWPORT_CONSTRAINT, NO_VIEWPORT_CONSTRAINT);
+    }
+
     private void assertVideoLoaded() {
         if (exoPlayer == null) {
             throw new IllegalStateException("Video must be loaded before trying to interact with the player");
@@ -1,6 +1,7 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.net.Uri;
+import android.os.Handler;
 import android.support.annotation.Nullable;
 import android.view.View;
 
@@ -10,14 +11,23 @@ import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.Options;
 import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.PlayerSurfaceHolder;
 import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.TrackSelectionEditor;
+import com.novoda.noplayer.internal.Clock;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.PlaybackSnapshots;
+import com.novoda.noplayer.internal.PlaybackStatsCollector;
+import com.novoda.noplayer.internal.TrackSelectionEdits;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.exoplayer.forwarder.ErrorRecovery;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+import com.novoda.noplayer.model.PlaybackStats;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.PlayerVideoTrack;
@@ -35,7 +45,17 @@ class ExoPlayerTwoImpl implements NoPlayer {
     private final Heart heart;
     private final DrmSessionCreator drmSessionCreator;
     private final MediaCodecSelector mediaCodecSelector;
+    private final ErrorRecovery errorRecovery;
     private final LoadTimeout loadTimeout;
+    private final PlaybackSnapshots playbackSnapshots;
+    private final PlaybackStatsCollector playbackStatsCollector;
+    private final PlayerSurfaceHolder.SurfaceSizeListener surfaceSizeListener = new PlayerSurfaceHolder.SurfaceSizeListener() {
+        @Override
+        public void onSurfaceSizeChanged(int width, int height) {
+            // Reported on the main thread, the facade hands the size over to the player thread
+            exoPlayer.setViewportSize(width, height);
+        }
+    };
 
     @Nullable
     private PlayerView playerView;
@@ -44,32 +64,48 @@ class ExoPlayerTwoImpl implements NoPlayer {
     private int videoHeight;
     private TextRendererOutput textRendererOutput;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
+        // We cannot really group these any further
     ExoPlayerTwoImpl(ExoPlayerFacade exoPlayer,
                      PlayerListenersHolder listenersHolder,
                      ExoPlayerForwarder exoPlayerForwarder,
                      LoadTimeout loadTimeoutParam,
                      Heart heart,
                      DrmSessionCreator drmSessionCreator,
-                     MediaCodecSelector mediaCodecSelector) {
+                     PlaybackRecovery playbackRecovery,
+                     Clock clock) {
         this.exoPlayer = exoPlayer;
         this.listenersHolder = listenersHolder;
         this.loadTimeout = loadTimeoutParam;
         this.forwarder = exoPlayerForwarder;
         this.heart = heart;
         this.drmSessionCreator = drmSessionCreator;
-        this.mediaCodecSelector = mediaCodecSelector;
+        this.mediaCodecSelector = playbackRecovery.mediaCodecSelector();
+        this.errorRecovery = playbackRecovery.errorRecovery();
+        this.playbackSnapshots = new PlaybackSnapshots(clock);
+        this.playbackStatsCollector = new PlaybackStatsCollector(clock);
     }
 
     void initialise() {
         heart.bind(new Heart.Heartbeat(listenersHolder.getHeartbeatCallbacks(), this));
         forwarder.bind(listenersHolder.getPreparedListeners(), this);
         forwarder.bind(listenersHolder.getCompletionListeners(), listenersHolder.getStateChangedListeners());
-        forwarder.bind(listenersHolder.getErrorListeners());
+        forwarder.bind(listenersHolder.getErrorListeners(), errorRecovery);
         forwarder.bind(listenersHolder.getBufferStateListeners());
         forwarder.bind(listenersHolder.getVideoSizeChangedListeners());
         forwarder.bind(listenersHolder.getBitrateChangedListeners());
         forwarder.bind(listenersHolder.getInfoListeners());
         forwarder.bind(listenersHolder.getDroppedVideoFramesListeners());
+        forwarder.bind(listenersHolder.getStartupListeners());
+        PlaybackSnapshotPublisher playbackSnapshotPublisher = new PlaybackSnapshotPublisher(exoPlayer, playbackSnapshots);
+        forwarder.bind(playbackSnapshotPublisher);
+        listenersHolder.addHeartbeatCallback(playbackSnapshotPublisher);
+        listenersHolder.addBitrateChangedListener(playbackSnapshots);
+        forwarder.bind(playbackStatsCollector);
+        listenersHolder.addBufferStateListener(playbackStatsCollector);
+        listenersHolder.addStateChangedListener(playbackStatsCollector);
+        listenersHolder.addBitrateChangedListener(playbackStatsCollector);
+        listenersHolder.addDroppedVideoFrames(playbackStatsCollector);
         listenersHolder.addPreparedListener(new PreparedListener() {
             @Override
             public void onPrepared(PlayerState playerState) {
@@ -121,6 +157,16 @@ class ExoPlayerTwoImpl implements NoPlayer {
         return exoPlayer.bufferPercentage();
     }
 
+    @Override
+    public PlaybackSnapshot getPlaybackSnapshot() {
+        return playbackSnapshots.latest();
+    }
+
+    @Override
+    public PlaybackStats getPlaybackStats() {
+        return playbackStatsCollector.stats();
+    }
+
     @Override
     public void setRepeating(boolean repeating) {
         exoPlayer.setRepeating(repeating);
@@ -176,6 +222,7 @@ class ExoPlayerTwoImpl implements NoPlayer {
 
     @Override
     public void seekTo(long positionInMillis) throws IllegalStateException {
+        playbackStatsCollector.onSeekStarted();
         exoPlayer.seekTo(positionInMillis);
     }
 
@@ -188,6 +235,9 @@ class ExoPlayerTwoImpl implements NoPlayer {
     @Override
     public void release() {
         stop();
+        heart.release();
+        exoPlayer.releaseReusablePlayer();
+        drmSessionCreator.release();
         listenersHolder.clear();
     }
 
@@ -196,23 +246,62 @@ class ExoPlayerTwoImpl implements NoPlayer {
         loadTimeout.cancel();
         heart.stopBeatingHeart();
         exoPlayer.release();
+        playbackSnapshots.reset();
+        playbackStatsCollector.endSession();
         destroySurfaceByHidingVideoContainer();
     }
 
     private void destroySurfaceByHidingVideoContainer() {
         if (playerView != null) {
-            playerView.getContainerView().setVisibility(View.GONE);
+            setContainerVisibility(View.GONE);
+        }
+    }
+
+    private void setContainerVisibility(final int visibility) {
+        final View containerView = playerView.getContainerView();
+        Handler viewHandler = containerView.getHandler();
+        // Views that are not attached to a window can be updated from any thread
+        if (viewHandler == null || viewHandler.getLooper().getThread() == Thread.currentThread()) {
+            containerView.setVisibility(visibility);
+        } else {
+            containerView.post(new Runnable() {
+                @Override
+                public void run() {
+                    containerView.setVisibility(visibility);
+                }
+            });
         }
     }
 
     @Override
-    public void loadVideo(final Uri uri, final Options options) {
+    public void preload(Uri uri, Options options) {
         if (exoPlayer.hasPlayedContent()) {
             stop();
         }
+        listenersHolder.deferPreparedNotification();
+        forwarder.startStartupTimeline();
+        playbackStatsCollector.startSession();
+        exoPlayer.preload(drmSessionCreator, uri, options, forwarder, mediaCodecSelector);
+    }
+
+    @Override
+    public void loadVideo(final Uri uri, final Options options) {
+        boolean isPreloaded = exoPlayer.isPreloaded(uri, options);
+        if (exoPlayer.hasPlayedContent() && !isPreloaded) {
+            stop();
+        }
         assertPlayerViewIsAttached();
+        if (!isPreloaded) {
+            forwarder.startStartupTimeline();
+            playbackStatsCollector.startSession();
+        } else {
+            forwarder.restartStartupTimelineAtLoad();
+        }
+        playbackStatsCollector.onLoadRequested();
+        errorRecovery.reset();
         exoPlayer.loadVideo(playerView.getPlayerSurfaceHolder(), drmSessionCreator, uri, options, forwarder, mediaCodecSelector);
         createSurfaceByShowingVideoContainer();
+        listenersHolder.resumePreparedNotification();
     }
 
     private void assertPlayerViewIsAttached() {
@@ -222,7 +311,7 @@ class ExoPlayerTwoImpl implements NoPlayer {
     }
 
     private void createSurfaceByShowingVideoContainer() {
-        playerView.getContainerView().setVisibility(View.VISIBLE);
+        setContainerVisibility(View.VISIBLE);
     }
 
     @Override
@@ -231,6 +320,41 @@ class ExoPlayerTwoImpl implements NoPlayer {
         loadVideo(uri, options);
     }
 
+    @Override
+    public void appendToQueue(Uri uri, Options options) throws IllegalStateException {
+        exoPlayer.appendToQueue(uri, options, forwarder);
+    }
+
+    @Override
+    public void removeFromQueue(int index) throws IllegalStateException {
+        exoPlayer.removeFromQueue(index);
+    }
+
+    @Override
+    public void moveInQueue(int fromIndex, int toIndex) throws IllegalStateException {
+        exoPlayer.moveInQueue(fromIndex, toIndex);
+    }
+
+    @Override
+    public int queueSize() throws IllegalStateException {
+        return exoPlayer.queueSize();
+    }
+
+    @Override
+    public int currentQueueIndex() throws IllegalStateException {
+        return exoPlayer.currentQueueIndex();
+    }
+
+    @Override
+    public void addCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException {
+        exoPlayer.addCuePoint(positionInMillis, cuePointCallback);
+    }
+
+    @Override
+    public void removeCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException {
+        exoPlayer.removeCuePoint(positionInMillis, cuePointCallback);
+    }
+
     @Override
     public PlayerInformation getPlayerInformation() {
         return new ExoPlayerInformation();
@@ -241,12 +365,15 @@ class ExoPlayerTwoImpl implements NoPlayer {
         this.playerView = playerView;
         listenersHolder.addStateChangedListener(playerView.getStateChangedListener());
         listenersHolder.addVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
+        playerView.getPlayerSurfaceHolder().addSurfaceSizeListener(surfaceSizeListener);
     }
 
     @Override
     public void detach(PlayerView playerView) {
         listenersHolder.removeStateChangedListener(playerView.getStateChangedListener());
         listenersHolder.removeVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
+        playerView.getPlayerSurfaceHolder().removeSurfaceSizeListener(surfaceSizeListener);
+        exoPlayer.clearViewportSize();
         removeSubtitleRenderer();
         this.playerView = null;
     }
@@ -281,6 +408,23 @@ class ExoPlayerTwoImpl implements NoPlayer {
         return exoPlayer.clearSubtitleTrackSelection();
     }
 
+    @Override
+    public TrackSelectionEditor editTracks() {
+        return new TrackSelectionEdits(new TrackSelectionEdits.Applier() {
+            @Override
+            public boolean apply(TrackSelectionEdits edits) throws IllegalStateException {
+                if (edits.subtitleTrack().isPresent()) {
+                    setSubtitleRendererOutput();
+                    playerView.showSubtitles();
+                } else if (edits.hidesSubtitleTrack()) {
+                    playerView.hideSubtitles();
+                    removeSubtitleRenderer();
+                }
+                return exoPlayer.applyTrackSelection(edits);
+            }
+        });
+    }
+
     private void removeSubtitleRenderer() {
         if (textRendererOutput != null) {
             exoPlayer.removeSubtitleRendererOutput(textRendererOutput);
@@ -0,0 +1,90 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.app.ActivityManager;
+import android.content.Context;
+
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.LoadControl;
+import com.novoda.noplayer.LoadControlProfile;
+import com.novoda.noplayer.internal.SystemClock;
+
+class LoadControlCreator {
+
+    private static final int FAST_START_BUFFER_FOR_PLAYBACK_MS = 1000;
+    private static final int FAST_START_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS = 2500;
+
+    private static final int LOW_MEMORY_MIN_BUFFER_MS = 10000;
+    private static final int LOW_MEMORY_MAX_BUFFER_MS = 20000;
+    private static final int LOW_MEMORY_TARGET_BUFFER_BYTES = 8 * 1024 * 1024;
+
+    private static final int LONG_BUFFER_MIN_BUFFER_MS = 30000;
+    private static final int LONG_BUFFER_MAX_BUFFER_MS = 120000;
+    private static final int LONG_BUFFER_BACK_BUFFER_MS = 30000;
+    private static final boolean RETAIN_BACK_BUFFER_FROM_KEYFRAME = true;
+
+    private static final int LOW_MEMORY_CLASS_IN_MEGABYTES = 128;
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+    private static final int HEAP_FRACTION_FOR_BUFFER = 8;
+
+    private final Context context;
+
+    LoadControlCreator(Context context) {
+        this.context = context;
+    }
+
+    LoadControl create(LoadControlProfile loadControlProfile) {
+        switch (loadControlProfile) {
+            case FAST_START:
+                return new DefaultLoadControl.Builder()
+                        .setBufferDurationsMs(
+                                DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+                                DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+                                FAST_START_BUFFER_FOR_PLAYBACK_MS,
+                                FAST_START_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS
+                        )
+                        .createDefaultLoadControl();
+            case LOW_MEMORY:
+                return createSizeBoundLoadControl(LOW_MEMORY_MIN_BUFFER_MS, LOW_MEMORY_MAX_BUFFER_MS, LOW_MEMORY_TARGET_BUFFER_BYTES);
+            case LONG_BUFFER:
+                return new DefaultLoadControl.Builder()
+                        .setBufferDurationsMs(
+                                LONG_BUFFER_MIN_BUFFER_MS,
+                                LONG_BUFFER_MAX_BUFFER_MS,
+                                DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+                                DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS
+                        )
+                        .setBackBuffer(LONG_BUFFER_BACK_BUFFER_MS, RETAIN_BACK_BUFFER_FROM_KEYFRAME)
+                        .createDefaultLoadControl();
+            case AUTOMATIC:
+                return createMemoryAwareLoadControl();
+            case DEFAULT:
+            default:
+                return new DefaultLoadControl();
+        }
+    }
+
+    private LoadControl createMemoryAwareLoadControl() {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClassInMegabytes = activityManager.getMemoryClass();
+        int targetBufferBytes = memoryClassInMegabytes * BYTES_PER_MEGABYTE / HEAP_FRACTION_FOR_BUFFER;
+        DefaultLoadControl sizeBoundLoadControl = memoryClassInMegabytes <= LOW_MEMORY_CLASS_IN_MEGABYTES
+                ? createSizeBoundLoadControl(LOW_MEMORY_MIN_BUFFER_MS, LOW_MEMORY_MAX_BUFFER_MS, targetBufferBytes)
+                : createSizeBoundLoadControl(DefaultLoadControl.DEFAULT_MIN_BUFFER_MS, DefaultLoadControl.DEFAULT_MAX_BUFFER_MS, targetBufferBytes);
+        MemoryAwareLoadControl loadControl = new MemoryAwareLoadControl(sizeBoundLoadControl, targetBufferBytes, new SystemClock());
+        loadControl.register(context.getApplicationContext());
+        return loadControl;
+    }
+
+    private static DefaultLoadControl createSizeBoundLoadControl(int minBufferMs, int maxBufferMs, int targetBufferBytes) {
+        return new DefaultLoadControl.Builder()
+                .setBufferDurationsMs(
+                        minBufferMs,
+                        maxBufferMs,
+                        DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+                        DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS
+                )
+                .setTargetBufferBytes(targetBufferBytes)
+                .setPrioritizeTimeOverSizeThresholds(false)
+                .createDefaultLoadControl();
+    }
+}
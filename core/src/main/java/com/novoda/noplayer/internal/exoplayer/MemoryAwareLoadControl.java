@@ -0,0 +1,138 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.novoda.noplayer.internal.Clock;
+
+/**
+ * Stops loading once the allocated buffer reaches a target that is lowered
+ * whenever the system asks the running application to trim its memory.
+ * The system keeps notifying while memory stays low, so the full target is
+ * restored once no notification has been received for a minute.
+ */
+class MemoryAwareLoadControl implements LoadControl, ComponentCallbacks2 {
+
+    private static final int LOW_MEMORY_TRIM_DIVISOR = 2;
+    private static final int CRITICAL_MEMORY_TRIM_DIVISOR = 4;
+    private static final long MEMORY_PRESSURE_CLEARED_AFTER_MILLIS = 60000;
+
+    private final LoadControl loadControl;
+    private final int targetBufferBytes;
+    private final Clock clock;
+
+    private volatile int trimmedTargetBufferBytes;
+    private volatile long trimmedAtInMillis;
+    private Context context;
+
+    MemoryAwareLoadControl(LoadControl loadControl, int targetBufferBytes, Clock clock) {
+        this.loadControl = loadControl;
+        this.targetBufferBytes = targetBufferBytes;
+        this.clock = clock;
+        this.trimmedTargetBufferBytes = targetBufferBytes;
+    }
+
+    void register(Context context) {
+        this.context = context;
+        context.registerComponentCallbacks(this);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        switch (level) {
+            case TRIM_MEMORY_RUNNING_CRITICAL:
+                trim(targetBufferBytes / CRITICAL_MEMORY_TRIM_DIVISOR);
+                break;
+            case TRIM_MEMORY_RUNNING_LOW:
+            case TRIM_MEMORY_RUNNING_MODERATE:
+                trim(targetBufferBytes / LOW_MEMORY_TRIM_DIVISOR);
+                break;
+            default:
+                // Hidden and background levels are about the memory of the UI and cached processes, not the buffer of a playing video
+                break;
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_RUNNING_CRITICAL);
+    }
+
+    private void trim(int targetBufferBytes) {
+        trimmedAtInMillis = clock.getCurrentTime();
+        trimmedTargetBufferBytes = targetBufferBytes;
+    }
+
+    private int currentTargetBufferBytes() {
+        if (trimmedTargetBufferBytes < targetBufferBytes
+                && clock.getCurrentTime() - trimmedAtInMillis >= MEMORY_PRESSURE_CLEARED_AFTER_MILLIS) {
+            trimmedTargetBufferBytes = targetBufferBytes;
+        }
+        return trimmedTargetBufferBytes;
+    }
+
+    private boolean hasReachedTargetBufferBytes() {
+        return getAllocator().getTotalBytesAllocated() >= currentTargetBufferBytes();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        // Buffer sizes do not depend on the configuration
+    }
+
+    @Override
+    public boolean shouldContinueLoading(long bufferedDurationUs, float playbackSpeed) {
+        return !hasReachedTargetBufferBytes() && loadControl.shouldContinueLoading(bufferedDurationUs, playbackSpeed);
+    }
+
+    @Override
+    public boolean shouldStartPlayback(long bufferedDurationUs, float playbackSpeed, boolean rebuffering) {
+        // Loading has stopped at the trimmed target, waiting for more buffer would stall playback forever
+        return hasReachedTargetBufferBytes() || loadControl.shouldStartPlayback(bufferedDurationUs, playbackSpeed, rebuffering);
+    }
+
+    @Override
+    public void onPrepared() {
+        loadControl.onPrepared();
+    }
+
+    @Override
+    public void onTracksSelected(Renderer[] renderers, TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+        loadControl.onTracksSelected(renderers, trackGroups, trackSelections);
+    }
+
+    @Override
+    public void onStopped() {
+        loadControl.onStopped();
+    }
+
+    @Override
+    public void onReleased() {
+        loadControl.onReleased();
+        if (context != null) {
+            context.unregisterComponentCallbacks(this);
+            context = null;
+        }
+    }
+
+    @Override
+    public Allocator getAllocator() {
+        return loadControl.getAllocator();
+    }
+
+    @Override
+    public long getBackBufferDurationUs() {
+        return loadControl.getBackBufferDurationUs();
+    }
+
+    @Override
+    public boolean retainBackBufferFromKeyframe() {
+        return loadControl.retainBackBufferFromKeyframe();
+    }
+}
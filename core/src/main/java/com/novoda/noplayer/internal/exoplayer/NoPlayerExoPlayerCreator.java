@@ -3,12 +3,14 @@ package com.novoda.noplayer.internal.exoplayer;
 import android.content.Context;
 import android.os.Handler;
 
-import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
 import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.cache.Cache;
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.ElapsedRealtimeClock;
 import com.novoda.noplayer.internal.Heart;
 import com.novoda.noplayer.internal.SystemClock;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionPreAcquirer;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
@@ -21,12 +23,16 @@ public class NoPlayerExoPlayerCreator {
     private final InternalCreator internalCreator;
 
     public static NoPlayerExoPlayerCreator newInstance(String userAgent, Handler handler) {
-        InternalCreator internalCreator = new InternalCreator(userAgent, handler, Optional.<DataSource.Factory>absent());
+        return newInstance(userAgent, handler, Optional.<Cache>absent());
+    }
+
+    public static NoPlayerExoPlayerCreator newInstance(String userAgent, Handler handler, Optional<Cache> segmentCache) {
+        InternalCreator internalCreator = new InternalCreator(userAgent, handler, Optional.<DataSource.Factory>absent(), segmentCache);
         return new NoPlayerExoPlayerCreator(internalCreator);
     }
 
     public static NoPlayerExoPlayerCreator newInstance(String userAgent, Handler handler, DataSource.Factory dataSourceFactory) {
-        InternalCreator internalCreator = new InternalCreator(userAgent, handler, Optional.of(dataSourceFactory));
+        InternalCreator internalCreator = new InternalCreator(userAgent, handler, Optional.of(dataSourceFactory), Optional.<Cache>absent());
         return new NoPlayerExoPlayerCreator(internalCreator);
     }
 
@@ -37,8 +43,15 @@ public class NoPlayerExoPlayerCreator {
     public NoPlayer createExoPlayer(Context context,
                                     DrmSessionCreator drmSessionCreator,
                                     boolean downgradeSecureDecoder,
-                                    boolean allowCrossProtocolRedirects) {
-        ExoPlayerTwoImpl player = internalCreator.create(context, drmSessionCreator, downgradeSecureDecoder, allowCrossProtocolRedirects);
+                                    boolean allowCrossProtocolRedirects,
+                                    boolean reusePlayer) {
+        ExoPlayerTwoImpl player = internalCreator.create(
+                context,
+                drmSessionCreator,
+                downgradeSecureDecoder,
+                allowCrossProtocolRedirects,
+                reusePlayer
+        );
         player.initialise();
         return player;
     }
@@ -48,48 +61,69 @@ public class NoPlayerExoPlayerCreator {
         private final Handler handler;
         private final Optional<DataSource.Factory> dataSourceFactory;
         private final String userAgent;
+        private final Optional<Cache> segmentCache;
 
-        InternalCreator(String userAgent, Handler handler, Optional<DataSource.Factory> dataSourceFactory) {
+        InternalCreator(String userAgent,
+                        Handler handler,
+                        Optional<DataSource.Factory> dataSourceFactory,
+                        Optional<Cache> segmentCache) {
             this.userAgent = userAgent;
             this.handler = handler;
             this.dataSourceFactory = dataSourceFactory;
+            this.segmentCache = segmentCache;
         }
 
         ExoPlayerTwoImpl create(Context context,
                                 DrmSessionCreator drmSessionCreator,
                                 boolean downgradeSecureDecoder,
-                                boolean allowCrossProtocolRedirects) {
+                                boolean allowCrossProtocolRedirects,
+                                boolean reusePlayer) {
+            PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
             MediaSourceFactory mediaSourceFactory = new MediaSourceFactory(
                     context,
                     userAgent,
                     handler,
                     dataSourceFactory,
-                    allowCrossProtocolRedirects
+                    allowCrossProtocolRedirects,
+                    segmentCache,
+                    listenersHolder.getSegmentCacheListeners()
             );
 
-            MediaCodecSelector mediaCodecSelector = downgradeSecureDecoder
-                    ? SecurityDowngradingCodecSelector.newInstance()
-                    : MediaCodecSelector.DEFAULT_WITH_FALLBACK;
+            CachingMediaCodecSelector cachingMediaCodecSelector = CachingMediaCodecSelector.newInstance(context);
+            DecoderFallbackCodecSelector mediaCodecSelector = new DecoderFallbackCodecSelector(
+                    downgradeSecureDecoder
+                            ? SecurityDowngradingCodecSelector.newInstance(cachingMediaCodecSelector)
+                            : cachingMediaCodecSelector
+            );
 
             CompositeTrackSelectorCreator trackSelectorCreator = new CompositeTrackSelectorCreator();
 
-            ExoPlayerCreator exoPlayerCreator = new ExoPlayerCreator(context);
+            ExoPlayerCreator exoPlayerCreator = new ExoPlayerCreator(context, new LoadControlCreator(context), handler.getLooper());
             RendererTypeRequesterCreator rendererTypeRequesterCreator = new RendererTypeRequesterCreator();
             AndroidDeviceVersion androidDeviceVersion = AndroidDeviceVersion.newInstance();
-            BandwidthMeterCreator bandwidthMeterCreator = new BandwidthMeterCreator(context);
-            ExoPlayerFacade exoPlayerFacade = new ExoPlayerFacade(
+            BandwidthMeterCreator bandwidthMeterCreator = new BandwidthMeterCreator(
+                    context,
+                    BandwidthEstimates.shared(context),
+                    handler
+            );
+            PlayerComponentCreators playerComponentCreators = new PlayerComponentCreators(
                     bandwidthMeterCreator,
-                    androidDeviceVersion,
-                    mediaSourceFactory,
                     trackSelectorCreator,
                     exoPlayerCreator,
                     rendererTypeRequesterCreator
             );
+            ExoPlayerFacade exoPlayerFacade = new ExoPlayerFacade(
+                    playerComponentCreators,
+                    androidDeviceVersion,
+                    mediaSourceFactory,
+                    new DrmSessionPreAcquirer(),
+                    handler,
+                    reusePlayer
+            );
 
-            PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
             ExoPlayerForwarder exoPlayerForwarder = new ExoPlayerForwarder();
             LoadTimeout loadTimeout = new LoadTimeout(new SystemClock(), handler);
-            Heart heart = Heart.newInstance(handler);
+            Heart heart = Heart.newInstance(context, handler);
 
             return new ExoPlayerTwoImpl(
                     exoPlayerFacade,
@@ -98,7 +132,8 @@ public class NoPlayerExoPlayerCreator {
                     loadTimeout,
                     heart,
                     drmSessionCreator,
-                    mediaCodecSelector
+                    new PlaybackRecovery(mediaCodecSelector, new TransientErrorRecovery(exoPlayerFacade, mediaCodecSelector)),
+                    new ElapsedRealtimeClock()
             );
         }
     }
@@ -0,0 +1,26 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.novoda.noplayer.internal.exoplayer.forwarder.ErrorRecovery;
+
+/**
+ * Lets playback carry on after errors, by selecting another decoder when one fails and preparing the content again.
+ */
+class PlaybackRecovery {
+
+    private final MediaCodecSelector mediaCodecSelector;
+    private final ErrorRecovery errorRecovery;
+
+    PlaybackRecovery(MediaCodecSelector mediaCodecSelector, ErrorRecovery errorRecovery) {
+        this.mediaCodecSelector = mediaCodecSelector;
+        this.errorRecovery = errorRecovery;
+    }
+
+    MediaCodecSelector mediaCodecSelector() {
+        return mediaCodecSelector;
+    }
+
+    ErrorRecovery errorRecovery() {
+        return errorRecovery;
+    }
+}
@@ -0,0 +1,93 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.PlaybackSnapshots;
+
+/**
+ * Publishes a new snapshot whenever the player changes state or jumps to another position,
+ * and on every heartbeat in between so that extrapolated positions do not drift.
+ */
+class PlaybackSnapshotPublisher implements Player.EventListener, NoPlayer.HeartbeatCallback {
+
+    private final ExoPlayerFacade exoPlayer;
+    private final PlaybackSnapshots playbackSnapshots;
+
+    PlaybackSnapshotPublisher(ExoPlayerFacade exoPlayer, PlaybackSnapshots playbackSnapshots) {
+        this.exoPlayer = exoPlayer;
+        this.playbackSnapshots = playbackSnapshots;
+    }
+
+    @Override
+    public void onBeat(NoPlayer player) {
+        publish();
+    }
+
+    @Override
+    public void onTimelineChanged(Timeline timeline, Object manifest, @Player.TimelineChangeReason int reason) {
+        publish();
+    }
+
+    @Override
+    public void onPlayerStateChanged(boolean playWhenReady, int playbackState) {
+        publish();
+    }
+
+    @Override
+    public void onPositionDiscontinuity(int reason) {
+        publish();
+    }
+
+    @Override
+    public void onSeekProcessed() {
+        publish();
+    }
+
+    private void publish() {
+        // Events of a player that has just been released can still be on their way
+        if (!exoPlayer.hasPlayedContent()) {
+            return;
+        }
+        playbackSnapshots.publish(
+                exoPlayer.playbackState(),
+                exoPlayer.playheadPositionInMillis(),
+                exoPlayer.bufferedPositionInMillis(),
+                exoPlayer.mediaDurationInMillis()
+        );
+    }
+
+    @Override
+    public void onTracksChanged(TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onLoadingChanged(boolean isLoading) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onRepeatModeChanged(@Player.RepeatMode int repeatMode) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onShuffleModeEnabledChanged(boolean shuffleModeEnabled) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPlayerError(ExoPlaybackException error) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
+        // Not interested in this event
+    }
+}
@@ -0,0 +1,38 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+/**
+ * Creators of the components that are rebuilt with every new {@link com.google.android.exoplayer2.SimpleExoPlayer}.
+ */
+class PlayerComponentCreators {
+
+    private final BandwidthMeterCreator bandwidthMeterCreator;
+    private final CompositeTrackSelectorCreator trackSelectorCreator;
+    private final ExoPlayerCreator exoPlayerCreator;
+    private final RendererTypeRequesterCreator rendererTypeRequesterCreator;
+
+    PlayerComponentCreators(BandwidthMeterCreator bandwidthMeterCreator,
+                            CompositeTrackSelectorCreator trackSelectorCreator,
+                            ExoPlayerCreator exoPlayerCreator,
+                            RendererTypeRequesterCreator rendererTypeRequesterCreator) {
+        this.bandwidthMeterCreator = bandwidthMeterCreator;
+        this.trackSelectorCreator = trackSelectorCreator;
+        this.exoPlayerCreator = exoPlayerCreator;
+        this.rendererTypeRequesterCreator = rendererTypeRequesterCreator;
+    }
+
+    BandwidthMeterCreator bandwidthMeterCreator() {
+        return bandwidthMeterCreator;
+    }
+
+    CompositeTrackSelectorCreator trackSelectorCreator() {
+        return trackSelectorCreator;
+    }
+
+    ExoPlayerCreator exoPlayerCreator() {
+        return exoPlayerCreator;
+    }
+
+    RendererTypeRequesterCreator rendererTypeRequesterCreator() {
+        return rendererTypeRequesterCreator;
+    }
+}
@@ -12,8 +12,8 @@ class SecurityDowngradingCodecSelector implements MediaCodecSelector {
 
     private final InternalMediaCodecUtil internalMediaCodecUtil;
 
-    public static SecurityDowngradingCodecSelector newInstance() {
-        InternalMediaCodecUtil internalMediaCodecUtil = new InternalMediaCodecUtil();
+    public static SecurityDowngradingCodecSelector newInstance(MediaCodecSelector mediaCodecSelector) {
+        InternalMediaCodecUtil internalMediaCodecUtil = new InternalMediaCodecUtil(mediaCodecSelector);
         return new SecurityDowngradingCodecSelector(internalMediaCodecUtil);
     }
 
@@ -33,12 +33,18 @@ class SecurityDowngradingCodecSelector implements MediaCodecSelector {
 
     static class InternalMediaCodecUtil {
 
+        private final MediaCodecSelector mediaCodecSelector;
+
+        InternalMediaCodecUtil(MediaCodecSelector mediaCodecSelector) {
+            this.mediaCodecSelector = mediaCodecSelector;
+        }
+
         List<MediaCodecInfo> getDecoderInfos(String mimeType, boolean requiresSecureDecoder) throws MediaCodecUtil.DecoderQueryException {
-            return MediaCodecUtil.getDecoderInfos(mimeType, requiresSecureDecoder);
+            return mediaCodecSelector.getDecoderInfos(mimeType, requiresSecureDecoder);
         }
 
         MediaCodecInfo getPassthroughDecoderInfo() throws MediaCodecUtil.DecoderQueryException {
-            return MediaCodecUtil.getPassthroughDecoderInfo();
+            return mediaCodecSelector.getPassthroughDecoderInfo();
         }
     }
 }
@@ -0,0 +1,66 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the tracks of the current content, indexed so that the
+ * selected video track can be looked up without walking the track groups.
+ */
+final class TrackCatalog {
+
+    private final AudioTracks audioTracks;
+    private final List<PlayerVideoTrack> videoTracks;
+    private final Map<String, PlayerVideoTrack> videoTracksById;
+    private final List<PlayerSubtitleTrack> subtitleTracks;
+
+    static TrackCatalog from(AudioTracks audioTracks, List<PlayerVideoTrack> videoTracks, List<PlayerSubtitleTrack> subtitleTracks) {
+        Map<String, PlayerVideoTrack> videoTracksById = new HashMap<>(videoTracks.size());
+        for (PlayerVideoTrack videoTrack : videoTracks) {
+            // The first track wins, as it would when scanning the track groups in order
+            if (!videoTracksById.containsKey(videoTrack.id())) {
+                videoTracksById.put(videoTrack.id(), videoTrack);
+            }
+        }
+        return new TrackCatalog(
+                audioTracks,
+                Collections.unmodifiableList(new ArrayList<>(videoTracks)),
+                videoTracksById,
+                Collections.unmodifiableList(new ArrayList<>(subtitleTracks))
+        );
+    }
+
+    private TrackCatalog(AudioTracks audioTracks,
+                         List<PlayerVideoTrack> videoTracks,
+                         Map<String, PlayerVideoTrack> videoTracksById,
+                         List<PlayerSubtitleTrack> subtitleTracks) {
+        this.audioTracks = audioTracks;
+        this.videoTracks = videoTracks;
+        this.videoTracksById = videoTracksById;
+        this.subtitleTracks = subtitleTracks;
+    }
+
+    AudioTracks audioTracks() {
+        return audioTracks;
+    }
+
+    List<PlayerVideoTrack> videoTracks() {
+        return videoTracks;
+    }
+
+    Optional<PlayerVideoTrack> videoTrackWithId(String id) {
+        return Optional.fromNullable(videoTracksById.get(id));
+    }
+
+    List<PlayerSubtitleTrack> subtitleTracks() {
+        return subtitleTracks;
+    }
+}
@@ -0,0 +1,67 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+
+class TrackCatalogInvalidator implements Player.EventListener {
+
+    private final CompositeTrackSelector compositeTrackSelector;
+
+    TrackCatalogInvalidator(CompositeTrackSelector compositeTrackSelector) {
+        this.compositeTrackSelector = compositeTrackSelector;
+    }
+
+    @Override
+    public void onTracksChanged(TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+        compositeTrackSelector.invalidateTrackCatalog();
+    }
+
+    @Override
+    public void onTimelineChanged(Timeline timeline, Object manifest, @Player.TimelineChangeReason int reason) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onLoadingChanged(boolean isLoading) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPlayerStateChanged(boolean playWhenReady, int playbackState) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onRepeatModeChanged(@Player.RepeatMode int repeatMode) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onShuffleModeEnabledChanged(boolean shuffleModeEnabled) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPlayerError(ExoPlaybackException error) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPositionDiscontinuity(int reason) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onSeekProcessed() {
+        // Not interested in this event
+    }
+}
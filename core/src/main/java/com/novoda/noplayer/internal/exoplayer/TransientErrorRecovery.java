@@ -0,0 +1,78 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.mediacodec.MediaCodecRenderer;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.exoplayer.error.RecoveryAction;
+import com.novoda.noplayer.internal.exoplayer.forwarder.ErrorRecovery;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+/**
+ * Prepares the content again in place after an error that is likely to go away, instead of reporting it and
+ * releasing the player. Gives up once playback did not become ready again after a few attempts in a row.
+ */
+class TransientErrorRecovery implements ErrorRecovery {
+
+    private static final int MAX_CONSECUTIVE_ATTEMPTS = 3;
+
+    private final ExoPlayerFacade exoPlayer;
+    private final DecoderFallbackCodecSelector decoderFallbackCodecSelector;
+
+    private int consecutiveAttempts;
+
+    TransientErrorRecovery(ExoPlayerFacade exoPlayer, DecoderFallbackCodecSelector decoderFallbackCodecSelector) {
+        this.exoPlayer = exoPlayer;
+        this.decoderFallbackCodecSelector = decoderFallbackCodecSelector;
+    }
+
+    @Override
+    public boolean recover(ExoPlaybackException exception, NoPlayer.PlayerError error) {
+        if (!exoPlayer.hasPlayedContent() || consecutiveAttempts >= MAX_CONSECUTIVE_ATTEMPTS) {
+            return false;
+        }
+        RecoveryAction recoveryAction = RecoveryAction.from(error);
+        switch (recoveryAction) {
+            case PREPARE_AT_CURRENT_POSITION:
+                exoPlayer.prepareAgainAtCurrentPosition();
+                break;
+            case PREPARE_AT_LIVE_EDGE:
+                exoPlayer.prepareAgainAtDefaultPosition();
+                break;
+            case PREPARE_WITH_NEXT_DECODER:
+                if (!excludeFailedDecoder(exception)) {
+                    return false;
+                }
+                exoPlayer.prepareAgainAtCurrentPosition();
+                break;
+            default:
+                return false;
+        }
+        consecutiveAttempts++;
+        NoPlayerLog.w("Recovering from " + error.detailType() + " with " + recoveryAction + ", attempt " + consecutiveAttempts);
+        return true;
+    }
+
+    private boolean excludeFailedDecoder(ExoPlaybackException exception) {
+        if (exception.type != ExoPlaybackException.TYPE_RENDERER
+                || !(exception.getRendererException() instanceof MediaCodecRenderer.DecoderInitializationException)) {
+            return false;
+        }
+        MediaCodecRenderer.DecoderInitializationException decoderException =
+                (MediaCodecRenderer.DecoderInitializationException) exception.getRendererException();
+        return decoderFallbackCodecSelector.exclude(
+                decoderException.decoderName,
+                decoderException.mimeType,
+                decoderException.secureDecoderRequired
+        );
+    }
+
+    @Override
+    public void onPlaybackReady() {
+        consecutiveAttempts = 0;
+    }
+
+    @Override
+    public void reset() {
+        consecutiveAttempts = 0;
+    }
+}
@@ -1,10 +1,12 @@
 package com.novoda.noplayer.internal.exoplayer.drm;
 
 import android.os.Handler;
+import android.support.annotation.Nullable;
 
 import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
 import com.google.android.exoplayer2.drm.DrmSessionManager;
 import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.FrameworkMediaDrm;
 import com.novoda.noplayer.drm.DownloadedModularDrm;
 
 class DownloadDrmSessionCreator implements DrmSessionCreator {
@@ -12,21 +14,41 @@ class DownloadDrmSessionCreator implements DrmSessionCreator {
     private final DownloadedModularDrm downloadedModularDrm;
     private final FrameworkMediaDrmCreator mediaDrmCreator;
     private final Handler handler;
+    private final LocalDrmSessionPool sessionPool;
 
-    DownloadDrmSessionCreator(DownloadedModularDrm downloadedModularDrm, FrameworkMediaDrmCreator mediaDrmCreator, Handler handler) {
+    @Nullable
+    private FrameworkMediaDrm mediaDrm;
+
+    DownloadDrmSessionCreator(DownloadedModularDrm downloadedModularDrm,
+                              FrameworkMediaDrmCreator mediaDrmCreator,
+                              Handler handler,
+                              LocalDrmSessionPool sessionPool) {
         this.downloadedModularDrm = downloadedModularDrm;
         this.mediaDrmCreator = mediaDrmCreator;
         this.handler = handler;
+        this.sessionPool = sessionPool;
     }
 
     @Override
     public DrmSessionManager<FrameworkMediaCrypto> create(DefaultDrmSessionEventListener eventListener) {
+        if (mediaDrm == null) {
+            mediaDrm = sessionPool.obtainSharedMediaDrm(WIDEVINE_MODULAR_UUID, mediaDrmCreator);
+        }
         return new LocalDrmSessionManager(
                 downloadedModularDrm.getKeySetId(),
-                mediaDrmCreator.create(WIDEVINE_MODULAR_UUID),
+                mediaDrm,
                 WIDEVINE_MODULAR_UUID,
                 handler,
-                eventListener
+                eventListener,
+                sessionPool
         );
     }
+
+    @Override
+    public void release() {
+        if (mediaDrm != null) {
+            sessionPool.releaseMediaDrm(mediaDrm);
+            mediaDrm = null;
+        }
+    }
 }
@@ -14,4 +14,9 @@ public interface DrmSessionCreator {
 
     @Nullable
     DrmSessionManager<FrameworkMediaCrypto> create(DefaultDrmSessionEventListener eventListener);
+
+    /**
+     * Releases the MediaDrm of the created session managers, which must no longer be used.
+     */
+    void release();
 }
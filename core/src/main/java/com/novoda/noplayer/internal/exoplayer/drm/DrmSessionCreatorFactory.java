@@ -11,17 +11,23 @@ import com.novoda.noplayer.drm.StreamingModularDrm;
 import com.novoda.noplayer.internal.drm.provision.ProvisionExecutor;
 import com.novoda.noplayer.internal.drm.provision.ProvisionExecutorCreator;
 import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.Optional;
 
 public class DrmSessionCreatorFactory {
 
     private final AndroidDeviceVersion androidDeviceVersion;
     private final ProvisionExecutorCreator provisionExecutorCreator;
     private final Handler handler;
+    private final Optional<OfflineLicenseStore> offlineLicenseStore;
 
-    public DrmSessionCreatorFactory(AndroidDeviceVersion androidDeviceVersion, ProvisionExecutorCreator provisionExecutorCreator, Handler handler) {
+    public DrmSessionCreatorFactory(AndroidDeviceVersion androidDeviceVersion,
+                                    ProvisionExecutorCreator provisionExecutorCreator,
+                                    Handler handler,
+                                    Optional<OfflineLicenseStore> offlineLicenseStore) {
         this.androidDeviceVersion = androidDeviceVersion;
         this.provisionExecutorCreator = provisionExecutorCreator;
         this.handler = handler;
+        this.offlineLicenseStore = offlineLicenseStore;
     }
 
     public DrmSessionCreator createFor(DrmType drmType, DrmHandler drmHandler) throws DrmSessionCreatorException {
@@ -59,11 +65,11 @@ public class DrmSessionCreatorFactory {
                 provisionExecutor
         );
         FrameworkMediaDrmCreator mediaDrmCreator = new FrameworkMediaDrmCreator();
-        return new StreamingDrmSessionCreator(mediaDrmCallback, mediaDrmCreator, handler);
+        return new StreamingDrmSessionCreator(mediaDrmCallback, mediaDrmCreator, handler, offlineLicenseStore, LocalDrmSessionPool.shared());
     }
 
     private DownloadDrmSessionCreator createModularDownload(DownloadedModularDrm drmHandler) {
         FrameworkMediaDrmCreator mediaDrmCreator = new FrameworkMediaDrmCreator();
-        return new DownloadDrmSessionCreator(drmHandler, mediaDrmCreator, handler);
+        return new DownloadDrmSessionCreator(drmHandler, mediaDrmCreator, handler, LocalDrmSessionPool.shared());
     }
 }
@@ -0,0 +1,87 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.PlayerMessage;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.util.MimeTypes;
+
+/**
+ * Acquires the DRM session of the content before the renderers ask for it, so the license request
+ * overlaps with the manifest and first segment downloads. The session manager hands the same session
+ * to the renderers once they have parsed the DRM init data.
+ * Sessions are acquired and released on the playback thread, as required by the session manager.
+ */
+public class DrmSessionPreAcquirer {
+
+    private static final int MESSAGE_ACQUIRE = 0;
+    private static final int MESSAGE_RELEASE = 1;
+
+    @Nullable
+    private ExoPlayer exoPlayer;
+    @Nullable
+    private PreAcquiredSession preAcquiredSession;
+
+    public void preAcquire(ExoPlayer exoPlayer, @Nullable DrmSessionManager<FrameworkMediaCrypto> drmSessionManager, byte[] widevineInitData) {
+        release();
+        if (drmSessionManager == null) {
+            return;
+        }
+        DrmInitData drmInitData = new DrmInitData(
+                new DrmInitData.SchemeData(DrmSessionCreator.WIDEVINE_MODULAR_UUID, MimeTypes.VIDEO_MP4, widevineInitData)
+        );
+        if (!drmSessionManager.canAcquireSession(drmInitData)) {
+            return;
+        }
+        this.exoPlayer = exoPlayer;
+        preAcquiredSession = new PreAcquiredSession(drmSessionManager, exoPlayer.getPlaybackLooper(), drmInitData);
+        exoPlayer.createMessage(preAcquiredSession)
+                .setType(MESSAGE_ACQUIRE)
+                .send();
+    }
+
+    /**
+     * Must be called before the player is stopped or released so the message is handled before the playback thread goes away.
+     */
+    public void release() {
+        if (exoPlayer == null || preAcquiredSession == null) {
+            return;
+        }
+        exoPlayer.createMessage(preAcquiredSession)
+                .setType(MESSAGE_RELEASE)
+                .send();
+        exoPlayer = null;
+        preAcquiredSession = null;
+    }
+
+    private static final class PreAcquiredSession implements PlayerMessage.Target {
+
+        private final DrmSessionManager<FrameworkMediaCrypto> drmSessionManager;
+        private final Looper playbackLooper;
+        private final DrmInitData drmInitData;
+
+        @Nullable
+        private DrmSession<FrameworkMediaCrypto> drmSession;
+
+        PreAcquiredSession(DrmSessionManager<FrameworkMediaCrypto> drmSessionManager, Looper playbackLooper, DrmInitData drmInitData) {
+            this.drmSessionManager = drmSessionManager;
+            this.playbackLooper = playbackLooper;
+            this.drmInitData = drmInitData;
+        }
+
+        @Override
+        public void handleMessage(int messageType, @Nullable Object payload) {
+            if (messageType == MESSAGE_ACQUIRE && drmSession == null) {
+                drmSession = drmSessionManager.acquireSession(playbackLooper, drmInitData);
+            } else if (messageType == MESSAGE_RELEASE && drmSession != null) {
+                drmSessionManager.releaseSession(drmSession);
+                drmSession = null;
+            }
+        }
+    }
+}
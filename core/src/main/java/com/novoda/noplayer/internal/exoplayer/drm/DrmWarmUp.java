@@ -0,0 +1,102 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.annotation.TargetApi;
+import android.media.MediaDrmException;
+import android.media.NotProvisionedException;
+import android.os.Build;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.novoda.noplayer.drm.ModularDrmProvisionRequest;
+import com.novoda.noplayer.internal.drm.provision.ProvisionExecutor;
+import com.novoda.noplayer.internal.drm.provision.ProvisionExecutorCreator;
+import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Provisions the device for Widevine in the background, so that the first playback does not have to.
+ */
+public class DrmWarmUp {
+
+    private static final String THREAD_NAME = "noplayer-drm-warm-up";
+
+    private final AndroidDeviceVersion androidDeviceVersion;
+    private final FrameworkMediaDrmCreator mediaDrmCreator;
+    private final ProvisionExecutor provisionExecutor;
+    private final Executor executor;
+
+    public static DrmWarmUp newInstance(ProvisionExecutorCreator provisionExecutorCreator) {
+        Executor backgroundExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                new Thread(command, THREAD_NAME).start();
+            }
+        };
+        return new DrmWarmUp(
+                AndroidDeviceVersion.newInstance(),
+                new FrameworkMediaDrmCreator(),
+                provisionExecutorCreator.create(),
+                backgroundExecutor
+        );
+    }
+
+    DrmWarmUp(AndroidDeviceVersion androidDeviceVersion,
+              FrameworkMediaDrmCreator mediaDrmCreator,
+              ProvisionExecutor provisionExecutor,
+              Executor executor) {
+        this.androidDeviceVersion = androidDeviceVersion;
+        this.mediaDrmCreator = mediaDrmCreator;
+        this.provisionExecutor = provisionExecutor;
+        this.executor = executor;
+    }
+
+    public void warmUp() {
+        if (!androidDeviceVersion.isJellyBeanEighteenOrAbove()) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                provisionIfNeeded();
+            }
+        });
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // Warming up is best effort, playback provisions again when it fails
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private void provisionIfNeeded() {
+        ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+        try {
+            mediaDrm = mediaDrmCreator.create(DrmSessionCreator.WIDEVINE_MODULAR_UUID);
+        } catch (RuntimeException e) {
+            NoPlayerLog.w(e, "Widevine is not supported, skipping DRM warm up");
+            return;
+        }
+
+        try {
+            if (isProvisioned(mediaDrm)) {
+                return;
+            }
+            ExoMediaDrm.ProvisionRequest request = mediaDrm.getProvisionRequest();
+            byte[] response = provisionExecutor.execute(new ModularDrmProvisionRequest(request.getDefaultUrl(), request.getData()));
+            mediaDrm.provideProvisionResponse(response);
+        } catch (Exception e) {
+            NoPlayerLog.w(e, "Unable to provision the device while warming up DRM");
+        } finally {
+            mediaDrm.release();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private static boolean isProvisioned(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm) throws MediaDrmException {
+        try {
+            byte[] sessionId = mediaDrm.openSession();
+            mediaDrm.closeSession(sessionId);
+            return true;
+        } catch (NotProvisionedException e) {
+            return false;
+        }
+    }
+}
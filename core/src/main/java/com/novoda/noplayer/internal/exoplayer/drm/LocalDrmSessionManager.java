@@ -22,17 +22,20 @@ class LocalDrmSessionManager implements DrmSessionManager<FrameworkMediaCrypto>
     private final DefaultDrmSessionEventListener eventListener;
     private final UUID drmScheme;
     private final Handler handler;
+    private final LocalDrmSessionPool sessionPool;
 
     LocalDrmSessionManager(KeySetId keySetIdToRestore,
                            ExoMediaDrm<FrameworkMediaCrypto> mediaDrm,
                            UUID drmScheme,
                            Handler handler,
-                           DefaultDrmSessionEventListener eventListener) {
+                           DefaultDrmSessionEventListener eventListener,
+                           LocalDrmSessionPool sessionPool) {
         this.keySetIdToRestore = keySetIdToRestore;
         this.mediaDrm = mediaDrm;
         this.eventListener = eventListener;
         this.drmScheme = drmScheme;
         this.handler = handler;
+        this.sessionPool = sessionPool;
     }
 
     @Override
@@ -48,12 +51,7 @@ class LocalDrmSessionManager implements DrmSessionManager<FrameworkMediaCrypto>
         DrmSession<FrameworkMediaCrypto> drmSession;
 
         try {
-            SessionId sessionId = SessionId.of(mediaDrm.openSession());
-            FrameworkMediaCrypto mediaCrypto = mediaDrm.createMediaCrypto(sessionId.asBytes());
-
-            mediaDrm.restoreKeys(sessionId.asBytes(), keySetIdToRestore.asBytes());
-
-            drmSession = new LocalDrmSession(mediaCrypto, keySetIdToRestore, sessionId);
+            drmSession = sessionPool.acquire(mediaDrm, keySetIdToRestore);
         } catch (Exception exception) {
             drmSession = new InvalidDrmSession(new DrmSession.DrmSessionException(exception));
             notifyErrorListener(drmSession);
@@ -75,6 +73,12 @@ class LocalDrmSessionManager implements DrmSessionManager<FrameworkMediaCrypto>
     public void releaseSession(DrmSession<FrameworkMediaCrypto> drmSession) {
         FrameworkDrmSession frameworkDrmSession = (FrameworkDrmSession) drmSession;
         SessionId sessionId = frameworkDrmSession.getSessionId();
-        mediaDrm.closeSession(sessionId.asBytes());
+        sessionPool.release(mediaDrm, sessionId);
+    }
+
+    void discardSession(DrmSession<FrameworkMediaCrypto> drmSession) {
+        FrameworkDrmSession frameworkDrmSession = (FrameworkDrmSession) drmSession;
+        SessionId sessionId = frameworkDrmSession.getSessionId();
+        sessionPool.discard(mediaDrm, sessionId);
     }
 }
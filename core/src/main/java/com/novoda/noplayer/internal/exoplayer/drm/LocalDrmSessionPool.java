@@ -0,0 +1,200 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.annotation.TargetApi;
+import android.media.MediaCryptoException;
+import android.media.MediaDrmException;
+import android.os.Build;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.FrameworkMediaDrm;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reference counted sessions with restored offline keys, so that content sharing a key set does not open a session and
+ * restore its keys again. Sessions that are no longer referenced stay open for reuse, only the most recently
+ * released ones are kept as the number of sessions a device can open is limited.
+ * The MediaDrm of the sessions are reference counted too, once no player uses a MediaDrm anymore its sessions are closed
+ * and it is released.
+ */
+class LocalDrmSessionPool {
+
+    private static final int MAX_IDLE_SESSIONS = 2;
+    private static final LocalDrmSessionPool SHARED = new LocalDrmSessionPool(MAX_IDLE_SESSIONS);
+
+    private final int maxIdleSessions;
+    private final List<PooledSession> sessions = new ArrayList<>();
+    private final LinkedList<PooledSession> idleSessions = new LinkedList<>();
+    private final Map<ExoMediaDrm<FrameworkMediaCrypto>, Integer> mediaDrmReferences = new HashMap<>();
+    private final Map<UUID, FrameworkMediaDrm> sharedMediaDrms = new HashMap<>();
+
+    static LocalDrmSessionPool shared() {
+        return SHARED;
+    }
+
+    LocalDrmSessionPool(int maxIdleSessions) {
+        this.maxIdleSessions = maxIdleSessions;
+    }
+
+    /**
+     * Returns the MediaDrm shared by the players of the given scheme, creating it when no player uses one.
+     * It must not be given to anything that registers itself as its event listener, e.g. a DefaultDrmSessionManager.
+     * Every call must be balanced by a call to {@link #releaseMediaDrm(ExoMediaDrm)}.
+     */
+    synchronized FrameworkMediaDrm obtainSharedMediaDrm(UUID uuid, FrameworkMediaDrmCreator mediaDrmCreator) {
+        FrameworkMediaDrm mediaDrm = sharedMediaDrms.get(uuid);
+        if (mediaDrm == null) {
+            mediaDrm = mediaDrmCreator.create(uuid);
+            sharedMediaDrms.put(uuid, mediaDrm);
+        }
+        retainMediaDrm(mediaDrm);
+        return mediaDrm;
+    }
+
+    /**
+     * Keeps the MediaDrm alive until it is released as many times as it was retained.
+     */
+    synchronized void retainMediaDrm(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm) {
+        Integer referenceCount = mediaDrmReferences.get(mediaDrm);
+        mediaDrmReferences.put(mediaDrm, referenceCount == null ? 1 : referenceCount + 1);
+    }
+
+    /**
+     * Closes the sessions of the MediaDrm and releases it once it is no longer retained.
+     */
+    synchronized void releaseMediaDrm(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm) {
+        Integer referenceCount = mediaDrmReferences.get(mediaDrm);
+        if (referenceCount == null) {
+            return;
+        }
+        if (referenceCount > 1) {
+            mediaDrmReferences.put(mediaDrm, referenceCount - 1);
+            return;
+        }
+        mediaDrmReferences.remove(mediaDrm);
+        sharedMediaDrms.values().remove(mediaDrm);
+        for (PooledSession pooledSession : new ArrayList<>(sessions)) {
+            if (pooledSession.mediaDrm == mediaDrm) {
+                idleSessions.remove(pooledSession);
+                close(pooledSession);
+            }
+        }
+        mediaDrm.release();
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    synchronized LocalDrmSession acquire(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, KeySetId keySetId)
+            throws MediaDrmException, MediaCryptoException {
+        PooledSession pooledSession = find(mediaDrm, keySetId);
+        if (pooledSession == null) {
+            pooledSession = open(mediaDrm, keySetId);
+            sessions.add(pooledSession);
+        } else if (pooledSession.referenceCount == 0) {
+            idleSessions.remove(pooledSession);
+        }
+        pooledSession.referenceCount++;
+        return new LocalDrmSession(pooledSession.mediaCrypto, keySetId, pooledSession.sessionId);
+    }
+
+    @Nullable
+    private PooledSession find(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, KeySetId keySetId) {
+        for (PooledSession pooledSession : sessions) {
+            if (pooledSession.mediaDrm == mediaDrm && pooledSession.keySetId.equals(keySetId) && !pooledSession.discarded) {
+                return pooledSession;
+            }
+        }
+        return null;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private static PooledSession open(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, KeySetId keySetId)
+            throws MediaDrmException, MediaCryptoException {
+        SessionId sessionId = SessionId.of(mediaDrm.openSession());
+        boolean restored = false;
+        try {
+            FrameworkMediaCrypto mediaCrypto = mediaDrm.createMediaCrypto(sessionId.asBytes());
+            mediaDrm.restoreKeys(sessionId.asBytes(), keySetId.asBytes());
+            restored = true;
+            return new PooledSession(mediaDrm, keySetId, sessionId, mediaCrypto);
+        } finally {
+            if (!restored) {
+                mediaDrm.closeSession(sessionId.asBytes());
+            }
+        }
+    }
+
+    /**
+     * Sessions that were not acquired from this pool are closed straight away.
+     */
+    synchronized void release(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, SessionId sessionId) {
+        PooledSession pooledSession = find(mediaDrm, sessionId);
+        if (pooledSession == null) {
+            mediaDrm.closeSession(sessionId.asBytes());
+            return;
+        }
+        pooledSession.referenceCount--;
+        if (pooledSession.referenceCount > 0) {
+            return;
+        }
+        if (pooledSession.discarded) {
+            close(pooledSession);
+            return;
+        }
+        idleSessions.addLast(pooledSession);
+        while (idleSessions.size() > maxIdleSessions) {
+            close(idleSessions.removeFirst());
+        }
+    }
+
+    /**
+     * Releases the session and prevents it from being reused, e.g. when its license has expired.
+     */
+    synchronized void discard(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, SessionId sessionId) {
+        PooledSession pooledSession = find(mediaDrm, sessionId);
+        if (pooledSession != null) {
+            pooledSession.discarded = true;
+        }
+        release(mediaDrm, sessionId);
+    }
+
+    @Nullable
+    private PooledSession find(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, SessionId sessionId) {
+        for (PooledSession pooledSession : sessions) {
+            if (pooledSession.mediaDrm == mediaDrm && pooledSession.sessionId.equals(sessionId)) {
+                return pooledSession;
+            }
+        }
+        return null;
+    }
+
+    private void close(PooledSession pooledSession) {
+        sessions.remove(pooledSession);
+        pooledSession.mediaDrm.closeSession(pooledSession.sessionId.asBytes());
+    }
+
+    private static final class PooledSession {
+
+        private final ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+        private final KeySetId keySetId;
+        private final SessionId sessionId;
+        private final FrameworkMediaCrypto mediaCrypto;
+
+        private int referenceCount;
+        private boolean discarded;
+
+        PooledSession(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, KeySetId keySetId, SessionId sessionId, FrameworkMediaCrypto mediaCrypto) {
+            this.mediaDrm = mediaDrm;
+            this.keySetId = keySetId;
+            this.sessionId = sessionId;
+            this.mediaCrypto = mediaCrypto;
+        }
+    }
+}
@@ -15,4 +15,9 @@ class NoDrmSessionCreator implements DrmSessionCreator {
     public DrmSessionManager<FrameworkMediaCrypto> create(DefaultDrmSessionEventListener eventListener) {
         return NO_DRM_SESSION;
     }
+
+    @Override
+    public void release() {
+        // Nothing to release
+    }
 }
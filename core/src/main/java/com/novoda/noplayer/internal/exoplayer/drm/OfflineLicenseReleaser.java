@@ -0,0 +1,112 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.MediaDrmCallback;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Releases persistent licenses that are no longer stored, so that they stop taking space in the secure storage of the device.
+ * Releasing a license requests the license server, so it happens in the background, one license after the other on a single
+ * thread shared by every player. Licenses that expired since a previous run are only looked for once per process.
+ */
+class OfflineLicenseReleaser {
+
+    private static final String THREAD_NAME = "noplayer-license-release";
+    private static final long KEEP_ALIVE_IN_SECONDS = 30;
+    private static final Executor BACKGROUND_EXECUTOR = createBackgroundExecutor();
+    private static final AtomicBoolean EXPIRED_LICENSES_RELEASED = new AtomicBoolean();
+    private static final byte[] NO_INIT_DATA = null;
+    private static final String NO_MIME_TYPE = null;
+    @SuppressWarnings("PMD.LooseCoupling")  // Unfortunately the ExoMediaDrm takes a HashMap, not a Map
+    private static final HashMap<String, String> NO_OPTIONAL_PARAMETERS = null;
+
+    private final ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+    private final MediaDrmCallback mediaDrmCallback;
+    private final Executor executor;
+    private final AtomicBoolean expiredLicensesReleased;
+
+    static OfflineLicenseReleaser newInstance(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm, MediaDrmCallback mediaDrmCallback) {
+        return new OfflineLicenseReleaser(mediaDrm, mediaDrmCallback, BACKGROUND_EXECUTOR, EXPIRED_LICENSES_RELEASED);
+    }
+
+    private static Executor createBackgroundExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1,
+                1,
+                KEEP_ALIVE_IN_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        return new Thread(runnable, THREAD_NAME);
+                    }
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    OfflineLicenseReleaser(ExoMediaDrm<FrameworkMediaCrypto> mediaDrm,
+                           MediaDrmCallback mediaDrmCallback,
+                           Executor executor,
+                           AtomicBoolean expiredLicensesReleased) {
+        this.mediaDrm = mediaDrm;
+        this.mediaDrmCallback = mediaDrmCallback;
+        this.executor = executor;
+        this.expiredLicensesReleased = expiredLicensesReleased;
+    }
+
+    /**
+     * Removes the expired licenses from the store and releases them, the first time it is called in the process.
+     */
+    void releaseExpired(final OfflineLicenseStore offlineLicenseStore) {
+        if (expiredLicensesReleased.getAndSet(true)) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (KeySetId keySetId : offlineLicenseStore.removeExpired()) {
+                    releaseNow(keySetId);
+                }
+            }
+        });
+    }
+
+    void release(final KeySetId keySetId) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                releaseNow(keySetId);
+            }
+        });
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // Releasing is best effort, an expired license cannot be used anyway
+    private void releaseNow(KeySetId keySetId) {
+        try {
+            ExoMediaDrm.KeyRequest request = mediaDrm.getKeyRequest(
+                    keySetId.asBytes(),
+                    NO_INIT_DATA,
+                    NO_MIME_TYPE,
+                    ExoMediaDrm.KEY_TYPE_RELEASE,
+                    NO_OPTIONAL_PARAMETERS
+            );
+            byte[] response = mediaDrmCallback.executeKeyRequest(DrmSessionCreator.WIDEVINE_MODULAR_UUID, request);
+            mediaDrm.provideKeyResponse(keySetId.asBytes(), response);
+        } catch (Exception e) {
+            NoPlayerLog.w(e, "Unable to release an expired offline license");
+        }
+    }
+}
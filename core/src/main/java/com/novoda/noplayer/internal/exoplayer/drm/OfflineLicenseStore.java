@@ -0,0 +1,143 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the key set ids of persistent licenses obtained while streaming, along with the time they expire at.
+ * Licenses are stored per Widevine init data, which carries the key ids of the content.
+ */
+public class OfflineLicenseStore {
+
+    private static final String PREFERENCES_NAME = "noplayer_offline_licenses";
+    private static final String KEY_PREFIX = "key_set_id_";
+    private static final String EXPIRES_AT_PREFIX = "expires_at_";
+    private static final long NEVER_EXPIRES = Long.MAX_VALUE;
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final String NO_KEY_SET_ID = null;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int HEX_RADIX = 16;
+    private static final int BITS_PER_HEX_DIGIT = 4;
+    private static final int LOW_HEX_DIGIT_MASK = 0x0F;
+
+    private final SharedPreferences preferences;
+    private final Clock clock;
+
+    public static OfflineLicenseStore newInstance(Context context) {
+        SharedPreferences preferences = context.getApplicationContext().getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+        return new OfflineLicenseStore(preferences, new SystemClock());
+    }
+
+    OfflineLicenseStore(SharedPreferences preferences, Clock clock) {
+        this.preferences = preferences;
+        this.clock = clock;
+    }
+
+    Optional<KeySetId> keySetIdFor(byte[] initData) {
+        String keySetId = preferences.getString(keyFor(initData), NO_KEY_SET_ID);
+        if (keySetId == null) {
+            return Optional.absent();
+        }
+        return Optional.of(KeySetId.of(fromHex(keySetId)));
+    }
+
+    /**
+     * @param licenseDurationInSeconds remaining duration of the license, {@link Long#MAX_VALUE} when it does not expire.
+     */
+    void save(byte[] initData, KeySetId keySetId, long licenseDurationInSeconds) {
+        String hash = hashOf(initData);
+        preferences.edit()
+                .putString(KEY_PREFIX + hash, toHex(keySetId.asBytes()))
+                .putLong(EXPIRES_AT_PREFIX + hash, expiresAtInMillis(licenseDurationInSeconds))
+                .apply();
+    }
+
+    private long expiresAtInMillis(long licenseDurationInSeconds) {
+        if (licenseDurationInSeconds >= NEVER_EXPIRES / MILLIS_PER_SECOND) {
+            return NEVER_EXPIRES;
+        }
+        return clock.getCurrentTime() + licenseDurationInSeconds * MILLIS_PER_SECOND;
+    }
+
+    void remove(byte[] initData) {
+        String hash = hashOf(initData);
+        preferences.edit()
+                .remove(KEY_PREFIX + hash)
+                .remove(EXPIRES_AT_PREFIX + hash)
+                .apply();
+    }
+
+    /**
+     * Removes every license that has expired, whichever content it belongs to.
+     *
+     * @return the key set ids of the removed licenses, so that they can be released.
+     */
+    List<KeySetId> removeExpired() {
+        long nowInMillis = clock.getCurrentTime();
+        List<KeySetId> expiredKeySetIds = new ArrayList<>();
+        SharedPreferences.Editor editor = preferences.edit();
+        boolean removedAny = false;
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            String key = entry.getKey();
+            Object expiresAtInMillis = entry.getValue();
+            if (!key.startsWith(EXPIRES_AT_PREFIX) || !(expiresAtInMillis instanceof Long) || (Long) expiresAtInMillis > nowInMillis) {
+                continue;
+            }
+            String hash = key.substring(EXPIRES_AT_PREFIX.length());
+            String keySetId = preferences.getString(KEY_PREFIX + hash, NO_KEY_SET_ID);
+            if (keySetId != null) {
+                expiredKeySetIds.add(KeySetId.of(fromHex(keySetId)));
+            }
+            editor.remove(KEY_PREFIX + hash).remove(key);
+            removedAny = true;
+        }
+        if (removedAny) {
+            editor.apply();
+        }
+        return expiredKeySetIds;
+    }
+
+    private static String keyFor(byte[] initData) {
+        return KEY_PREFIX + hashOf(initData);
+    }
+
+    private static String hashOf(byte[] initData) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return toHex(messageDigest.digest(initData));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is guaranteed to be available on Android", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> BITS_PER_HEX_DIGIT) & LOW_HEX_DIGIT_MASK];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & LOW_HEX_DIGIT_MASK];
+        }
+        return new String(hex);
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), HEX_RADIX);
+            int low = Character.digit(hex.charAt(i * 2 + 1), HEX_RADIX);
+            bytes[i] = (byte) ((high << BITS_PER_HEX_DIGIT) | low);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,188 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.Map;
+
+/**
+ * Restores persistent licenses stored by a previous playback of the same content, falling back to the
+ * online session manager when there is none or when it is about to expire.
+ * The online session manager must request offline licenses and notify this manager of its events,
+ * key set ids are stored as soon as the keys are loaded so that they survive the process being killed mid playback.
+ * The stored license of the content is checked whenever a session is acquired, licenses of other content that expired
+ * are released in the background once per process.
+ * Restored sessions are shared through the {@link LocalDrmSessionPool}, so content sharing a license restores it once.
+ */
+class PersistentLicenseDrmSessionManager implements DrmSessionManager<FrameworkMediaCrypto>, DefaultDrmSessionEventListener {
+
+    private static final long MINIMUM_REMAINING_DURATION_IN_SECONDS = 60;
+    private static final String LICENSE_DURATION_REMAINING = "LicenseDurationRemaining";
+    private static final String PLAYBACK_DURATION_REMAINING = "PlaybackDurationRemaining";
+
+    private final DrmSessionManager<FrameworkMediaCrypto> onlineDrmSessionManager;
+    private final ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+    private final OfflineLicenseStore offlineLicenseStore;
+    private final Handler handler;
+    private final DefaultDrmSessionEventListener eventListener;
+    private final LocalDrmSessionPool sessionPool;
+    private final OfflineLicenseReleaser offlineLicenseReleaser;
+
+    // Acquired on the playback thread, keys loaded events arrive on the thread of the handler
+    @Nullable
+    private volatile OnlineSession onlineSession;
+
+    PersistentLicenseDrmSessionManager(DrmSessionManager<FrameworkMediaCrypto> onlineDrmSessionManager,
+                                       ExoMediaDrm<FrameworkMediaCrypto> mediaDrm,
+                                       OfflineLicenseStore offlineLicenseStore,
+                                       Handler handler,
+                                       DefaultDrmSessionEventListener eventListener,
+                                       LocalDrmSessionPool sessionPool,
+                                       OfflineLicenseReleaser offlineLicenseReleaser) {
+        this.onlineDrmSessionManager = onlineDrmSessionManager;
+        this.mediaDrm = mediaDrm;
+        this.offlineLicenseStore = offlineLicenseStore;
+        this.handler = handler;
+        this.eventListener = eventListener;
+        this.sessionPool = sessionPool;
+        this.offlineLicenseReleaser = offlineLicenseReleaser;
+    }
+
+    @Override
+    public boolean canAcquireSession(DrmInitData drmInitData) {
+        return onlineDrmSessionManager.canAcquireSession(drmInitData);
+    }
+
+    @Override
+    public DrmSession<FrameworkMediaCrypto> acquireSession(Looper playbackLooper, DrmInitData drmInitData) {
+        DrmInitData.SchemeData schemeData = drmInitData.get(DrmSessionCreator.WIDEVINE_MODULAR_UUID);
+        byte[] initData = schemeData == null ? null : schemeData.data;
+        offlineLicenseReleaser.releaseExpired(offlineLicenseStore);
+        if (initData != null) {
+            DrmSession<FrameworkMediaCrypto> restoredSession = restore(playbackLooper, drmInitData, initData);
+            if (restoredSession != null) {
+                return restoredSession;
+            }
+        }
+        DrmSession<FrameworkMediaCrypto> drmSession = onlineDrmSessionManager.acquireSession(playbackLooper, drmInitData);
+        onlineSession = initData == null ? null : new OnlineSession(initData, drmSession);
+        return drmSession;
+    }
+
+    @Nullable
+    private DrmSession<FrameworkMediaCrypto> restore(Looper playbackLooper, DrmInitData drmInitData, byte[] initData) {
+        Optional<KeySetId> keySetId = offlineLicenseStore.keySetIdFor(initData);
+        if (keySetId.isAbsent()) {
+            return null;
+        }
+
+        LocalDrmSessionManager localDrmSessionManager = new LocalDrmSessionManager(
+                keySetId.get(),
+                mediaDrm,
+                DrmSessionCreator.WIDEVINE_MODULAR_UUID,
+                handler,
+                eventListener,
+                sessionPool
+        );
+        DrmSession<FrameworkMediaCrypto> drmSession = localDrmSessionManager.acquireSession(playbackLooper, drmInitData);
+        if (drmSession instanceof LocalDrmSession) {
+            if (hasRemainingDuration((LocalDrmSession) drmSession)) {
+                notifyKeysRestored();
+                return drmSession;
+            }
+            localDrmSessionManager.discardSession(drmSession);
+            offlineLicenseReleaser.release(keySetId.get());
+        }
+        offlineLicenseStore.remove(initData);
+        return null;
+    }
+
+    private boolean hasRemainingDuration(LocalDrmSession drmSession) {
+        Map<String, String> keyStatus = mediaDrm.queryKeyStatus(drmSession.getSessionId().asBytes());
+        return remainingSeconds(keyStatus, LICENSE_DURATION_REMAINING) > MINIMUM_REMAINING_DURATION_IN_SECONDS
+                && remainingSeconds(keyStatus, PLAYBACK_DURATION_REMAINING) > MINIMUM_REMAINING_DURATION_IN_SECONDS;
+    }
+
+    private static long remainingSeconds(@Nullable Map<String, String> keyStatus, String property) {
+        String remainingSeconds = keyStatus == null ? null : keyStatus.get(property);
+        if (remainingSeconds == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(remainingSeconds);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void notifyKeysRestored() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                eventListener.onDrmKeysRestored();
+            }
+        });
+    }
+
+    @Override
+    public void releaseSession(DrmSession<FrameworkMediaCrypto> drmSession) {
+        if (drmSession instanceof LocalDrmSession) {
+            sessionPool.release(mediaDrm, ((LocalDrmSession) drmSession).getSessionId());
+            return;
+        }
+        OnlineSession releasedSession = onlineSession;
+        if (releasedSession != null && releasedSession.drmSession == drmSession) {
+            onlineSession = null;
+        }
+        onlineDrmSessionManager.releaseSession(drmSession);
+    }
+
+    @Override
+    public void onDrmKeysLoaded() {
+        OnlineSession loadedSession = onlineSession;
+        if (loadedSession == null) {
+            return;
+        }
+        byte[] keySetId = loadedSession.drmSession.getOfflineLicenseKeySetId();
+        if (keySetId != null && keySetId.length > 0) {
+            long licenseDurationInSeconds = remainingSeconds(loadedSession.drmSession.queryKeyStatus(), LICENSE_DURATION_REMAINING);
+            offlineLicenseStore.save(loadedSession.initData, KeySetId.of(keySetId), licenseDurationInSeconds);
+        }
+    }
+
+    @Override
+    public void onDrmSessionManagerError(Exception error) {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onDrmKeysRestored() {
+        // Not interested in this event
+    }
+
+    @Override
+    public void onDrmKeysRemoved() {
+        // Not interested in this event
+    }
+
+    private static final class OnlineSession {
+
+        private final byte[] initData;
+        private final DrmSession<FrameworkMediaCrypto> drmSession;
+
+        OnlineSession(byte[] initData, DrmSession<FrameworkMediaCrypto> drmSession) {
+            this.initData = initData;
+            this.drmSession = drmSession;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.novoda.noplayer.internal.exoplayer.drm;
 
 import android.os.Handler;
 
+import android.support.annotation.Nullable;
+
 import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
 import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
 import com.google.android.exoplayer2.drm.DrmSessionManager;
 import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.drm.FrameworkMediaDrm;
 import com.google.android.exoplayer2.drm.MediaDrmCallback;
+import com.novoda.noplayer.internal.utils.Optional;
 
 import java.util.HashMap;
 
@@ -15,20 +18,40 @@ class StreamingDrmSessionCreator implements DrmSessionCreator {
 
     @SuppressWarnings("PMD.LooseCoupling")  // Unfortunately the DefaultDrmSessionManager takes a HashMap, not a Map
     private static final HashMap<String, String> NO_OPTIONAL_PARAMETERS = null;
+    private static final byte[] NO_OFFLINE_LICENSE_KEY_SET_ID = null;
 
     private final MediaDrmCallback mediaDrmCallback;
     private final FrameworkMediaDrmCreator frameworkMediaDrmCreator;
     private final Handler handler;
+    private final Optional<OfflineLicenseStore> offlineLicenseStore;
+    private final LocalDrmSessionPool sessionPool;
+
+    @Nullable
+    private FrameworkMediaDrm frameworkMediaDrm;
 
-    StreamingDrmSessionCreator(MediaDrmCallback mediaDrmCallback, FrameworkMediaDrmCreator frameworkMediaDrmCreator, Handler handler) {
+    StreamingDrmSessionCreator(MediaDrmCallback mediaDrmCallback,
+                               FrameworkMediaDrmCreator frameworkMediaDrmCreator,
+                               Handler handler,
+                               Optional<OfflineLicenseStore> offlineLicenseStore,
+                               LocalDrmSessionPool sessionPool) {
         this.mediaDrmCallback = mediaDrmCallback;
         this.frameworkMediaDrmCreator = frameworkMediaDrmCreator;
         this.handler = handler;
+        this.offlineLicenseStore = offlineLicenseStore;
+        this.sessionPool = sessionPool;
     }
 
+    /**
+     * The MediaDrm is reused by every session manager this creates, as the DefaultDrmSessionManager registers itself
+     * as its event listener they must be used one after the other. Each player has its own creator and releases its
+     * ExoPlayer, along with the session manager, before creating the next one, so the MediaDrm is never shared by players.
+     */
     @Override
     public DrmSessionManager<FrameworkMediaCrypto> create(DefaultDrmSessionEventListener eventListener) {
-        FrameworkMediaDrm frameworkMediaDrm = frameworkMediaDrmCreator.create(WIDEVINE_MODULAR_UUID);
+        if (frameworkMediaDrm == null) {
+            frameworkMediaDrm = frameworkMediaDrmCreator.create(WIDEVINE_MODULAR_UUID);
+            sessionPool.retainMediaDrm(frameworkMediaDrm);
+        }
 
         DefaultDrmSessionManager<FrameworkMediaCrypto> defaultDrmSessionManager = new DefaultDrmSessionManager<>(
                 WIDEVINE_MODULAR_UUID,
@@ -39,6 +62,28 @@ class StreamingDrmSessionCreator implements DrmSessionCreator {
         defaultDrmSessionManager.removeListener(eventListener);
         defaultDrmSessionManager.addListener(handler, eventListener);
 
+        if (offlineLicenseStore.isPresent()) {
+            defaultDrmSessionManager.setMode(DefaultDrmSessionManager.MODE_DOWNLOAD, NO_OFFLINE_LICENSE_KEY_SET_ID);
+            PersistentLicenseDrmSessionManager persistentLicenseDrmSessionManager = new PersistentLicenseDrmSessionManager(
+                    defaultDrmSessionManager,
+                    frameworkMediaDrm,
+                    offlineLicenseStore.get(),
+                    handler,
+                    eventListener,
+                    sessionPool,
+                    OfflineLicenseReleaser.newInstance(frameworkMediaDrm, mediaDrmCallback)
+            );
+            defaultDrmSessionManager.addListener(handler, persistentLicenseDrmSessionManager);
+            return persistentLicenseDrmSessionManager;
+        }
         return defaultDrmSessionManager;
     }
+
+    @Override
+    public void release() {
+        if (frameworkMediaDrm != null) {
+            sessionPool.releaseMediaDrm(frameworkMediaDrm);
+            frameworkMediaDrm = null;
+        }
+    }
 }
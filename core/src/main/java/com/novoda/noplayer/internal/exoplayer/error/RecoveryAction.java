@@ -0,0 +1,36 @@
+package com.novoda.noplayer.internal.exoplayer.error;
+
+import com.novoda.noplayer.NoPlayer;
+
+/**
+ * How playback can carry on after an error that was mapped by {@link ExoPlayerErrorMapper},
+ * without releasing the player and loading the content again.
+ */
+public enum RecoveryAction {
+
+    PREPARE_AT_CURRENT_POSITION,
+    PREPARE_AT_LIVE_EDGE,
+    PREPARE_WITH_NEXT_DECODER,
+    NONE;
+
+    @SuppressWarnings({"PMD.StdCyclomaticComplexity", "PMD.CyclomaticComplexity", "PMD.ModifiedCyclomaticComplexity"})
+    public static RecoveryAction from(NoPlayer.PlayerError error) {
+        switch (error.detailType()) {
+            case BEHIND_LIVE_WINDOW_ERROR:
+                return PREPARE_AT_LIVE_EDGE;
+            case HTTP_CANNOT_OPEN_ERROR:
+            case HTTP_CANNOT_READ_ERROR:
+            case HLS_PLAYLIST_STUCK_SERVER_SIDE_ERROR:
+            case HLS_PLAYLIST_SERVER_HAS_RESET:
+            case LIVE_STALE_MANIFEST_AND_NEW_MANIFEST_COULD_NOT_LOAD_ERROR:
+            case AUDIO_SINK_INITIALISATION_ERROR:
+            case AUDIO_SINK_WRITE_ERROR:
+            case RESOURCE_BUSY_ERROR_THEN_SHOULD_RETRY:
+                return PREPARE_AT_CURRENT_POSITION;
+            case INITIALISATION_ERROR:
+                return PREPARE_WITH_NEXT_DECODER;
+            default:
+                return NONE;
+        }
+    }
+}
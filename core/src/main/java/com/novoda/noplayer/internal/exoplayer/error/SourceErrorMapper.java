@@ -2,6 +2,7 @@ package com.novoda.noplayer.internal.exoplayer.error;
 
 import com.google.android.exoplayer2.ParserException;
 import com.google.android.exoplayer2.offline.DownloadException;
+import com.google.android.exoplayer2.source.BehindLiveWindowException;
 import com.google.android.exoplayer2.source.ClippingMediaSource;
 import com.google.android.exoplayer2.source.MergingMediaSource;
 import com.google.android.exoplayer2.source.ads.AdsMediaSource;
@@ -48,6 +49,10 @@ final class SourceErrorMapper {
             return new NoPlayerError(PlayerErrorType.SOURCE, DetailErrorType.LIVE_STALE_MANIFEST_AND_NEW_MANIFEST_COULD_NOT_LOAD_ERROR, message);
         }
 
+        if (sourceException instanceof BehindLiveWindowException) {
+            return new NoPlayerError(PlayerErrorType.SOURCE, DetailErrorType.BEHIND_LIVE_WINDOW_ERROR, message);
+        }
+
         if (sourceException instanceof DownloadException) {
             return new NoPlayerError(PlayerErrorType.SOURCE, DetailErrorType.DOWNLOAD_ERROR, message);
         }
@@ -11,169 +11,197 @@ import com.google.android.exoplayer2.metadata.Metadata;
 import com.google.android.exoplayer2.source.MediaSourceEventListener;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.InfoEvent;
 
 import java.io.IOException;
-import java.util.HashMap;
 
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Methods;
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Parameters;
 
 class AnalyticsListenerForwarder implements AnalyticsListener {
 
-    private final NoPlayer.InfoListener infoListeners;
+    private final InfoListeners infoListeners;
 
-    AnalyticsListenerForwarder(NoPlayer.InfoListener infoListeners) {
+    AnalyticsListenerForwarder(InfoListeners infoListeners) {
         this.infoListeners = infoListeners;
     }
 
     @Override
     public void onPlayerStateChanged(EventTime eventTime, boolean playWhenReady, int playbackState) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.PLAY_WHEN_READY, String.valueOf(playWhenReady));
-        callingMethodParameters.put(Parameters.PLAYBACK_STATE, String.valueOf(playbackState));
-
-        infoListeners.onNewInfo(Methods.ON_PLAYER_STATE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_PLAYER_STATE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.PLAY_WHEN_READY, playWhenReady,
+                Parameters.PLAYBACK_STATE, playbackState
+        ));
     }
 
     @Override
     public void onTimelineChanged(EventTime eventTime, int reason) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.REASON, String.valueOf(reason));
-
-        infoListeners.onNewInfo(Methods.ON_TIMELINE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_TIMELINE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.REASON, reason
+        ));
     }
 
     @Override
     public void onPositionDiscontinuity(EventTime eventTime, int reason) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.REASON, String.valueOf(reason));
-
-        infoListeners.onNewInfo(Methods.ON_POSITION_DISCONTINUITY, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_POSITION_DISCONTINUITY,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.REASON, reason
+        ));
     }
 
     @Override
     public void onSeekStarted(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_SEEK_STARTED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_SEEK_STARTED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onSeekProcessed(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_SEEK_PROCESSED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_SEEK_PROCESSED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onPlaybackParametersChanged(EventTime eventTime, PlaybackParameters playbackParameters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.PLAYBACK_PARAMETERS, playbackParameters.toString());
-
-        infoListeners.onNewInfo(Methods.ON_PLAYBACK_PARAMETERS_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_PLAYBACK_PARAMETERS_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.PLAYBACK_PARAMETERS, playbackParameters
+        ));
     }
 
     @Override
     public void onRepeatModeChanged(EventTime eventTime, int repeatMode) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.REPEAT_MODE, String.valueOf(repeatMode));
-
-        infoListeners.onNewInfo(Methods.ON_REPEAT_MODE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_REPEAT_MODE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.REPEAT_MODE, repeatMode
+        ));
     }
 
     @Override
     public void onShuffleModeChanged(EventTime eventTime, boolean shuffleModeEnabled) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.SHUFFLE_MODE_ENABLED, String.valueOf(shuffleModeEnabled));
-
-        infoListeners.onNewInfo(Methods.ON_SHUFFLE_MODE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_SHUFFLE_MODE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.SHUFFLE_MODE_ENABLED, shuffleModeEnabled
+        ));
     }
 
     @Override
     public void onLoadingChanged(EventTime eventTime, boolean isLoading) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.IS_LOADING, String.valueOf(isLoading));
-
-        infoListeners.onNewInfo(Methods.ON_LOADING_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOADING_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.IS_LOADING, isLoading
+        ));
     }
 
     @Override
     public void onPlayerError(EventTime eventTime, ExoPlaybackException error) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.ERROR, error.toString());
-
-        infoListeners.onNewInfo(Methods.ON_PLAYER_ERROR, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_PLAYER_ERROR,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.ERROR, error
+        ));
     }
 
     @Override
     public void onTracksChanged(EventTime eventTime, TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TRACK_GROUPS, trackGroups.toString());
-        callingMethodParameters.put(Parameters.TRACK_SELECTIONS, trackSelections.toString());
-
-        infoListeners.onNewInfo(Methods.ON_TRACKS_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_TRACKS_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TRACK_GROUPS, trackGroups,
+                Parameters.TRACK_SELECTIONS, trackSelections
+        ));
     }
 
     @Override
     public void onLoadStarted(EventTime eventTime,
                               MediaSourceEventListener.LoadEventInfo loadEventInfo,
                               MediaSourceEventListener.MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListeners.onNewInfo(Methods.ON_LOAD_STARTED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_STARTED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onLoadCompleted(EventTime eventTime,
                                 MediaSourceEventListener.LoadEventInfo loadEventInfo,
                                 MediaSourceEventListener.MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListeners.onNewInfo(Methods.ON_LOAD_COMPLETED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_COMPLETED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onLoadCanceled(EventTime eventTime,
                                MediaSourceEventListener.LoadEventInfo loadEventInfo,
                                MediaSourceEventListener.MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListeners.onNewInfo(Methods.ON_LOAD_CANCELED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_CANCELED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
@@ -182,62 +210,74 @@ class AnalyticsListenerForwarder implements AnalyticsListener {
                             MediaSourceEventListener.MediaLoadData mediaLoadData,
                             IOException error,
                             boolean wasCanceled) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-        callingMethodParameters.put(Parameters.ERROR, error.toString());
-        callingMethodParameters.put(Parameters.WAS_CANCELED, String.valueOf(wasCanceled));
-
-        infoListeners.onNewInfo(Methods.ON_LOAD_ERROR, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_ERROR,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData,
+                Parameters.ERROR, error,
+                Parameters.WAS_CANCELED, wasCanceled
+        ));
     }
 
     @Override
     public void onDownstreamFormatChanged(EventTime eventTime, MediaSourceEventListener.MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DOWNSTREAM_FORMAT_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DOWNSTREAM_FORMAT_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onUpstreamDiscarded(EventTime eventTime, MediaSourceEventListener.MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListeners.onNewInfo(Methods.ON_UPSTREAM_DISCARDED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_UPSTREAM_DISCARDED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onMediaPeriodCreated(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_MEDIA_PERIOD_CREATED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_MEDIA_PERIOD_CREATED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onMediaPeriodReleased(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_MEDIA_PERIOD_RELEASED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_MEDIA_PERIOD_RELEASED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onReadingStarted(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_READING_STARTED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_READING_STARTED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
@@ -245,46 +285,54 @@ class AnalyticsListenerForwarder implements AnalyticsListener {
                                     int totalLoadTimeMs,
                                     long totalBytesLoaded,
                                     long bitrateEstimate) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TOTAL_LOAD_TIME_MS, String.valueOf(totalLoadTimeMs));
-        callingMethodParameters.put(Parameters.TOTAL_BYTES_LOADED, String.valueOf(totalBytesLoaded));
-        callingMethodParameters.put(Parameters.BITRATE_ESTIMATE, String.valueOf(bitrateEstimate));
-
-        infoListeners.onNewInfo(Methods.ON_BANDWIDTH_ESTIMATE, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_BANDWIDTH_ESTIMATE,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TOTAL_LOAD_TIME_MS, totalLoadTimeMs,
+                Parameters.TOTAL_BYTES_LOADED, totalBytesLoaded,
+                Parameters.BITRATE_ESTIMATE, bitrateEstimate
+        ));
     }
 
     @Override
     public void onSurfaceSizeChanged(EventTime eventTime, int width, int height) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.WIDTH, String.valueOf(width));
-        callingMethodParameters.put(Parameters.HEIGHT, String.valueOf(height));
-
-        infoListeners.onNewInfo(Methods.ON_SURFACE_SIZE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_SURFACE_SIZE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.WIDTH, width,
+                Parameters.HEIGHT, height
+        ));
     }
 
     @Override
     public void onMetadata(EventTime eventTime, Metadata metadata) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.METADATA, metadata.toString());
-
-        infoListeners.onNewInfo(Methods.ON_METADATA, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_METADATA,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.METADATA, metadata
+        ));
     }
 
     @Override
     public void onDecoderEnabled(EventTime eventTime, int trackType, DecoderCounters decoderCounters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TRACK_TYPE, String.valueOf(trackType));
-        callingMethodParameters.put(Parameters.DECODER_COUNTERS, decoderCounters.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DECODER_ENABLED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DECODER_ENABLED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TRACK_TYPE, trackType,
+                Parameters.DECODER_COUNTERS, decoderCounters
+        ));
     }
 
     @Override
@@ -292,69 +340,81 @@ class AnalyticsListenerForwarder implements AnalyticsListener {
                                      int trackType,
                                      String decoderName,
                                      long initializationDurationMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TRACK_TYPE, String.valueOf(trackType));
-        callingMethodParameters.put(Parameters.DECODER_NAME, decoderName);
-        callingMethodParameters.put(Parameters.INITIALIZATION_DURATION_MS, String.valueOf(initializationDurationMs));
-
-        infoListeners.onNewInfo(Methods.ON_DECODER_INITIALIZED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DECODER_INITIALIZED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TRACK_TYPE, trackType,
+                Parameters.DECODER_NAME, decoderName,
+                Parameters.INITIALIZATION_DURATION_MS, initializationDurationMs
+        ));
     }
 
     @Override
     public void onDecoderInputFormatChanged(EventTime eventTime, int trackType, Format format) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TRACK_TYPE, String.valueOf(trackType));
-        callingMethodParameters.put(Parameters.FORMAT, format.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DECODER_INPUT_FORMAT_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DECODER_INPUT_FORMAT_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TRACK_TYPE, trackType,
+                Parameters.FORMAT, format
+        ));
     }
 
     @Override
     public void onDecoderDisabled(EventTime eventTime, int trackType, DecoderCounters decoderCounters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.TRACK_TYPE, String.valueOf(trackType));
-        callingMethodParameters.put(Parameters.DECODER_COUNTERS, decoderCounters.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DECODER_DISABLED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DECODER_DISABLED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.TRACK_TYPE, trackType,
+                Parameters.DECODER_COUNTERS, decoderCounters
+        ));
     }
 
     @Override
     public void onAudioSessionId(EventTime eventTime, int audioSessionId) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.AUDIO_SESSION_ID, String.valueOf(audioSessionId));
-
-        infoListeners.onNewInfo(Methods.ON_AUDIO_SESSION_ID, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_AUDIO_SESSION_ID,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.AUDIO_SESSION_ID, audioSessionId
+        ));
     }
 
     @Override
     public void onAudioUnderrun(EventTime eventTime, int bufferSize, long bufferSizeMs, long elapsedSinceLastFeedMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.BUFFER_SIZE, String.valueOf(bufferSize));
-        callingMethodParameters.put(Parameters.BUFFER_SIZE_MS, String.valueOf(bufferSizeMs));
-        callingMethodParameters.put(Parameters.ELAPSED_SINCE_LAST_FEED_MS, String.valueOf(elapsedSinceLastFeedMs));
-
-        infoListeners.onNewInfo(Methods.ON_AUDIO_UNDERRUN, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_AUDIO_UNDERRUN,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.BUFFER_SIZE, bufferSize,
+                Parameters.BUFFER_SIZE_MS, bufferSizeMs,
+                Parameters.ELAPSED_SINCE_LAST_FEED_MS, elapsedSinceLastFeedMs
+        ));
     }
 
     @Override
     public void onDroppedVideoFrames(EventTime eventTime, int droppedFrames, long elapsedMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.DROPPED_FRAMES, String.valueOf(droppedFrames));
-        callingMethodParameters.put(Parameters.ELAPSED_MS, String.valueOf(elapsedMs));
-
-        infoListeners.onNewInfo(Methods.ON_DROPPED_VIDEO_FRAMES, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DROPPED_VIDEO_FRAMES,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.DROPPED_FRAMES, droppedFrames,
+                Parameters.ELAPSED_MS, elapsedMs
+        ));
     }
 
     @Override
@@ -363,61 +423,73 @@ class AnalyticsListenerForwarder implements AnalyticsListener {
                                    int height,
                                    int unappliedRotationDegrees,
                                    float pixelWidthHeightRatio) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.WIDTH, String.valueOf(width));
-        callingMethodParameters.put(Parameters.HEIGHT, String.valueOf(height));
-        callingMethodParameters.put(Parameters.UNAPPLIED_ROTATION_DEGREES, String.valueOf(unappliedRotationDegrees));
-        callingMethodParameters.put(Parameters.PIXEL_WIDTH_HEIGHT_RATIO, String.valueOf(pixelWidthHeightRatio));
-
-        infoListeners.onNewInfo(Methods.ON_VIDEO_SIZE_CHANGED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_VIDEO_SIZE_CHANGED,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.WIDTH, width,
+                Parameters.HEIGHT, height,
+                Parameters.UNAPPLIED_ROTATION_DEGREES, unappliedRotationDegrees,
+                Parameters.PIXEL_WIDTH_HEIGHT_RATIO, pixelWidthHeightRatio
+        ));
     }
 
     @Override
     public void onRenderedFirstFrame(EventTime eventTime, Surface surface) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.SURFACE, surface.toString());
-
-        infoListeners.onNewInfo(Methods.ON_RENDERED_FIRST_FRAME, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_RENDERED_FIRST_FRAME,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.SURFACE, surface
+        ));
     }
 
     @Override
     public void onDrmKeysLoaded(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DRM_KEYS_LOADED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DRM_KEYS_LOADED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onDrmSessionManagerError(EventTime eventTime, Exception error) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-        callingMethodParameters.put(Parameters.ERROR, error.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DRM_SESSION_MANAGER_ERROR, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DRM_SESSION_MANAGER_ERROR,
+                Parameters.EVENT_TIME, eventTime,
+                Parameters.ERROR, error
+        ));
     }
 
     @Override
     public void onDrmKeysRestored(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DRM_KEYS_RESTORED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DRM_KEYS_RESTORED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 
     @Override
     public void onDrmKeysRemoved(EventTime eventTime) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.EVENT_TIME, eventTime.toString());
-
-        infoListeners.onNewInfo(Methods.ON_DRM_KEYS_REMOVED, callingMethodParameters);
+        if (!infoListeners.hasListeners()) {
+            return;
+        }
+        infoListeners.onInfoEvent(InfoEvent.create(
+                Methods.ON_DRM_KEYS_REMOVED,
+                Parameters.EVENT_TIME, eventTime
+        ));
     }
 }
@@ -0,0 +1,81 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.source.MediaSourceEventListener;
+import com.novoda.noplayer.internal.PlaybackStatsCollector;
+
+import java.io.IOException;
+
+class BytesLoadedForwarder implements MediaSourceEventListener {
+
+    private final PlaybackStatsCollector playbackStatsCollector;
+
+    BytesLoadedForwarder(PlaybackStatsCollector playbackStatsCollector) {
+        this.playbackStatsCollector = playbackStatsCollector;
+    }
+
+    @Override
+    public void onMediaPeriodCreated(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not a load
+    }
+
+    @Override
+    public void onMediaPeriodReleased(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not a load
+    }
+
+    @Override
+    public void onLoadStarted(int windowIndex,
+                              @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                              LoadEventInfo loadEventInfo,
+                              MediaLoadData mediaLoadData) {
+        // Nothing has been loaded yet
+    }
+
+    @Override
+    public void onLoadCompleted(int windowIndex,
+                                @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                                LoadEventInfo loadEventInfo,
+                                MediaLoadData mediaLoadData) {
+        playbackStatsCollector.onBytesLoaded(loadEventInfo.bytesLoaded);
+    }
+
+    @Override
+    public void onLoadCanceled(int windowIndex,
+                               @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                               LoadEventInfo loadEventInfo,
+                               MediaLoadData mediaLoadData) {
+        playbackStatsCollector.onBytesLoaded(loadEventInfo.bytesLoaded);
+    }
+
+    @Override
+    public void onLoadError(int windowIndex,
+                            @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                            LoadEventInfo loadEventInfo,
+                            MediaLoadData mediaLoadData,
+                            IOException error,
+                            boolean wasCanceled) {
+        playbackStatsCollector.onBytesLoaded(loadEventInfo.bytesLoaded);
+    }
+
+    @Override
+    public void onReadingStarted(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not a load
+    }
+
+    @Override
+    public void onUpstreamDiscarded(int windowIndex,
+                                    MediaSource.MediaPeriodId mediaPeriodId,
+                                    MediaLoadData mediaLoadData) {
+        // Not a load
+    }
+
+    @Override
+    public void onDownstreamFormatChanged(int windowIndex,
+                                          @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                                          MediaLoadData mediaLoadData) {
+        // Not a load
+    }
+}
@@ -1,44 +1,52 @@
 package com.novoda.noplayer.internal.exoplayer.forwarder;
 
 import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
-import com.novoda.noplayer.NoPlayer;
-
-import java.util.Collections;
-import java.util.HashMap;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.InfoEvent;
 
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Methods;
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Parameters;
 
 class DrmSessionInfoForwarder implements DefaultDrmSessionEventListener {
 
-    private final NoPlayer.InfoListener infoListener;
+    private final InfoListeners infoListener;
 
-    DrmSessionInfoForwarder(NoPlayer.InfoListener infoListener) {
+    DrmSessionInfoForwarder(InfoListeners infoListener) {
         this.infoListener = infoListener;
     }
 
     @Override
     public void onDrmKeysLoaded() {
-        infoListener.onNewInfo(Methods.ON_DRM_KEYS_LOADED, Collections.<String, String>emptyMap());
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(Methods.ON_DRM_KEYS_LOADED));
     }
 
     @Override
     public void onDrmSessionManagerError(Exception error) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.ERROR, String.valueOf(error));
-
-        infoListener.onNewInfo(Methods.ON_DRM_SESSION_MANAGER_ERROR, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_DRM_SESSION_MANAGER_ERROR,
+                Parameters.ERROR, error
+        ));
     }
 
     @Override
     public void onDrmKeysRestored() {
-        infoListener.onNewInfo(Methods.ON_DRM_KEYS_RESTORED, Collections.<String, String>emptyMap());
-
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(Methods.ON_DRM_KEYS_RESTORED));
     }
 
     @Override
     public void onDrmKeysRemoved() {
-        infoListener.onNewInfo(Methods.ON_DRM_KEYS_REMOVED, Collections.<String, String>emptyMap());
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(Methods.ON_DRM_KEYS_REMOVED));
     }
 }
@@ -0,0 +1,19 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.novoda.noplayer.NoPlayer;
+
+public interface ErrorRecovery {
+
+    /**
+     * @return whether playback carries on after the error, in which case it is not sent to the {@link NoPlayer.ErrorListener}.
+     */
+    boolean recover(ExoPlaybackException exception, NoPlayer.PlayerError error);
+
+    void onPlaybackReady();
+
+    /**
+     * Called when new content is loaded, attempts made to recover the previous content no longer count.
+     */
+    void reset();
+}
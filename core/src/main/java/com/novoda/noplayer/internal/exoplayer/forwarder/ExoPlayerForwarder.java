@@ -1,11 +1,19 @@
 package com.novoda.noplayer.internal.exoplayer.forwarder;
 
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.analytics.AnalyticsListener;
 import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.source.MediaSourceEventListener;
 import com.google.android.exoplayer2.video.VideoListener;
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.internal.PlaybackStatsCollector;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 public class ExoPlayerForwarder {
 
@@ -15,6 +23,9 @@ public class ExoPlayerForwarder {
     private final ExoPlayerVideoListener videoListener;
     private final ExoPlayerDrmSessionEventListener drmSessionEventListener;
 
+    @Nullable
+    private StartupTimeline startupTimeline;
+
     public ExoPlayerForwarder() {
         exoPlayerEventListener = new EventListener();
         mediaSourceEventListener = new NoPlayerMediaSourceEventListener();
@@ -52,8 +63,8 @@ public class ExoPlayerForwarder {
         exoPlayerEventListener.add(new OnCompletionStateChangedForwarder(stateChangedListener));
     }
 
-    public void bind(NoPlayer.ErrorListener errorListener) {
-        exoPlayerEventListener.add(new PlayerOnErrorForwarder(errorListener));
+    public void bind(NoPlayer.ErrorListener errorListener, ErrorRecovery errorRecovery) {
+        exoPlayerEventListener.add(new PlayerOnErrorForwarder(errorListener, errorRecovery));
     }
 
     public void bind(NoPlayer.BufferStateListener bufferStateListener) {
@@ -68,7 +79,7 @@ public class ExoPlayerForwarder {
         mediaSourceEventListener.add(new BitrateForwarder(bitrateChangedListener));
     }
 
-    public void bind(NoPlayer.InfoListener infoListeners) {
+    public void bind(InfoListeners infoListeners) {
         exoPlayerEventListener.add(new EventInfoForwarder(infoListeners));
         mediaSourceEventListener.add(new MediaSourceEventForwarder(infoListeners));
         drmSessionEventListener.add(new DrmSessionInfoForwarder(infoListeners));
@@ -78,4 +89,51 @@ public class ExoPlayerForwarder {
     public void bind(NoPlayer.DroppedVideoFramesListener droppedVideoFramesListeners) {
         analyticsListener.add(droppedVideoFramesListeners);
     }
+
+    public void bind(NoPlayer.StartupListener startupListener) {
+        startupTimeline = new StartupTimeline(new SystemClock(), startupListener);
+        mediaSourceEventListener.add(new StartupMediaSourceForwarder(startupTimeline));
+        analyticsListener.add(new StartupAnalyticsForwarder(startupTimeline));
+        drmSessionEventListener.add(new StartupDrmForwarder(startupTimeline));
+    }
+
+    public void bind(Player.EventListener playerEventListener) {
+        exoPlayerEventListener.add(playerEventListener);
+    }
+
+    public void bind(PlaybackStatsCollector playbackStatsCollector) {
+        mediaSourceEventListener.add(new BytesLoadedForwarder(playbackStatsCollector));
+    }
+
+    public void startStartupTimeline() {
+        if (startupTimeline != null) {
+            startupTimeline.start();
+        }
+    }
+
+    /**
+     * Keeps the startup timeline of a preloaded video from counting the time the app waited before loading it.
+     */
+    public void restartStartupTimelineAtLoad() {
+        if (startupTimeline != null) {
+            startupTimeline.restartAtLoad();
+        }
+    }
+
+    /**
+     * @return the session manager marking the DRM session phases of the startup timeline, if any.
+     */
+    @Nullable
+    public DrmSessionManager<FrameworkMediaCrypto> traceStartupOf(@Nullable DrmSessionManager<FrameworkMediaCrypto> drmSessionManager) {
+        if (drmSessionManager == null || startupTimeline == null) {
+            return drmSessionManager;
+        }
+        return new StartupDrmSessionManager(drmSessionManager, startupTimeline);
+    }
+
+    public void onPlayerCreated() {
+        if (startupTimeline != null) {
+            startupTimeline.markPlayerCreated();
+        }
+    }
 }
@@ -4,10 +4,10 @@ import android.support.annotation.Nullable;
 
 import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.MediaSourceEventListener;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.InfoEvent;
 
 import java.io.IOException;
-import java.util.HashMap;
 
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Methods;
 import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformation.Parameters;
@@ -16,32 +16,34 @@ import static com.novoda.noplayer.internal.exoplayer.forwarder.ForwarderInformat
 @SuppressWarnings({"PMD.UnusedImports", "checkstyle:ParameterNumber", "PMD.ExcessiveParameterList"})
 class MediaSourceEventForwarder implements MediaSourceEventListener {
 
-    private static final String NO_MEDIA_PERIOD_ID = null;
+    private final InfoListeners infoListener;
 
-    private final NoPlayer.InfoListener infoListener;
-
-    MediaSourceEventForwarder(NoPlayer.InfoListener infoListener) {
+    MediaSourceEventForwarder(InfoListeners infoListener) {
         this.infoListener = infoListener;
     }
 
     @Override
     public void onMediaPeriodCreated(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId.toString());
-
-        infoListener.onNewInfo(Methods.ON_MEDIA_PERIOD_CREATED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_MEDIA_PERIOD_CREATED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId
+        ));
     }
 
     @Override
     public void onMediaPeriodReleased(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId.toString());
-
-        infoListener.onNewInfo(Methods.ON_MEDIA_PERIOD_RELEASED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_MEDIA_PERIOD_RELEASED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId
+        ));
     }
 
     @Override
@@ -49,14 +51,16 @@ class MediaSourceEventForwarder implements MediaSourceEventListener {
                               @Nullable MediaSource.MediaPeriodId mediaPeriodId,
                               LoadEventInfo loadEventInfo,
                               MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId == null ? NO_MEDIA_PERIOD_ID : mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_LOAD_STARTED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_STARTED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
@@ -64,14 +68,16 @@ class MediaSourceEventForwarder implements MediaSourceEventListener {
                                 @Nullable MediaSource.MediaPeriodId mediaPeriodId,
                                 LoadEventInfo loadEventInfo,
                                 MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId == null ? NO_MEDIA_PERIOD_ID : mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_LOAD_COMPLETED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_COMPLETED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
@@ -79,14 +85,16 @@ class MediaSourceEventForwarder implements MediaSourceEventListener {
                                @Nullable MediaSource.MediaPeriodId mediaPeriodId,
                                LoadEventInfo loadEventInfo,
                                MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId == null ? NO_MEDIA_PERIOD_ID : mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_LOAD_CANCELED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_CANCELED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
@@ -96,49 +104,57 @@ class MediaSourceEventForwarder implements MediaSourceEventListener {
                             MediaLoadData mediaLoadData,
                             IOException error,
                             boolean wasCanceled) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId == null ? NO_MEDIA_PERIOD_ID : mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.LOAD_EVENT_INFO, loadEventInfo.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA, mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_LOAD_CANCELED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_LOAD_CANCELED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.LOAD_EVENT_INFO, loadEventInfo,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onReadingStarted(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID,  mediaPeriodId.toString());
-
-        infoListener.onNewInfo(Methods.ON_READING_STARTED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_READING_STARTED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId
+        ));
     }
 
     @Override
     public void onUpstreamDiscarded(int windowIndex,
                                     MediaSource.MediaPeriodId mediaPeriodId,
                                     MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID,  mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA,  mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_UPSTREAM_DISCARDED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_UPSTREAM_DISCARDED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 
     @Override
     public void onDownstreamFormatChanged(int windowIndex,
                                           @Nullable MediaSource.MediaPeriodId mediaPeriodId,
                                           MediaLoadData mediaLoadData) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put(Parameters.WINDOW_INDEX, String.valueOf(windowIndex));
-        callingMethodParameters.put(Parameters.MEDIA_PERIOD_ID, mediaPeriodId == null ? NO_MEDIA_PERIOD_ID : mediaPeriodId.toString());
-        callingMethodParameters.put(Parameters.MEDIA_LOAD_DATA,  mediaLoadData.toString());
-
-        infoListener.onNewInfo(Methods.ON_DOWNSTREAM_FORMAT_CHANGED, callingMethodParameters);
+        if (!infoListener.hasListeners()) {
+            return;
+        }
+        infoListener.onInfoEvent(InfoEvent.create(
+                Methods.ON_DOWNSTREAM_FORMAT_CHANGED,
+                Parameters.WINDOW_INDEX, windowIndex,
+                Parameters.MEDIA_PERIOD_ID, mediaPeriodId,
+                Parameters.MEDIA_LOAD_DATA, mediaLoadData
+        ));
     }
 }
@@ -12,15 +12,19 @@ import com.novoda.noplayer.internal.exoplayer.error.ExoPlayerErrorMapper;
 class PlayerOnErrorForwarder implements Player.EventListener {
 
     private final NoPlayer.ErrorListener errorListener;
+    private final ErrorRecovery errorRecovery;
 
-    PlayerOnErrorForwarder(NoPlayer.ErrorListener errorListener) {
+    PlayerOnErrorForwarder(NoPlayer.ErrorListener errorListener, ErrorRecovery errorRecovery) {
         this.errorListener = errorListener;
+        this.errorRecovery = errorRecovery;
     }
 
     @Override
     public void onPlayerError(ExoPlaybackException error) {
         NoPlayer.PlayerError playerError = ExoPlayerErrorMapper.errorFor(error);
-        errorListener.onError(playerError);
+        if (!errorRecovery.recover(error, playerError)) {
+            errorListener.onError(playerError);
+        }
     }
 
     @Override
@@ -45,7 +49,9 @@ class PlayerOnErrorForwarder implements Player.EventListener {
 
     @Override
     public void onPlayerStateChanged(boolean playWhenReady, int playbackState) {
-        // Handled by OnPrepared and OnCompletion forwarders.
+        if (playbackState == Player.STATE_READY) {
+            errorRecovery.onPlaybackReady();
+        }
     }
 
     @Override
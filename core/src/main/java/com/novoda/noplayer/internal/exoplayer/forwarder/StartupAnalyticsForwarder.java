@@ -0,0 +1,28 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.support.annotation.Nullable;
+import android.view.Surface;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+
+class StartupAnalyticsForwarder implements AnalyticsListener {
+
+    private final StartupTimeline startupTimeline;
+
+    StartupAnalyticsForwarder(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    @Override
+    public void onDecoderInitialized(EventTime eventTime, int trackType, String decoderName, long initializationDurationMs) {
+        if (trackType == C.TRACK_TYPE_VIDEO) {
+            startupTimeline.markDecoderInitialised();
+        }
+    }
+
+    @Override
+    public void onRenderedFirstFrame(EventTime eventTime, @Nullable Surface surface) {
+        startupTimeline.markFirstFrameRendered();
+    }
+}
@@ -0,0 +1,34 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
+
+class StartupDrmForwarder implements DefaultDrmSessionEventListener {
+
+    private final StartupTimeline startupTimeline;
+
+    StartupDrmForwarder(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    @Override
+    public void onDrmKeysLoaded() {
+        startupTimeline.markDrmSessionOpened();
+        startupTimeline.markDrmLicenseAcquired();
+    }
+
+    @Override
+    public void onDrmSessionManagerError(Exception e) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onDrmKeysRestored() {
+        startupTimeline.markDrmSessionOpened();
+        startupTimeline.markDrmLicenseAcquired();
+    }
+
+    @Override
+    public void onDrmKeysRemoved() {
+        // Not part of the startup timeline
+    }
+}
@@ -0,0 +1,44 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.os.Looper;
+
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+
+/**
+ * Marks the DRM session phases of the startup timeline, as the session event listener is only told about keys.
+ * Sessions that wait for the device to be provisioned are still opening once acquired, those are marked opened with their keys.
+ */
+class StartupDrmSessionManager implements DrmSessionManager<FrameworkMediaCrypto> {
+
+    private final DrmSessionManager<FrameworkMediaCrypto> drmSessionManager;
+    private final StartupTimeline startupTimeline;
+
+    StartupDrmSessionManager(DrmSessionManager<FrameworkMediaCrypto> drmSessionManager, StartupTimeline startupTimeline) {
+        this.drmSessionManager = drmSessionManager;
+        this.startupTimeline = startupTimeline;
+    }
+
+    @Override
+    public boolean canAcquireSession(DrmInitData drmInitData) {
+        return drmSessionManager.canAcquireSession(drmInitData);
+    }
+
+    @Override
+    public DrmSession<FrameworkMediaCrypto> acquireSession(Looper playbackLooper, DrmInitData drmInitData) {
+        startupTimeline.markDrmSessionRequested();
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(playbackLooper, drmInitData);
+        int state = drmSession.getState();
+        if (state == DrmSession.STATE_OPENED || state == DrmSession.STATE_OPENED_WITH_KEYS) {
+            startupTimeline.markDrmSessionOpened();
+        }
+        return drmSession;
+    }
+
+    @Override
+    public void releaseSession(DrmSession<FrameworkMediaCrypto> drmSession) {
+        drmSessionManager.releaseSession(drmSession);
+    }
+}
@@ -0,0 +1,85 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.source.MediaSourceEventListener;
+
+import java.io.IOException;
+
+class StartupMediaSourceForwarder implements MediaSourceEventListener {
+
+    private final StartupTimeline startupTimeline;
+
+    StartupMediaSourceForwarder(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    @Override
+    public void onMediaPeriodCreated(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onMediaPeriodReleased(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onLoadStarted(int windowIndex,
+                              @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                              LoadEventInfo loadEventInfo,
+                              MediaLoadData mediaLoadData) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onLoadCompleted(int windowIndex,
+                                @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                                LoadEventInfo loadEventInfo,
+                                MediaLoadData mediaLoadData) {
+        if (mediaLoadData.dataType == C.DATA_TYPE_MANIFEST) {
+            startupTimeline.markManifestLoaded();
+        } else if (mediaLoadData.dataType == C.DATA_TYPE_MEDIA) {
+            startupTimeline.markSegmentLoaded();
+        }
+    }
+
+    @Override
+    public void onLoadCanceled(int windowIndex,
+                               @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                               LoadEventInfo loadEventInfo,
+                               MediaLoadData mediaLoadData) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onLoadError(int windowIndex,
+                            @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                            LoadEventInfo loadEventInfo,
+                            MediaLoadData mediaLoadData,
+                            IOException error,
+                            boolean wasCanceled) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onReadingStarted(int windowIndex, MediaSource.MediaPeriodId mediaPeriodId) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onUpstreamDiscarded(int windowIndex,
+                                    MediaSource.MediaPeriodId mediaPeriodId,
+                                    MediaLoadData mediaLoadData) {
+        // Not part of the startup timeline
+    }
+
+    @Override
+    public void onDownstreamFormatChanged(int windowIndex,
+                                          @Nullable MediaSource.MediaPeriodId mediaPeriodId,
+                                          MediaLoadData mediaLoadData) {
+        // Not part of the startup timeline
+    }
+}
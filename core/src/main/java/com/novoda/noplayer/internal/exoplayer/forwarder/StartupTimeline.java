@@ -0,0 +1,127 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.DrmStartupReport;
+import com.novoda.noplayer.model.StartupReport;
+
+/**
+ * DRM sessions are acquired on the playback thread while every other phase is marked on the player thread.
+ */
+class StartupTimeline {
+
+    private final Clock clock;
+    private final NoPlayer.StartupListener startupListener;
+
+    private boolean tracing;
+    private long startedAtMillis;
+    private Optional<Long> playerCreatedInMillis = Optional.absent();
+    private Optional<Long> manifestLoadedInMillis = Optional.absent();
+    private Optional<Long> firstSegmentLoadedInMillis = Optional.absent();
+    private Optional<Long> drmSessionRequestedInMillis = Optional.absent();
+    private Optional<Long> drmSessionOpenedInMillis = Optional.absent();
+    private Optional<Long> drmLicenseAcquiredInMillis = Optional.absent();
+    private Optional<Long> decoderInitialisedInMillis = Optional.absent();
+
+    StartupTimeline(Clock clock, NoPlayer.StartupListener startupListener) {
+        this.clock = clock;
+        this.startupListener = startupListener;
+    }
+
+    synchronized void start() {
+        tracing = true;
+        startedAtMillis = clock.getCurrentTime();
+        playerCreatedInMillis = Optional.absent();
+        manifestLoadedInMillis = Optional.absent();
+        firstSegmentLoadedInMillis = Optional.absent();
+        drmSessionRequestedInMillis = Optional.absent();
+        drmSessionOpenedInMillis = Optional.absent();
+        drmLicenseAcquiredInMillis = Optional.absent();
+        decoderInitialisedInMillis = Optional.absent();
+    }
+
+    /**
+     * Measures the startup from now on when the video was preloaded, so that the time the app waited before loading it is left out.
+     * Phases completed while preloading are reported as 0.
+     */
+    synchronized void restartAtLoad() {
+        if (!tracing) {
+            return;
+        }
+        long loadedAfterMillis = elapsedMillis();
+        startedAtMillis += loadedAfterMillis;
+        playerCreatedInMillis = offset(playerCreatedInMillis, loadedAfterMillis);
+        manifestLoadedInMillis = offset(manifestLoadedInMillis, loadedAfterMillis);
+        firstSegmentLoadedInMillis = offset(firstSegmentLoadedInMillis, loadedAfterMillis);
+        drmSessionRequestedInMillis = offset(drmSessionRequestedInMillis, loadedAfterMillis);
+        drmSessionOpenedInMillis = offset(drmSessionOpenedInMillis, loadedAfterMillis);
+        drmLicenseAcquiredInMillis = offset(drmLicenseAcquiredInMillis, loadedAfterMillis);
+        decoderInitialisedInMillis = offset(decoderInitialisedInMillis, loadedAfterMillis);
+    }
+
+    private static Optional<Long> offset(Optional<Long> phaseInMillis, long offsetInMillis) {
+        if (phaseInMillis.isAbsent()) {
+            return phaseInMillis;
+        }
+        return Optional.of(Math.max(0, phaseInMillis.get() - offsetInMillis));
+    }
+
+    synchronized void markPlayerCreated() {
+        playerCreatedInMillis = markIfAbsent(playerCreatedInMillis);
+    }
+
+    synchronized void markManifestLoaded() {
+        manifestLoadedInMillis = markIfAbsent(manifestLoadedInMillis);
+    }
+
+    synchronized void markSegmentLoaded() {
+        firstSegmentLoadedInMillis = markIfAbsent(firstSegmentLoadedInMillis);
+    }
+
+    synchronized void markDrmSessionRequested() {
+        drmSessionRequestedInMillis = markIfAbsent(drmSessionRequestedInMillis);
+    }
+
+    synchronized void markDrmSessionOpened() {
+        drmSessionOpenedInMillis = markIfAbsent(drmSessionOpenedInMillis);
+    }
+
+    synchronized void markDrmLicenseAcquired() {
+        drmLicenseAcquiredInMillis = markIfAbsent(drmLicenseAcquiredInMillis);
+    }
+
+    synchronized void markDecoderInitialised() {
+        decoderInitialisedInMillis = markIfAbsent(decoderInitialisedInMillis);
+    }
+
+    void markFirstFrameRendered() {
+        StartupReport startupReport;
+        synchronized (this) {
+            if (!tracing) {
+                return;
+            }
+            tracing = false;
+            startupReport = new StartupReport(
+                    playerCreatedInMillis,
+                    manifestLoadedInMillis,
+                    firstSegmentLoadedInMillis,
+                    new DrmStartupReport(drmSessionRequestedInMillis, drmSessionOpenedInMillis, drmLicenseAcquiredInMillis),
+                    decoderInitialisedInMillis,
+                    elapsedMillis()
+            );
+        }
+        startupListener.onStartupCompleted(startupReport);
+    }
+
+    private Optional<Long> markIfAbsent(Optional<Long> phaseInMillis) {
+        if (!tracing || phaseInMillis.isPresent()) {
+            return phaseInMillis;
+        }
+        return Optional.of(elapsedMillis());
+    }
+
+    private long elapsedMillis() {
+        return clock.getCurrentTime() - startedAtMillis;
+    }
+}
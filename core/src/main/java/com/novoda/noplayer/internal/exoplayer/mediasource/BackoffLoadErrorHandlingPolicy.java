@@ -0,0 +1,33 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DefaultLoadErrorHandlingPolicy;
+import com.novoda.noplayer.RetryPolicy;
+
+import java.io.IOException;
+
+/**
+ * Retries failed loads as often as the {@link RetryPolicy} allows, doubling the wait between retries.
+ * Errors that ExoPlayer does not retry, e.g. parsing errors, still fail straight away.
+ */
+class BackoffLoadErrorHandlingPolicy extends DefaultLoadErrorHandlingPolicy {
+
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private final RetryPolicy retryPolicy;
+
+    BackoffLoadErrorHandlingPolicy(RetryPolicy retryPolicy) {
+        super(retryPolicy.maxRetries());
+        this.retryPolicy = retryPolicy;
+    }
+
+    @Override
+    public long getRetryDelayMsFor(int dataType, long loadDurationMs, IOException exception, int errorCount) {
+        if (super.getRetryDelayMsFor(dataType, loadDurationMs, exception, errorCount) == C.TIME_UNSET) {
+            return C.TIME_UNSET;
+        }
+        int exponent = Math.min(Math.max(errorCount - 1, 0), MAX_BACKOFF_EXPONENT);
+        long backoffInMillis = retryPolicy.initialBackoffInMillis() << exponent;
+        return Math.min(backoffInMillis, retryPolicy.maxBackoffInMillis());
+    }
+}
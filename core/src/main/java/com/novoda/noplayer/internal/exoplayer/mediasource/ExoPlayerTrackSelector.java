@@ -1,5 +1,7 @@
 package com.novoda.noplayer.internal.exoplayer.mediasource;
 
+import android.support.annotation.Nullable;
+
 import com.google.android.exoplayer2.RendererCapabilities;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
@@ -7,12 +9,22 @@ import com.google.android.exoplayer2.trackselection.MappingTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.RendererTypeRequester;
 import com.novoda.noplayer.internal.utils.Optional;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 // We cannot make it final as we need to mock it in tests
 @SuppressWarnings({"checkstyle:FinalClass", "PMD.ClassWithOnlyPrivateConstructorsShouldBeFinal"})
 public class ExoPlayerTrackSelector {
 
+    private static final boolean VIEWPORT_ORIENTATION_MAY_CHANGE = false;
+
     private final DefaultTrackSelector trackSelector;
     private final RendererTrackIndexExtractor rendererTrackIndexExtractor;
+    // Renderers are fixed for the lifetime of the player owning this track selector
+    private final Map<TrackType, Optional<Integer>> rendererIndices = new EnumMap<>(TrackType.class);
+
+    @Nullable
+    private DefaultTrackSelector.ParametersBuilder pendingParameters;
 
     public static ExoPlayerTrackSelector newInstance(DefaultTrackSelector trackSelector) {
         RendererTrackIndexExtractor rendererTrackIndexExtractor = new RendererTrackIndexExtractor();
@@ -24,24 +36,51 @@ public class ExoPlayerTrackSelector {
         this.rendererTrackIndexExtractor = rendererTrackIndexExtractor;
     }
 
+    /**
+     * Collects the parameter changes made until {@link #commitTransaction()}, so that tracks are selected only once.
+     */
+    public void beginTransaction() {
+        pendingParameters = trackSelector.buildUponParameters();
+    }
+
+    public void commitTransaction() {
+        if (pendingParameters != null) {
+            trackSelector.setParameters(pendingParameters);
+            pendingParameters = null;
+        }
+    }
+
+    /**
+     * Discards the parameter changes of a transaction that was not committed, e.g. because one of the changes failed.
+     */
+    public void discardTransaction() {
+        pendingParameters = null;
+    }
+
     TrackGroupArray trackGroups(TrackType trackType, RendererTypeRequester rendererTypeRequester) {
-        Optional<Integer> audioRendererIndex = rendererTrackIndexExtractor.extract(trackType, mappedTrackInfoLength(), rendererTypeRequester);
+        Optional<Integer> audioRendererIndex = rendererIndexFor(trackType, rendererTypeRequester);
         return audioRendererIndex.isAbsent() ? TrackGroupArray.EMPTY : trackInfo().getTrackGroups(audioRendererIndex.get());
     }
 
     boolean clearSelectionOverrideFor(TrackType trackType, RendererTypeRequester rendererTypeRequester) {
-        Optional<Integer> rendererIndex = rendererTrackIndexExtractor.extract(trackType, mappedTrackInfoLength(), rendererTypeRequester);
+        Optional<Integer> rendererIndex = rendererIndexFor(trackType, rendererTypeRequester);
         if (rendererIndex.isPresent()) {
-            trackSelector.setParameters(trackSelector
-                    .buildUponParameters()
-                    .clearSelectionOverrides(rendererIndex.get())
-            );
+            setParameters(buildUponParameters().clearSelectionOverrides(rendererIndex.get()));
             return true;
         } else {
             return false;
         }
     }
 
+    private Optional<Integer> rendererIndexFor(TrackType trackType, RendererTypeRequester rendererTypeRequester) {
+        Optional<Integer> rendererIndex = rendererIndices.get(trackType);
+        if (rendererIndex == null) {
+            rendererIndex = rendererTrackIndexExtractor.extract(trackType, mappedTrackInfoLength(), rendererTypeRequester);
+            rendererIndices.put(trackType, rendererIndex);
+        }
+        return rendererIndex;
+    }
+
     private ExoPlayerMappedTrackInfo trackInfo() {
         MappingTrackSelector.MappedTrackInfo trackInfo = trackSelector.getCurrentMappedTrackInfo();
 
@@ -59,12 +98,9 @@ public class ExoPlayerTrackSelector {
                                  RendererTypeRequester rendererTypeRequester,
                                  TrackGroupArray trackGroups,
                                  DefaultTrackSelector.SelectionOverride selectionOverride) {
-        Optional<Integer> rendererIndex = rendererTrackIndexExtractor.extract(trackType, mappedTrackInfoLength(), rendererTypeRequester);
+        Optional<Integer> rendererIndex = rendererIndexFor(trackType, rendererTypeRequester);
         if (rendererIndex.isPresent()) {
-            trackSelector.setParameters(trackSelector
-                    .buildUponParameters()
-                    .setSelectionOverride(rendererIndex.get(), trackGroups, selectionOverride)
-            );
+            setParameters(buildUponParameters().setSelectionOverride(rendererIndex.get(), trackGroups, selectionOverride));
             return true;
         } else {
             return false;
@@ -75,7 +111,7 @@ public class ExoPlayerTrackSelector {
                                    RendererTypeRequester rendererTypeRequester,
                                    TrackGroupArray trackGroups,
                                    int groupIndex) {
-        Optional<Integer> audioRendererIndex = rendererTrackIndexExtractor.extract(trackType, mappedTrackInfoLength(), rendererTypeRequester);
+        Optional<Integer> audioRendererIndex = rendererIndexFor(trackType, rendererTypeRequester);
         return audioRendererIndex.isPresent()
                 && trackGroups.get(groupIndex).length > 0
                 && trackInfo().getAdaptiveSupport(audioRendererIndex.get(), groupIndex, false) != RendererCapabilities.ADAPTIVE_NOT_SUPPORTED;
@@ -89,11 +125,21 @@ public class ExoPlayerTrackSelector {
         setMaxVideoBitrateParameter(maxVideoBitrate);
     }
 
+    void setViewportSize(int width, int height) {
+        setParameters(buildUponParameters().setViewportSize(width, height, VIEWPORT_ORIENTATION_MAY_CHANGE));
+    }
+
     private void setMaxVideoBitrateParameter(int maxValue) {
-        trackSelector.setParameters(
-                trackSelector.buildUponParameters()
-                        .setMaxVideoBitrate(maxValue)
-                        .build()
-        );
+        setParameters(buildUponParameters().setMaxVideoBitrate(maxValue));
+    }
+
+    private DefaultTrackSelector.ParametersBuilder buildUponParameters() {
+        return pendingParameters == null ? trackSelector.buildUponParameters() : pendingParameters;
+    }
+
+    private void setParameters(DefaultTrackSelector.ParametersBuilder parameters) {
+        if (pendingParameters == null) {
+            trackSelector.setParameters(parameters);
+        }
     }
 }
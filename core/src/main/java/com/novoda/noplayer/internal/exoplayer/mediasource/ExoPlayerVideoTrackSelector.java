@@ -1,13 +1,11 @@
 package com.novoda.noplayer.internal.exoplayer.mediasource;
 
 import com.google.android.exoplayer2.Format;
-import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.source.TrackGroup;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.novoda.noplayer.ContentType;
 import com.novoda.noplayer.internal.exoplayer.RendererTypeRequester;
-import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.PlayerVideoTrack;
 
 import java.util.ArrayList;
@@ -62,28 +60,6 @@ public class ExoPlayerVideoTrackSelector {
         return videoTracks;
     }
 
-    public Optional<PlayerVideoTrack> getSelectedVideoTrack(SimpleExoPlayer exoPlayer,
-                                                            RendererTypeRequester rendererTypeRequester,
-                                                            ContentType contentType) {
-        Format selectedVideoFormat = exoPlayer.getVideoFormat();
-
-        if (selectedVideoFormat == null) {
-            return Optional.absent();
-        }
-
-        List<PlayerVideoTrack> videoTracks = getVideoTracks(rendererTypeRequester, contentType);
-        return findSelectedVideoTrack(selectedVideoFormat, videoTracks);
-    }
-
-    private Optional<PlayerVideoTrack> findSelectedVideoTrack(Format selectedVideoFormat, List<PlayerVideoTrack> videoTracks) {
-        for (PlayerVideoTrack videoTrack : videoTracks) {
-            if (videoTrack.id().equals(selectedVideoFormat.id)) {
-                return Optional.of(videoTrack);
-            }
-        }
-        return Optional.absent();
-    }
-
     public boolean clearVideoTrack(RendererTypeRequester rendererTypeRequester) {
         return trackSelector.clearSelectionOverrideFor(VIDEO, rendererTypeRequester);
     }
@@ -95,4 +71,8 @@ public class ExoPlayerVideoTrackSelector {
     public void setMaxVideoBitrate(int maxVideoBitrate) {
         trackSelector.setMaxVideoBitrate(maxVideoBitrate);
     }
+
+    public void setViewportSize(int width, int height) {
+        trackSelector.setViewportSize(width, height);
+    }
 }
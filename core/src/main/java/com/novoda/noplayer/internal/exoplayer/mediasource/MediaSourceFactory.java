@@ -10,13 +10,22 @@ import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.MediaSourceEventListener;
 import com.google.android.exoplayer2.source.dash.DashMediaSource;
 import com.google.android.exoplayer2.source.dash.DefaultDashChunkSource;
+import com.google.android.exoplayer2.source.hls.HlsDataSourceFactory;
 import com.google.android.exoplayer2.source.hls.HlsMediaSource;
 import com.google.android.exoplayer2.upstream.DataSource;
 import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
 import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
 import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
 import com.google.android.exoplayer2.upstream.DefaultHttpDataSourceFactory;
+import com.google.android.exoplayer2.upstream.FileDataSourceFactory;
+import com.google.android.exoplayer2.upstream.LoadErrorHandlingPolicy;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSinkFactory;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSourceFactory;
+import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.Options;
+import com.novoda.noplayer.internal.SystemClock;
 import com.novoda.noplayer.internal.utils.Optional;
 
 public class MediaSourceFactory {
@@ -26,77 +35,133 @@ public class MediaSourceFactory {
     private final Optional<DataSource.Factory> dataSourceFactory;
     private final String userAgent;
     private final boolean allowCrossProtocolRedirects;
+    private final Optional<Cache> segmentCache;
+    private final NoPlayer.SegmentCacheListener segmentCacheListener;
 
     public MediaSourceFactory(Context context,
                               String userAgent,
                               Handler handler,
                               Optional<DataSource.Factory> dataSourceFactory,
-                              boolean allowCrossProtocolRedirects) {
+                              boolean allowCrossProtocolRedirects,
+                              Optional<Cache> segmentCache,
+                              NoPlayer.SegmentCacheListener segmentCacheListener) {
         this.context = context;
         this.handler = handler;
         this.dataSourceFactory = dataSourceFactory;
         this.userAgent = userAgent;
         this.allowCrossProtocolRedirects = allowCrossProtocolRedirects;
+        this.segmentCache = segmentCache;
+        this.segmentCacheListener = segmentCacheListener;
     }
 
     public MediaSource create(Options options,
                               Uri uri,
                               MediaSourceEventListener mediaSourceEventListener,
                               DefaultBandwidthMeter bandwidthMeter) {
-        DefaultDataSourceFactory defaultDataSourceFactory = createDataSourceFactory(bandwidthMeter);
+        DataSource.Factory upstreamDataSourceFactory = createUpstreamDataSourceFactory(bandwidthMeter, options, uri);
+        DefaultDataSourceFactory manifestDataSourceFactory = new DefaultDataSourceFactory(context, bandwidthMeter, upstreamDataSourceFactory);
+        DefaultDataSourceFactory segmentDataSourceFactory = createSegmentDataSourceFactory(bandwidthMeter, upstreamDataSourceFactory);
+        LoadErrorHandlingPolicy loadErrorHandlingPolicy = new BackoffLoadErrorHandlingPolicy(options.retryPolicy());
         switch (options.contentType()) {
             case HLS:
-                return createHlsMediaSource(defaultDataSourceFactory, uri, mediaSourceEventListener);
+                return createHlsMediaSource(
+                        new SegmentCachingHlsDataSourceFactory(manifestDataSourceFactory, segmentDataSourceFactory),
+                        loadErrorHandlingPolicy,
+                        uri,
+                        mediaSourceEventListener
+                );
             case H264:
-                return createH264MediaSource(defaultDataSourceFactory, uri, mediaSourceEventListener);
+                return createH264MediaSource(segmentDataSourceFactory, loadErrorHandlingPolicy, uri, mediaSourceEventListener);
             case DASH:
-                return createDashMediaSource(defaultDataSourceFactory, uri, mediaSourceEventListener);
+                return createDashMediaSource(
+                        manifestDataSourceFactory,
+                        segmentDataSourceFactory,
+                        loadErrorHandlingPolicy,
+                        uri,
+                        mediaSourceEventListener
+                );
             default:
                 throw new UnsupportedOperationException("Content type: " + options + " is not supported.");
         }
     }
 
-    private DefaultDataSourceFactory createDataSourceFactory(DefaultBandwidthMeter bandwidthMeter) {
+    private DataSource.Factory createUpstreamDataSourceFactory(DefaultBandwidthMeter bandwidthMeter, Options options, Uri uri) {
+        DataSource.Factory upstreamDataSourceFactory;
         if (dataSourceFactory.isPresent()) {
-            return new DefaultDataSourceFactory(context, bandwidthMeter, dataSourceFactory.get());
+            upstreamDataSourceFactory = dataSourceFactory.get();
         } else {
-            DefaultHttpDataSourceFactory httpDataSourceFactory = new DefaultHttpDataSourceFactory(
+            upstreamDataSourceFactory = new DefaultHttpDataSourceFactory(
                     userAgent,
                     bandwidthMeter,
                     DefaultHttpDataSource.DEFAULT_CONNECT_TIMEOUT_MILLIS,
                     DefaultHttpDataSource.DEFAULT_READ_TIMEOUT_MILLIS,
                     allowCrossProtocolRedirects
             );
+        }
 
-            return new DefaultDataSourceFactory(context, bandwidthMeter, httpDataSourceFactory);
+        if (!options.mirrorBaseUrls().isEmpty()) {
+            // Failing over below the cache keeps cached segments keyed by the content uri, whichever mirror served them
+            MirrorFailover mirrorFailover = MirrorFailover.newInstance(uri, options.mirrorBaseUrls(), options.retryPolicy());
+            upstreamDataSourceFactory = MirrorFailoverDataSource.listenTo(upstreamDataSourceFactory, mirrorFailover, new SystemClock());
         }
+
+        return upstreamDataSourceFactory;
+    }
+
+    private DefaultDataSourceFactory createSegmentDataSourceFactory(DefaultBandwidthMeter bandwidthMeter,
+                                                                    DataSource.Factory upstreamDataSourceFactory) {
+        // Manifests and playlists skip the cache, a live one would otherwise be refreshed from a stale copy
+        if (segmentCache.isPresent()) {
+            DataSource.Factory cacheDataSourceFactory = createCacheDataSourceFactory(segmentCache.get(), upstreamDataSourceFactory);
+            return new DefaultDataSourceFactory(context, bandwidthMeter, cacheDataSourceFactory);
+        }
+        return new DefaultDataSourceFactory(context, bandwidthMeter, upstreamDataSourceFactory);
+    }
+
+    private DataSource.Factory createCacheDataSourceFactory(Cache cache, DataSource.Factory upstreamDataSourceFactory) {
+        SegmentCacheForwarder segmentCacheForwarder = new SegmentCacheForwarder(handler, segmentCacheListener);
+        return new CacheDataSourceFactory(
+                cache,
+                segmentCacheForwarder.listenTo(upstreamDataSourceFactory),
+                new FileDataSourceFactory(),
+                new CacheDataSinkFactory(cache, CacheDataSource.DEFAULT_MAX_CACHE_FILE_SIZE),
+                CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR,
+                segmentCacheForwarder
+        );
     }
 
-    private MediaSource createHlsMediaSource(DefaultDataSourceFactory defaultDataSourceFactory,
+    private MediaSource createHlsMediaSource(HlsDataSourceFactory hlsDataSourceFactory,
+                                             LoadErrorHandlingPolicy loadErrorHandlingPolicy,
                                              Uri uri,
                                              MediaSourceEventListener mediaSourceEventListener) {
-        HlsMediaSource.Factory factory = new HlsMediaSource.Factory(defaultDataSourceFactory);
+        HlsMediaSource.Factory factory = new HlsMediaSource.Factory(hlsDataSourceFactory)
+                .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
         HlsMediaSource hlsMediaSource = factory.createMediaSource(uri);
         hlsMediaSource.addEventListener(handler, mediaSourceEventListener);
         return hlsMediaSource;
     }
 
     private MediaSource createH264MediaSource(DefaultDataSourceFactory defaultDataSourceFactory,
+                                              LoadErrorHandlingPolicy loadErrorHandlingPolicy,
                                               Uri uri,
                                               MediaSourceEventListener mediaSourceEventListener) {
         ExtractorMediaSource.Factory factory = new ExtractorMediaSource.Factory(defaultDataSourceFactory);
         ExtractorMediaSource extractorMediaSource = factory
                 .setExtractorsFactory(new DefaultExtractorsFactory())
+                .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy)
                 .createMediaSource(uri);
         extractorMediaSource.addEventListener(handler, mediaSourceEventListener);
         return extractorMediaSource;
     }
 
-    private MediaSource createDashMediaSource(DefaultDataSourceFactory defaultDataSourceFactory,
+    private MediaSource createDashMediaSource(DefaultDataSourceFactory manifestDataSourceFactory,
+                                              DefaultDataSourceFactory segmentDataSourceFactory,
+                                              LoadErrorHandlingPolicy loadErrorHandlingPolicy,
                                               Uri uri,
                                               MediaSourceEventListener mediaSourceEventListener) {
-        DefaultDashChunkSource.Factory chunkSourceFactory = new DefaultDashChunkSource.Factory(defaultDataSourceFactory);
-        DashMediaSource.Factory factory = new DashMediaSource.Factory(chunkSourceFactory, defaultDataSourceFactory);
+        DefaultDashChunkSource.Factory chunkSourceFactory = new DefaultDashChunkSource.Factory(segmentDataSourceFactory);
+        DashMediaSource.Factory factory = new DashMediaSource.Factory(chunkSourceFactory, manifestDataSourceFactory)
+                .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
         DashMediaSource mediaSource = factory.createMediaSource(uri);
         mediaSource.addEventListener(handler, mediaSourceEventListener);
         return mediaSource;
@@ -0,0 +1,94 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+
+import com.novoda.noplayer.RetryPolicy;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the mirror that requests of one content are sent to. Requests to any of the mirrors are
+ * rewritten to the current one, which is replaced by the next mirror once enough consecutive requests
+ * failed or were slower than the {@link RetryPolicy} allows.
+ * Requests of the same content are made from several loader threads, hence the synchronisation.
+ */
+class MirrorFailover {
+
+    private final List<String> baseUrls;
+    private final long failoverLatencyInMillis;
+    private final int failoverErrorCount;
+
+    private int currentBaseUrlIndex;
+    private int consecutiveErrorCount;
+
+    static MirrorFailover newInstance(Uri contentUri, List<String> mirrorBaseUrls, RetryPolicy retryPolicy) {
+        List<String> baseUrls = new ArrayList<>(mirrorBaseUrls.size() + 1);
+        baseUrls.add(contentUri.getScheme() + "://" + contentUri.getEncodedAuthority());
+        for (String mirrorBaseUrl : mirrorBaseUrls) {
+            baseUrls.add(withoutTrailingSlash(mirrorBaseUrl));
+        }
+        return new MirrorFailover(baseUrls, retryPolicy.failoverLatencyInMillis(), retryPolicy.failoverErrorCount());
+    }
+
+    private static String withoutTrailingSlash(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    MirrorFailover(List<String> baseUrls, long failoverLatencyInMillis, int failoverErrorCount) {
+        this.baseUrls = baseUrls;
+        this.failoverLatencyInMillis = failoverLatencyInMillis;
+        this.failoverErrorCount = failoverErrorCount;
+    }
+
+    int mirrorCount() {
+        return baseUrls.size();
+    }
+
+    synchronized String resolve(String url) {
+        String currentBaseUrl = baseUrls.get(currentBaseUrlIndex);
+        for (String baseUrl : baseUrls) {
+            if (isBaseUrlOf(baseUrl, url)) {
+                return currentBaseUrl + url.substring(baseUrl.length());
+            }
+        }
+        return url;
+    }
+
+    private static boolean isBaseUrlOf(String baseUrl, String url) {
+        if (!url.startsWith(baseUrl)) {
+            return false;
+        }
+        if (url.length() == baseUrl.length()) {
+            return true;
+        }
+        char next = url.charAt(baseUrl.length());
+        return next == '/' || next == '?' || next == '#';
+    }
+
+    /**
+     * @return whether requests fail over to the next mirror because the response was too slow.
+     */
+    synchronized boolean onResponse(long latencyInMillis) {
+        if (latencyInMillis <= failoverLatencyInMillis) {
+            consecutiveErrorCount = 0;
+            return false;
+        }
+        return onError();
+    }
+
+    /**
+     * @return whether requests fail over to the next mirror.
+     */
+    synchronized boolean onError() {
+        consecutiveErrorCount++;
+        if (consecutiveErrorCount < failoverErrorCount) {
+            return false;
+        }
+        consecutiveErrorCount = 0;
+        currentBaseUrlIndex = (currentBaseUrlIndex + 1) % baseUrls.size();
+        NoPlayerLog.w("Failing over to " + baseUrls.get(currentBaseUrlIndex));
+        return true;
+    }
+}
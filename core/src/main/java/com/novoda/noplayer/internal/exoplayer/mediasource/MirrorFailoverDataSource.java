@@ -0,0 +1,109 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.novoda.noplayer.internal.Clock;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends requests to the current mirror of the {@link MirrorFailover}. When opening a request fails over to
+ * the next mirror, the request is sent to it straight away, instead of waiting for the player to retry.
+ * Responses saying the content itself is missing or out of range are not failures of the mirror.
+ */
+class MirrorFailoverDataSource implements DataSource {
+
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    private final DataSource upstream;
+    private final MirrorFailover mirrorFailover;
+    private final Clock clock;
+
+    static DataSource.Factory listenTo(final DataSource.Factory upstreamDataSourceFactory,
+                                       final MirrorFailover mirrorFailover,
+                                       final Clock clock) {
+        return new DataSource.Factory() {
+            @Override
+            public DataSource createDataSource() {
+                return new MirrorFailoverDataSource(upstreamDataSourceFactory.createDataSource(), mirrorFailover, clock);
+            }
+        };
+    }
+
+    MirrorFailoverDataSource(DataSource upstream, MirrorFailover mirrorFailover, Clock clock) {
+        this.upstream = upstream;
+        this.mirrorFailover = mirrorFailover;
+        this.clock = clock;
+    }
+
+    @Override
+    public void addTransferListener(TransferListener transferListener) {
+        upstream.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(DataSpec dataSpec) throws IOException {
+        String url = dataSpec.uri.toString();
+        int remainingMirrors = mirrorFailover.mirrorCount();
+        while (true) {
+            DataSpec mirroredDataSpec = dataSpec.withUri(parse(mirrorFailover.resolve(url)));
+            long requestStartTime = clock.getCurrentTime();
+            try {
+                long length = upstream.open(mirroredDataSpec);
+                mirrorFailover.onResponse(clock.getCurrentTime() - requestStartTime);
+                return length;
+            } catch (IOException e) {
+                if (isContentError(e)) {
+                    throw e;
+                }
+                remainingMirrors--;
+                if (!mirrorFailover.onError() || remainingMirrors == 0) {
+                    throw e;
+                }
+                upstream.close();
+            }
+        }
+    }
+
+    private static boolean isContentError(IOException exception) {
+        if (!(exception instanceof HttpDataSource.InvalidResponseCodeException)) {
+            return false;
+        }
+        int responseCode = ((HttpDataSource.InvalidResponseCodeException) exception).responseCode;
+        return responseCode == HTTP_NOT_FOUND || responseCode == HTTP_RANGE_NOT_SATISFIABLE;
+    }
+
+    // Uri is only implemented on Android, so tests override this instead
+    Uri parse(String url) {
+        return Uri.parse(url);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int readLength) throws IOException {
+        return upstream.read(buffer, offset, readLength);
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+        return upstream.getUri();
+    }
+
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+        return upstream.getResponseHeaders();
+    }
+
+    @Override
+    public void close() throws IOException {
+        upstream.close();
+    }
+}
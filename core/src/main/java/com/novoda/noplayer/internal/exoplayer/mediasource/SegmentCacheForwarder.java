@@ -0,0 +1,86 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.os.Handler;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.novoda.noplayer.NoPlayer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts bytes served by the cache and bytes that had to be fetched from upstream.
+ * Both callbacks arrive on loader threads, misses are accumulated per {@link DataSource}
+ * as audio, video and text can transfer at the same time, and every report is posted to the player handler.
+ */
+class SegmentCacheForwarder implements CacheDataSource.EventListener, TransferListener {
+
+    private final Handler handler;
+    private final NoPlayer.SegmentCacheListener segmentCacheListener;
+    private final Map<DataSource, Long> bytesReadFromNetwork = new ConcurrentHashMap<>();
+
+    SegmentCacheForwarder(Handler handler, NoPlayer.SegmentCacheListener segmentCacheListener) {
+        this.handler = handler;
+        this.segmentCacheListener = segmentCacheListener;
+    }
+
+    @Override
+    public void onCachedBytesRead(long cacheSizeBytes, final long cachedBytesRead) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                segmentCacheListener.onCacheHit(cachedBytesRead);
+            }
+        });
+    }
+
+    @Override
+    public void onCacheIgnored(int reason) {
+        // Reads that bypass the cache are reported as misses by the upstream transfer
+    }
+
+    @Override
+    public void onTransferInitializing(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        // Only completed transfers are reported
+    }
+
+    @Override
+    public void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        // Only completed transfers are reported
+    }
+
+    @Override
+    public void onBytesTransferred(DataSource source, DataSpec dataSpec, boolean isNetwork, int bytesTransferred) {
+        // A data source only ever transfers on the thread of its loader
+        Long bytesRead = bytesReadFromNetwork.get(source);
+        bytesReadFromNetwork.put(source, bytesRead == null ? bytesTransferred : bytesRead + bytesTransferred);
+    }
+
+    @Override
+    public void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        final Long bytesRead = bytesReadFromNetwork.remove(source);
+        if (bytesRead == null) {
+            return;
+        }
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                segmentCacheListener.onCacheMiss(bytesRead);
+            }
+        });
+    }
+
+    DataSource.Factory listenTo(final DataSource.Factory upstreamDataSourceFactory) {
+        return new DataSource.Factory() {
+            @Override
+            public DataSource createDataSource() {
+                DataSource dataSource = upstreamDataSourceFactory.createDataSource();
+                dataSource.addTransferListener(SegmentCacheForwarder.this);
+                return dataSource;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ExoPlayer only allows a single {@link SimpleCache} per directory, so caches are shared
+ * by every player of the process that is configured with the same directory.
+ * The maximum size of a shared cache is fixed by the first player, so every player must configure the same one.
+ */
+public final class SegmentCacheProvider {
+
+    private static final Map<File, Cache> CACHES = new HashMap<>();
+    private static final Map<File, Long> MAX_CACHE_SIZES_IN_BYTES = new HashMap<>();
+
+    private SegmentCacheProvider() {
+        // Uninstantiable
+    }
+
+    /**
+     * @throws IllegalArgumentException if a cache already exists in the directory with a different maximum size.
+     */
+    public static Cache obtain(File cacheDirectory, long maxCacheSizeInBytes) throws IllegalArgumentException {
+        synchronized (CACHES) {
+            Cache cache = CACHES.get(cacheDirectory);
+            if (cache == null) {
+                cache = new SimpleCache(cacheDirectory, new LeastRecentlyUsedCacheEvictor(maxCacheSizeInBytes));
+                CACHES.put(cacheDirectory, cache);
+                MAX_CACHE_SIZES_IN_BYTES.put(cacheDirectory, maxCacheSizeInBytes);
+            } else if (MAX_CACHE_SIZES_IN_BYTES.get(cacheDirectory) != maxCacheSizeInBytes) {
+                throw new IllegalArgumentException(
+                        "A segment cache with a maximum size of " + MAX_CACHE_SIZES_IN_BYTES.get(cacheDirectory)
+                                + " bytes already exists in " + cacheDirectory
+                );
+            }
+            return cache;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.hls.HlsDataSourceFactory;
+import com.google.android.exoplayer2.upstream.DataSource;
+
+/**
+ * Reads HLS segments through the segment cache while playlists and keys always come from upstream,
+ * so that refreshing a live playlist is never served a stale copy.
+ */
+class SegmentCachingHlsDataSourceFactory implements HlsDataSourceFactory {
+
+    private final DataSource.Factory upstreamDataSourceFactory;
+    private final DataSource.Factory segmentDataSourceFactory;
+
+    SegmentCachingHlsDataSourceFactory(DataSource.Factory upstreamDataSourceFactory, DataSource.Factory segmentDataSourceFactory) {
+        this.upstreamDataSourceFactory = upstreamDataSourceFactory;
+        this.segmentDataSourceFactory = segmentDataSourceFactory;
+    }
+
+    @Override
+    public DataSource createDataSource(int dataType) {
+        if (dataType == C.DATA_TYPE_MEDIA || dataType == C.DATA_TYPE_MEDIA_INITIALIZATION) {
+            return segmentDataSourceFactory.createDataSource();
+        }
+        return upstreamDataSourceFactory.createDataSource();
+    }
+}
@@ -1,30 +1,101 @@
 package com.novoda.noplayer.internal.listeners;
 
+import android.support.annotation.Nullable;
+
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notifies every callback at its own interval. The heart beats at the shortest interval, so longer intervals
+ * are rounded to a multiple of it, and does not beat at all while there are no callbacks.
+ */
+public class HeartbeatCallbacks implements NoPlayer.HeartbeatCallback {
+
+    public static final long DEFAULT_INTERVAL_IN_MILLIS = 500;
+    public static final long NO_INTERVAL = -1;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+    private static final long NEVER = Long.MIN_VALUE;
 
-class HeartbeatCallbacks implements NoPlayer.HeartbeatCallback {
+    private final Map<NoPlayer.HeartbeatCallback, ScheduledCallback> callbacks = new ConcurrentHashMap<>();
+    private final Clock clock;
 
-    private final Set<NoPlayer.HeartbeatCallback> callbacks = new CopyOnWriteArraySet<>();
+    @Nullable
+    private volatile CallbackRegisteredListener callbackRegisteredListener;
+
+    HeartbeatCallbacks(Clock clock) {
+        this.clock = clock;
+    }
 
     void registerCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
-        callbacks.add(heartbeatCallback);
+        registerCallback(heartbeatCallback, DEFAULT_INTERVAL_IN_MILLIS);
+    }
+
+    void registerCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis) {
+        callbacks.put(heartbeatCallback, new ScheduledCallback(heartbeatCallback, intervalInMillis));
+        CallbackRegisteredListener listener = callbackRegisteredListener;
+        if (listener != null) {
+            listener.onCallbackRegistered();
+        }
+    }
+
+    public void setCallbackRegisteredListener(CallbackRegisteredListener callbackRegisteredListener) {
+        this.callbackRegisteredListener = callbackRegisteredListener;
     }
 
     void clear() {
         callbacks.clear();
     }
 
+    /**
+     * @return the interval the heart beats at, or {@link #NO_INTERVAL} when it does not need to beat as there are no callbacks.
+     */
+    public long shortestIntervalInMillis() {
+        long shortestIntervalInMillis = Long.MAX_VALUE;
+        for (ScheduledCallback callback : callbacks.values()) {
+            shortestIntervalInMillis = Math.min(shortestIntervalInMillis, callback.intervalInMillis);
+        }
+        return shortestIntervalInMillis == Long.MAX_VALUE ? NO_INTERVAL : shortestIntervalInMillis;
+    }
+
     @Override
     public void onBeat(NoPlayer player) {
-        for (NoPlayer.HeartbeatCallback callback : callbacks) {
-            callback.onBeat(player);
+        long currentTime = clock.getCurrentTime();
+        // Beats drift by a few milliseconds, a callback that is due before the next beat is notified now
+        long earlinessInMillis = Math.max(shortestIntervalInMillis(), 0) / 2;
+        for (ScheduledCallback callback : callbacks.values()) {
+            if (callback.isDue(currentTime, earlinessInMillis)) {
+                callback.lastBeatTime = currentTime;
+                callback.heartbeatCallback.onBeat(player);
+            }
         }
     }
 
     void unregisterCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
         callbacks.remove(heartbeatCallback);
     }
+
+    public interface CallbackRegisteredListener {
+
+        void onCallbackRegistered();
+    }
+
+    private static class ScheduledCallback {
+
+        private final NoPlayer.HeartbeatCallback heartbeatCallback;
+        private final long intervalInMillis;
+
+        private long lastBeatTime = NEVER;
+
+        ScheduledCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis) {
+            this.heartbeatCallback = heartbeatCallback;
+            this.intervalInMillis = intervalInMillis;
+        }
+
+        boolean isDue(long currentTime, long earlinessInMillis) {
+            return lastBeatTime == NEVER || currentTime - lastBeatTime >= intervalInMillis - earlinessInMillis;
+        }
+    }
 }
@@ -1,25 +1,45 @@
 package com.novoda.noplayer.internal.listeners;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.model.InfoEvent;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
-class InfoListeners implements NoPlayer.InfoListener {
+public class InfoListeners implements NoPlayer.InfoListener, NoPlayer.InfoEventListener {
 
     private final Set<NoPlayer.InfoListener> listeners = new CopyOnWriteArraySet<>();
+    private final Set<NoPlayer.InfoEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
     void add(NoPlayer.InfoListener listener) {
         listeners.add(listener);
     }
 
+    void add(NoPlayer.InfoEventListener listener) {
+        eventListeners.add(listener);
+    }
+
     void remove(NoPlayer.InfoListener listener) {
         listeners.remove(listener);
     }
 
+    void remove(NoPlayer.InfoEventListener listener) {
+        eventListeners.remove(listener);
+    }
+
     void clear() {
         listeners.clear();
+        eventListeners.clear();
+    }
+
+    /**
+     * Forwarders check this before creating an {@link InfoEvent} so nothing is allocated when nobody listens.
+     *
+     * @return whether any listener would be notified.
+     */
+    public boolean hasListeners() {
+        return !listeners.isEmpty() || !eventListeners.isEmpty();
     }
 
     @Override
@@ -27,5 +47,34 @@ class InfoListeners implements NoPlayer.InfoListener {
         for (NoPlayer.InfoListener listener : listeners) {
             listener.onNewInfo(callingMethod, callingMethodParams);
         }
+        if (!eventListeners.isEmpty()) {
+            InfoEvent infoEvent = InfoEvent.create(callingMethod, namesAndValuesOf(callingMethodParams));
+            for (NoPlayer.InfoEventListener listener : eventListeners) {
+                listener.onInfoEvent(infoEvent);
+            }
+        }
+    }
+
+    private static Object[] namesAndValuesOf(Map<String, String> callingMethodParams) {
+        Object[] namesAndValues = new Object[callingMethodParams.size() * 2];
+        int index = 0;
+        for (Map.Entry<String, String> parameter : callingMethodParams.entrySet()) {
+            namesAndValues[index++] = parameter.getKey();
+            namesAndValues[index++] = parameter.getValue();
+        }
+        return namesAndValues;
+    }
+
+    @Override
+    public void onInfoEvent(InfoEvent infoEvent) {
+        for (NoPlayer.InfoEventListener listener : eventListeners) {
+            listener.onInfoEvent(infoEvent);
+        }
+        if (!listeners.isEmpty()) {
+            Map<String, String> callingMethodParams = infoEvent.parameters();
+            for (NoPlayer.InfoListener listener : listeners) {
+                listener.onNewInfo(infoEvent.callingMethod(), callingMethodParams);
+            }
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.novoda.noplayer.internal.listeners;
 import com.novoda.noplayer.Listeners;
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.NoPlayer.BitrateChangedListener;
+import com.novoda.noplayer.internal.SystemClock;
 
 public class PlayerListenersHolder implements Listeners {
 
@@ -15,6 +16,8 @@ public class PlayerListenersHolder implements Listeners {
     private final VideoSizeChangedListeners videoSizeChangedListeners;
     private final BitrateChangedListeners bitrateChangedListeners;
     private final DroppedFramesListeners droppedFramesListeners;
+    private final SegmentCacheListeners segmentCacheListeners;
+    private final StartupListeners startupListeners;
 
     private final HeartbeatCallbacks heartbeatCallbacks;
 
@@ -27,8 +30,10 @@ public class PlayerListenersHolder implements Listeners {
         infoListeners = new InfoListeners();
         videoSizeChangedListeners = new VideoSizeChangedListeners();
         bitrateChangedListeners = new BitrateChangedListeners();
-        heartbeatCallbacks = new HeartbeatCallbacks();
+        heartbeatCallbacks = new HeartbeatCallbacks(new SystemClock());
         droppedFramesListeners = new DroppedFramesListeners();
+        segmentCacheListeners = new SegmentCacheListeners();
+        startupListeners = new StartupListeners();
     }
 
     @Override
@@ -91,6 +96,16 @@ public class PlayerListenersHolder implements Listeners {
         infoListeners.remove(infoListener);
     }
 
+    @Override
+    public void addInfoEventListener(NoPlayer.InfoEventListener infoEventListener) {
+        infoListeners.add(infoEventListener);
+    }
+
+    @Override
+    public void removeInfoEventListener(NoPlayer.InfoEventListener infoEventListener) {
+        infoListeners.remove(infoEventListener);
+    }
+
     @Override
     public void addBitrateChangedListener(BitrateChangedListener bitrateChangedListener) {
         bitrateChangedListeners.add(bitrateChangedListener);
@@ -106,6 +121,11 @@ public class PlayerListenersHolder implements Listeners {
         heartbeatCallbacks.registerCallback(heartbeatCallback);
     }
 
+    @Override
+    public void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis) {
+        heartbeatCallbacks.registerCallback(heartbeatCallback, intervalInMillis);
+    }
+
     @Override
     public void removeHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
         heartbeatCallbacks.unregisterCallback(heartbeatCallback);
@@ -131,6 +151,26 @@ public class PlayerListenersHolder implements Listeners {
         droppedFramesListeners.remove(droppedVideoFramesListener);
     }
 
+    @Override
+    public void addSegmentCacheListener(NoPlayer.SegmentCacheListener segmentCacheListener) {
+        segmentCacheListeners.add(segmentCacheListener);
+    }
+
+    @Override
+    public void removeSegmentCacheListener(NoPlayer.SegmentCacheListener segmentCacheListener) {
+        segmentCacheListeners.remove(segmentCacheListener);
+    }
+
+    @Override
+    public void addStartupListener(NoPlayer.StartupListener startupListener) {
+        startupListeners.add(startupListener);
+    }
+
+    @Override
+    public void removeStartupListener(NoPlayer.StartupListener startupListener) {
+        startupListeners.remove(startupListener);
+    }
+
     public NoPlayer.ErrorListener getErrorListeners() {
         return errorListeners;
     }
@@ -151,11 +191,11 @@ public class PlayerListenersHolder implements Listeners {
         return stateChangedListeners;
     }
 
-    public NoPlayer.InfoListener getInfoListeners() {
+    public InfoListeners getInfoListeners() {
         return infoListeners;
     }
 
-    public NoPlayer.HeartbeatCallback getHeartbeatCallbacks() {
+    public HeartbeatCallbacks getHeartbeatCallbacks() {
         return heartbeatCallbacks;
     }
 
@@ -171,6 +211,22 @@ public class PlayerListenersHolder implements Listeners {
         return droppedFramesListeners;
     }
 
+    public NoPlayer.SegmentCacheListener getSegmentCacheListeners() {
+        return segmentCacheListeners;
+    }
+
+    public NoPlayer.StartupListener getStartupListeners() {
+        return startupListeners;
+    }
+
+    public void deferPreparedNotification() {
+        preparedListeners.defer();
+    }
+
+    public void resumePreparedNotification() {
+        preparedListeners.resume();
+    }
+
     public void resetState() {
         preparedListeners.resetPreparedState();
         completionListeners.resetCompletedState();
@@ -187,5 +243,7 @@ public class PlayerListenersHolder implements Listeners {
         bitrateChangedListeners.clear();
         heartbeatCallbacks.clear();
         droppedFramesListeners.clear();
+        segmentCacheListeners.clear();
+        startupListeners.clear();
     }
 }
@@ -1,5 +1,7 @@
 package com.novoda.noplayer.internal.listeners;
 
+import android.support.annotation.Nullable;
+
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.PlayerState;
 
@@ -11,6 +13,9 @@ class PreparedListeners implements NoPlayer.PreparedListener {
     private final Set<NoPlayer.PreparedListener> listeners = new CopyOnWriteArraySet<>();
 
     private boolean hasPrepared;
+    private boolean deferred;
+    @Nullable
+    private PlayerState deferredPlayerState;
 
     void add(NoPlayer.PreparedListener listener) {
         listeners.add(listener);
@@ -26,6 +31,10 @@ class PreparedListeners implements NoPlayer.PreparedListener {
 
     @Override
     public void onPrepared(PlayerState playerState) {
+        if (deferred) {
+            deferredPlayerState = playerState;
+            return;
+        }
         if (!hasPrepared) {
             hasPrepared = true;
             for (NoPlayer.PreparedListener listener : listeners) {
@@ -34,7 +43,22 @@ class PreparedListeners implements NoPlayer.PreparedListener {
         }
     }
 
+    void defer() {
+        deferred = true;
+    }
+
+    void resume() {
+        deferred = false;
+        if (deferredPlayerState != null) {
+            PlayerState playerState = deferredPlayerState;
+            deferredPlayerState = null;
+            onPrepared(playerState);
+        }
+    }
+
     void resetPreparedState() {
         hasPrepared = false;
+        deferred = false;
+        deferredPlayerState = null;
     }
 }
@@ -0,0 +1,37 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+class SegmentCacheListeners implements NoPlayer.SegmentCacheListener {
+
+    private final Set<NoPlayer.SegmentCacheListener> listeners = new CopyOnWriteArraySet<>();
+
+    void add(NoPlayer.SegmentCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    void remove(NoPlayer.SegmentCacheListener listener) {
+        listeners.remove(listener);
+    }
+
+    void clear() {
+        listeners.clear();
+    }
+
+    @Override
+    public void onCacheHit(long bytesReadFromCache) {
+        for (NoPlayer.SegmentCacheListener listener : listeners) {
+            listener.onCacheHit(bytesReadFromCache);
+        }
+    }
+
+    @Override
+    public void onCacheMiss(long bytesReadFromNetwork) {
+        for (NoPlayer.SegmentCacheListener listener : listeners) {
+            listener.onCacheMiss(bytesReadFromNetwork);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.model.StartupReport;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+class StartupListeners implements NoPlayer.StartupListener {
+
+    private final Set<NoPlayer.StartupListener> listeners = new CopyOnWriteArraySet<>();
+
+    void add(NoPlayer.StartupListener listener) {
+        listeners.add(listener);
+    }
+
+    void remove(NoPlayer.StartupListener listener) {
+        listeners.remove(listener);
+    }
+
+    void clear() {
+        listeners.clear();
+    }
+
+    @Override
+    public void onStartupCompleted(StartupReport startupReport) {
+        for (NoPlayer.StartupListener listener : listeners) {
+            listener.onStartupCompleted(startupReport);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import android.net.Uri;
 import android.support.annotation.Nullable;
 import android.view.Surface;
 import android.view.SurfaceHolder;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.Options;
 import com.novoda.noplayer.internal.mediaplayer.PlaybackStateChecker.PlaybackState;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
 import com.novoda.noplayer.internal.utils.NoPlayerLog;
@@ -334,4 +336,39 @@ class AndroidMediaPlayerFacade {
         assertIsInPlaybackState();
         NoPlayerLog.w("Tried to set max video bitrate but has not been implemented for MediaPlayer.");
     }
+
+    void appendToQueue(Uri uri, Options options) {
+        assertIsInPlaybackState();
+        NoPlayerLog.w("Tried to append to the queue but has not been implemented for MediaPlayer.");
+    }
+
+    void removeFromQueue(int index) {
+        assertIsInPlaybackState();
+        NoPlayerLog.w("Tried to remove from the queue but has not been implemented for MediaPlayer.");
+    }
+
+    void moveInQueue(int fromIndex, int toIndex) {
+        assertIsInPlaybackState();
+        NoPlayerLog.w("Tried to move within the queue but has not been implemented for MediaPlayer.");
+    }
+
+    int queueSize() {
+        assertIsInPlaybackState();
+        return 1;
+    }
+
+    int currentQueueIndex() {
+        assertIsInPlaybackState();
+        return 0;
+    }
+
+    void addCuePoint(long positionInMillis, NoPlayer.CuePointCallback cuePointCallback) {
+        assertIsInPlaybackState();
+        NoPlayerLog.w("Tried to add a cue point but has not been implemented for MediaPlayer.");
+    }
+
+    void removeCuePoint(long positionInMillis, NoPlayer.CuePointCallback cuePointCallback) {
+        assertIsInPlaybackState();
+        NoPlayerLog.w("Tried to remove a cue point but has not been implemented for MediaPlayer.");
+    }
 }
@@ -14,13 +14,20 @@ import com.novoda.noplayer.PlayerState;
 import com.novoda.noplayer.PlayerSurfaceHolder;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceRequester;
+import com.novoda.noplayer.TrackSelectionEditor;
+import com.novoda.noplayer.internal.Clock;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.PlaybackSnapshots;
+import com.novoda.noplayer.internal.PlaybackStatsCollector;
+import com.novoda.noplayer.internal.TrackSelectionEdits;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.Either;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+import com.novoda.noplayer.model.PlaybackStats;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.PlayerVideoTrack;
@@ -47,6 +54,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     private final PlayerListenersHolder listenersHolder;
     private final LoadTimeout loadTimeout;
     private final BuggyVideoDriverPreventer buggyVideoDriverPreventer;
+    private final PlaybackSnapshots playbackSnapshots;
+    private final PlaybackSnapshotPublisher playbackSnapshotPublisher;
+    private final PlaybackStatsCollector playbackStatsCollector;
 
     private int videoWidth;
     private int videoHeight;
@@ -66,7 +76,8 @@ class AndroidMediaPlayerImpl implements NoPlayer {
                            LoadTimeout loadTimeout,
                            Heart heart,
                            DelayedActionExecutor delayedActionExecutor,
-                           BuggyVideoDriverPreventer buggyVideoDriverPreventer) {
+                           BuggyVideoDriverPreventer buggyVideoDriverPreventer,
+                           Clock clock) {
         this.mediaPlayerInformation = mediaPlayerInformation;
         this.mediaPlayer = mediaPlayer;
         this.forwarder = forwarder;
@@ -76,6 +87,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         this.heart = heart;
         this.delayedActionExecutor = delayedActionExecutor;
         this.buggyVideoDriverPreventer = buggyVideoDriverPreventer;
+        this.playbackSnapshots = new PlaybackSnapshots(clock);
+        this.playbackStatsCollector = new PlaybackStatsCollector(clock);
+        this.playbackSnapshotPublisher = new PlaybackSnapshotPublisher(this, playbackSnapshots);
     }
 
     void initialise() {
@@ -90,6 +104,13 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         heart.bind(new Heart.Heartbeat(listenersHolder.getHeartbeatCallbacks(), this));
 
         listenersHolder.addHeartbeatCallback(bufferHeartbeatCallback);
+        listenersHolder.addHeartbeatCallback(playbackSnapshotPublisher);
+        listenersHolder.addPreparedListener(playbackSnapshotPublisher);
+        listenersHolder.addBufferStateListener(playbackSnapshotPublisher);
+        listenersHolder.addCompletionListener(playbackSnapshotPublisher);
+        listenersHolder.addStateChangedListener(playbackSnapshotPublisher);
+        listenersHolder.addBufferStateListener(playbackStatsCollector);
+        listenersHolder.addStateChangedListener(playbackStatsCollector);
         listenersHolder.addPreparedListener(new PreparedListener() {
             @Override
             public void onPrepared(PlayerState playerState) {
@@ -116,6 +137,7 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         @Override
         public void onSeekComplete(MediaPlayer mp) {
             seekToPositionInMillis = NO_SEEK_TO_POSITION;
+            playbackStatsCollector.onSeekCompleted();
 
             if (seekingWithIntentToPlay || isPlaying()) {
                 seekingWithIntentToPlay = false;
@@ -124,6 +146,16 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         }
     };
 
+    @Override
+    public PlaybackSnapshot getPlaybackSnapshot() {
+        return playbackSnapshots.latest();
+    }
+
+    @Override
+    public PlaybackStats getPlaybackStats() {
+        return playbackStatsCollector.stats();
+    }
+
     @Override
     public void setRepeating(boolean repeating) {
         mediaPlayer.setRepeating(repeating);
@@ -211,7 +243,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     @Override
     public void seekTo(long positionInMillis) throws IllegalStateException {
         seekToPositionInMillis = positionInMillis;
+        playbackStatsCollector.onSeekStarted();
         mediaPlayer.seekTo(positionInMillis);
+        playbackSnapshotPublisher.publish();
     }
 
     @Override
@@ -224,12 +258,18 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         listenersHolder.getStateChangedListeners().onVideoPaused();
     }
 
+    @Override
+    public void preload(Uri uri, Options options) {
+        // MediaPlayer is prepared against the surface, so there is nothing to do before loadVideo
+    }
+
     @Override
     public void loadVideo(final Uri uri, final Options options) {
         if (mediaPlayer.hasPlayedContent()) {
             stop();
         }
         assertPlayerViewIsAttached();
+        playbackStatsCollector.startSession();
         createSurfaceByShowingVideoContainer();
         listenersHolder.getBufferStateListeners().onBufferStarted();
         requestSurface(new SurfaceRequester.Callback() {
@@ -256,6 +296,41 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         loadVideo(uri, options);
     }
 
+    @Override
+    public void appendToQueue(Uri uri, Options options) throws IllegalStateException {
+        mediaPlayer.appendToQueue(uri, options);
+    }
+
+    @Override
+    public void removeFromQueue(int index) throws IllegalStateException {
+        mediaPlayer.removeFromQueue(index);
+    }
+
+    @Override
+    public void moveInQueue(int fromIndex, int toIndex) throws IllegalStateException {
+        mediaPlayer.moveInQueue(fromIndex, toIndex);
+    }
+
+    @Override
+    public int queueSize() throws IllegalStateException {
+        return mediaPlayer.queueSize();
+    }
+
+    @Override
+    public int currentQueueIndex() throws IllegalStateException {
+        return mediaPlayer.currentQueueIndex();
+    }
+
+    @Override
+    public void addCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException {
+        mediaPlayer.addCuePoint(positionInMillis, cuePointCallback);
+    }
+
+    @Override
+    public void removeCuePoint(long positionInMillis, CuePointCallback cuePointCallback) throws IllegalStateException {
+        mediaPlayer.removeCuePoint(positionInMillis, cuePointCallback);
+    }
+
     @Override
     public long playheadPositionInMillis() throws IllegalStateException {
         return isSeeking() ? seekToPositionInMillis : mediaPlayer.currentPositionInMillis();
@@ -377,6 +452,38 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         mediaPlayer.setMaxVideoBitrate(maxVideoBitrate);
     }
 
+    @Override
+    public TrackSelectionEditor editTracks() {
+        // MediaPlayer has no way of batching track changes, they are applied one after the other
+        return new TrackSelectionEdits(new TrackSelectionEdits.Applier() {
+            @Override
+            public boolean apply(TrackSelectionEdits edits) throws IllegalStateException {
+                boolean applied = true;
+                if (edits.audioTrack().isPresent()) {
+                    applied = selectAudioTrack(edits.audioTrack().get());
+                } else if (edits.clearsAudioTrack()) {
+                    applied = clearAudioTrackSelection();
+                }
+                if (edits.videoTrack().isPresent()) {
+                    applied = selectVideoTrack(edits.videoTrack().get()) && applied;
+                } else if (edits.clearsVideoTrack()) {
+                    applied = clearVideoTrackSelection() && applied;
+                }
+                if (edits.subtitleTrack().isPresent()) {
+                    applied = showSubtitleTrack(edits.subtitleTrack().get()) && applied;
+                } else if (edits.hidesSubtitleTrack()) {
+                    applied = hideSubtitleTrack() && applied;
+                }
+                if (edits.maxVideoBitrate().isPresent()) {
+                    setMaxVideoBitrate(edits.maxVideoBitrate().get());
+                } else if (edits.clearsMaxVideoBitrate()) {
+                    clearMaxVideoBitrate();
+                }
+                return applied;
+            }
+        });
+    }
+
     @Override
     public void stop() {
         reset();
@@ -386,6 +493,7 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     @Override
     public void release() {
         stop();
+        heart.release();
         listenersHolder.clear();
     }
 
@@ -395,6 +503,8 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         loadTimeout.cancel();
         heart.stopBeatingHeart();
         mediaPlayer.release();
+        playbackSnapshots.reset();
+        playbackStatsCollector.endSession();
         destroySurfaceByHidingVideoContainer();
     }
 
@@ -5,6 +5,7 @@ import android.os.Build;
 import android.os.Handler;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.ElapsedRealtimeClock;
 import com.novoda.noplayer.internal.Heart;
 import com.novoda.noplayer.internal.SystemClock;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
@@ -46,7 +47,7 @@ public class NoPlayerMediaPlayerCreator {
             AndroidMediaPlayerFacade facade = AndroidMediaPlayerFacade.newInstance(context, forwarder);
             PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
             CheckBufferHeartbeatCallback bufferHeartbeatCallback = new CheckBufferHeartbeatCallback();
-            Heart heart = Heart.newInstance(handler);
+            Heart heart = Heart.newInstance(context, handler);
             MediaPlayerTypeReader mediaPlayerTypeReader = new MediaPlayerTypeReader(new SystemProperties(), Build.VERSION.SDK_INT);
             DelayedActionExecutor delayedActionExecutor = new DelayedActionExecutor(handler, new HashMap<DelayedActionExecutor.Action, Runnable>());
             BuggyVideoDriverPreventer preventer = new BuggyVideoDriverPreventer(mediaPlayerTypeReader);
@@ -60,7 +61,8 @@ public class NoPlayerMediaPlayerCreator {
                     loadTimeout,
                     heart,
                     delayedActionExecutor,
-                    preventer
+                    preventer,
+                    new ElapsedRealtimeClock()
             );
         }
     }
@@ -0,0 +1,102 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.internal.PlaybackSnapshots;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+
+/**
+ * MediaPlayer does not report its state changes, so a new snapshot is published whenever NoPlayer notifies about one,
+ * and on every heartbeat in between so that extrapolated positions do not drift.
+ */
+class PlaybackSnapshotPublisher implements NoPlayer.HeartbeatCallback,
+        NoPlayer.PreparedListener,
+        NoPlayer.BufferStateListener,
+        NoPlayer.CompletionListener,
+        NoPlayer.StateChangedListener {
+
+    private static final int ONE_HUNDRED_PERCENT = 100;
+
+    private final PlayerState playerState;
+    private final PlaybackSnapshots playbackSnapshots;
+
+    private boolean buffering;
+    private boolean completed;
+
+    PlaybackSnapshotPublisher(PlayerState playerState, PlaybackSnapshots playbackSnapshots) {
+        this.playerState = playerState;
+        this.playbackSnapshots = playbackSnapshots;
+    }
+
+    @Override
+    public void onBeat(NoPlayer player) {
+        publish();
+    }
+
+    @Override
+    public void onPrepared(PlayerState playerState) {
+        completed = false;
+        publish();
+    }
+
+    @Override
+    public void onBufferStarted() {
+        buffering = true;
+        publish();
+    }
+
+    @Override
+    public void onBufferCompleted() {
+        buffering = false;
+        publish();
+    }
+
+    @Override
+    public void onCompletion() {
+        completed = true;
+        publish();
+    }
+
+    @Override
+    public void onVideoPlaying() {
+        completed = false;
+        publish();
+    }
+
+    @Override
+    public void onVideoPaused() {
+        publish();
+    }
+
+    @Override
+    public void onVideoStopped() {
+        buffering = false;
+        completed = false;
+    }
+
+    void publish() {
+        try {
+            long durationInMillis = playerState.mediaDurationInMillis();
+            playbackSnapshots.publish(
+                    state(),
+                    playerState.playheadPositionInMillis(),
+                    durationInMillis * playerState.bufferPercentage() / ONE_HUNDRED_PERCENT,
+                    durationInMillis
+            );
+        } catch (IllegalStateException e) {
+            // The mediaplayer has not been prepared yet or has been released, the latest snapshot still applies
+        }
+    }
+
+    private PlaybackSnapshot.State state() {
+        if (completed) {
+            return PlaybackSnapshot.State.ENDED;
+        } else if (buffering) {
+            return PlaybackSnapshot.State.BUFFERING;
+        } else if (playerState.isPlaying()) {
+            return PlaybackSnapshot.State.PLAYING;
+        } else {
+            return PlaybackSnapshot.State.PAUSED;
+        }
+    }
+}
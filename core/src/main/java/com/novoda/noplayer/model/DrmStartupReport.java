@@ -0,0 +1,77 @@
+package com.novoda.noplayer.model;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+/**
+ * Time taken by each DRM phase of {@link StartupReport}, all absent for clear content.
+ */
+public final class DrmStartupReport {
+
+    private final Optional<Long> sessionRequestedInMillis;
+    private final Optional<Long> sessionOpenedInMillis;
+    private final Optional<Long> licenseAcquiredInMillis;
+
+    public static DrmStartupReport none() {
+        return new DrmStartupReport(Optional.<Long>absent(), Optional.<Long>absent(), Optional.<Long>absent());
+    }
+
+    public DrmStartupReport(Optional<Long> sessionRequestedInMillis,
+                            Optional<Long> sessionOpenedInMillis,
+                            Optional<Long> licenseAcquiredInMillis) {
+        this.sessionRequestedInMillis = sessionRequestedInMillis;
+        this.sessionOpenedInMillis = sessionOpenedInMillis;
+        this.licenseAcquiredInMillis = licenseAcquiredInMillis;
+    }
+
+    public Optional<Long> sessionRequestedInMillis() {
+        return sessionRequestedInMillis;
+    }
+
+    /**
+     * @return when the session was opened, which includes provisioning the device when it was not provisioned yet.
+     */
+    public Optional<Long> sessionOpenedInMillis() {
+        return sessionOpenedInMillis;
+    }
+
+    public Optional<Long> licenseAcquiredInMillis() {
+        return licenseAcquiredInMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DrmStartupReport that = (DrmStartupReport) o;
+
+        if (!sessionRequestedInMillis.equals(that.sessionRequestedInMillis)) {
+            return false;
+        }
+        if (!sessionOpenedInMillis.equals(that.sessionOpenedInMillis)) {
+            return false;
+        }
+        return licenseAcquiredInMillis.equals(that.licenseAcquiredInMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = sessionRequestedInMillis.hashCode();
+        result = 31 * result + sessionOpenedInMillis.hashCode();
+        result = 31 * result + licenseAcquiredInMillis.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DrmStartupReport{"
+                + "sessionRequestedInMillis=" + sessionRequestedInMillis
+                + ", sessionOpenedInMillis=" + sessionOpenedInMillis
+                + ", licenseAcquiredInMillis=" + licenseAcquiredInMillis
+                + '}';
+    }
+}
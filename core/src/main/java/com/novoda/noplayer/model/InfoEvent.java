@@ -0,0 +1,78 @@
+package com.novoda.noplayer.model;
+
+import android.support.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Debugging information forwarded from the underlying player. Parameters keep the objects received
+ * from the player and are only formatted into strings when {@link #parameters()} is first requested.
+ */
+public final class InfoEvent {
+
+    private final String callingMethod;
+    private final Object[] parameterNamesAndValues;
+
+    @Nullable
+    private Map<String, String> formattedParameters;
+
+    /**
+     * @param callingMethod           The method name from where this event originated.
+     * @param parameterNamesAndValues Alternating parameter names and values from where this event originated.
+     * @return an {@link InfoEvent}.
+     */
+    public static InfoEvent create(String callingMethod, Object... parameterNamesAndValues) {
+        return new InfoEvent(callingMethod, parameterNamesAndValues);
+    }
+
+    private InfoEvent(String callingMethod, Object... parameterNamesAndValues) {
+        this.callingMethod = callingMethod;
+        this.parameterNamesAndValues = parameterNamesAndValues;
+    }
+
+    public String callingMethod() {
+        return callingMethod;
+    }
+
+    /**
+     * @param parameterName name of the parameter.
+     * @return the unformatted value of the parameter, or null when the event has no such parameter.
+     */
+    @Nullable
+    public Object parameter(String parameterName) {
+        for (int i = 0; i < parameterNamesAndValues.length; i += 2) {
+            if (parameterName.equals(parameterNamesAndValues[i])) {
+                return parameterNamesAndValues[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return parameter names and string representations of their values, "null" for null values.
+     */
+    public Map<String, String> parameters() {
+        if (formattedParameters == null) {
+            formattedParameters = Collections.unmodifiableMap(format(parameterNamesAndValues));
+        }
+        return formattedParameters;
+    }
+
+    private static Map<String, String> format(Object... parameterNamesAndValues) {
+        Map<String, String> parameters = new HashMap<>();
+        for (int i = 0; i < parameterNamesAndValues.length; i += 2) {
+            parameters.put(String.valueOf(parameterNamesAndValues[i]), String.valueOf(parameterNamesAndValues[i + 1]));
+        }
+        return parameters;
+    }
+
+    @Override
+    public String toString() {
+        return "InfoEvent{"
+                + "callingMethod='" + callingMethod + '\''
+                + ", parameters=" + parameters()
+                + '}';
+    }
+}
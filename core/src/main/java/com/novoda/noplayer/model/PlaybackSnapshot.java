@@ -0,0 +1,184 @@
+package com.novoda.noplayer.model;
+
+import android.os.SystemClock;
+
+/**
+ * The state of the playback at the time it was captured. Snapshots are immutable, so they can be read from any thread.
+ */
+public final class PlaybackSnapshot {
+
+    private static final long UNKNOWN_DURATION = -1;
+    private static final Bitrate NO_BITRATE = Bitrate.fromBitsPerSecond(0);
+
+    public enum State {
+        IDLE,
+        BUFFERING,
+        PLAYING,
+        PAUSED,
+        ENDED
+    }
+
+    private final State state;
+    private final long positionInMillis;
+    private final long bufferedPositionInMillis;
+    private final long durationInMillis;
+    private final Bitrate audioBitrate;
+    private final Bitrate videoBitrate;
+    private final long capturedAtInMillis;
+
+    public static PlaybackSnapshot idle(long capturedAtInMillis) {
+        return new PlaybackSnapshot(State.IDLE, 0, 0, UNKNOWN_DURATION, NO_BITRATE, NO_BITRATE, capturedAtInMillis);
+    }
+
+    public PlaybackSnapshot(State state,
+                            long positionInMillis,
+                            long bufferedPositionInMillis,
+                            long durationInMillis,
+                            Bitrate audioBitrate,
+                            Bitrate videoBitrate,
+                            long capturedAtInMillis) {
+        this.state = state;
+        this.positionInMillis = positionInMillis;
+        this.bufferedPositionInMillis = bufferedPositionInMillis;
+        this.durationInMillis = durationInMillis;
+        this.audioBitrate = audioBitrate;
+        this.videoBitrate = videoBitrate;
+        this.capturedAtInMillis = capturedAtInMillis;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public long positionInMillis() {
+        return positionInMillis;
+    }
+
+    public long bufferedPositionInMillis() {
+        return bufferedPositionInMillis;
+    }
+
+    /**
+     * @return the duration of the media, negative when it is not known yet, e.g. for live streams.
+     */
+    public long durationInMillis() {
+        return durationInMillis;
+    }
+
+    public Bitrate audioBitrate() {
+        return audioBitrate;
+    }
+
+    public Bitrate videoBitrate() {
+        return videoBitrate;
+    }
+
+    /**
+     * @return the time, from {@link SystemClock#elapsedRealtime()}, at which this snapshot was captured.
+     * It is monotonic, so it is only meaningful relative to other readings of the same clock, not as a date.
+     */
+    public long capturedAtInMillis() {
+        return capturedAtInMillis;
+    }
+
+    /**
+     * Extrapolates the position from the captured one, assuming that playback carried on at normal speed if it was playing.
+     * It never goes past the buffered position or the end of the media.
+     *
+     * @param currentTimeInMillis the time, from {@link SystemClock#elapsedRealtime()}, to extrapolate the position to.
+     * @return the extrapolated position, or the captured position if the playback was not playing.
+     */
+    public long positionInMillisAt(long currentTimeInMillis) {
+        if (state != State.PLAYING) {
+            return positionInMillis;
+        }
+        long extrapolatedPositionInMillis = positionInMillis + Math.max(0, currentTimeInMillis - capturedAtInMillis);
+        if (bufferedPositionInMillis > positionInMillis) {
+            extrapolatedPositionInMillis = Math.min(extrapolatedPositionInMillis, bufferedPositionInMillis);
+        }
+        if (durationInMillis >= 0) {
+            extrapolatedPositionInMillis = Math.min(extrapolatedPositionInMillis, durationInMillis);
+        }
+        return extrapolatedPositionInMillis;
+    }
+
+    /**
+     * Cheap enough to be called on every frame, e.g. to move a progress bar smoothly between snapshots.
+     * Uses the same monotonic clock as the capture, so changes to the wall clock do not make the position jump or freeze.
+     *
+     * @return the position extrapolated to now.
+     * @see #positionInMillisAt(long)
+     */
+    public long extrapolatedPositionInMillis() {
+        return positionInMillisAt(SystemClock.elapsedRealtime());
+    }
+
+    public PlaybackSnapshot withBitrates(Bitrate audioBitrate, Bitrate videoBitrate) {
+        return new PlaybackSnapshot(
+                state,
+                positionInMillis,
+                bufferedPositionInMillis,
+                durationInMillis,
+                audioBitrate,
+                videoBitrate,
+                capturedAtInMillis
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PlaybackSnapshot that = (PlaybackSnapshot) o;
+
+        if (positionInMillis != that.positionInMillis) {
+            return false;
+        }
+        if (bufferedPositionInMillis != that.bufferedPositionInMillis) {
+            return false;
+        }
+        if (durationInMillis != that.durationInMillis) {
+            return false;
+        }
+        if (capturedAtInMillis != that.capturedAtInMillis) {
+            return false;
+        }
+        if (state != that.state) {
+            return false;
+        }
+        if (!audioBitrate.equals(that.audioBitrate)) {
+            return false;
+        }
+        return videoBitrate.equals(that.videoBitrate);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = state.hashCode();
+        result = 31 * result + (int) (positionInMillis ^ (positionInMillis >>> 32));
+        result = 31 * result + (int) (bufferedPositionInMillis ^ (bufferedPositionInMillis >>> 32));
+        result = 31 * result + (int) (durationInMillis ^ (durationInMillis >>> 32));
+        result = 31 * result + audioBitrate.hashCode();
+        result = 31 * result + videoBitrate.hashCode();
+        result = 31 * result + (int) (capturedAtInMillis ^ (capturedAtInMillis >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaybackSnapshot{"
+                + "state=" + state
+                + ", positionInMillis=" + positionInMillis
+                + ", bufferedPositionInMillis=" + bufferedPositionInMillis
+                + ", durationInMillis=" + durationInMillis
+                + ", audioBitrate=" + audioBitrate.asKilobits() + "kbps"
+                + ", videoBitrate=" + videoBitrate.asKilobits() + "kbps"
+                + ", capturedAtInMillis=" + capturedAtInMillis
+                + '}';
+    }
+}
@@ -0,0 +1,173 @@
+package com.novoda.noplayer.model;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quality of experience statistics of the current playback session, which starts when a video is loaded.
+ * Durations only count the time during which playback was requested, time spent paused is left out.
+ * They are measured on a monotonic clock, so changes to the wall clock do not affect them.
+ */
+public final class PlaybackStats {
+
+    private static final long MILLIS_IN_A_MINUTE = 60000;
+
+    private final Optional<Long> joinTimeInMillis;
+    private final long playingDurationInMillis;
+    private final int stallCount;
+    private final long stallDurationInMillis;
+    private final VideoQualityStats videoQualityStats;
+    private final long bytesLoaded;
+
+    public static PlaybackStats empty() {
+        return new PlaybackStats(Optional.<Long>absent(), 0, 0, 0, VideoQualityStats.empty(), 0);
+    }
+
+    public PlaybackStats(Optional<Long> joinTimeInMillis,
+                         long playingDurationInMillis,
+                         int stallCount,
+                         long stallDurationInMillis,
+                         VideoQualityStats videoQualityStats,
+                         long bytesLoaded) {
+        this.joinTimeInMillis = joinTimeInMillis;
+        this.playingDurationInMillis = playingDurationInMillis;
+        this.stallCount = stallCount;
+        this.stallDurationInMillis = stallDurationInMillis;
+        this.videoQualityStats = videoQualityStats;
+        this.bytesLoaded = bytesLoaded;
+    }
+
+    /**
+     * @return time from loading the video until it first played, absent while it has not played yet.
+     */
+    public Optional<Long> joinTimeInMillis() {
+        return joinTimeInMillis;
+    }
+
+    public long playingDurationInMillis() {
+        return playingDurationInMillis;
+    }
+
+    /**
+     * @return how many times playback stopped to buffer after it first played. Buffering caused by a seek is not a stall,
+     * it is left out of the stall count and durations until the player is ready again.
+     */
+    public int stallCount() {
+        return stallCount;
+    }
+
+    public long stallDurationInMillis() {
+        return stallDurationInMillis;
+    }
+
+    /**
+     * @return share of the time after joining spent stalled rather than playing, from 0 to 1.
+     */
+    public double rebufferRatio() {
+        long watchedDurationInMillis = stallDurationInMillis + playingDurationInMillis;
+        return watchedDurationInMillis == 0 ? 0 : (double) stallDurationInMillis / watchedDurationInMillis;
+    }
+
+    /**
+     * @return bitrate of the video that played, weighted by how long each bitrate played for.
+     */
+    public Bitrate averageVideoBitrate() {
+        return videoQualityStats.averageVideoBitrate();
+    }
+
+    /**
+     * @return how many times the video bitrate changed after the first one was selected.
+     */
+    public int qualitySwitchCount() {
+        return videoQualityStats.qualitySwitchCount();
+    }
+
+    public int droppedFrames() {
+        return videoQualityStats.droppedFrames();
+    }
+
+    public double droppedFramesPerMinute() {
+        return playingDurationInMillis == 0 ? 0 : (double) droppedFrames() * MILLIS_IN_A_MINUTE / playingDurationInMillis;
+    }
+
+    /**
+     * @return bytes of manifests and media loaded, including loads that were canceled or failed. Always 0 for the Android MediaPlayer.
+     */
+    public long bytesLoaded() {
+        return bytesLoaded;
+    }
+
+    /**
+     * @return every statistic keyed by a stable name, ready to be reported. The join time is left out until the video played.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> stats = new HashMap<>();
+        if (joinTimeInMillis.isPresent()) {
+            stats.put("join_time_ms", String.valueOf(joinTimeInMillis.get()));
+        }
+        stats.put("playing_duration_ms", String.valueOf(playingDurationInMillis));
+        stats.put("stall_count", String.valueOf(stallCount));
+        stats.put("stall_duration_ms", String.valueOf(stallDurationInMillis));
+        stats.put("rebuffer_ratio", String.valueOf(rebufferRatio()));
+        stats.put("average_video_bitrate_kbps", String.valueOf(averageVideoBitrate().asKilobits()));
+        stats.put("quality_switch_count", String.valueOf(qualitySwitchCount()));
+        stats.put("dropped_frames", String.valueOf(droppedFrames()));
+        stats.put("dropped_frames_per_minute", String.valueOf(droppedFramesPerMinute()));
+        stats.put("bytes_loaded", String.valueOf(bytesLoaded));
+        return stats;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PlaybackStats that = (PlaybackStats) o;
+
+        if (playingDurationInMillis != that.playingDurationInMillis) {
+            return false;
+        }
+        if (stallCount != that.stallCount) {
+            return false;
+        }
+        if (stallDurationInMillis != that.stallDurationInMillis) {
+            return false;
+        }
+        if (bytesLoaded != that.bytesLoaded) {
+            return false;
+        }
+        if (!joinTimeInMillis.equals(that.joinTimeInMillis)) {
+            return false;
+        }
+        return videoQualityStats.equals(that.videoQualityStats);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = joinTimeInMillis.hashCode();
+        result = 31 * result + (int) (playingDurationInMillis ^ (playingDurationInMillis >>> 32));
+        result = 31 * result + stallCount;
+        result = 31 * result + (int) (stallDurationInMillis ^ (stallDurationInMillis >>> 32));
+        result = 31 * result + videoQualityStats.hashCode();
+        result = 31 * result + (int) (bytesLoaded ^ (bytesLoaded >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PlaybackStats{"
+                + "joinTimeInMillis=" + joinTimeInMillis
+                + ", playingDurationInMillis=" + playingDurationInMillis
+                + ", stallCount=" + stallCount
+                + ", stallDurationInMillis=" + stallDurationInMillis
+                + ", videoQualityStats=" + videoQualityStats
+                + ", bytesLoaded=" + bytesLoaded
+                + '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.novoda.noplayer.model;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+/**
+ * Time taken by each phase of starting the playback of a video, in milliseconds since the video was loaded.
+ * When the video was preloaded, phases are measured from the call to load it and phases completed before are reported as 0.
+ * Phases that did not happen for the loaded video, like acquiring a license for clear content, are absent.
+ */
+public final class StartupReport {
+
+    private final Optional<Long> playerCreatedInMillis;
+    private final Optional<Long> manifestLoadedInMillis;
+    private final Optional<Long> firstSegmentLoadedInMillis;
+    private final DrmStartupReport drmStartupReport;
+    private final Optional<Long> decoderInitialisedInMillis;
+    private final long firstFrameRenderedInMillis;
+
+    public StartupReport(Optional<Long> playerCreatedInMillis,
+                         Optional<Long> manifestLoadedInMillis,
+                         Optional<Long> firstSegmentLoadedInMillis,
+                         DrmStartupReport drmStartupReport,
+                         Optional<Long> decoderInitialisedInMillis,
+                         long firstFrameRenderedInMillis) {
+        this.playerCreatedInMillis = playerCreatedInMillis;
+        this.manifestLoadedInMillis = manifestLoadedInMillis;
+        this.firstSegmentLoadedInMillis = firstSegmentLoadedInMillis;
+        this.drmStartupReport = drmStartupReport;
+        this.decoderInitialisedInMillis = decoderInitialisedInMillis;
+        this.firstFrameRenderedInMillis = firstFrameRenderedInMillis;
+    }
+
+    /**
+     * @return when the underlying player was created, absent when a previous player was reused.
+     */
+    public Optional<Long> playerCreatedInMillis() {
+        return playerCreatedInMillis;
+    }
+
+    /**
+     * @return when the manifest was loaded, absent for content without a manifest.
+     */
+    public Optional<Long> manifestLoadedInMillis() {
+        return manifestLoadedInMillis;
+    }
+
+    public Optional<Long> firstSegmentLoadedInMillis() {
+        return firstSegmentLoadedInMillis;
+    }
+
+    /**
+     * @return when the player asked for a DRM session, absent for clear content.
+     */
+    public Optional<Long> drmSessionRequestedInMillis() {
+        return drmStartupReport.sessionRequestedInMillis();
+    }
+
+    /**
+     * @return when the DRM session was opened, absent for clear content.
+     */
+    public Optional<Long> drmSessionOpenedInMillis() {
+        return drmStartupReport.sessionOpenedInMillis();
+    }
+
+    /**
+     * @return when the DRM license was acquired, absent for clear content.
+     */
+    public Optional<Long> drmLicenseAcquiredInMillis() {
+        return drmStartupReport.licenseAcquiredInMillis();
+    }
+
+    public Optional<Long> decoderInitialisedInMillis() {
+        return decoderInitialisedInMillis;
+    }
+
+    public long firstFrameRenderedInMillis() {
+        return firstFrameRenderedInMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        StartupReport that = (StartupReport) o;
+
+        if (firstFrameRenderedInMillis != that.firstFrameRenderedInMillis) {
+            return false;
+        }
+        if (!playerCreatedInMillis.equals(that.playerCreatedInMillis)) {
+            return false;
+        }
+        if (!manifestLoadedInMillis.equals(that.manifestLoadedInMillis)) {
+            return false;
+        }
+        if (!firstSegmentLoadedInMillis.equals(that.firstSegmentLoadedInMillis)) {
+            return false;
+        }
+        if (!drmStartupReport.equals(that.drmStartupReport)) {
+            return false;
+        }
+        return decoderInitialisedInMillis.equals(that.decoderInitialisedInMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = playerCreatedInMillis.hashCode();
+        result = 31 * result + manifestLoadedInMillis.hashCode();
+        result = 31 * result + firstSegmentLoadedInMillis.hashCode();
+        result = 31 * result + drmStartupReport.hashCode();
+        result = 31 * result + decoderInitialisedInMillis.hashCode();
+        result = 31 * result + (int) (firstFrameRenderedInMillis ^ (firstFrameRenderedInMillis >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupReport{"
+                + "playerCreatedInMillis=" + playerCreatedInMillis
+                + ", manifestLoadedInMillis=" + manifestLoadedInMillis
+                + ", firstSegmentLoadedInMillis=" + firstSegmentLoadedInMillis
+                + ", drmStartupReport=" + drmStartupReport
+                + ", decoderInitialisedInMillis=" + decoderInitialisedInMillis
+                + ", firstFrameRenderedInMillis=" + firstFrameRenderedInMillis
+                + '}';
+    }
+}
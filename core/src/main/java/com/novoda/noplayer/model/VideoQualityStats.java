@@ -0,0 +1,70 @@
+package com.novoda.noplayer.model;
+
+/**
+ * Statistics of {@link PlaybackStats} about the quality of the video that played.
+ */
+public final class VideoQualityStats {
+
+    private final Bitrate averageVideoBitrate;
+    private final int qualitySwitchCount;
+    private final int droppedFrames;
+
+    public static VideoQualityStats empty() {
+        return new VideoQualityStats(Bitrate.fromBitsPerSecond(0), 0, 0);
+    }
+
+    public VideoQualityStats(Bitrate averageVideoBitrate, int qualitySwitchCount, int droppedFrames) {
+        this.averageVideoBitrate = averageVideoBitrate;
+        this.qualitySwitchCount = qualitySwitchCount;
+        this.droppedFrames = droppedFrames;
+    }
+
+    public Bitrate averageVideoBitrate() {
+        return averageVideoBitrate;
+    }
+
+    public int qualitySwitchCount() {
+        return qualitySwitchCount;
+    }
+
+    public int droppedFrames() {
+        return droppedFrames;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        VideoQualityStats that = (VideoQualityStats) o;
+
+        if (qualitySwitchCount != that.qualitySwitchCount) {
+            return false;
+        }
+        if (droppedFrames != that.droppedFrames) {
+            return false;
+        }
+        return averageVideoBitrate.equals(that.averageVideoBitrate);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = averageVideoBitrate.hashCode();
+        result = 31 * result + qualitySwitchCount;
+        result = 31 * result + droppedFrames;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoQualityStats{"
+                + "averageVideoBitrate=" + averageVideoBitrate.asKilobits() + "kbps"
+                + ", qualitySwitchCount=" + qualitySwitchCount
+                + ", droppedFrames=" + droppedFrames
+                + '}';
+    }
+}
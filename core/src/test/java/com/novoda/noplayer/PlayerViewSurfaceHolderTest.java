@@ -0,0 +1,77 @@
+package com.novoda.noplayer;
+
+import android.graphics.PixelFormat;
+import android.graphics.SurfaceTexture;
+import android.view.SurfaceHolder;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PlayerViewSurfaceHolderTest {
+
+    private static final int FORMAT = PixelFormat.RGBA_8888;
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 180;
+    private static final int FULLSCREEN_WIDTH = 1920;
+    private static final int FULLSCREEN_HEIGHT = 1080;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SurfaceHolder surfaceHolder;
+    @Mock
+    private SurfaceTexture surfaceTexture;
+    @Mock
+    private PlayerSurfaceHolder.SurfaceSizeListener surfaceSizeListener;
+
+    private PlayerViewSurfaceHolder playerViewSurfaceHolder;
+
+    @Before
+    public void setUp() {
+        playerViewSurfaceHolder = new PlayerViewSurfaceHolder();
+    }
+
+    @Test
+    public void givenSurfaceSizeIsUnknown_whenAddingSurfaceSizeListener_thenDoesNotNotify() {
+        playerViewSurfaceHolder.addSurfaceSizeListener(surfaceSizeListener);
+
+        verify(surfaceSizeListener, never()).onSurfaceSizeChanged(anyInt(), anyInt());
+    }
+
+    @Test
+    public void givenSurfaceSizeIsKnown_whenAddingSurfaceSizeListener_thenNotifiesCurrentSize() {
+        playerViewSurfaceHolder.surfaceChanged(surfaceHolder, FORMAT, WIDTH, HEIGHT);
+
+        playerViewSurfaceHolder.addSurfaceSizeListener(surfaceSizeListener);
+
+        verify(surfaceSizeListener).onSurfaceSizeChanged(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void givenSurfaceSizeListener_whenSurfaceTextureIsResized_thenNotifiesNewSize() {
+        playerViewSurfaceHolder.addSurfaceSizeListener(surfaceSizeListener);
+
+        playerViewSurfaceHolder.onSurfaceTextureSizeChanged(surfaceTexture, FULLSCREEN_WIDTH, FULLSCREEN_HEIGHT);
+
+        verify(surfaceSizeListener).onSurfaceSizeChanged(FULLSCREEN_WIDTH, FULLSCREEN_HEIGHT);
+    }
+
+    @Test
+    public void givenRemovedSurfaceSizeListener_whenSurfaceIsResized_thenDoesNotNotify() {
+        playerViewSurfaceHolder.addSurfaceSizeListener(surfaceSizeListener);
+        playerViewSurfaceHolder.removeSurfaceSizeListener(surfaceSizeListener);
+
+        playerViewSurfaceHolder.surfaceChanged(surfaceHolder, FORMAT, FULLSCREEN_WIDTH, FULLSCREEN_HEIGHT);
+
+        verify(surfaceSizeListener, never()).onSurfaceSizeChanged(anyInt(), anyInt());
+    }
+}
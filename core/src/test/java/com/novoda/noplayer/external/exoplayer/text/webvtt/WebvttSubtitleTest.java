@@ -0,0 +1,139 @@
+package com.novoda.noplayer.external.exoplayer.text.webvtt;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.text.webvtt.WebvttCue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class WebvttSubtitleTest {
+
+    private static final long ONE_SECOND_IN_MICROS = 1000000;
+    private static final long TWO_SECONDS_IN_MICROS = 2000000;
+    private static final long THREE_SECONDS_IN_MICROS = 3000000;
+    private static final long FOUR_SECONDS_IN_MICROS = 4000000;
+    private static final long HALF_A_SECOND_IN_MICROS = 500000;
+
+    private static final WebvttCue FIRST_CUE = positionedCue(ONE_SECOND_IN_MICROS, THREE_SECONDS_IN_MICROS, "first");
+    private static final WebvttCue SECOND_CUE = positionedCue(TWO_SECONDS_IN_MICROS, FOUR_SECONDS_IN_MICROS, "second");
+
+    @Test
+    public void givenNoCues_whenGettingCues_thenReturnsNoCues() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Collections.<WebvttCue>emptyList());
+
+        assertThat(subtitle.getCues(0)).isEmpty();
+        assertThat(subtitle.getCues(ONE_SECOND_IN_MICROS)).isEmpty();
+    }
+
+    @Test
+    public void givenNoCues_whenGettingEventTimes_thenHasNoEventTimes() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Collections.<WebvttCue>emptyList());
+
+        assertThat(subtitle.getEventTimeCount()).isZero();
+        assertThat(subtitle.getNextEventTimeIndex(0)).isEqualTo(C.INDEX_UNSET);
+    }
+
+    @Test
+    public void givenOverlappingCues_whenGettingEventTimes_thenReturnsSortedStartAndEndTimes() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(SECOND_CUE, FIRST_CUE));
+
+        assertThat(subtitle.getEventTimeCount()).isEqualTo(4);
+        assertThat(subtitle.getEventTime(0)).isEqualTo(ONE_SECOND_IN_MICROS);
+        assertThat(subtitle.getEventTime(1)).isEqualTo(TWO_SECONDS_IN_MICROS);
+        assertThat(subtitle.getEventTime(2)).isEqualTo(THREE_SECONDS_IN_MICROS);
+        assertThat(subtitle.getEventTime(3)).isEqualTo(FOUR_SECONDS_IN_MICROS);
+    }
+
+    @Test
+    public void givenOverlappingCues_whenGettingCuesOutsideOverlap_thenReturnsOnlyActiveCue() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(FIRST_CUE, SECOND_CUE));
+
+        assertThat(subtitle.getCues(ONE_SECOND_IN_MICROS + HALF_A_SECOND_IN_MICROS)).containsExactly(FIRST_CUE);
+        assertThat(subtitle.getCues(THREE_SECONDS_IN_MICROS + HALF_A_SECOND_IN_MICROS)).containsExactly(SECOND_CUE);
+    }
+
+    @Test
+    public void givenOverlappingCues_whenGettingCuesInsideOverlap_thenReturnsBothCuesInOrderOfFile() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(SECOND_CUE, FIRST_CUE));
+
+        List<Cue> cues = subtitle.getCues(TWO_SECONDS_IN_MICROS + HALF_A_SECOND_IN_MICROS);
+
+        assertThat(cues).containsExactly(SECOND_CUE, FIRST_CUE);
+    }
+
+    @Test
+    public void givenCueStartsOnSegmentBoundary_whenGettingCuesAtBoundary_thenIncludesStartingCue() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(FIRST_CUE, SECOND_CUE));
+
+        assertThat(subtitle.getCues(ONE_SECOND_IN_MICROS)).containsExactly(FIRST_CUE);
+        assertThat(subtitle.getCues(TWO_SECONDS_IN_MICROS)).containsExactly(FIRST_CUE, SECOND_CUE);
+    }
+
+    @Test
+    public void givenCueEndsOnSegmentBoundary_whenGettingCuesAtBoundary_thenExcludesEndingCue() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(FIRST_CUE, SECOND_CUE));
+
+        assertThat(subtitle.getCues(THREE_SECONDS_IN_MICROS)).containsExactly(SECOND_CUE);
+        assertThat(subtitle.getCues(FOUR_SECONDS_IN_MICROS)).isEmpty();
+    }
+
+    @Test
+    public void givenCueEndsWhereNextCueStarts_whenGettingCuesAtBoundary_thenReturnsOnlyNextCue() {
+        WebvttCue firstCue = new WebvttCue(ONE_SECOND_IN_MICROS, TWO_SECONDS_IN_MICROS, "first");
+        WebvttCue nextCue = new WebvttCue(TWO_SECONDS_IN_MICROS, THREE_SECONDS_IN_MICROS, "next");
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(firstCue, nextCue));
+
+        assertThat(subtitle.getCues(TWO_SECONDS_IN_MICROS)).containsExactly(nextCue);
+    }
+
+    @Test
+    public void givenCuesStartingAtSameTime_whenGettingCuesAfterShorterCueEnds_thenReturnsOnlyLongerCue() {
+        WebvttCue longerCue = positionedCue(ONE_SECOND_IN_MICROS, THREE_SECONDS_IN_MICROS, "longer");
+        WebvttCue shorterCue = positionedCue(ONE_SECOND_IN_MICROS, TWO_SECONDS_IN_MICROS, "shorter");
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(longerCue, shorterCue));
+
+        assertThat(subtitle.getCues(ONE_SECOND_IN_MICROS)).containsExactly(longerCue, shorterCue);
+        assertThat(subtitle.getCues(TWO_SECONDS_IN_MICROS)).containsExactly(longerCue);
+    }
+
+    @Test
+    public void givenTimeBeforeFirstCue_whenGettingCues_thenReturnsNoCues() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(FIRST_CUE, SECOND_CUE));
+
+        assertThat(subtitle.getCues(HALF_A_SECOND_IN_MICROS)).isEmpty();
+    }
+
+    @Test
+    public void givenCuesOfSegmentAlreadyRequested_whenGettingCuesWithinSameSegment_thenReturnsCachedCues() {
+        WebvttSubtitle subtitle = new WebvttSubtitle(Arrays.asList(FIRST_CUE, SECOND_CUE));
+        List<Cue> cues = subtitle.getCues(TWO_SECONDS_IN_MICROS);
+
+        List<Cue> cuesLaterInSegment = subtitle.getCues(TWO_SECONDS_IN_MICROS + HALF_A_SECOND_IN_MICROS);
+
+        assertThat(cuesLaterInSegment).isSameAs(cues);
+    }
+
+    /**
+     * Positioned cues are not merged into a single cue, which would need the text classes of Android.
+     */
+    private static WebvttCue positionedCue(long startTimeUs, long endTimeUs, String text) {
+        return new WebvttCue(
+                startTimeUs,
+                endTimeUs,
+                text,
+                null,
+                0,
+                Cue.LINE_TYPE_FRACTION,
+                Cue.ANCHOR_TYPE_START,
+                0,
+                Cue.ANCHOR_TYPE_START,
+                1
+        );
+    }
+}
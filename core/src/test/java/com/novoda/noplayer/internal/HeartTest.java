@@ -3,24 +3,30 @@ package com.novoda.noplayer.internal;
 import android.os.Handler;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.will;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 public class HeartTest {
 
-    private final NoPlayer.HeartbeatCallback heartbeatCallback = mock(NoPlayer.HeartbeatCallback.class);
+    private static final long HEARTBEAT_INTERVAL_IN_MILLIS = 500;
+
+    private final HeartbeatCallbacks heartbeatCallback = mock(HeartbeatCallbacks.class);
     private final NoPlayer noPlayer = mock(NoPlayer.class);
     private final Handler handler = mock(Handler.class);
+    private final Clock clock = mock(Clock.class);
 
     private Heart heart;
 
@@ -35,7 +41,9 @@ public class HeartTest {
             }
         }).given(handler).post(any(Runnable.class));
 
-        heart = Heart.newInstance(handler);
+        given(heartbeatCallback.shortestIntervalInMillis()).willReturn(HEARTBEAT_INTERVAL_IN_MILLIS);
+
+        heart = new Heart(new HeartbeatScheduler(handler, clock), handler);
     }
 
     @Test(expected = IllegalStateException.class)
@@ -65,7 +73,7 @@ public class HeartTest {
 
         heart.startBeatingHeart();
 
-        then(handler).should().postDelayed(any(Runnable.class), anyLong());
+        then(handler).should().postDelayed(any(Runnable.class), eq(HEARTBEAT_INTERVAL_IN_MILLIS));
     }
 
     @Test
@@ -75,7 +83,7 @@ public class HeartTest {
 
         heart.startBeatingHeart();
 
-        then(heartbeatCallback).shouldHaveZeroInteractions();
+        then(heartbeatCallback).should(never()).onBeat(noPlayer);
     }
 
     @Test
@@ -89,6 +97,23 @@ public class HeartTest {
         then(heartbeatCallback).should().onBeat(noPlayer);
     }
 
+    @Test
+    public void startsBeatingAgain_whenCallbackIsRegisteredWhileBeatingWithoutCallbacks() {
+        given(noPlayer.isPlaying()).willReturn(true);
+        given(heartbeatCallback.shortestIntervalInMillis()).willReturn(HeartbeatCallbacks.NO_INTERVAL);
+        Heart.Heartbeat onHeartbeat = new Heart.Heartbeat(heartbeatCallback, noPlayer);
+        heart.bind(onHeartbeat);
+        heart.startBeatingHeart();
+        ArgumentCaptor<HeartbeatCallbacks.CallbackRegisteredListener> listenerCaptor =
+                ArgumentCaptor.forClass(HeartbeatCallbacks.CallbackRegisteredListener.class);
+        then(heartbeatCallback).should().setCallbackRegisteredListener(listenerCaptor.capture());
+        given(heartbeatCallback.shortestIntervalInMillis()).willReturn(HEARTBEAT_INTERVAL_IN_MILLIS);
+
+        listenerCaptor.getValue().onCallbackRegistered();
+
+        then(heartbeatCallback).should().onBeat(noPlayer);
+    }
+
     @Test
     public void emitsOnBeat_whenForcingBeat() {
         given(noPlayer.isPlaying()).willReturn(true);
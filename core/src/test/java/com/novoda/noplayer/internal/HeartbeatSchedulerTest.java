@@ -0,0 +1,220 @@
+package com.novoda.noplayer.internal;
+
+import android.app.Application;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HeartbeatSchedulerTest {
+
+    private static final long INTERVAL_IN_MILLIS = 500;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Handler handler;
+    @Mock
+    private Clock clock;
+    @Mock
+    private Heart heart;
+    @Mock
+    private Heart otherHeart;
+    @Mock
+    private Context context;
+    @Mock
+    private Application application;
+    @Mock
+    private Looper looper;
+
+    private HeartbeatScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        given(heart.intervalInMillis()).willReturn(INTERVAL_IN_MILLIS);
+        given(otherHeart.intervalInMillis()).willReturn(INTERVAL_IN_MILLIS);
+        given(handler.getLooper()).willReturn(looper);
+        given(context.getApplicationContext()).willReturn(application);
+        scheduler = new HeartbeatScheduler(handler, clock);
+    }
+
+    @Test
+    public void whenStartingHeart_thenBeatsStraightAway_andSchedulesNextBeatAfterInterval() {
+        givenCurrentTime(0);
+        scheduler.start(heart);
+
+        postedTick().run();
+
+        verify(heart).beat();
+        verify(handler).postDelayed(any(Runnable.class), eq(INTERVAL_IN_MILLIS));
+    }
+
+    @Test
+    public void givenHeartsDueCloseToEachOther_whenTicking_thenBeatsThemTogether() {
+        givenCurrentTime(0);
+        scheduler.start(heart);
+        postedTick().run();
+        givenCurrentTime(100);
+        scheduler.start(otherHeart);
+        postedTick().run();
+
+        givenCurrentTime(INTERVAL_IN_MILLIS);
+        delayedTick().run();
+
+        verify(heart, times(2)).beat();
+        verify(otherHeart, times(2)).beat();
+    }
+
+    @Test
+    public void givenHeartsBeatTogether_whenTicking_thenSchedulesOneTickForAllOfThem() {
+        givenCurrentTime(0);
+        scheduler.start(heart);
+        scheduler.start(otherHeart);
+        Runnable tick = postedTick();
+        reset(handler);
+
+        tick.run();
+
+        verify(handler, times(1)).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenSuspended_whenStartingHeart_thenDoesNotScheduleBeats() {
+        scheduler.suspend();
+
+        scheduler.start(heart);
+
+        verify(handler, never()).post(any(Runnable.class));
+        verify(handler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenSuspendedWithBeatingHeart_whenResuming_thenSchedulesBeatsAgain() {
+        scheduler.start(heart);
+        scheduler.suspend();
+        reset(handler);
+
+        scheduler.resume();
+
+        verify(handler).post(any(Runnable.class));
+    }
+
+    @Test
+    public void givenLastHeartStops_thenCancelsScheduledTick() {
+        scheduler.start(heart);
+        Runnable tick = postedTick();
+
+        scheduler.stop(heart);
+
+        verify(handler).removeCallbacks(tick);
+    }
+
+    @Test
+    public void givenHeartWithoutCallbacks_whenStartingHeart_thenDoesNotScheduleBeats() {
+        given(heart.intervalInMillis()).willReturn(HeartbeatCallbacks.NO_INTERVAL);
+
+        scheduler.start(heart);
+
+        verify(handler, never()).post(any(Runnable.class));
+        verify(handler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenLastCallbackOfHeartWasUnregistered_whenTicking_thenStopsBeatingHeart() {
+        givenCurrentTime(0);
+        scheduler.start(heart);
+        Runnable tick = postedTick();
+        given(heart.intervalInMillis()).willReturn(HeartbeatCallbacks.NO_INTERVAL);
+
+        tick.run();
+
+        verify(heart, never()).beat();
+        verify(handler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenSchedulerObtainedForLooper_whenObtainingAgain_thenSharesScheduler() {
+        HeartbeatScheduler obtainedScheduler = HeartbeatScheduler.obtain(context, handler);
+
+        HeartbeatScheduler sharedScheduler = HeartbeatScheduler.obtain(context, handler);
+
+        assertThat(sharedScheduler).isSameAs(obtainedScheduler);
+        verify(application, times(1)).registerActivityLifecycleCallbacks(any(Application.ActivityLifecycleCallbacks.class));
+        HeartbeatScheduler.release(obtainedScheduler);
+        HeartbeatScheduler.release(sharedScheduler);
+    }
+
+    @Test
+    public void givenSchedulerStillUsedByAnotherPlayer_whenReleasing_thenKeepsSharingScheduler() {
+        HeartbeatScheduler obtainedScheduler = HeartbeatScheduler.obtain(context, handler);
+        HeartbeatScheduler.obtain(context, handler);
+
+        HeartbeatScheduler.release(obtainedScheduler);
+
+        verify(application, never()).unregisterActivityLifecycleCallbacks(any(Application.ActivityLifecycleCallbacks.class));
+        assertThat(HeartbeatScheduler.obtain(context, handler)).isSameAs(obtainedScheduler);
+        HeartbeatScheduler.release(obtainedScheduler);
+        HeartbeatScheduler.release(obtainedScheduler);
+    }
+
+    @Test
+    public void givenLastPlayerOfLooperIsReleased_whenReleasing_thenForgetsScheduler_andUnregistersActivityCallbacks() {
+        HeartbeatScheduler obtainedScheduler = HeartbeatScheduler.obtain(context, handler);
+
+        HeartbeatScheduler.release(obtainedScheduler);
+
+        verify(application).unregisterActivityLifecycleCallbacks(any(Application.ActivityLifecycleCallbacks.class));
+        HeartbeatScheduler newScheduler = HeartbeatScheduler.obtain(context, handler);
+        assertThat(newScheduler).isNotSameAs(obtainedScheduler);
+        HeartbeatScheduler.release(newScheduler);
+    }
+
+    @Test
+    public void givenLooperHasQuit_whenForgettingLooper_thenForgetsScheduler_andUnregistersActivityCallbacks() {
+        HeartbeatScheduler obtainedScheduler = HeartbeatScheduler.obtain(context, handler);
+
+        HeartbeatScheduler.forget(looper);
+
+        verify(application).unregisterActivityLifecycleCallbacks(any(Application.ActivityLifecycleCallbacks.class));
+        HeartbeatScheduler newScheduler = HeartbeatScheduler.obtain(context, handler);
+        assertThat(newScheduler).isNotSameAs(obtainedScheduler);
+        HeartbeatScheduler.release(newScheduler);
+    }
+
+    private void givenCurrentTime(long currentTime) {
+        given(clock.getCurrentTime()).willReturn(currentTime);
+    }
+
+    private Runnable postedTick() {
+        ArgumentCaptor<Runnable> tickCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(handler, atLeastOnce()).post(tickCaptor.capture());
+        return tickCaptor.getValue();
+    }
+
+    private Runnable delayedTick() {
+        ArgumentCaptor<Runnable> tickCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(handler, atLeastOnce()).postDelayed(tickCaptor.capture(), anyLong());
+        return tickCaptor.getValue();
+    }
+}
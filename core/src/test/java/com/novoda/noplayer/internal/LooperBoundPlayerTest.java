@@ -0,0 +1,234 @@
+package com.novoda.noplayer.internal;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.Options;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.TrackSelectionEditor;
+import com.novoda.noplayer.model.PlayerAudioTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import utils.ExceptionMatcher;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LooperBoundPlayerTest {
+
+    private static final long POSITION_IN_MILLIS = 5000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private NoPlayer player;
+    @Mock
+    private Handler playerHandler;
+    @Mock
+    private Looper playerLooper;
+    @Mock
+    private Handler mainHandler;
+    @Mock
+    private Looper mainLooper;
+    @Mock
+    private PlayerView playerView;
+
+    private NoPlayer looperBoundPlayer;
+
+    @Before
+    public void setUp() {
+        given(playerHandler.getLooper()).willReturn(playerLooper);
+        given(mainHandler.getLooper()).willReturn(mainLooper);
+        given(playerLooper.getThread()).willReturn(new Thread());
+        given(playerHandler.post(any(Runnable.class))).willAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                Runnable runnable = invocation.getArgument(0);
+                runnable.run();
+                return true;
+            }
+        });
+        looperBoundPlayer = LooperBoundPlayer.bind(player, playerHandler, mainHandler);
+    }
+
+    @Test
+    public void givenCalledFromPlayerThread_whenCallingPlayer_thenCallsPlayerStraightAway() {
+        given(playerLooper.getThread()).willReturn(Thread.currentThread());
+
+        looperBoundPlayer.seekTo(POSITION_IN_MILLIS);
+
+        verify(player).seekTo(POSITION_IN_MILLIS);
+        verify(playerHandler, never()).post(any(Runnable.class));
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenCallingPlayer_thenCallsPlayerOnPlayerThread() {
+        looperBoundPlayer.seekTo(POSITION_IN_MILLIS);
+
+        verify(playerHandler).post(any(Runnable.class));
+        verify(player).seekTo(POSITION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenCallingPlayer_thenWaitsForPlayerThread() {
+        givenPlayerThreadRunsPostedCallsLater();
+
+        looperBoundPlayer.seekTo(POSITION_IN_MILLIS);
+
+        verify(player).seekTo(POSITION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenPlayerThrows_thenRethrowsExceptionToCaller() {
+        IllegalStateException exception = new IllegalStateException("Video must be loaded before trying to interact with the player");
+        willThrow(exception).given(player).play();
+
+        thrown.expect(sameInstance(exception));
+
+        looperBoundPlayer.play();
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenLoadingVideoThenSelectingTrack_thenSelectsTrackAfterLoadingVideo() {
+        givenPlayerThreadRunsPostedCallsLater();
+        Uri uri = mock(Uri.class);
+        Options options = mock(Options.class);
+        PlayerAudioTrack audioTrack = mock(PlayerAudioTrack.class);
+
+        looperBoundPlayer.loadVideo(uri, options);
+        looperBoundPlayer.selectAudioTrack(audioTrack);
+
+        InOrder inOrder = inOrder(player);
+        inOrder.verify(player).loadVideo(uri, options);
+        inOrder.verify(player).selectAudioTrack(audioTrack);
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenQueryingPlayer_thenReturnsResultOfPlayerOnPlayerThread() {
+        givenPlayerThreadRunsPostedCallsLater();
+        given(player.playheadPositionInMillis()).willReturn(POSITION_IN_MILLIS);
+
+        long positionInMillis = looperBoundPlayer.playheadPositionInMillis();
+
+        assertThat(positionInMillis).isEqualTo(POSITION_IN_MILLIS);
+        verify(playerHandler).post(any(Runnable.class));
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenApplyingTrackSelectionEdits_thenAppliesEditsOnPlayerThread() {
+        TrackSelectionEditor editor = mock(TrackSelectionEditor.class);
+        given(player.editTracks()).willReturn(editor);
+        given(editor.apply()).willReturn(true);
+
+        boolean applied = looperBoundPlayer.editTracks().hideSubtitles().apply();
+
+        assertThat(applied).isTrue();
+        InOrder inOrder = inOrder(editor, playerHandler);
+        inOrder.verify(editor).hideSubtitles();
+        inOrder.verify(playerHandler).post(any(Runnable.class));
+        inOrder.verify(editor).apply();
+    }
+
+    @Test
+    public void givenCalledFromAnotherThread_whenSelectingTrack_thenReturnsResultOfPlayer() {
+        PlayerVideoTrack videoTrack = mock(PlayerVideoTrack.class);
+        given(player.selectVideoTrack(videoTrack)).willReturn(true);
+
+        boolean selected = looperBoundPlayer.selectVideoTrack(videoTrack);
+
+        assertThat(selected).isTrue();
+    }
+
+    @Test
+    public void givenPlayerThreadHasQuit_whenCallingPlayer_thenThrowsIllegalStateException() {
+        willReturn(false).given(playerHandler).post(any(Runnable.class));
+
+        thrown.expect(ExceptionMatcher.matches("The player thread has quit, the player can no longer be used", IllegalStateException.class));
+
+        looperBoundPlayer.play();
+    }
+
+    @Test
+    public void whenGettingPlaybackSnapshot_thenDoesNotWaitForPlayerThread() {
+        looperBoundPlayer.getPlaybackSnapshot();
+
+        verify(player).getPlaybackSnapshot();
+        verify(playerHandler, never()).post(any(Runnable.class));
+    }
+
+    @Test
+    public void whenGettingPlaybackStats_thenDoesNotWaitForPlayerThread() {
+        looperBoundPlayer.getPlaybackStats();
+
+        verify(player).getPlaybackStats();
+        verify(playerHandler, never()).post(any(Runnable.class));
+    }
+
+    @Test
+    public void givenPlayerRunsOffMainThread_whenAttachingPlayerView_thenAttachesViewUpdatedFromMainThread() {
+        given(playerView.getStateChangedListener()).willReturn(mock(NoPlayer.StateChangedListener.class));
+        given(playerView.getVideoSizeChangedListener()).willReturn(mock(NoPlayer.VideoSizeChangedListener.class));
+
+        looperBoundPlayer.attach(playerView);
+
+        verify(player).attach(any(MainThreadPlayerView.class));
+    }
+
+    @Test
+    public void givenPlayerViewAttached_whenDetachingPlayerView_thenDetachesSameViewThatWasAttached() {
+        given(playerView.getStateChangedListener()).willReturn(mock(NoPlayer.StateChangedListener.class));
+        given(playerView.getVideoSizeChangedListener()).willReturn(mock(NoPlayer.VideoSizeChangedListener.class));
+        looperBoundPlayer.attach(playerView);
+        ArgumentCaptor<PlayerView> attachedPlayerView = ArgumentCaptor.forClass(PlayerView.class);
+        verify(player).attach(attachedPlayerView.capture());
+
+        looperBoundPlayer.detach(playerView);
+
+        verify(player).detach(attachedPlayerView.getValue());
+    }
+
+    @Test
+    public void givenPlayerRunsOnMainThread_whenAttachingPlayerView_thenAttachesPlayerViewAsItIs() {
+        given(mainHandler.getLooper()).willReturn(playerLooper);
+
+        looperBoundPlayer.attach(playerView);
+
+        verify(player).attach(playerView);
+    }
+
+    private void givenPlayerThreadRunsPostedCallsLater() {
+        given(playerHandler.post(any(Runnable.class))).willAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                Runnable runnable = invocation.getArgument(0);
+                new Thread(runnable).start();
+                return true;
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class PlaybackSnapshotsTest {
+
+    private static final long POSITION_IN_MILLIS = 5000;
+    private static final long BUFFERED_POSITION_IN_MILLIS = 8000;
+    private static final long DURATION_IN_MILLIS = 9000;
+    private static final Bitrate AUDIO_BITRATE = Bitrate.fromBitsPerSecond(128000);
+    private static final Bitrate VIDEO_BITRATE = Bitrate.fromBitsPerSecond(2000000);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private PlaybackSnapshots playbackSnapshots;
+
+    @Before
+    public void setUp() {
+        given(clock.getCurrentTime()).willReturn(0L);
+        playbackSnapshots = new PlaybackSnapshots(clock);
+    }
+
+    @Test
+    public void givenNothingPublished_thenLatestSnapshotIsIdle() {
+        assertThat(playbackSnapshots.latest()).isEqualTo(PlaybackSnapshot.idle(0));
+    }
+
+    @Test
+    public void whenPublishing_thenLatestSnapshotIsCapturedNow() {
+        given(clock.getCurrentTime()).willReturn(1000L);
+
+        playbackSnapshots.publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        PlaybackSnapshot snapshot = playbackSnapshots.latest();
+        assertThat(snapshot.state()).isEqualTo(PlaybackSnapshot.State.PLAYING);
+        assertThat(snapshot.positionInMillis()).isEqualTo(POSITION_IN_MILLIS);
+        assertThat(snapshot.bufferedPositionInMillis()).isEqualTo(BUFFERED_POSITION_IN_MILLIS);
+        assertThat(snapshot.durationInMillis()).isEqualTo(DURATION_IN_MILLIS);
+        assertThat(snapshot.capturedAtInMillis()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void givenBitrateChanged_whenPublishing_thenSnapshotHasLatestBitrates() {
+        playbackSnapshots.onBitrateChanged(AUDIO_BITRATE, VIDEO_BITRATE);
+
+        playbackSnapshots.publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        assertThat(playbackSnapshots.latest().audioBitrate()).isEqualTo(AUDIO_BITRATE);
+        assertThat(playbackSnapshots.latest().videoBitrate()).isEqualTo(VIDEO_BITRATE);
+    }
+
+    @Test
+    public void givenPublished_whenBitrateChanges_thenLatestSnapshotKeepsItsCaptureTime() {
+        playbackSnapshots.publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(1000L);
+
+        playbackSnapshots.onBitrateChanged(AUDIO_BITRATE, VIDEO_BITRATE);
+
+        assertThat(playbackSnapshots.latest().videoBitrate()).isEqualTo(VIDEO_BITRATE);
+        assertThat(playbackSnapshots.latest().capturedAtInMillis()).isEqualTo(0L);
+    }
+
+    @Test
+    public void givenPublished_whenResetting_thenLatestSnapshotIsIdleWithoutBitrates() {
+        playbackSnapshots.onBitrateChanged(AUDIO_BITRATE, VIDEO_BITRATE);
+        playbackSnapshots.publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        playbackSnapshots.reset();
+
+        assertThat(playbackSnapshots.latest()).isEqualTo(PlaybackSnapshot.idle(0));
+    }
+}
@@ -0,0 +1,243 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.PlaybackStats;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class PlaybackStatsCollectorTest {
+
+    private static final Bitrate AUDIO_BITRATE = Bitrate.fromBitsPerSecond(128000);
+    private static final Bitrate LOW_VIDEO_BITRATE = Bitrate.fromBitsPerSecond(1000000);
+    private static final Bitrate HIGH_VIDEO_BITRATE = Bitrate.fromBitsPerSecond(4000000);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private PlaybackStatsCollector collector;
+
+    @Before
+    public void setUp() {
+        givenTimeIs(0);
+        collector = new PlaybackStatsCollector(clock);
+        collector.startSession();
+        collector.onBufferStarted();
+        collector.onVideoPlaying();
+    }
+
+    @Test
+    public void givenNotPlayedYet_thenJoinTimeIsAbsent() {
+        assertThat(collector.stats().joinTimeInMillis()).isEqualTo(Optional.<Long>absent());
+    }
+
+    @Test
+    public void whenFirstBufferingCompletes_thenJoinTimeIsTimeSinceLoadRequested() {
+        givenTimeIs(1500);
+
+        collector.onBufferCompleted();
+
+        assertThat(collector.stats().joinTimeInMillis()).isEqualTo(Optional.of(1500L));
+    }
+
+    @Test
+    public void givenPreloadedBeforeLoadWasRequested_whenFirstBufferingCompletes_thenJoinTimeIsTimeSinceLoadRequested() {
+        givenTimeIs(2000);
+        collector.onLoadRequested();
+
+        givenTimeIs(2500);
+        collector.onBufferCompleted();
+
+        assertThat(collector.stats().joinTimeInMillis()).isEqualTo(Optional.of(500L));
+    }
+
+    @Test
+    public void givenJoined_whenBufferingWhilePlaying_thenCountsStall() {
+        givenJoinedAt(1000);
+        givenTimeIs(5000);
+        collector.onBufferStarted();
+
+        givenTimeIs(7000);
+        collector.onBufferCompleted();
+
+        PlaybackStats stats = collector.stats();
+        assertThat(stats.stallCount()).isEqualTo(1);
+        assertThat(stats.stallDurationInMillis()).isEqualTo(2000);
+        assertThat(stats.playingDurationInMillis()).isEqualTo(4000);
+    }
+
+    @Test
+    public void givenJoined_whenBufferingRepeatedlyReported_thenCountsStallOnce() {
+        givenJoinedAt(1000);
+
+        collector.onBufferStarted();
+        collector.onBufferStarted();
+
+        assertThat(collector.stats().stallCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenJoined_whenBufferingWhilePaused_thenDoesNotCountStall() {
+        givenJoinedAt(1000);
+        collector.onVideoPaused();
+
+        givenTimeIs(5000);
+        collector.onBufferStarted();
+        givenTimeIs(7000);
+
+        PlaybackStats stats = collector.stats();
+        assertThat(stats.stallCount()).isEqualTo(0);
+        assertThat(stats.stallDurationInMillis()).isEqualTo(0);
+        assertThat(stats.playingDurationInMillis()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenJoined_whenBufferingAfterSeek_thenDoesNotCountStall() {
+        givenJoinedAt(1000);
+        givenTimeIs(5000);
+        collector.onSeekStarted();
+        collector.onBufferStarted();
+
+        givenTimeIs(7000);
+        collector.onBufferCompleted();
+
+        PlaybackStats stats = collector.stats();
+        assertThat(stats.stallCount()).isEqualTo(0);
+        assertThat(stats.stallDurationInMillis()).isEqualTo(0);
+        assertThat(stats.playingDurationInMillis()).isEqualTo(4000);
+    }
+
+    @Test
+    public void givenReadyAfterSeek_whenBufferingWhilePlaying_thenCountsStall() {
+        givenJoinedAt(1000);
+        collector.onSeekStarted();
+        collector.onBufferStarted();
+        collector.onBufferCompleted();
+
+        givenTimeIs(5000);
+        collector.onBufferStarted();
+        givenTimeIs(6000);
+
+        PlaybackStats stats = collector.stats();
+        assertThat(stats.stallCount()).isEqualTo(1);
+        assertThat(stats.stallDurationInMillis()).isEqualTo(1000);
+    }
+
+    @Test
+    public void givenSeekCompletedWithoutBuffering_whenBufferingWhilePlaying_thenCountsStall() {
+        givenJoinedAt(1000);
+        collector.onSeekStarted();
+        collector.onSeekCompleted();
+
+        collector.onBufferStarted();
+
+        assertThat(collector.stats().stallCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenBufferingAfterSeek_whenSeekCompletes_thenKeepsBufferingOutOfStalls() {
+        givenJoinedAt(1000);
+        collector.onSeekStarted();
+        collector.onBufferStarted();
+        collector.onSeekCompleted();
+
+        givenTimeIs(3000);
+
+        PlaybackStats stats = collector.stats();
+        assertThat(stats.stallCount()).isEqualTo(0);
+        assertThat(stats.stallDurationInMillis()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenPlayingAtDifferentBitrates_thenAverageVideoBitrateIsWeightedByTimePlayed() {
+        collector.onBitrateChanged(AUDIO_BITRATE, LOW_VIDEO_BITRATE);
+        givenJoinedAt(0);
+        givenTimeIs(3000);
+
+        collector.onBitrateChanged(AUDIO_BITRATE, HIGH_VIDEO_BITRATE);
+        givenTimeIs(4000);
+
+        assertThat(collector.stats().averageVideoBitrate()).isEqualTo(Bitrate.fromBitsPerSecond(1750000));
+    }
+
+    @Test
+    public void givenPlayedForNotWholeSeconds_thenAverageVideoBitrateKeepsBitsPlayedInPartOfASecond() {
+        collector.onBitrateChanged(AUDIO_BITRATE, LOW_VIDEO_BITRATE);
+        givenJoinedAt(0);
+        givenTimeIs(3000);
+
+        collector.onBitrateChanged(AUDIO_BITRATE, HIGH_VIDEO_BITRATE);
+        givenTimeIs(3001);
+
+        assertThat(collector.stats().averageVideoBitrate()).isEqualTo(Bitrate.fromBitsPerSecond(1000999));
+    }
+
+    @Test
+    public void whenVideoBitrateChanges_thenCountsQualitySwitchesAfterFirstBitrate() {
+        collector.onBitrateChanged(AUDIO_BITRATE, LOW_VIDEO_BITRATE);
+        collector.onBitrateChanged(AUDIO_BITRATE, HIGH_VIDEO_BITRATE);
+        collector.onBitrateChanged(AUDIO_BITRATE, HIGH_VIDEO_BITRATE);
+        collector.onBitrateChanged(AUDIO_BITRATE, LOW_VIDEO_BITRATE);
+
+        assertThat(collector.stats().qualitySwitchCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void whenFramesAreDropped_thenAddsUpDroppedFrames() {
+        collector.onDroppedVideoFrames(10, 1000);
+        collector.onDroppedVideoFrames(5, 1000);
+
+        assertThat(collector.stats().droppedFrames()).isEqualTo(15);
+    }
+
+    @Test
+    public void whenBytesAreLoaded_thenAddsUpBytesLoaded() {
+        collector.onBytesLoaded(1024);
+        collector.onBytesLoaded(2048);
+
+        assertThat(collector.stats().bytesLoaded()).isEqualTo(3072);
+    }
+
+    @Test
+    public void givenSessionEnded_thenKeepsStatsWithoutTimingFurther() {
+        givenJoinedAt(1000);
+        givenTimeIs(4000);
+
+        collector.onVideoStopped();
+        givenTimeIs(9000);
+
+        assertThat(collector.stats().playingDurationInMillis()).isEqualTo(3000);
+    }
+
+    @Test
+    public void givenSessionEnded_whenStartingNewSession_thenStatsAreEmpty() {
+        givenJoinedAt(1000);
+        collector.onBytesLoaded(1024);
+        givenTimeIs(4000);
+        collector.onVideoStopped();
+
+        collector.startSession();
+
+        assertThat(collector.stats()).isEqualTo(PlaybackStats.empty());
+    }
+
+    private void givenJoinedAt(long timeInMillis) {
+        givenTimeIs(timeInMillis);
+        collector.onBufferCompleted();
+    }
+
+    private void givenTimeIs(long timeInMillis) {
+        given(clock.getCurrentTime()).willReturn(timeInMillis);
+    }
+}
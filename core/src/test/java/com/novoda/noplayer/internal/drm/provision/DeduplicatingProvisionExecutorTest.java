@@ -0,0 +1,157 @@
+package com.novoda.noplayer.internal.drm.provision;
+
+import com.novoda.noplayer.drm.ModularDrmProvisionRequest;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DeduplicatingProvisionExecutorTest {
+
+    private static final ModularDrmProvisionRequest PROVISION_REQUEST = new ModularDrmProvisionRequest("http://provisionurl.com", new byte[]{1, 2, 3});
+    private static final byte[] PROVISION_RESPONSE = {4, 5, 6};
+    private static final ModularDrmProvisionRequest OTHER_PROVISION_REQUEST = new ModularDrmProvisionRequest("http://provisionurl.com", new byte[]{7, 8, 9});
+    private static final byte[] OTHER_PROVISION_RESPONSE = {10, 11, 12};
+    private static final long TIMEOUT_IN_SECONDS = 5;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ProvisionExecutor provisionExecutor;
+
+    private DeduplicatingProvisionExecutor deduplicatingProvisionExecutor;
+
+    @Before
+    public void setUp() {
+        deduplicatingProvisionExecutor = new DeduplicatingProvisionExecutor(provisionExecutor);
+    }
+
+    @Test
+    public void whenProvisioning_thenReturnsResponse() throws IOException, UnableToProvisionException {
+        given(provisionExecutor.execute(PROVISION_REQUEST)).willReturn(PROVISION_RESPONSE);
+
+        byte[] response = deduplicatingProvisionExecutor.execute(PROVISION_REQUEST);
+
+        assertThat(response).isEqualTo(PROVISION_RESPONSE);
+    }
+
+    @Test
+    public void givenSameRequestInFlight_whenProvisioning_thenWaitsForInFlightResponse() throws Exception {
+        final CountDownLatch requestStarted = new CountDownLatch(1);
+        final CountDownLatch responseAllowed = new CountDownLatch(1);
+        given(provisionExecutor.execute(PROVISION_REQUEST)).willAnswer(new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) throws InterruptedException {
+                requestStarted.countDown();
+                responseAllowed.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                return PROVISION_RESPONSE;
+            }
+        });
+        ProvisioningThread inFlightProvisioning = new ProvisioningThread(PROVISION_REQUEST);
+        inFlightProvisioning.start();
+        requestStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+
+        ProvisioningThread concurrentProvisioning = new ProvisioningThread(PROVISION_REQUEST);
+        concurrentProvisioning.start();
+        responseAllowed.countDown();
+        inFlightProvisioning.join();
+        concurrentProvisioning.join();
+
+        verify(provisionExecutor).execute(PROVISION_REQUEST);
+        assertThat(inFlightProvisioning.response).isEqualTo(PROVISION_RESPONSE);
+        assertThat(concurrentProvisioning.response).isEqualTo(PROVISION_RESPONSE);
+    }
+
+    @Test
+    public void givenOtherRequestInFlight_whenProvisioning_thenSendsOwnRequestOnceInFlightRequestCompletes() throws Exception {
+        final CountDownLatch requestStarted = new CountDownLatch(1);
+        final CountDownLatch responseAllowed = new CountDownLatch(1);
+        final AtomicInteger requestsInFlight = new AtomicInteger();
+        final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+        given(provisionExecutor.execute(PROVISION_REQUEST)).willAnswer(new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) throws InterruptedException {
+                maxRequestsInFlight.set(Math.max(maxRequestsInFlight.get(), requestsInFlight.incrementAndGet()));
+                requestStarted.countDown();
+                responseAllowed.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+                requestsInFlight.decrementAndGet();
+                return PROVISION_RESPONSE;
+            }
+        });
+        given(provisionExecutor.execute(OTHER_PROVISION_REQUEST)).willAnswer(new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) {
+                maxRequestsInFlight.set(Math.max(maxRequestsInFlight.get(), requestsInFlight.incrementAndGet()));
+                requestsInFlight.decrementAndGet();
+                return OTHER_PROVISION_RESPONSE;
+            }
+        });
+        ProvisioningThread inFlightProvisioning = new ProvisioningThread(PROVISION_REQUEST);
+        inFlightProvisioning.start();
+        requestStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+
+        ProvisioningThread concurrentProvisioning = new ProvisioningThread(OTHER_PROVISION_REQUEST);
+        concurrentProvisioning.start();
+        responseAllowed.countDown();
+        inFlightProvisioning.join();
+        concurrentProvisioning.join();
+
+        verify(provisionExecutor).execute(PROVISION_REQUEST);
+        verify(provisionExecutor).execute(OTHER_PROVISION_REQUEST);
+        assertThat(maxRequestsInFlight.get()).isEqualTo(1);
+        assertThat(inFlightProvisioning.response).isEqualTo(PROVISION_RESPONSE);
+        assertThat(concurrentProvisioning.response).isEqualTo(OTHER_PROVISION_RESPONSE);
+    }
+
+    @Test
+    public void givenPreviousProvisioningCompleted_whenProvisioning_thenSendsNewRequest() throws IOException, UnableToProvisionException {
+        given(provisionExecutor.execute(PROVISION_REQUEST)).willReturn(PROVISION_RESPONSE);
+        deduplicatingProvisionExecutor.execute(PROVISION_REQUEST);
+
+        deduplicatingProvisionExecutor.execute(PROVISION_REQUEST);
+
+        verify(provisionExecutor, times(2)).execute(PROVISION_REQUEST);
+    }
+
+    @Test(expected = IOException.class)
+    public void givenProvisioningFails_whenProvisioning_thenThrowsFailure() throws IOException, UnableToProvisionException {
+        given(provisionExecutor.execute(PROVISION_REQUEST)).willThrow(new IOException("no network"));
+
+        deduplicatingProvisionExecutor.execute(PROVISION_REQUEST);
+    }
+
+    private class ProvisioningThread extends Thread {
+
+        private final ModularDrmProvisionRequest request;
+        private byte[] response;
+
+        ProvisioningThread(ModularDrmProvisionRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void run() {
+            try {
+                response = deduplicatingProvisionExecutor.execute(request);
+            } catch (IOException | UnableToProvisionException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.SharedPreferences;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class BandwidthEstimateStoreTest {
+
+    private static final String WIFI = String.valueOf(ConnectivityManager.TYPE_WIFI);
+    private static final long ANY_BITRATE_ESTIMATE = 2500000;
+    private static final long NO_ESTIMATE = -1;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SharedPreferences preferences;
+    @Mock
+    private SharedPreferences.Editor editor;
+    @Mock
+    private ConnectivityManager connectivityManager;
+    @Mock
+    private NetworkInfo networkInfo;
+
+    private BandwidthEstimateStore store;
+
+    @Before
+    public void setUp() {
+        given(preferences.edit()).willReturn(editor);
+        given(editor.putLong(anyString(), anyLong())).willReturn(editor);
+        store = new BandwidthEstimateStore(preferences, connectivityManager);
+    }
+
+    @Test
+    public void givenConnectedNetwork_whenQueryingNetworkType_thenReturnsActiveNetworkType() {
+        given(connectivityManager.getActiveNetworkInfo()).willReturn(networkInfo);
+        given(networkInfo.isConnected()).willReturn(true);
+        given(networkInfo.getType()).willReturn(ConnectivityManager.TYPE_WIFI);
+
+        String networkType = store.currentNetworkType();
+
+        assertThat(networkType).isEqualTo(WIFI);
+    }
+
+    @Test
+    public void givenNoActiveNetwork_whenQueryingNetworkType_thenReturnsNoNetwork() {
+        given(connectivityManager.getActiveNetworkInfo()).willReturn(null);
+
+        String networkType = store.currentNetworkType();
+
+        assertThat(networkType).isEqualTo("none");
+    }
+
+    @Test
+    public void givenNoPersistedEstimate_whenQueryingEstimate_thenReturnsAbsent() {
+        given(preferences.getLong(anyString(), anyLong())).willReturn(NO_ESTIMATE);
+
+        Optional<Long> estimate = store.estimateFor(WIFI);
+
+        assertThat(estimate.isPresent()).isFalse();
+    }
+
+    @Test
+    public void givenPersistedEstimate_whenQueryingEstimate_thenReturnsEstimate() {
+        given(preferences.getLong(anyString(), anyLong())).willReturn(ANY_BITRATE_ESTIMATE);
+
+        Optional<Long> estimate = store.estimateFor(WIFI);
+
+        assertThat(estimate.get()).isEqualTo(ANY_BITRATE_ESTIMATE);
+    }
+
+    @Test
+    public void whenSavingEstimate_thenPersistsItForNetworkType() {
+        store.save(WIFI, ANY_BITRATE_ESTIMATE);
+
+        verify(editor).putLong("bitrate_estimate_" + WIFI, ANY_BITRATE_ESTIMATE);
+        verify(editor).apply();
+    }
+}
@@ -0,0 +1,112 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BandwidthEstimatesTest {
+
+    private static final String WIFI = "1";
+    private static final long DEFAULT_INITIAL_BITRATE = 800000;
+    private static final Optional<Integer> NO_CAP = Optional.absent();
+    private static final Optional<Integer> MAX_INITIAL_BITRATE_CAP = Optional.of(1000000);
+    private static final long LOWER_ESTIMATE = 500000;
+    private static final long HIGHER_ESTIMATE = 5000000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BandwidthEstimateStore bandwidthEstimateStore;
+    @Mock
+    private Clock clock;
+
+    private BandwidthEstimates bandwidthEstimates;
+
+    @Before
+    public void setUp() {
+        given(bandwidthEstimateStore.estimateFor(anyString())).willReturn(Optional.<Long>absent());
+        given(clock.getCurrentTime()).willReturn(0L);
+        bandwidthEstimates = new BandwidthEstimates(bandwidthEstimateStore, clock);
+    }
+
+    @Test
+    public void givenNoEstimate_whenGettingInitialEstimate_thenReturnsDefaultInitialBitrate() {
+        long initialEstimate = bandwidthEstimates.initialEstimateFor(WIFI, NO_CAP, DEFAULT_INITIAL_BITRATE);
+
+        assertThat(initialEstimate).isEqualTo(DEFAULT_INITIAL_BITRATE);
+    }
+
+    @Test
+    public void givenPersistedEstimate_whenGettingInitialEstimate_thenReturnsPersistedEstimate() {
+        given(bandwidthEstimateStore.estimateFor(WIFI)).willReturn(Optional.of(LOWER_ESTIMATE));
+
+        long initialEstimate = bandwidthEstimates.initialEstimateFor(WIFI, NO_CAP, DEFAULT_INITIAL_BITRATE);
+
+        assertThat(initialEstimate).isEqualTo(LOWER_ESTIMATE);
+    }
+
+    @Test
+    public void givenEstimateAboveDefaultInitialBitrate_whenGettingInitialEstimateWithoutCap_thenReturnsEstimate() {
+        bandwidthEstimates.update(WIFI, HIGHER_ESTIMATE);
+
+        long initialEstimate = bandwidthEstimates.initialEstimateFor(WIFI, NO_CAP, DEFAULT_INITIAL_BITRATE);
+
+        assertThat(initialEstimate).isEqualTo(HIGHER_ESTIMATE);
+    }
+
+    @Test
+    public void givenEstimateAboveCap_whenGettingInitialEstimate_thenReturnsCap() {
+        bandwidthEstimates.update(WIFI, HIGHER_ESTIMATE);
+
+        long initialEstimate = bandwidthEstimates.initialEstimateFor(WIFI, MAX_INITIAL_BITRATE_CAP, DEFAULT_INITIAL_BITRATE);
+
+        assertThat(initialEstimate).isEqualTo((long) MAX_INITIAL_BITRATE_CAP.get());
+    }
+
+    @Test
+    public void givenUpdatedEstimate_whenGettingInitialEstimate_thenReturnsLatestEstimateWithoutReadingStore() {
+        given(bandwidthEstimateStore.estimateFor(WIFI)).willReturn(Optional.of(HIGHER_ESTIMATE));
+        bandwidthEstimates.update(WIFI, LOWER_ESTIMATE);
+
+        long initialEstimate = bandwidthEstimates.initialEstimateFor(WIFI, NO_CAP, DEFAULT_INITIAL_BITRATE);
+
+        assertThat(initialEstimate).isEqualTo(LOWER_ESTIMATE);
+        verify(bandwidthEstimateStore, never()).estimateFor(WIFI);
+    }
+
+    @Test
+    public void whenUpdatingRepeatedlyWithinSaveInterval_thenSavesOnlyOnce() {
+        bandwidthEstimates.update(WIFI, LOWER_ESTIMATE);
+        given(clock.getCurrentTime()).willReturn(29999L);
+
+        bandwidthEstimates.update(WIFI, HIGHER_ESTIMATE);
+
+        verify(bandwidthEstimateStore, times(1)).save(anyString(), anyLong());
+        verify(bandwidthEstimateStore).save(WIFI, LOWER_ESTIMATE);
+    }
+
+    @Test
+    public void whenUpdatingAfterSaveInterval_thenSavesLatestEstimate() {
+        bandwidthEstimates.update(WIFI, LOWER_ESTIMATE);
+        given(clock.getCurrentTime()).willReturn(30000L);
+
+        bandwidthEstimates.update(WIFI, HIGHER_ESTIMATE);
+
+        verify(bandwidthEstimateStore).save(WIFI, HIGHER_ESTIMATE);
+    }
+}
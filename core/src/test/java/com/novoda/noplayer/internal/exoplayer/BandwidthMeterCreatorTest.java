@@ -0,0 +1,57 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class BandwidthMeterCreatorTest {
+
+    private static final String WIFI = "1";
+    private static final long BITRATE_ESTIMATE = 2500000;
+    private static final int ANY_ELAPSED_MS = 1000;
+    private static final long ANY_BYTES = 4096;
+    private static final long ANY_BITRATE = 3000000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BandwidthEstimates bandwidthEstimates;
+    @Mock
+    private BandwidthMeter bandwidthMeter;
+
+    private BandwidthMeterCreator.EstimateUpdatingListener listener;
+
+    @Before
+    public void setUp() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(BITRATE_ESTIMATE);
+        listener = new BandwidthMeterCreator.EstimateUpdatingListener(bandwidthEstimates, WIFI);
+    }
+
+    @Test
+    public void whenBandwidthIsSampled_thenUpdatesEstimateOfNetworkTypeWithEstimateOfMeter() {
+        listener.bandwidthMeter = bandwidthMeter;
+
+        listener.onBandwidthSample(ANY_ELAPSED_MS, ANY_BYTES, ANY_BITRATE);
+
+        verify(bandwidthEstimates).update(WIFI, BITRATE_ESTIMATE);
+    }
+
+    @Test
+    public void givenMeterNotBuiltYet_whenBandwidthIsSampled_thenDoesNotUpdateEstimate() {
+        listener.onBandwidthSample(ANY_ELAPSED_MS, ANY_BYTES, ANY_BITRATE);
+
+        verify(bandwidthEstimates, never()).update(anyString(), anyLong());
+    }
+}
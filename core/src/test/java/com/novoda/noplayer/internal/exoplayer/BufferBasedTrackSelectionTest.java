@@ -0,0 +1,204 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.TrackGroup;
+import com.google.android.exoplayer2.source.chunk.MediaChunk;
+import com.google.android.exoplayer2.source.chunk.MediaChunkIterator;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.util.Clock;
+import com.novoda.noplayer.internal.exoplayer.mediasource.VideoFormatFixture;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class BufferBasedTrackSelectionTest {
+
+    private static final int HIGHEST_QUALITY_INDEX = 0;
+    private static final int SECOND_QUALITY_INDEX = 1;
+    private static final int THIRD_QUALITY_INDEX = 2;
+    private static final int LOWEST_QUALITY_INDEX = 3;
+    private static final int NO_BLACKLISTED_INDEX = -1;
+
+    private static final long HIGH_BITRATE_ESTIMATE = 10000000;
+    private static final long MEDIUM_BITRATE_ESTIMATE = 3000000;
+    private static final long LOW_BITRATE_ESTIMATE = 800000;
+
+    private static final long FIVE_SECONDS_IN_MICROS = 5000000;
+    private static final long FIFTEEN_SECONDS_IN_MICROS = 15000000;
+    private static final long TWENTY_SECONDS_IN_MICROS = 20000000;
+    private static final long FORTY_SECONDS_IN_MICROS = 40000000;
+    private static final long ANY_POSITION = 0;
+    private static final long ANY_AVAILABLE_DURATION = 0;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BandwidthMeter bandwidthMeter;
+    @Mock
+    private Clock clock;
+
+    private TrackGroup trackGroup;
+    private int blacklistedIndex = NO_BLACKLISTED_INDEX;
+
+    @Before
+    public void setUp() {
+        trackGroup = new TrackGroup(
+                VideoFormatFixture.aVideoFormat().withId("4M").withBitrate(4000000).build(),
+                VideoFormatFixture.aVideoFormat().withId("2M").withBitrate(2000000).build(),
+                VideoFormatFixture.aVideoFormat().withId("1M").withBitrate(1000000).build(),
+                VideoFormatFixture.aVideoFormat().withId("500K").withBitrate(500000).build()
+        );
+    }
+
+    @Test
+    public void givenLowBitrateEstimate_whenCreating_thenSelectsLowestQuality() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(LOW_BITRATE_ESTIMATE);
+
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(LOWEST_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenBufferBelowMinimum_whenUpdating_thenSelectsFromThroughput() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(MEDIUM_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        update(trackSelection, FIVE_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(SECOND_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenBufferAboveTarget_whenUpdating_thenSelectsHighestQuality() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        update(trackSelection, FORTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(HIGHEST_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenBufferBetweenMinimumAndTarget_whenUpdating_thenSelectsFromBufferLevel() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(LOW_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+
+        update(trackSelection, TWENTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(SECOND_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenThroughputCannotSustainHigherQuality_whenUpdating_thenDoesNotSwitchUp() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(LOW_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        update(trackSelection, TWENTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(LOWEST_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenBufferDraining_whenUpdating_thenSwitchesDownFromBufferLevelRegardlessOfThroughput() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        update(trackSelection, FIFTEEN_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(THIRD_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenThroughputSustainsMediumQuality_whenBufferIsFull_thenSwitchesUpNoHigherThanThroughput() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(LOW_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(MEDIUM_BITRATE_ESTIMATE);
+
+        update(trackSelection, FORTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(SECOND_QUALITY_INDEX);
+    }
+
+    @Test
+    public void whenCreating_thenSelectionReasonIsInitial() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        assertThat(trackSelection.getSelectionReason()).isEqualTo(C.SELECTION_REASON_INITIAL);
+    }
+
+    @Test
+    public void givenSelectedTrackChanges_whenUpdating_thenSelectionReasonIsAdaptive() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+
+        update(trackSelection, FIFTEEN_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectionReason()).isEqualTo(C.SELECTION_REASON_ADAPTIVE);
+    }
+
+    @Test
+    public void givenHighestQualityBlacklisted_whenBufferIsFull_thenSelectsHighestQualityNotBlacklisted() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+        blacklistedIndex = HIGHEST_QUALITY_INDEX;
+
+        update(trackSelection, FORTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(SECOND_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenHighestQualityBlacklisted_whenBufferIsBelowMinimum_thenSelectsFromThroughputSkippingBlacklistedTrack() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(HIGH_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+        blacklistedIndex = HIGHEST_QUALITY_INDEX;
+
+        update(trackSelection, FIVE_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(SECOND_QUALITY_INDEX);
+    }
+
+    @Test
+    public void givenSelectedTrackBlacklisted_whenUpdating_thenSwitchesUpToLowestTrackNotBlacklisted() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(LOW_BITRATE_ESTIMATE);
+        BufferBasedTrackSelection trackSelection = createTrackSelection();
+        blacklistedIndex = LOWEST_QUALITY_INDEX;
+
+        update(trackSelection, TWENTY_SECONDS_IN_MICROS);
+
+        assertThat(trackSelection.getSelectedIndex()).isEqualTo(THIRD_QUALITY_INDEX);
+    }
+
+    private BufferBasedTrackSelection createTrackSelection() {
+        return new BufferBasedTrackSelection(trackGroup, new int[]{0, 1, 2, 3}, bandwidthMeter, clock) {
+            @Override
+            boolean isTrackBlacklisted(int index, long nowMs) {
+                return index == blacklistedIndex;
+            }
+        };
+    }
+
+    private void update(BufferBasedTrackSelection trackSelection, long bufferedDurationUs) {
+        trackSelection.updateSelectedTrack(
+                ANY_POSITION,
+                bufferedDurationUs,
+                ANY_AVAILABLE_DURATION,
+                Collections.<MediaChunk>emptyList(),
+                new MediaChunkIterator[0]
+        );
+    }
+}
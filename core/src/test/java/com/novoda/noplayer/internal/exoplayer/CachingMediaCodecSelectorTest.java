@@ -0,0 +1,148 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.mediacodec.MediaCodecUtil;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class CachingMediaCodecSelectorTest {
+
+    private static final String MIME_TYPE = "video/avc";
+    private static final boolean REQUIRES_SECURE_DECODER = false;
+    private static final String DECODER_NAME = "OMX.decoder.avc";
+    private static final String SECURE_DECODER_NAME = "OMX.decoder.avc.secure";
+    private static final String PASSTHROUGH_DECODER_NAME = "OMX.google.raw.decoder";
+    private static final boolean ADAPTIVE = true;
+    private static final boolean SECURE = false;
+    private static final List<MediaCodecInfo> QUERIED_DECODER_INFOS = Collections.singletonList(
+            MediaCodecInfo.newInstance(DECODER_NAME, MIME_TYPE, null, false, SECURE)
+    );
+    private static final List<CodecInfoStore.StoredDecoder> STORED_DECODERS = Collections.singletonList(
+            new CodecInfoStore.StoredDecoder(DECODER_NAME, MIME_TYPE, ADAPTIVE, SECURE)
+    );
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private MediaCodecSelector mediaCodecSelector;
+    @Mock
+    private CodecInfoStore codecInfoStore;
+    @Mock
+    private CodecCapabilitiesReader capabilitiesReader;
+
+    private final android.media.MediaCodecInfo.CodecCapabilities capabilities = mock(android.media.MediaCodecInfo.CodecCapabilities.class);
+
+    private CachingMediaCodecSelector cachingMediaCodecSelector;
+
+    @Before
+    public void setUp() throws MediaCodecUtil.DecoderQueryException {
+        given(codecInfoStore.decodersFor(anyString(), anyBoolean())).willReturn(Optional.<List<CodecInfoStore.StoredDecoder>>absent());
+        given(codecInfoStore.passthroughDecoderName()).willReturn(Optional.<String>absent());
+        given(mediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER)).willReturn(QUERIED_DECODER_INFOS);
+        given(capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE)).willReturn(capabilities);
+
+        cachingMediaCodecSelector = new CachingMediaCodecSelector(mediaCodecSelector, codecInfoStore, capabilitiesReader);
+    }
+
+    @Test
+    public void givenNothingStored_whenGettingDecoderInfos_thenQueriesAndStoresDecoderInfos() throws MediaCodecUtil.DecoderQueryException {
+        List<MediaCodecInfo> decoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).isEqualTo(QUERIED_DECODER_INFOS);
+        verify(codecInfoStore).saveDecoders(MIME_TYPE, REQUIRES_SECURE_DECODER, QUERIED_DECODER_INFOS);
+    }
+
+    @Test
+    public void givenStoredDecoders_whenGettingDecoderInfos_thenRestoresDecoderInfosWithoutQuerying() throws MediaCodecUtil.DecoderQueryException {
+        given(codecInfoStore.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER)).willReturn(Optional.of(STORED_DECODERS));
+
+        List<MediaCodecInfo> decoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).hasSize(1);
+        assertThat(decoderInfos.get(0).name).isEqualTo(DECODER_NAME);
+        assertThat(decoderInfos.get(0).capabilities).isEqualTo(capabilities);
+        verify(mediaCodecSelector, never()).getDecoderInfos(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void givenSeveralStoredDecoders_whenGettingDecoderInfos_thenLooksUpOnlyStoredDecoders() throws MediaCodecUtil.DecoderQueryException {
+        List<CodecInfoStore.StoredDecoder> storedDecoders = Arrays.asList(
+                new CodecInfoStore.StoredDecoder(DECODER_NAME, MIME_TYPE, ADAPTIVE, SECURE),
+                new CodecInfoStore.StoredDecoder(SECURE_DECODER_NAME, MIME_TYPE, ADAPTIVE, true)
+        );
+        given(codecInfoStore.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER)).willReturn(Optional.of(storedDecoders));
+        given(capabilitiesReader.capabilitiesFor(SECURE_DECODER_NAME, MIME_TYPE)).willReturn(capabilities);
+
+        List<MediaCodecInfo> decoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).hasSize(2);
+        verify(capabilitiesReader).capabilitiesFor(DECODER_NAME, MIME_TYPE);
+        verify(capabilitiesReader).capabilitiesFor(SECURE_DECODER_NAME, MIME_TYPE);
+        verifyNoMoreInteractions(capabilitiesReader);
+    }
+
+    @Test
+    public void givenStoredDecoderIsNoLongerAvailable_whenGettingDecoderInfos_thenQueriesDecoderInfos() throws MediaCodecUtil.DecoderQueryException {
+        given(codecInfoStore.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER)).willReturn(Optional.of(STORED_DECODERS));
+        given(capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE)).willReturn(null);
+
+        List<MediaCodecInfo> decoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).isEqualTo(QUERIED_DECODER_INFOS);
+    }
+
+    @Test
+    public void givenDecoderInfosWereReturned_whenGettingDecoderInfosAgain_thenReturnsSameDecoderInfos() throws MediaCodecUtil.DecoderQueryException {
+        List<MediaCodecInfo> firstDecoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        List<MediaCodecInfo> decoderInfos = cachingMediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).isSameAs(firstDecoderInfos);
+        verify(mediaCodecSelector, times(1)).getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+        verify(codecInfoStore, times(1)).decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER);
+    }
+
+    @Test
+    public void givenStoredPassthroughDecoder_whenGettingPassthroughDecoderInfo_thenRestoresItWithoutQuerying()
+            throws MediaCodecUtil.DecoderQueryException {
+        given(codecInfoStore.passthroughDecoderName()).willReturn(Optional.of(PASSTHROUGH_DECODER_NAME));
+
+        MediaCodecInfo passthroughDecoderInfo = cachingMediaCodecSelector.getPassthroughDecoderInfo();
+
+        assertThat(passthroughDecoderInfo.name).isEqualTo(PASSTHROUGH_DECODER_NAME);
+        assertThat(passthroughDecoderInfo.passthrough).isTrue();
+        verify(mediaCodecSelector, never()).getPassthroughDecoderInfo();
+    }
+
+    @Test
+    public void givenNoStoredPassthroughDecoder_whenGettingPassthroughDecoderInfo_thenQueriesAndStoresIt()
+            throws MediaCodecUtil.DecoderQueryException {
+        given(mediaCodecSelector.getPassthroughDecoderInfo()).willReturn(MediaCodecInfo.newPassthroughInstance(PASSTHROUGH_DECODER_NAME));
+
+        cachingMediaCodecSelector.getPassthroughDecoderInfo();
+
+        verify(codecInfoStore).savePassthroughDecoderName(PASSTHROUGH_DECODER_NAME);
+    }
+}
@@ -0,0 +1,98 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.os.Build;
+
+import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CodecCapabilitiesReaderTest {
+
+    private static final String MIME_TYPE = "video/avc";
+    private static final String DECODER_NAME = "OMX.decoder.avc";
+    private static final String SECURE_DECODER_NAME = "OMX.decoder.avc.secure";
+    private static final AndroidDeviceVersion JELLY_BEAN_MR2 = new AndroidDeviceVersion(Build.VERSION_CODES.JELLY_BEAN_MR2);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    private final MediaCodec decoder = mock(MediaCodec.class);
+    private final MediaCodecInfo codecInfo = mock(MediaCodecInfo.class);
+    private final MediaCodecInfo.CodecCapabilities capabilities = mock(MediaCodecInfo.CodecCapabilities.class);
+    private final Map<String, MediaCodec> decodersByName = new HashMap<>();
+
+    private CodecCapabilitiesReader capabilitiesReader;
+
+    @Before
+    public void setUp() {
+        given(decoder.getCodecInfo()).willReturn(codecInfo);
+        given(codecInfo.getCapabilitiesForType(MIME_TYPE)).willReturn(capabilities);
+        decodersByName.put(DECODER_NAME, decoder);
+
+        capabilitiesReader = new CodecCapabilitiesReader(JELLY_BEAN_MR2) {
+            @Override
+            MediaCodec createDecoder(String decoderName) throws IOException {
+                MediaCodec createdDecoder = decodersByName.get(decoderName);
+                if (createdDecoder == null) {
+                    throw new IOException("No decoder named " + decoderName);
+                }
+                return createdDecoder;
+            }
+        };
+    }
+
+    @Test
+    public void whenReadingCapabilities_thenReturnsCapabilitiesOfDecoderCreatedByName() {
+        MediaCodecInfo.CodecCapabilities decoderCapabilities = capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE);
+
+        assertThat(decoderCapabilities).isEqualTo(capabilities);
+    }
+
+    @Test
+    public void whenReadingCapabilities_thenReleasesDecoder() {
+        capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE);
+
+        verify(decoder).release();
+    }
+
+    @Test
+    public void givenSecureDecoderCannotBeCreated_whenReadingCapabilities_thenReturnsCapabilitiesOfInsecureCounterpart() {
+        MediaCodecInfo.CodecCapabilities decoderCapabilities = capabilitiesReader.capabilitiesFor(SECURE_DECODER_NAME, MIME_TYPE);
+
+        assertThat(decoderCapabilities).isEqualTo(capabilities);
+    }
+
+    @Test
+    public void givenDecoderCannotBeCreated_whenReadingCapabilities_thenReturnsNull() {
+        decodersByName.clear();
+
+        MediaCodecInfo.CodecCapabilities decoderCapabilities = capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE);
+
+        assertThat(decoderCapabilities).isNull();
+    }
+
+    @Test
+    public void givenDecoderDoesNotSupportMimeType_whenReadingCapabilities_thenReturnsNullAndReleasesDecoder() {
+        given(codecInfo.getCapabilitiesForType(MIME_TYPE)).willThrow(new IllegalArgumentException());
+
+        MediaCodecInfo.CodecCapabilities decoderCapabilities = capabilitiesReader.capabilitiesFor(DECODER_NAME, MIME_TYPE);
+
+        assertThat(decoderCapabilities).isNull();
+        verify(decoder).release();
+    }
+}
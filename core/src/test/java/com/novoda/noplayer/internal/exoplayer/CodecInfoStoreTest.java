@@ -0,0 +1,131 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.SharedPreferences;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CodecInfoStoreTest {
+
+    private static final String BUILD_FINGERPRINT = "vendor/device:9/build:user/release-keys";
+    private static final String PREVIOUS_BUILD_FINGERPRINT = "vendor/device:8/build:user/release-keys";
+    private static final String KEY_BUILD_FINGERPRINT = "build_fingerprint";
+    private static final String MIME_TYPE = "video/avc";
+    private static final boolean REQUIRES_SECURE_DECODER = true;
+    private static final boolean FORCE_DISABLE_ADAPTIVE = true;
+    private static final MediaCodecInfo.CodecCapabilities NO_CAPABILITIES = null;
+    private static final List<MediaCodecInfo> DECODER_INFOS = Arrays.asList(
+            MediaCodecInfo.newInstance("OMX.decoder.avc.secure", MIME_TYPE, NO_CAPABILITIES, FORCE_DISABLE_ADAPTIVE, true),
+            MediaCodecInfo.newInstance("OMX.decoder.avc", MIME_TYPE, NO_CAPABILITIES, FORCE_DISABLE_ADAPTIVE, false)
+    );
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SharedPreferences preferences;
+    @Mock
+    private SharedPreferences.Editor editor;
+
+    private CodecInfoStore store;
+
+    @Before
+    public void setUp() {
+        given(preferences.edit()).willReturn(editor);
+        given(editor.putString(anyString(), anyString())).willReturn(editor);
+        given(editor.clear()).willReturn(editor);
+        store = new CodecInfoStore(preferences, BUILD_FINGERPRINT);
+    }
+
+    @Test
+    public void givenNothingStored_whenQueryingDecoders_thenReturnsAbsent() {
+        Optional<List<CodecInfoStore.StoredDecoder>> decoders = store.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoders.isAbsent()).isTrue();
+    }
+
+    @Test
+    public void givenDecodersSavedForCurrentBuild_whenQueryingDecoders_thenReturnsSavedDecoders() {
+        givenStoredFingerprint(BUILD_FINGERPRINT);
+        givenSavedDecoders();
+
+        List<CodecInfoStore.StoredDecoder> decoders = store.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER).get();
+
+        assertThat(decoders).hasSize(2);
+        assertThat(decoders.get(0).name).isEqualTo("OMX.decoder.avc.secure");
+        assertThat(decoders.get(0).mimeType).isEqualTo(MIME_TYPE);
+        assertThat(decoders.get(0).adaptive).isFalse();
+        assertThat(decoders.get(0).secure).isTrue();
+        assertThat(decoders.get(1).name).isEqualTo("OMX.decoder.avc");
+        assertThat(decoders.get(1).secure).isFalse();
+    }
+
+    @Test
+    public void givenNoDecodersSaved_whenQueryingDecoders_thenReturnsEmptyDecoders() {
+        givenStoredFingerprint(BUILD_FINGERPRINT);
+        given(preferences.getString(eq("decoders_" + MIME_TYPE + "_secure"), (String) eq(null))).willReturn("");
+
+        Optional<List<CodecInfoStore.StoredDecoder>> decoders = store.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoders.get()).isEmpty();
+    }
+
+    @Test
+    public void givenDecodersSavedForPreviousBuild_whenQueryingDecoders_thenReturnsAbsent() {
+        givenStoredFingerprint(PREVIOUS_BUILD_FINGERPRINT);
+        given(preferences.getString(eq("decoders_" + MIME_TYPE + "_secure"), (String) eq(null))).willReturn("OMX.decoder.avc|video/avc|true|false");
+
+        Optional<List<CodecInfoStore.StoredDecoder>> decoders = store.decodersFor(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoders.isAbsent()).isTrue();
+    }
+
+    @Test
+    public void givenDecodersSavedForPreviousBuild_whenSavingDecoders_thenClearsPreviousBuildDecoders() {
+        givenStoredFingerprint(PREVIOUS_BUILD_FINGERPRINT);
+
+        store.saveDecoders(MIME_TYPE, REQUIRES_SECURE_DECODER, DECODER_INFOS);
+
+        verify(editor).clear();
+        verify(editor).putString(KEY_BUILD_FINGERPRINT, BUILD_FINGERPRINT);
+    }
+
+    @Test
+    public void givenDecodersSavedForCurrentBuild_whenSavingDecoders_thenKeepsOtherDecoders() {
+        givenStoredFingerprint(BUILD_FINGERPRINT);
+
+        store.saveDecoders(MIME_TYPE, REQUIRES_SECURE_DECODER, DECODER_INFOS);
+
+        verify(editor, never()).clear();
+    }
+
+    private void givenStoredFingerprint(String buildFingerprint) {
+        given(preferences.getString(eq(KEY_BUILD_FINGERPRINT), (String) eq(null))).willReturn(buildFingerprint);
+    }
+
+    private void givenSavedDecoders() {
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> valueCaptor = ArgumentCaptor.forClass(String.class);
+        store.saveDecoders(MIME_TYPE, REQUIRES_SECURE_DECODER, DECODER_INFOS);
+        verify(editor).putString(keyCaptor.capture(), valueCaptor.capture());
+        given(preferences.getString(eq(keyCaptor.getValue()), (String) eq(null))).willReturn(valueCaptor.getValue());
+    }
+}
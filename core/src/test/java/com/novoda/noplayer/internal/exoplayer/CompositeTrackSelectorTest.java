@@ -0,0 +1,205 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.novoda.noplayer.internal.TrackSelectionEdits;
+import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerAudioTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerSubtitleTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerVideoTrackSelector;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.PlayerAudioTrack;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.PlayerVideoTrack;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static com.novoda.noplayer.internal.exoplayer.mediasource.VideoFormatFixture.aVideoFormat;
+import static com.novoda.noplayer.model.PlayerAudioTrackFixture.aPlayerAudioTrack;
+import static com.novoda.noplayer.model.PlayerVideoTrackFixture.aPlayerVideoTrack;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CompositeTrackSelectorTest {
+
+    private static final PlayerVideoTrack VIDEO_TRACK = aPlayerVideoTrack().withId("id1").build();
+    private static final PlayerVideoTrack ADDITIONAL_VIDEO_TRACK = aPlayerVideoTrack().withFormatIndex(1).withId("id2").build();
+    private static final List<PlayerVideoTrack> VIDEO_TRACKS = Arrays.asList(VIDEO_TRACK, ADDITIONAL_VIDEO_TRACK);
+    private static final AudioTracks AUDIO_TRACKS = AudioTracks.from(Collections.<PlayerAudioTrack>emptyList());
+    private static final List<PlayerSubtitleTrack> SUBTITLE_TRACKS = Collections.emptyList();
+    private static final PlayerAudioTrack AUDIO_TRACK = aPlayerAudioTrack().build();
+    private static final int MAX_VIDEO_BITRATE = 1000000;
+    private static final TrackSelectionEdits.Applier IGNORED_APPLIER = null;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private DefaultTrackSelector defaultTrackSelector;
+    @Mock
+    private ExoPlayerTrackSelector exoPlayerTrackSelector;
+    @Mock
+    private ExoPlayerAudioTrackSelector audioTrackSelector;
+    @Mock
+    private ExoPlayerVideoTrackSelector videoTrackSelector;
+    @Mock
+    private ExoPlayerSubtitleTrackSelector subtitleTrackSelector;
+    @Mock
+    private RendererTypeRequester rendererTypeRequester;
+    @Mock
+    private SimpleExoPlayer exoPlayer;
+
+    private CompositeTrackSelector compositeTrackSelector;
+
+    @Before
+    public void setUp() {
+        given(audioTrackSelector.getAudioTracks(rendererTypeRequester)).willReturn(AUDIO_TRACKS);
+        given(videoTrackSelector.getVideoTracks(any(RendererTypeRequester.class), any())).willReturn(VIDEO_TRACKS);
+        given(subtitleTrackSelector.getSubtitleTracks(rendererTypeRequester)).willReturn(SUBTITLE_TRACKS);
+
+        compositeTrackSelector = new CompositeTrackSelector(
+                defaultTrackSelector,
+                exoPlayerTrackSelector,
+                audioTrackSelector,
+                videoTrackSelector,
+                subtitleTrackSelector
+        );
+    }
+
+    @Test
+    public void whenGettingTracks_thenReturnsTracksOfEachType() {
+        assertThat(compositeTrackSelector.getAudioTracks(rendererTypeRequester)).isEqualTo(AUDIO_TRACKS);
+        assertThat(compositeTrackSelector.getVideoTracks(rendererTypeRequester)).isEqualTo(VIDEO_TRACKS);
+        assertThat(compositeTrackSelector.getSubtitleTracks(rendererTypeRequester)).isEqualTo(SUBTITLE_TRACKS);
+    }
+
+    @Test
+    public void givenTracksWereRequested_whenGettingTracksAgain_thenDoesNotRebuildTracks() {
+        compositeTrackSelector.getVideoTracks(rendererTypeRequester);
+
+        compositeTrackSelector.getVideoTracks(rendererTypeRequester);
+        compositeTrackSelector.getAudioTracks(rendererTypeRequester);
+        compositeTrackSelector.getSubtitleTracks(rendererTypeRequester);
+
+        verify(videoTrackSelector).getVideoTracks(any(RendererTypeRequester.class), any());
+        verify(audioTrackSelector).getAudioTracks(rendererTypeRequester);
+        verify(subtitleTrackSelector).getSubtitleTracks(rendererTypeRequester);
+    }
+
+    @Test
+    public void givenTrackCatalogIsInvalidated_whenGettingTracks_thenRebuildsTracks() {
+        compositeTrackSelector.getVideoTracks(rendererTypeRequester);
+        compositeTrackSelector.invalidateTrackCatalog();
+
+        compositeTrackSelector.getVideoTracks(rendererTypeRequester);
+
+        verify(videoTrackSelector, times(2)).getVideoTracks(any(RendererTypeRequester.class), any());
+    }
+
+    @Test
+    public void givenSelectedVideoFormat_whenGettingSelectedVideoTrack_thenReturnsTrackWithSameId() {
+        given(exoPlayer.getVideoFormat()).willReturn(aVideoFormat().withId("id2").build());
+
+        Optional<PlayerVideoTrack> selectedVideoTrack = compositeTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester);
+
+        assertThat(selectedVideoTrack).isEqualTo(Optional.of(ADDITIONAL_VIDEO_TRACK));
+    }
+
+    @Test
+    public void givenSelectedVideoFormatIsUnknown_whenGettingSelectedVideoTrack_thenReturnsAbsent() {
+        given(exoPlayer.getVideoFormat()).willReturn(aVideoFormat().withId("unknown").build());
+
+        Optional<PlayerVideoTrack> selectedVideoTrack = compositeTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester);
+
+        assertThat(selectedVideoTrack).isEqualTo(Optional.<PlayerVideoTrack>absent());
+    }
+
+    @Test
+    public void givenNoSelectedVideoFormat_whenGettingSelectedVideoTrack_thenReturnsAbsent() {
+        given(exoPlayer.getVideoFormat()).willReturn(null);
+
+        Optional<PlayerVideoTrack> selectedVideoTrack = compositeTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester);
+
+        assertThat(selectedVideoTrack).isEqualTo(Optional.<PlayerVideoTrack>absent());
+    }
+
+    @Test
+    public void whenApplyingEdits_thenAppliesAllChangesInASingleTransaction() {
+        given(audioTrackSelector.selectAudioTrack(AUDIO_TRACK, rendererTypeRequester)).willReturn(true);
+        given(videoTrackSelector.selectVideoTrack(VIDEO_TRACK, rendererTypeRequester)).willReturn(true);
+        TrackSelectionEdits edits = new TrackSelectionEdits(IGNORED_APPLIER);
+        edits.audio(AUDIO_TRACK).video(VIDEO_TRACK).maxVideoBitrate(MAX_VIDEO_BITRATE);
+
+        boolean applied = compositeTrackSelector.apply(edits, rendererTypeRequester);
+
+        assertThat(applied).isTrue();
+        InOrder inOrder = inOrder(exoPlayerTrackSelector, audioTrackSelector, videoTrackSelector);
+        inOrder.verify(exoPlayerTrackSelector).beginTransaction();
+        inOrder.verify(audioTrackSelector).selectAudioTrack(AUDIO_TRACK, rendererTypeRequester);
+        inOrder.verify(videoTrackSelector).selectVideoTrack(VIDEO_TRACK, rendererTypeRequester);
+        inOrder.verify(videoTrackSelector).setMaxVideoBitrate(MAX_VIDEO_BITRATE);
+        inOrder.verify(exoPlayerTrackSelector).commitTransaction();
+    }
+
+    @Test
+    public void givenEditsClearingSelections_whenApplying_thenClearsSelections() {
+        given(audioTrackSelector.clearAudioTrack(rendererTypeRequester)).willReturn(true);
+        given(subtitleTrackSelector.clearSubtitleTrack(rendererTypeRequester)).willReturn(true);
+        TrackSelectionEdits edits = new TrackSelectionEdits(IGNORED_APPLIER);
+        edits.clearAudio().hideSubtitles().clearMaxVideoBitrate();
+
+        boolean applied = compositeTrackSelector.apply(edits, rendererTypeRequester);
+
+        assertThat(applied).isTrue();
+        verify(audioTrackSelector).clearAudioTrack(rendererTypeRequester);
+        verify(subtitleTrackSelector).clearSubtitleTrack(rendererTypeRequester);
+        verify(videoTrackSelector).clearMaxVideoBitrate();
+        verify(videoTrackSelector, never()).clearVideoTrack(rendererTypeRequester);
+    }
+
+    @Test
+    public void givenOneSelectionFails_whenApplyingEdits_thenAppliesOtherChangesAndReportsFailure() {
+        given(audioTrackSelector.selectAudioTrack(AUDIO_TRACK, rendererTypeRequester)).willReturn(false);
+        given(videoTrackSelector.selectVideoTrack(VIDEO_TRACK, rendererTypeRequester)).willReturn(true);
+        TrackSelectionEdits edits = new TrackSelectionEdits(IGNORED_APPLIER);
+        edits.audio(AUDIO_TRACK).video(VIDEO_TRACK);
+
+        boolean applied = compositeTrackSelector.apply(edits, rendererTypeRequester);
+
+        assertThat(applied).isFalse();
+        verify(videoTrackSelector).selectVideoTrack(VIDEO_TRACK, rendererTypeRequester);
+        verify(exoPlayerTrackSelector).commitTransaction();
+    }
+
+    @Test
+    public void givenSelectionThrows_whenApplyingEdits_thenDiscardsTransaction() {
+        given(audioTrackSelector.selectAudioTrack(AUDIO_TRACK, rendererTypeRequester)).willThrow(new IllegalStateException("Track info is not available."));
+        TrackSelectionEdits edits = new TrackSelectionEdits(IGNORED_APPLIER);
+        edits.audio(AUDIO_TRACK);
+
+        try {
+            compositeTrackSelector.apply(edits, rendererTypeRequester);
+        } catch (IllegalStateException ignored) {
+            // Expected, the transaction must not be left open
+        }
+
+        verify(exoPlayerTrackSelector, never()).commitTransaction();
+        verify(exoPlayerTrackSelector).discardTransaction();
+    }
+}
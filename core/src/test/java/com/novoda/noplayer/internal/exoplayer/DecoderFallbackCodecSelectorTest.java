@@ -0,0 +1,81 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.mediacodec.MediaCodecInfo;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.mediacodec.MediaCodecUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class DecoderFallbackCodecSelectorTest {
+
+    private static final String MIME_TYPE = "video/avc";
+    private static final boolean REQUIRES_SECURE_DECODER = false;
+    private static final MediaCodecInfo PREFERRED_DECODER = MediaCodecInfo.newInstance("OMX.preferred.avc", MIME_TYPE, null, false, false);
+    private static final MediaCodecInfo FALLBACK_DECODER = MediaCodecInfo.newInstance("OMX.google.h264.decoder", MIME_TYPE, null, false, false);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private MediaCodecSelector mediaCodecSelector;
+
+    private DecoderFallbackCodecSelector decoderFallbackCodecSelector;
+
+    @Before
+    public void setUp() throws MediaCodecUtil.DecoderQueryException {
+        given(mediaCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER))
+                .willReturn(Arrays.asList(PREFERRED_DECODER, FALLBACK_DECODER));
+
+        decoderFallbackCodecSelector = new DecoderFallbackCodecSelector(mediaCodecSelector);
+    }
+
+    @Test
+    public void givenNoDecoderIsExcluded_whenGettingDecoderInfos_thenReturnsAllDecoders() throws MediaCodecUtil.DecoderQueryException {
+        List<MediaCodecInfo> decoderInfos = decoderFallbackCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).containsExactly(PREFERRED_DECODER, FALLBACK_DECODER);
+    }
+
+    @Test
+    public void givenDecoderIsExcluded_whenGettingDecoderInfos_thenLeavesOutExcludedDecoder() throws MediaCodecUtil.DecoderQueryException {
+        decoderFallbackCodecSelector.exclude(PREFERRED_DECODER.name, MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        List<MediaCodecInfo> decoderInfos = decoderFallbackCodecSelector.getDecoderInfos(MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(decoderInfos).containsExactly(FALLBACK_DECODER);
+    }
+
+    @Test
+    public void givenAnotherDecoderRemains_whenExcludingDecoder_thenReturnsTrue() {
+        boolean hasFallback = decoderFallbackCodecSelector.exclude(PREFERRED_DECODER.name, MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(hasFallback).isTrue();
+    }
+
+    @Test
+    public void givenNoOtherDecoderRemains_whenExcludingDecoder_thenReturnsFalse() {
+        decoderFallbackCodecSelector.exclude(PREFERRED_DECODER.name, MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        boolean hasFallback = decoderFallbackCodecSelector.exclude(FALLBACK_DECODER.name, MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(hasFallback).isFalse();
+    }
+
+    @Test
+    public void givenDecoderNameIsUnknown_whenExcludingDecoder_thenReturnsFalse() {
+        boolean hasFallback = decoderFallbackCodecSelector.exclude(null, MIME_TYPE, REQUIRES_SECURE_DECODER);
+
+        assertThat(hasFallback).isFalse();
+    }
+}
@@ -1,29 +1,40 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.net.Uri;
+import android.os.Handler;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 import android.view.TextureView;
 
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.PlayerMessage;
 import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.audio.AudioAttributes;
 import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.source.ConcatenatingMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.MediaSourceEventListener;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
 import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
 import com.novoda.noplayer.ContentType;
+import com.novoda.noplayer.LoadControlProfile;
+import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.Options;
 import com.novoda.noplayer.OptionsBuilder;
 import com.novoda.noplayer.PlayerSurfaceHolder;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionPreAcquirer;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
 import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
 import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.PlaybackSnapshot;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerAudioTrackFixture;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
@@ -39,23 +50,29 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 
 import utils.ExceptionMatcher;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(Enclosed.class)
@@ -76,6 +93,12 @@ public class ExoPlayerFacadeTest {
     private static final boolean DO_NOT_RESET_POSITION = false;
     private static final boolean DO_NOT_RESET_STATE = false;
 
+    private static final byte[] WIDEVINE_INIT_DATA = {1, 2, 3};
+
+    private static final int VIEWPORT_WIDTH = 320;
+    private static final int VIEWPORT_HEIGHT = 180;
+    private static final int NO_VIEWPORT_CONSTRAINT = Integer.MAX_VALUE;
+
     private static final Options OPTIONS = new OptionsBuilder()
             .withContentType(ContentType.DASH)
             .build();
@@ -105,6 +128,17 @@ public class ExoPlayerFacadeTest {
             verify(exoPlayer).addListener(exoPlayerForwarder.exoPlayerEventListener());
         }
 
+        @Test
+        public void whenLoadingVideo_thenInvalidatesTrackCatalogWhenTracksChange() {
+            ArgumentCaptor<Player.EventListener> argumentCaptor = ArgumentCaptor.forClass(Player.EventListener.class);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+            verify(exoPlayer, times(2)).addListener(argumentCaptor.capture());
+            argumentCaptor.getAllValues().get(0).onTracksChanged(TrackGroupArray.EMPTY, new TrackSelectionArray());
+
+            verify(trackSelector).invalidateTrackCatalog();
+        }
+
         @Test
         public void whenLoadingVideo_thenSetsAnalyticsListener() {
 
@@ -156,7 +190,7 @@ public class ExoPlayerFacadeTest {
 
             facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
 
-            verify(exoPlayer).prepare(mediaSource, RESET_POSITION, DO_NOT_RESET_STATE);
+            verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
         }
 
         @Test
@@ -170,7 +204,7 @@ public class ExoPlayerFacadeTest {
 
             InOrder inOrder = inOrder(exoPlayer);
             inOrder.verify(exoPlayer).seekTo(TWENTY_FIVE_SECONDS_IN_MILLIS);
-            inOrder.verify(exoPlayer).prepare(mediaSource, DO_NOT_RESET_POSITION, DO_NOT_RESET_STATE);
+            inOrder.verify(exoPlayer).prepare(queueOf(mediaSource), eq(DO_NOT_RESET_POSITION), eq(DO_NOT_RESET_STATE));
         }
 
         @Test
@@ -181,7 +215,47 @@ public class ExoPlayerFacadeTest {
 
             InOrder inOrder = inOrder(exoPlayer);
             inOrder.verify(exoPlayer, never()).seekTo(TWENTY_FIVE_SECONDS_IN_MILLIS);
-            inOrder.verify(exoPlayer).prepare(mediaSource, RESET_POSITION, DO_NOT_RESET_STATE);
+            inOrder.verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void givenWidevineInitData_whenLoadingVideo_thenPreAcquiresDrmSessionBeforePreparing() {
+            Options options = OPTIONS.toOptionsBuilder()
+                    .withWidevineInitData(WIDEVINE_INIT_DATA)
+                    .build();
+            MediaSource mediaSource = givenMediaSource(options);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, options, exoPlayerForwarder, mediaCodecSelector);
+
+            InOrder inOrder = inOrder(drmSessionPreAcquirer, exoPlayer);
+            inOrder.verify(drmSessionPreAcquirer).preAcquire(exoPlayer, drmSessionManager, WIDEVINE_INIT_DATA);
+            inOrder.verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void givenNoWidevineInitData_whenLoadingVideo_thenDoesNotPreAcquireDrmSession() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(drmSessionPreAcquirer, never()).preAcquire(any(SimpleExoPlayer.class), any(DrmSessionManager.class), any(byte[].class));
+        }
+
+        @Test
+        public void givenViewportSize_whenLoadingVideo_thenConstrainsTrackSelectionToViewportBeforePreparing() {
+            MediaSource mediaSource = givenMediaSource(OPTIONS);
+            facade.setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            InOrder inOrder = inOrder(trackSelector, exoPlayer);
+            inOrder.verify(trackSelector).setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            inOrder.verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void givenNoViewportSize_whenLoadingVideo_thenDoesNotConstrainTrackSelection() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(trackSelector).setViewportSize(NO_VIEWPORT_CONSTRAINT, NO_VIEWPORT_CONSTRAINT);
         }
 
         @Test
@@ -199,6 +273,27 @@ public class ExoPlayerFacadeTest {
             facade.playheadPositionInMillis();
         }
 
+        @Test
+        public void whenPreparingAgain_thenThrowsIllegalStateException() {
+            thrown.expect(ExceptionMatcher.matches("Video must be loaded before trying to interact with the player", IllegalStateException.class));
+
+            facade.prepareAgainAtCurrentPosition();
+        }
+
+        @Test
+        public void whenAddingCuePoint_thenThrowsIllegalStateException() {
+            thrown.expect(ExceptionMatcher.matches("Video must be loaded before trying to interact with the player", IllegalStateException.class));
+
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, mock(NoPlayer.CuePointCallback.class));
+        }
+
+        @Test
+        public void whenAppendingToQueue_thenThrowsIllegalStateException() {
+            thrown.expect(ExceptionMatcher.matches("Video must be loaded before trying to interact with the player", IllegalStateException.class));
+
+            facade.appendToQueue(uri, OPTIONS, exoPlayerForwarder);
+        }
+
         @Test
         public void whenQueryingMediaDuration_thenThrowsIllegalStateException() {
             thrown.expect(ExceptionMatcher.matches("Video must be loaded before trying to interact with the player", IllegalStateException.class));
@@ -276,6 +371,10 @@ public class ExoPlayerFacadeTest {
         private static final PlayerVideoTrack PLAYER_VIDEO_TRACK = PlayerVideoTrackFixture.aPlayerVideoTrack().build();
         private static final List<PlayerVideoTrack> VIDEO_TRACKS = Collections.singletonList(PLAYER_VIDEO_TRACK);
 
+        private final NoPlayer.CuePointCallback cuePointCallback = mock(NoPlayer.CuePointCallback.class);
+
+        private MediaSource mediaSource;
+
         @Override
         public void setUp() {
             super.setUp();
@@ -283,7 +382,7 @@ public class ExoPlayerFacadeTest {
         }
 
         private void givenPlayerIsLoaded() {
-            givenMediaSource(OPTIONS);
+            mediaSource = givenMediaSource(OPTIONS);
             facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
         }
 
@@ -294,6 +393,180 @@ public class ExoPlayerFacadeTest {
             verify(exoPlayer).release();
         }
 
+        @Test
+        public void whenAppendingToQueue_thenQueuesContentAfterLoadedContent() {
+            Uri queuedUri = mock(Uri.class);
+            given(mediaSourceFactory.create(OPTIONS, queuedUri, mediaSourceEventListener, defaultBandwidthMeter)).willReturn(mock(MediaSource.class));
+
+            facade.appendToQueue(queuedUri, OPTIONS, exoPlayerForwarder);
+
+            assertThat(facade.queueSize()).isEqualTo(2);
+        }
+
+        @Test
+        public void givenQueuedContent_whenRemovingFromQueue_thenRemovesContent() {
+            Uri queuedUri = mock(Uri.class);
+            given(mediaSourceFactory.create(OPTIONS, queuedUri, mediaSourceEventListener, defaultBandwidthMeter)).willReturn(mock(MediaSource.class));
+            facade.appendToQueue(queuedUri, OPTIONS, exoPlayerForwarder);
+
+            facade.removeFromQueue(1);
+
+            assertThat(facade.queueSize()).isEqualTo(1);
+        }
+
+        @Test
+        public void whenPreparingAgainAtCurrentPosition_thenPreparesLoadedQueueWithoutResettingPosition() {
+            facade.prepareAgainAtCurrentPosition();
+
+            verify(exoPlayer).prepare(queueOf(mediaSource), eq(DO_NOT_RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void whenPreparingAgainAtDefaultPosition_thenPreparesLoadedQueueAgainFromDefaultPosition() {
+            facade.prepareAgainAtDefaultPosition();
+
+            verify(exoPlayer, times(2)).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void whenAddingCuePoint_thenSendsMessageAtCuePointPositionThatIsKeptAfterDelivery() {
+            PlayerMessage message = givenPlayerMessage();
+
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+
+            verify(message).setPosition(CUE_POINT_POSITION_IN_MILLIS);
+            verify(message).setHandler(handler);
+            verify(message).setDeleteAfterDelivery(false);
+            verify(message).send();
+        }
+
+        @Test
+        public void givenCuePoint_whenMessageIsDelivered_thenNotifiesCuePointCallback() {
+            givenPlayerMessage();
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+            ArgumentCaptor<PlayerMessage.Target> targetCaptor = ArgumentCaptor.forClass(PlayerMessage.Target.class);
+            verify(exoPlayer).createMessage(targetCaptor.capture());
+
+            targetCaptor.getValue().handleMessage(0, null);
+
+            verify(cuePointCallback).onCuePoint(CUE_POINT_POSITION_IN_MILLIS);
+        }
+
+        @Test
+        public void givenCuePoint_whenAddingSameCuePoint_thenDoesNotSendAnotherMessage() {
+            givenPlayerMessage();
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+
+            verify(exoPlayer, times(1)).createMessage(any(PlayerMessage.Target.class));
+        }
+
+        @Test
+        public void givenCuePoint_whenRemovingCuePoint_thenCancelsMessage() {
+            PlayerMessage message = givenPlayerMessage();
+            facade.addCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+
+            facade.removeCuePoint(CUE_POINT_POSITION_IN_MILLIS, cuePointCallback);
+
+            verify(message).cancel();
+        }
+
+        private PlayerMessage givenPlayerMessage() {
+            PlayerMessage message = mock(PlayerMessage.class, RETURNS_SELF);
+            given(exoPlayer.createMessage(any(PlayerMessage.Target.class))).willReturn(message);
+            return message;
+        }
+
+        @Test
+        public void givenPlayerIsReadyAndPlayWhenReady_whenGettingPlaybackState_thenReturnsPlaying() {
+            given(exoPlayer.getPlaybackState()).willReturn(Player.STATE_READY);
+            given(exoPlayer.getPlayWhenReady()).willReturn(true);
+
+            PlaybackSnapshot.State playbackState = facade.playbackState();
+
+            assertThat(playbackState).isEqualTo(PlaybackSnapshot.State.PLAYING);
+        }
+
+        @Test
+        public void givenPlayerIsReadyAndNotPlayWhenReady_whenGettingPlaybackState_thenReturnsPaused() {
+            given(exoPlayer.getPlaybackState()).willReturn(Player.STATE_READY);
+            given(exoPlayer.getPlayWhenReady()).willReturn(false);
+
+            PlaybackSnapshot.State playbackState = facade.playbackState();
+
+            assertThat(playbackState).isEqualTo(PlaybackSnapshot.State.PAUSED);
+        }
+
+        @Test
+        public void givenPlayerIsBuffering_whenGettingPlaybackState_thenReturnsBuffering() {
+            given(exoPlayer.getPlaybackState()).willReturn(Player.STATE_BUFFERING);
+
+            PlaybackSnapshot.State playbackState = facade.playbackState();
+
+            assertThat(playbackState).isEqualTo(PlaybackSnapshot.State.BUFFERING);
+        }
+
+        @Test
+        public void whenGettingBufferedPosition_thenReturnsBufferedPosition() {
+            given(exoPlayer.getBufferedPosition()).willReturn(TWO_MINUTES_IN_MILLIS);
+
+            long bufferedPositionInMillis = facade.bufferedPositionInMillis();
+
+            assertThat(bufferedPositionInMillis).isEqualTo(TWO_MINUTES_IN_MILLIS);
+        }
+
+        @Test
+        public void whenGettingCurrentQueueIndex_thenReturnsCurrentWindowIndex() {
+            given(exoPlayer.getCurrentWindowIndex()).willReturn(1);
+
+            int currentQueueIndex = facade.currentQueueIndex();
+
+            assertThat(currentQueueIndex).isEqualTo(1);
+        }
+
+        @Test
+        public void whenResetting_thenReleasesPreAcquiredDrmSessionBeforeReleasingUnderlyingPlayer() {
+            facade.release();
+
+            InOrder inOrder = inOrder(drmSessionPreAcquirer, exoPlayer);
+            inOrder.verify(drmSessionPreAcquirer).release();
+            inOrder.verify(exoPlayer).release();
+        }
+
+        @Test
+        public void whenSettingViewportSize_thenConstrainsTrackSelectionToViewport() {
+            facade.setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+            verify(trackSelector).setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        }
+
+        @Test
+        public void whenSettingViewportSize_thenConstrainsTrackSelectionOnPlayerThread() {
+            facade.setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+            InOrder inOrder = inOrder(handler, trackSelector);
+            inOrder.verify(handler).post(any(Runnable.class));
+            inOrder.verify(trackSelector).setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+        }
+
+        @Test
+        public void givenViewportSize_whenClearingViewportSize_thenRemovesViewportConstraint() {
+            facade.setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+            facade.clearViewportSize();
+
+            verify(trackSelector).setViewportSize(NO_VIEWPORT_CONSTRAINT, NO_VIEWPORT_CONSTRAINT);
+        }
+
+        @Test
+        public void whenLoadingAnotherVideo_thenReleasesPreviousUnderlyingPlayer() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayer).release();
+            verify(exoPlayerCreator, times(2)).create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), OPTIONS.loadControlProfile());
+        }
+
         @Test
         public void whenPausing_thenSetsPlayWhenReadyToFalse() {
 
@@ -438,7 +711,7 @@ public class ExoPlayerFacadeTest {
 
         @Test
         public void whenGettingSelectedVideoTrack_thenDelegatesTrackSelector() {
-            given(trackSelector.getSelectedVideoTrack(eq(exoPlayer), any(RendererTypeRequester.class), any(ContentType.class))).willReturn(Optional.of(PLAYER_VIDEO_TRACK));
+            given(trackSelector.getSelectedVideoTrack(eq(exoPlayer), any(RendererTypeRequester.class))).willReturn(Optional.of(PLAYER_VIDEO_TRACK));
 
             Optional<PlayerVideoTrack> selectedVideoTrack = facade.getSelectedVideoTrack();
 
@@ -456,7 +729,7 @@ public class ExoPlayerFacadeTest {
 
         @Test
         public void whenGettingVideoTracks_thenDelegatesToTrackSelector() {
-            given(trackSelector.getVideoTracks(any(RendererTypeRequester.class), any(ContentType.class))).willReturn(VIDEO_TRACKS);
+            given(trackSelector.getVideoTracks(any(RendererTypeRequester.class))).willReturn(VIDEO_TRACKS);
 
             List<PlayerVideoTrack> videoTracks = facade.getVideoTracks();
 
@@ -495,9 +768,160 @@ public class ExoPlayerFacadeTest {
 
     }
 
+    public static class GivenVideoIsPreloaded extends Base {
+
+        private MediaSource mediaSource;
+
+        @Override
+        public void setUp() {
+            super.setUp();
+            mediaSource = givenMediaSource(OPTIONS);
+            facade.preload(drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+        }
+
+        @Test
+        public void whenPreloading_thenPreparesUnderlyingPlayerWithoutSurface() {
+            verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+            verify(exoPlayer, never()).setVideoSurfaceView(surfaceView);
+        }
+
+        @Test
+        public void whenQueryingPreloadedState_thenReturnsTrueForSameContentOnly() {
+            Options otherOptions = OPTIONS.toOptionsBuilder()
+                    .withMaxVideoBitrate(TEN_PERCENT)
+                    .build();
+
+            assertThat(facade.isPreloaded(uri, OPTIONS)).isTrue();
+            assertThat(facade.isPreloaded(uri, otherOptions)).isFalse();
+            assertThat(facade.isPreloaded(mock(Uri.class), OPTIONS)).isFalse();
+        }
+
+        @Test
+        public void whenLoadingSameVideo_thenAttachesSurfaceWithoutPreparingAgain() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayer).setVideoSurfaceView(surfaceView);
+            verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+            verify(exoPlayer, never()).release();
+        }
+
+        @Test
+        public void whenLoadingSameVideo_thenIsNoLongerPreloaded() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            assertThat(facade.isPreloaded(uri, OPTIONS)).isFalse();
+        }
+
+        @Test
+        public void whenLoadingDifferentVideo_thenReleasesPreloadedPlayer() {
+            Uri otherUri = mock(Uri.class);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, otherUri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayer).release();
+        }
+
+        @Test
+        public void whenReleasing_thenIsNoLongerPreloaded() {
+            facade.release();
+
+            assertThat(facade.isPreloaded(uri, OPTIONS)).isFalse();
+        }
+    }
+
+    public static class GivenPlayerIsReused extends Base {
+
+        private static final boolean RESET_PLAYER = true;
+
+        @Override
+        boolean reusePlayer() {
+            return true;
+        }
+
+        @Override
+        public void setUp() {
+            super.setUp();
+            givenMediaSource(OPTIONS);
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+        }
+
+        @Test
+        public void whenReleasing_thenStopsUnderlyingPlayerWithoutReleasingIt() {
+            facade.release();
+
+            verify(exoPlayer).stop(RESET_PLAYER);
+            verify(exoPlayer, never()).release();
+        }
+
+        @Test
+        public void whenReleasing_thenVideoIsNoLongerLoaded() {
+            facade.release();
+
+            assertThat(facade.hasPlayedContent()).isFalse();
+        }
+
+        @Test
+        public void whenLoadingAnotherVideo_thenReusesUnderlyingPlayer() {
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, OPTIONS, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayerCreator).create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), OPTIONS.loadControlProfile());
+            verify(exoPlayer).addListener(exoPlayerForwarder.exoPlayerEventListener());
+            verify(exoPlayer, never()).release();
+        }
+
+        @Test
+        public void whenLoadingAnotherVideo_thenResetsTrackSelectorParameters() {
+            Options options = OPTIONS.toOptionsBuilder()
+                    .withMaxVideoBitrate(TEN_PERCENT)
+                    .build();
+            MediaSource mediaSource = givenMediaSource(options);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, options, exoPlayerForwarder, mediaCodecSelector);
+
+            InOrder inOrder = inOrder(trackSelector, exoPlayer);
+            inOrder.verify(trackSelector).resetParameters(options);
+            inOrder.verify(exoPlayer).prepare(queueOf(mediaSource), eq(RESET_POSITION), eq(DO_NOT_RESET_STATE));
+        }
+
+        @Test
+        public void givenDifferentAdaptiveTrackSelectionOptions_whenLoadingAnotherVideo_thenReplacesUnderlyingPlayer() {
+            Options options = OPTIONS.toOptionsBuilder()
+                    .withMinDurationBeforeQualityIncreaseInMillis(TEN_PERCENT)
+                    .build();
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, options, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayer).release();
+            verify(exoPlayerCreator, times(2)).create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), OPTIONS.loadControlProfile());
+        }
+
+        @Test
+        public void givenDifferentLoadControlProfile_whenLoadingAnotherVideo_thenReplacesUnderlyingPlayer() {
+            Options options = OPTIONS.toOptionsBuilder()
+                    .withLoadControlProfile(LoadControlProfile.LOW_MEMORY)
+                    .build();
+            given(exoPlayerCreator.create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), LoadControlProfile.LOW_MEMORY))
+                    .willReturn(exoPlayer);
+
+            facade.loadVideo(surfaceViewHolder, drmSessionCreator, uri, options, exoPlayerForwarder, mediaCodecSelector);
+
+            verify(exoPlayer).release();
+            verify(exoPlayerCreator).create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), LoadControlProfile.LOW_MEMORY);
+        }
+
+        @Test
+        public void whenReleasingReusablePlayer_thenReleasesUnderlyingPlayer() {
+            facade.releaseReusablePlayer();
+
+            verify(exoPlayer).release();
+            assertThat(facade.hasPlayedContent()).isFalse();
+        }
+    }
+
     public abstract static class Base {
 
         static final float ANY_VOLUME = 0.5f;
+        static final long CUE_POINT_POSITION_IN_MILLIS = 60000;
 
         @Rule
         public MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -513,6 +937,8 @@ public class ExoPlayerFacadeTest {
         @Mock
         MediaSourceFactory mediaSourceFactory;
         @Mock
+        ExoPlayerCreator exoPlayerCreator;
+        @Mock
         ExoPlayerForwarder exoPlayerForwarder;
         @Mock
         CompositeTrackSelectorCreator trackSelectorCreator;
@@ -529,6 +955,10 @@ public class ExoPlayerFacadeTest {
         @Mock
         DefaultDrmSessionEventListener drmSessionEventListener;
         @Mock
+        DrmSessionManager<FrameworkMediaCrypto> drmSessionManager;
+        @Mock
+        DrmSessionPreAcquirer drmSessionPreAcquirer;
+        @Mock
         MediaSourceEventListener mediaSourceEventListener;
         @Mock
         MediaCodecSelector mediaCodecSelector;
@@ -536,6 +966,8 @@ public class ExoPlayerFacadeTest {
         SurfaceView surfaceView;
         @Mock
         TextureView textureView;
+        @Mock
+        Handler handler;
         PlayerSurfaceHolder surfaceViewHolder;
         PlayerSurfaceHolder textureViewHolder;
 
@@ -543,27 +975,40 @@ public class ExoPlayerFacadeTest {
 
         @Before
         public void setUp() {
-            ExoPlayerCreator exoPlayerCreator = mock(ExoPlayerCreator.class);
             given(exoPlayerForwarder.drmSessionEventListener()).willReturn(drmSessionEventListener);
             given(exoPlayerForwarder.mediaSourceEventListener()).willReturn(mediaSourceEventListener);
-            given(bandwidthMeterCreator.create(anyLong())).willReturn(defaultBandwidthMeter);
+            given(bandwidthMeterCreator.create(any(Options.class))).willReturn(defaultBandwidthMeter);
             given(trackSelectorCreator.create(any(Options.class), eq(defaultBandwidthMeter))).willReturn(trackSelector);
-            given(exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector, trackSelector.trackSelector())).willReturn(exoPlayer);
+            given(drmSessionCreator.create(drmSessionEventListener)).willReturn(drmSessionManager);
+            given(exoPlayerForwarder.traceStartupOf(drmSessionManager)).willReturn(drmSessionManager);
+            given(exoPlayerCreator.create(drmSessionManager, mediaCodecSelector, trackSelector.trackSelector(), OPTIONS.loadControlProfile())).willReturn(exoPlayer);
             willDoNothing().given(exoPlayer).seekTo(anyInt());
             given(rendererTypeRequesterCreator.createfrom(exoPlayer)).willReturn(rendererTypeRequester);
+            given(handler.post(any(Runnable.class))).willAnswer(new Answer<Boolean>() {
+                @Override
+                public Boolean answer(InvocationOnMock invocation) {
+                    Runnable runnable = invocation.getArgument(0);
+                    runnable.run();
+                    return true;
+                }
+            });
             facade = new ExoPlayerFacade(
-                    bandwidthMeterCreator,
+                    new PlayerComponentCreators(bandwidthMeterCreator, trackSelectorCreator, exoPlayerCreator, rendererTypeRequesterCreator),
                     androidDeviceVersion,
                     mediaSourceFactory,
-                    trackSelectorCreator,
-                    exoPlayerCreator,
-                    rendererTypeRequesterCreator
+                    drmSessionPreAcquirer,
+                    handler,
+                    reusePlayer()
             );
             given(surfaceView.getHolder()).willReturn(mock(SurfaceHolder.class));
             surfaceViewHolder = PlayerSurfaceHolder.create(surfaceView);
             textureViewHolder = PlayerSurfaceHolder.create(textureView);
         }
 
+        boolean reusePlayer() {
+            return false;
+        }
+
         MediaSource givenMediaSource(Options options) {
             MediaSource mediaSource = mock(MediaSource.class);
             given(
@@ -577,5 +1022,18 @@ public class ExoPlayerFacadeTest {
 
             return mediaSource;
         }
+
+        static MediaSource queueOf(final MediaSource mediaSource) {
+            return argThat(new ArgumentMatcher<MediaSource>() {
+                @Override
+                public boolean matches(MediaSource argument) {
+                    if (!(argument instanceof ConcatenatingMediaSource)) {
+                        return false;
+                    }
+                    ConcatenatingMediaSource queue = (ConcatenatingMediaSource) argument;
+                    return queue.getSize() == 1 && queue.getMediaSource(0) == mediaSource;
+                }
+            });
+        }
     }
 }
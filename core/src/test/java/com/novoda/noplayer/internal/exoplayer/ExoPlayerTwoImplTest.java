@@ -14,9 +14,12 @@ import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerSurfaceHolder;
 import com.novoda.noplayer.PlayerType;
 import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.internal.Clock;
 import com.novoda.noplayer.internal.Heart;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.exoplayer.forwarder.ErrorRecovery;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.model.LoadTimeout;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
@@ -29,6 +32,7 @@ import org.junit.experimental.runners.Enclosed;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnit;
@@ -43,6 +47,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -83,11 +88,20 @@ public class ExoPlayerTwoImplTest {
 
             verify(forwarder).bind(preparedListener, player);
             verify(forwarder).bind(completionListener, stateChangedListener);
-            verify(forwarder).bind(errorListener);
+            verify(forwarder).bind(errorListener, errorRecovery);
             verify(forwarder).bind(bufferStateListener);
             verify(forwarder).bind(videoSizeChangedListener);
             verify(forwarder).bind(bitrateChangedListener);
             verify(forwarder).bind(infoListener);
+            verify(forwarder).bind(startupListener);
+        }
+
+        @Test
+        public void whenInitialisingPlayer_thenPublishesPlaybackSnapshotsOnPlayerEventsAndHeartbeats() {
+            player.initialise();
+
+            verify(forwarder).bind(any(PlaybackSnapshotPublisher.class));
+            verify(listenersHolder).addHeartbeatCallback(any(PlaybackSnapshotPublisher.class));
         }
 
         @Test
@@ -169,6 +183,7 @@ public class ExoPlayerTwoImplTest {
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
             verify(exoPlayerFacade).release();
+            verify(exoPlayerFacade, never()).releaseReusablePlayer();
         }
 
         @Test
@@ -180,7 +195,10 @@ public class ExoPlayerTwoImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
+            verify(heart).release();
             verify(exoPlayerFacade).release();
+            verify(exoPlayerFacade).releaseReusablePlayer();
+            verify(drmSessionCreator).release();
             verify(listenersHolder).clear();
         }
 
@@ -208,8 +226,11 @@ public class ExoPlayerTwoImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
+            verify(heart).release();
             verify(containerView).setVisibility(View.GONE);
             verify(exoPlayerFacade).release();
+            verify(exoPlayerFacade).releaseReusablePlayer();
+            verify(drmSessionCreator).release();
             verify(listenersHolder).clear();
         }
 
@@ -222,6 +243,17 @@ public class ExoPlayerTwoImplTest {
             verify(exoPlayerFacade).loadVideo(playerView.getPlayerSurfaceHolder(), drmSessionCreator, uri, OPTIONS, forwarder, mediaCodecSelector);
         }
 
+        @Test
+        public void whenLoadingVideo_thenResetsErrorRecovery() {
+            player.attach(playerView);
+
+            player.loadVideo(uri, OPTIONS);
+
+            InOrder inOrder = inOrder(errorRecovery, exoPlayerFacade);
+            inOrder.verify(errorRecovery).reset();
+            inOrder.verify(exoPlayerFacade).loadVideo(playerSurfaceHolder, drmSessionCreator, uri, OPTIONS, forwarder, mediaCodecSelector);
+        }
+
         @Test
         public void whenLoadingVideoWithTimeout_thenDelegatesLoadingToFacade() {
             player.attach(playerView);
@@ -272,6 +304,35 @@ public class ExoPlayerTwoImplTest {
             verify(listenersHolder).addStateChangedListener(stateChangeListener);
         }
 
+        @Test
+        public void givenAttachedPlayerView_whenSurfaceSizeChanges_thenSetsViewportSize() {
+            player.attach(playerView);
+            ArgumentCaptor<PlayerSurfaceHolder.SurfaceSizeListener> argumentCaptor = ArgumentCaptor.forClass(PlayerSurfaceHolder.SurfaceSizeListener.class);
+            verify(playerSurfaceHolder).addSurfaceSizeListener(argumentCaptor.capture());
+
+            argumentCaptor.getValue().onSurfaceSizeChanged(WIDTH, HEIGHT);
+
+            verify(exoPlayerFacade).setViewportSize(WIDTH, HEIGHT);
+        }
+
+        @Test
+        public void givenAttachedPlayerView_whenDetachingPlayerView_thenRemovesSurfaceSizeListener() {
+            player.attach(playerView);
+
+            player.detach(playerView);
+
+            verify(playerSurfaceHolder).removeSurfaceSizeListener(any(PlayerSurfaceHolder.SurfaceSizeListener.class));
+        }
+
+        @Test
+        public void givenAttachedPlayerView_whenDetachingPlayerView_thenClearsViewportSize() {
+            player.attach(playerView);
+
+            player.detach(playerView);
+
+            verify(exoPlayerFacade).clearViewportSize();
+        }
+
         @Test
         public void givenAttachedPlayerView_whenDetachingPlayerView_thenRemovesVideoSizeChangedListener() {
             player.attach(playerView);
@@ -354,6 +415,53 @@ public class ExoPlayerTwoImplTest {
         }
     }
 
+    public static class GivenVideoIsPreloaded extends Base {
+
+        @Test
+        public void whenPreloading_thenDefersPreparedNotification_andPreloadsWithoutPlayerView() {
+            player.preload(URI, OPTIONS);
+
+            InOrder inOrder = inOrder(listenersHolder, exoPlayerFacade);
+            inOrder.verify(listenersHolder).deferPreparedNotification();
+            inOrder.verify(exoPlayerFacade).preload(drmSessionCreator, URI, OPTIONS, forwarder, mediaCodecSelector);
+        }
+
+        @Test
+        public void givenSameVideoIsPreloaded_whenLoadingVideo_thenDoesNotStopPlayer() {
+            given(exoPlayerFacade.hasPlayedContent()).willReturn(true);
+            given(exoPlayerFacade.isPreloaded(URI, OPTIONS)).willReturn(true);
+            player.attach(playerView);
+
+            player.loadVideo(URI, OPTIONS);
+
+            verify(stateChangedListener, never()).onVideoStopped();
+            verify(exoPlayerFacade, never()).release();
+        }
+
+        @Test
+        public void givenSameVideoIsPreloaded_whenLoadingVideo_thenRestartsStartupTimelineFromPreloadAtLoad() {
+            given(exoPlayerFacade.isPreloaded(URI, OPTIONS)).willReturn(true);
+            player.preload(URI, OPTIONS);
+            player.attach(playerView);
+
+            player.loadVideo(URI, OPTIONS);
+
+            verify(forwarder, times(1)).startStartupTimeline();
+            verify(forwarder).restartStartupTimelineAtLoad();
+        }
+
+        @Test
+        public void whenLoadingVideo_thenResumesPreparedNotificationAfterLoading() {
+            player.attach(playerView);
+
+            player.loadVideo(URI, OPTIONS);
+
+            InOrder inOrder = inOrder(exoPlayerFacade, listenersHolder);
+            inOrder.verify(exoPlayerFacade).loadVideo(playerSurfaceHolder, drmSessionCreator, URI, OPTIONS, forwarder, mediaCodecSelector);
+            inOrder.verify(listenersHolder).resumePreparedNotification();
+        }
+    }
+
     public static class GivenAttachedAndVideoIsLoaded extends Base {
 
         private static final float ANY_VOLUME = 0.4f;
@@ -580,6 +688,8 @@ public class ExoPlayerTwoImplTest {
         @Mock
         Heart heart;
         @Mock
+        Clock clock;
+        @Mock
         Uri uri;
         @Mock
         PlayerView playerView;
@@ -600,16 +710,20 @@ public class ExoPlayerTwoImplTest {
         @Mock
         NoPlayer.StateChangedListener stateChangedListener;
         @Mock
-        NoPlayer.InfoListener infoListener;
+        InfoListeners infoListener;
         @Mock
         NoPlayer.BitrateChangedListener bitrateChangedListener;
         @Mock
+        NoPlayer.StartupListener startupListener;
+        @Mock
         ExoPlayerFacade exoPlayerFacade;
         @Mock
         DrmSessionCreator drmSessionCreator;
         @Mock
         MediaCodecSelector mediaCodecSelector;
         @Mock
+        ErrorRecovery errorRecovery;
+        @Mock
         View containerView;
         @Mock
         PlayerSurfaceHolder playerSurfaceHolder;
@@ -631,6 +745,7 @@ public class ExoPlayerTwoImplTest {
             given(listenersHolder.getInfoListeners()).willReturn(infoListener);
             given(listenersHolder.getVideoSizeChangedListeners()).willReturn(videoSizeChangedListener);
             given(listenersHolder.getBitrateChangedListeners()).willReturn(bitrateChangedListener);
+            given(listenersHolder.getStartupListeners()).willReturn(startupListener);
 
             player = new ExoPlayerTwoImpl(
                     exoPlayerFacade,
@@ -639,7 +754,8 @@ public class ExoPlayerTwoImplTest {
                     loadTimeout,
                     heart,
                     drmSessionCreator,
-                    mediaCodecSelector
+                    new PlaybackRecovery(mediaCodecSelector, errorRecovery),
+                    clock
             );
         }
     }
@@ -0,0 +1,136 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.novoda.noplayer.internal.Clock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class MemoryAwareLoadControlTest {
+
+    private static final int TARGET_BUFFER_BYTES = 16 * 1024 * 1024;
+    private static final int HALF_TARGET_BUFFER_BYTES = TARGET_BUFFER_BYTES / 2;
+    private static final long ANY_BUFFERED_DURATION_US = 1000000;
+    private static final float ANY_PLAYBACK_SPEED = 1f;
+    private static final boolean NOT_REBUFFERING = false;
+    private static final long TRIMMED_AT_IN_MILLIS = 1000;
+    private static final long MEMORY_PRESSURE_CLEARED_AT_IN_MILLIS = TRIMMED_AT_IN_MILLIS + 60000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private LoadControl delegate;
+    @Mock
+    private Allocator allocator;
+    @Mock
+    private Context context;
+    @Mock
+    private Clock clock;
+
+    private MemoryAwareLoadControl loadControl;
+
+    @Before
+    public void setUp() {
+        given(delegate.getAllocator()).willReturn(allocator);
+        given(delegate.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED)).willReturn(true);
+        given(allocator.getTotalBytesAllocated()).willReturn(HALF_TARGET_BUFFER_BYTES);
+        given(clock.getCurrentTime()).willReturn(TRIMMED_AT_IN_MILLIS);
+        loadControl = new MemoryAwareLoadControl(delegate, TARGET_BUFFER_BYTES, clock);
+    }
+
+    @Test
+    public void givenBufferBelowTarget_whenCheckingLoading_thenDelegates() {
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isTrue();
+    }
+
+    @Test
+    public void givenMemoryIsTrimmed_whenCheckingLoading_thenStopsLoadingAtLowerTarget() {
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isFalse();
+    }
+
+    @Test
+    public void givenUiIsHidden_whenCheckingLoading_thenKeepsLoadingToFullTarget() {
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isTrue();
+    }
+
+    @Test
+    public void givenApplicationIsInBackground_whenCheckingLoading_thenKeepsLoadingToFullTarget() {
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isTrue();
+    }
+
+    @Test
+    public void givenMemoryPressureHasCleared_whenCheckingLoading_thenLoadsToFullTargetAgain() {
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+        given(clock.getCurrentTime()).willReturn(MEMORY_PRESSURE_CLEARED_AT_IN_MILLIS);
+
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isTrue();
+    }
+
+    @Test
+    public void givenMemoryPressureHasNotCleared_whenCheckingLoading_thenStopsLoadingAtLowerTarget() {
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+        given(clock.getCurrentTime()).willReturn(MEMORY_PRESSURE_CLEARED_AT_IN_MILLIS - 1);
+
+        boolean shouldContinueLoading = loadControl.shouldContinueLoading(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED);
+
+        assertThat(shouldContinueLoading).isFalse();
+    }
+
+    @Test
+    public void givenBufferReachedTrimmedTarget_whenCheckingPlaybackStart_thenStartsPlayback() {
+        given(delegate.shouldStartPlayback(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED, NOT_REBUFFERING)).willReturn(false);
+        loadControl.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+
+        boolean shouldStartPlayback = loadControl.shouldStartPlayback(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED, NOT_REBUFFERING);
+
+        assertThat(shouldStartPlayback).isTrue();
+    }
+
+    @Test
+    public void givenBufferBelowTarget_whenCheckingPlaybackStart_thenDelegates() {
+        given(delegate.shouldStartPlayback(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED, NOT_REBUFFERING)).willReturn(false);
+
+        boolean shouldStartPlayback = loadControl.shouldStartPlayback(ANY_BUFFERED_DURATION_US, ANY_PLAYBACK_SPEED, NOT_REBUFFERING);
+
+        assertThat(shouldStartPlayback).isFalse();
+    }
+
+    @Test
+    public void givenRegistered_whenReleasing_thenUnregistersFromMemoryCallbacks() {
+        loadControl.register(context);
+
+        loadControl.onReleased();
+
+        verify(context).registerComponentCallbacks(loadControl);
+        verify(context).unregisterComponentCallbacks(loadControl);
+    }
+}
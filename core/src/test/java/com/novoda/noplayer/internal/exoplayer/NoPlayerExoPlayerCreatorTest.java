@@ -18,6 +18,7 @@ public class NoPlayerExoPlayerCreatorTest {
 
     private static final boolean USE_SECURE_CODEC = true;
     private static final boolean ALLOW_CROSS_PROTOCOL_REDIRECTS = true;
+    private static final boolean REUSE_PLAYER = true;
 
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -35,13 +36,13 @@ public class NoPlayerExoPlayerCreatorTest {
 
     @Before
     public void setUp() {
-        given(internalCreator.create(context, drmSessionCreator, USE_SECURE_CODEC, ALLOW_CROSS_PROTOCOL_REDIRECTS)).willReturn(player);
+        given(internalCreator.create(context, drmSessionCreator, USE_SECURE_CODEC, ALLOW_CROSS_PROTOCOL_REDIRECTS, REUSE_PLAYER)).willReturn(player);
         creator = new NoPlayerExoPlayerCreator(internalCreator);
     }
 
     @Test
     public void whenCreatingExoPlayerTwo_thenInitialisesPlayer() {
-        creator.createExoPlayer(context, drmSessionCreator, USE_SECURE_CODEC, ALLOW_CROSS_PROTOCOL_REDIRECTS);
+        creator.createExoPlayer(context, drmSessionCreator, USE_SECURE_CODEC, ALLOW_CROSS_PROTOCOL_REDIRECTS, REUSE_PLAYER);
 
         verify(player).initialise();
     }
@@ -0,0 +1,78 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.Player;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.PlaybackSnapshots;
+import com.novoda.noplayer.model.PlaybackSnapshot;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PlaybackSnapshotPublisherTest {
+
+    private static final long POSITION_IN_MILLIS = 5000;
+    private static final long BUFFERED_POSITION_IN_MILLIS = 8000;
+    private static final long DURATION_IN_MILLIS = 9000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoPlayerFacade exoPlayer;
+    @Mock
+    private PlaybackSnapshots playbackSnapshots;
+    @Mock
+    private NoPlayer player;
+
+    private PlaybackSnapshotPublisher publisher;
+
+    @Before
+    public void setUp() {
+        given(exoPlayer.hasPlayedContent()).willReturn(true);
+        given(exoPlayer.playbackState()).willReturn(PlaybackSnapshot.State.PLAYING);
+        given(exoPlayer.playheadPositionInMillis()).willReturn(POSITION_IN_MILLIS);
+        given(exoPlayer.bufferedPositionInMillis()).willReturn(BUFFERED_POSITION_IN_MILLIS);
+        given(exoPlayer.mediaDurationInMillis()).willReturn(DURATION_IN_MILLIS);
+        publisher = new PlaybackSnapshotPublisher(exoPlayer, playbackSnapshots);
+    }
+
+    @Test
+    public void whenPlayerStateChanges_thenPublishesSnapshotOfPlayer() {
+        publisher.onPlayerStateChanged(true, Player.STATE_READY);
+
+        verify(playbackSnapshots).publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+    }
+
+    @Test
+    public void whenPositionJumps_thenPublishesSnapshotOfPlayer() {
+        publisher.onPositionDiscontinuity(Player.DISCONTINUITY_REASON_SEEK);
+
+        verify(playbackSnapshots).publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+    }
+
+    @Test
+    public void whenHeartBeats_thenPublishesSnapshotOfPlayer() {
+        publisher.onBeat(player);
+
+        verify(playbackSnapshots).publish(PlaybackSnapshot.State.PLAYING, POSITION_IN_MILLIS, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenPlayerReleased_whenPlayerStateChanges_thenDoesNotPublish() {
+        given(exoPlayer.hasPlayedContent()).willReturn(false);
+
+        publisher.onPlayerStateChanged(false, Player.STATE_IDLE);
+
+        verify(playbackSnapshots, never()).publish(any(PlaybackSnapshot.State.class), anyLong(), anyLong(), anyLong());
+    }
+}
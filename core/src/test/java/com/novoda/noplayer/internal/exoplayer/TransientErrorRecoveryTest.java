@@ -0,0 +1,181 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.mediacodec.MediaCodecRenderer;
+import com.google.android.exoplayer2.source.BehindLiveWindowException;
+import com.novoda.noplayer.DetailErrorType;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.NoPlayerError;
+import com.novoda.noplayer.PlayerErrorType;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class TransientErrorRecoveryTest {
+
+    private static final String DECODER_NAME = "OMX.decoder.avc";
+    private static final String MIME_TYPE = "video/avc";
+    private static final boolean SECURE_DECODER_REQUIRED = false;
+
+    private static final ExoPlaybackException SOURCE_EXCEPTION = ExoPlaybackException.createForSource(new IOException());
+    private static final NoPlayer.PlayerError SEGMENT_NOT_FOUND = new NoPlayerError(
+            PlayerErrorType.CONNECTIVITY,
+            DetailErrorType.HTTP_CANNOT_OPEN_ERROR,
+            "404"
+    );
+    private static final NoPlayer.PlayerError BEHIND_LIVE_WINDOW = new NoPlayerError(
+            PlayerErrorType.SOURCE,
+            DetailErrorType.BEHIND_LIVE_WINDOW_ERROR,
+            "behind-live-window"
+    );
+    private static final NoPlayer.PlayerError DECODER_INITIALISATION_FAILED = new NoPlayerError(
+            PlayerErrorType.RENDERER_DECODER,
+            DetailErrorType.INITIALISATION_ERROR,
+            "decoder-initialisation"
+    );
+    private static final NoPlayer.PlayerError PARSING_FAILED = new NoPlayerError(
+            PlayerErrorType.SOURCE,
+            DetailErrorType.PARSING_MEDIA_DATA_OR_METADATA_ERROR,
+            "parsing"
+    );
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoPlayerFacade exoPlayerFacade;
+    @Mock
+    private DecoderFallbackCodecSelector decoderFallbackCodecSelector;
+
+    private TransientErrorRecovery errorRecovery;
+
+    @Before
+    public void setUp() {
+        NoPlayerLog.setLoggingEnabled(false);
+        given(exoPlayerFacade.hasPlayedContent()).willReturn(true);
+        errorRecovery = new TransientErrorRecovery(exoPlayerFacade, decoderFallbackCodecSelector);
+    }
+
+    @Test
+    public void whenSegmentIsNotFound_thenPreparesAgainAtCurrentPosition() {
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        assertThat(recovered).isTrue();
+        verify(exoPlayerFacade).prepareAgainAtCurrentPosition();
+    }
+
+    @Test
+    public void whenBehindLiveWindow_thenPreparesAgainAtDefaultPosition() {
+        ExoPlaybackException exception = ExoPlaybackException.createForSource(new BehindLiveWindowException());
+
+        boolean recovered = errorRecovery.recover(exception, BEHIND_LIVE_WINDOW);
+
+        assertThat(recovered).isTrue();
+        verify(exoPlayerFacade).prepareAgainAtDefaultPosition();
+    }
+
+    @Test
+    public void givenAnotherDecoderIsAvailable_whenDecoderFailsToInitialise_thenExcludesDecoder_andPreparesAgainAtCurrentPosition() {
+        given(decoderFallbackCodecSelector.exclude(DECODER_NAME, MIME_TYPE, SECURE_DECODER_REQUIRED)).willReturn(true);
+
+        boolean recovered = errorRecovery.recover(decoderInitialisationException(), DECODER_INITIALISATION_FAILED);
+
+        assertThat(recovered).isTrue();
+        verify(exoPlayerFacade).prepareAgainAtCurrentPosition();
+    }
+
+    @Test
+    public void givenNoOtherDecoderIsAvailable_whenDecoderFailsToInitialise_thenDoesNotRecover() {
+        given(decoderFallbackCodecSelector.exclude(DECODER_NAME, MIME_TYPE, SECURE_DECODER_REQUIRED)).willReturn(false);
+
+        boolean recovered = errorRecovery.recover(decoderInitialisationException(), DECODER_INITIALISATION_FAILED);
+
+        assertThat(recovered).isFalse();
+        verify(exoPlayerFacade, never()).prepareAgainAtCurrentPosition();
+    }
+
+    @Test
+    public void whenErrorIsFatal_thenDoesNotRecover() {
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, PARSING_FAILED);
+
+        assertThat(recovered).isFalse();
+        verify(exoPlayerFacade, never()).prepareAgainAtCurrentPosition();
+        verify(exoPlayerFacade, never()).prepareAgainAtDefaultPosition();
+    }
+
+    @Test
+    public void givenNoContentIsLoaded_whenSegmentIsNotFound_thenDoesNotRecover() {
+        given(exoPlayerFacade.hasPlayedContent()).willReturn(false);
+
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        assertThat(recovered).isFalse();
+        verify(exoPlayerFacade, never()).prepareAgainAtCurrentPosition();
+    }
+
+    @Test
+    public void givenRecoveryFailedThreeTimesInARow_whenSegmentIsNotFound_thenDoesNotRecover() {
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        assertThat(recovered).isFalse();
+    }
+
+    @Test
+    public void givenPlaybackBecameReadyAfterRecovering_whenSegmentIsNotFound_thenRecoversAgain() {
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.onPlaybackReady();
+
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        assertThat(recovered).isTrue();
+    }
+
+    @Test
+    public void givenRecoveryFailedThreeTimesInARow_whenResetForNewContent_thenRecoversAgain() {
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+        errorRecovery.reset();
+
+        boolean recovered = errorRecovery.recover(SOURCE_EXCEPTION, SEGMENT_NOT_FOUND);
+
+        assertThat(recovered).isTrue();
+    }
+
+    @Test
+    public void whenDecoderFailsToInitialiseWithoutRendererException_thenDoesNotExcludeAnyDecoder() {
+        errorRecovery.recover(SOURCE_EXCEPTION, DECODER_INITIALISATION_FAILED);
+
+        verifyZeroInteractions(decoderFallbackCodecSelector);
+    }
+
+    private static ExoPlaybackException decoderInitialisationException() {
+        MediaCodecRenderer.DecoderInitializationException decoderException = new MediaCodecRenderer.DecoderInitializationException(
+                Format.createSampleFormat("id", MIME_TYPE, 0),
+                new Throwable(),
+                SECURE_DECODER_REQUIRED,
+                DECODER_NAME
+        );
+        return ExoPlaybackException.createForRenderer(decoderException, 0);
+    }
+}
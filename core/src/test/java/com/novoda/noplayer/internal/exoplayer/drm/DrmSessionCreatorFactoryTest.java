@@ -9,6 +9,7 @@ import com.novoda.noplayer.drm.DrmType;
 import com.novoda.noplayer.drm.StreamingModularDrm;
 import com.novoda.noplayer.internal.drm.provision.ProvisionExecutorCreator;
 import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.Optional;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -27,6 +28,7 @@ public class DrmSessionCreatorFactoryTest {
     private static final AndroidDeviceVersion UNSUPPORTED_MEDIA_DRM_DEVICE_VERSION = new AndroidDeviceVersion(17);
     private static final DrmHandler IGNORED_DRM_HANDLER = DrmHandler.NO_DRM;
     private static final AndroidDeviceVersion SUPPORTED_MEDIA_DRM_DEVICE = new AndroidDeviceVersion(18);
+    private static final Optional<OfflineLicenseStore> NO_OFFLINE_LICENSE_STORE = Optional.absent();
 
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -46,7 +48,7 @@ public class DrmSessionCreatorFactoryTest {
 
     @Before
     public void setUp() {
-        drmSessionCreatorFactory = new DrmSessionCreatorFactory(SUPPORTED_MEDIA_DRM_DEVICE, provisionExecutorCreator, handler);
+        drmSessionCreatorFactory = new DrmSessionCreatorFactory(SUPPORTED_MEDIA_DRM_DEVICE, provisionExecutorCreator, handler, NO_OFFLINE_LICENSE_STORE);
     }
 
     @Test
@@ -72,7 +74,7 @@ public class DrmSessionCreatorFactoryTest {
 
     @Test
     public void givenDrmTypeWidevineModularStream_andAndroidVersionDoesNotSupportMediaDrmApis_whenCreatingDrmSessionCreator_thenThrowsUnableToCreatePlayerException() throws DrmSessionCreatorException {
-        drmSessionCreatorFactory = new DrmSessionCreatorFactory(UNSUPPORTED_MEDIA_DRM_DEVICE_VERSION, provisionExecutorCreator, handler);
+        drmSessionCreatorFactory = new DrmSessionCreatorFactory(UNSUPPORTED_MEDIA_DRM_DEVICE_VERSION, provisionExecutorCreator, handler, NO_OFFLINE_LICENSE_STORE);
 
         String message = "Device must be target: 18 but was: 17 for DRM type: WIDEVINE_MODULAR_STREAM";
         thrown.expect(ExceptionMatcher.matches(message, UnableToCreatePlayerException.class));
@@ -89,7 +91,7 @@ public class DrmSessionCreatorFactoryTest {
 
     @Test
     public void givenDrmTypeWidevineDownloadStream_andAndroidVersionDoesNotSupportMediaDrmApis_whenCreatingDrmSessionCreator_thenThrowsUnableToCreatePlayerException() throws DrmSessionCreatorException {
-        drmSessionCreatorFactory = new DrmSessionCreatorFactory(UNSUPPORTED_MEDIA_DRM_DEVICE_VERSION, provisionExecutorCreator, handler);
+        drmSessionCreatorFactory = new DrmSessionCreatorFactory(UNSUPPORTED_MEDIA_DRM_DEVICE_VERSION, provisionExecutorCreator, handler, NO_OFFLINE_LICENSE_STORE);
 
         String message = "Device must be target: 18 but was: 17 for DRM type: WIDEVINE_MODULAR_DOWNLOAD";
         thrown.expect(ExceptionMatcher.matches(message, UnableToCreatePlayerException.class));
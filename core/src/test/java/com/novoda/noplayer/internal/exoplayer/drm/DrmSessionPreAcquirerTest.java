@@ -0,0 +1,120 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.os.Looper;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.PlayerMessage;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DrmSessionPreAcquirerTest {
+
+    private static final byte[] WIDEVINE_INIT_DATA = {1, 2, 3};
+    private static final Object NO_PAYLOAD = null;
+    private static final int ACQUIRE = 0;
+    private static final int RELEASE = 1;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoPlayer exoPlayer;
+    @Mock
+    private PlayerMessage playerMessage;
+    @Mock
+    private DrmSessionManager<FrameworkMediaCrypto> drmSessionManager;
+    @Mock
+    private DrmSession<FrameworkMediaCrypto> drmSession;
+
+    private final Looper playbackLooper = mock(Looper.class);
+
+    private DrmSessionPreAcquirer drmSessionPreAcquirer;
+
+    @Before
+    public void setUp() {
+        given(exoPlayer.getPlaybackLooper()).willReturn(playbackLooper);
+        given(exoPlayer.createMessage(any(PlayerMessage.Target.class))).willReturn(playerMessage);
+        given(playerMessage.setType(anyInt())).willReturn(playerMessage);
+        given(drmSessionManager.canAcquireSession(any(DrmInitData.class))).willReturn(true);
+        given(drmSessionManager.acquireSession(any(Looper.class), any(DrmInitData.class))).willReturn(drmSession);
+
+        drmSessionPreAcquirer = new DrmSessionPreAcquirer();
+    }
+
+    @Test
+    public void whenPreAcquiring_thenAcquiresWidevineSessionOnPlaybackThread() throws ExoPlaybackException {
+        drmSessionPreAcquirer.preAcquire(exoPlayer, drmSessionManager, WIDEVINE_INIT_DATA);
+
+        PlayerMessage.Target target = sentTarget();
+        verify(playerMessage).setType(ACQUIRE);
+        verify(playerMessage).send();
+        target.handleMessage(ACQUIRE, NO_PAYLOAD);
+        ArgumentCaptor<DrmInitData> drmInitDataCaptor = ArgumentCaptor.forClass(DrmInitData.class);
+        verify(drmSessionManager).acquireSession(eq(playbackLooper), drmInitDataCaptor.capture());
+        assertThat(drmInitDataCaptor.getValue().get(0).data).isEqualTo(WIDEVINE_INIT_DATA);
+    }
+
+    @Test
+    public void givenNoDrmSessionManager_whenPreAcquiring_thenDoesNothing() {
+        drmSessionPreAcquirer.preAcquire(exoPlayer, null, WIDEVINE_INIT_DATA);
+
+        verify(exoPlayer, never()).createMessage(any(PlayerMessage.Target.class));
+    }
+
+    @Test
+    public void givenSessionCannotBeAcquired_whenPreAcquiring_thenDoesNothing() {
+        given(drmSessionManager.canAcquireSession(any(DrmInitData.class))).willReturn(false);
+
+        drmSessionPreAcquirer.preAcquire(exoPlayer, drmSessionManager, WIDEVINE_INIT_DATA);
+
+        verify(exoPlayer, never()).createMessage(any(PlayerMessage.Target.class));
+    }
+
+    @Test
+    public void givenSessionIsPreAcquired_whenReleasing_thenReleasesSessionOnPlaybackThread() throws ExoPlaybackException {
+        drmSessionPreAcquirer.preAcquire(exoPlayer, drmSessionManager, WIDEVINE_INIT_DATA);
+        PlayerMessage.Target target = sentTarget();
+        target.handleMessage(ACQUIRE, NO_PAYLOAD);
+
+        drmSessionPreAcquirer.release();
+
+        verify(playerMessage).setType(RELEASE);
+        verify(playerMessage, times(2)).send();
+        target.handleMessage(RELEASE, NO_PAYLOAD);
+        verify(drmSessionManager).releaseSession(drmSession);
+    }
+
+    @Test
+    public void givenNothingIsPreAcquired_whenReleasing_thenDoesNothing() {
+        drmSessionPreAcquirer.release();
+
+        verify(exoPlayer, never()).createMessage(any(PlayerMessage.Target.class));
+    }
+
+    private PlayerMessage.Target sentTarget() {
+        ArgumentCaptor<PlayerMessage.Target> targetCaptor = ArgumentCaptor.forClass(PlayerMessage.Target.class);
+        verify(exoPlayer).createMessage(targetCaptor.capture());
+        return targetCaptor.getValue();
+    }
+}
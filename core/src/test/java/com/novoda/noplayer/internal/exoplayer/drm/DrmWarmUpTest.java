@@ -0,0 +1,111 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.media.MediaDrmException;
+import android.media.NotProvisionedException;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaDrm;
+import com.novoda.noplayer.drm.ModularDrmProvisionRequest;
+import com.novoda.noplayer.internal.drm.provision.ProvisionExecutor;
+import com.novoda.noplayer.internal.drm.provision.UnableToProvisionException;
+import com.novoda.noplayer.internal.utils.AndroidDeviceVersion;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class DrmWarmUpTest {
+
+    private static final byte[] SESSION_ID = {1, 2, 3};
+    private static final String PROVISION_URL = "http://provisionurl.com";
+    private static final byte[] PROVISION_DATA = {4, 5, 6};
+    private static final byte[] PROVISION_RESPONSE = {7, 8, 9};
+    private static final Executor IMMEDIATE_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private AndroidDeviceVersion androidDeviceVersion;
+    @Mock
+    private FrameworkMediaDrmCreator mediaDrmCreator;
+    @Mock
+    private FrameworkMediaDrm mediaDrm;
+    @Mock
+    private ProvisionExecutor provisionExecutor;
+    @Mock
+    private ExoMediaDrm.ProvisionRequest provisionRequest;
+
+    private DrmWarmUp drmWarmUp;
+
+    @Before
+    public void setUp() throws MediaDrmException {
+        NoPlayerLog.setLoggingEnabled(false);
+        given(androidDeviceVersion.isJellyBeanEighteenOrAbove()).willReturn(true);
+        given(mediaDrmCreator.create(DrmSessionCreator.WIDEVINE_MODULAR_UUID)).willReturn(mediaDrm);
+        given(mediaDrm.openSession()).willReturn(SESSION_ID);
+        given(mediaDrm.getProvisionRequest()).willReturn(provisionRequest);
+        given(provisionRequest.getDefaultUrl()).willReturn(PROVISION_URL);
+        given(provisionRequest.getData()).willReturn(PROVISION_DATA);
+
+        drmWarmUp = new DrmWarmUp(androidDeviceVersion, mediaDrmCreator, provisionExecutor, IMMEDIATE_EXECUTOR);
+    }
+
+    @Test
+    public void givenDeviceIsProvisioned_whenWarmingUp_thenDoesNotProvision() throws IOException, UnableToProvisionException {
+        drmWarmUp.warmUp();
+
+        verify(mediaDrm).closeSession(SESSION_ID);
+        verify(provisionExecutor, never()).execute(any(ModularDrmProvisionRequest.class));
+        verify(mediaDrm).release();
+    }
+
+    @Test
+    public void givenDeviceIsNotProvisioned_whenWarmingUp_thenProvidesProvisionResponse() throws Exception {
+        given(mediaDrm.openSession()).willThrow(new NotProvisionedException("not provisioned"));
+        given(provisionExecutor.execute(any(ModularDrmProvisionRequest.class))).willReturn(PROVISION_RESPONSE);
+
+        drmWarmUp.warmUp();
+
+        verify(mediaDrm).provideProvisionResponse(PROVISION_RESPONSE);
+        verify(mediaDrm).release();
+    }
+
+    @Test
+    public void givenProvisioningFails_whenWarmingUp_thenReleasesMediaDrm() throws Exception {
+        given(mediaDrm.openSession()).willThrow(new NotProvisionedException("not provisioned"));
+        given(provisionExecutor.execute(any(ModularDrmProvisionRequest.class))).willThrow(new IOException("no network"));
+
+        drmWarmUp.warmUp();
+
+        verify(mediaDrm, never()).provideProvisionResponse(any(byte[].class));
+        verify(mediaDrm).release();
+    }
+
+    @Test
+    public void givenDeviceDoesNotSupportModularDrm_whenWarmingUp_thenDoesNothing() {
+        given(androidDeviceVersion.isJellyBeanEighteenOrAbove()).willReturn(false);
+
+        drmWarmUp.warmUp();
+
+        verifyZeroInteractions(mediaDrmCreator, provisionExecutor);
+    }
+}
@@ -41,6 +41,7 @@ public class LocalDrmSessionManagerTest {
     private static final KeySetId KEY_SET_ID_TO_RESTORE = KeySetId.of(new byte[12]);
     private static final SessionId SESSION_ID = SessionId.of(new byte[10]);
     private static final UUID DRM_SCHEME = UUID.randomUUID();
+    private static final int MAX_IDLE_SESSIONS = 2;
 
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
@@ -67,7 +68,8 @@ public class LocalDrmSessionManagerTest {
                 mediaDrm,
                 DRM_SCHEME,
                 handler,
-                eventListener
+                eventListener,
+                new LocalDrmSessionPool(MAX_IDLE_SESSIONS)
         );
     }
 
@@ -0,0 +1,186 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.media.MediaCryptoException;
+import android.media.MediaDrmException;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.FrameworkMediaCryptoFixture;
+import com.google.android.exoplayer2.drm.FrameworkMediaDrm;
+import com.novoda.noplayer.model.KeySetId;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class LocalDrmSessionPoolTest {
+
+    private static final int MAX_IDLE_SESSIONS = 1;
+    private static final KeySetId KEY_SET_ID = KeySetId.of(new byte[]{1, 2, 3});
+    private static final KeySetId ANOTHER_KEY_SET_ID = KeySetId.of(new byte[]{4, 5, 6});
+    private static final KeySetId YET_ANOTHER_KEY_SET_ID = KeySetId.of(new byte[]{7, 8, 9});
+    private static final SessionId SESSION_ID = SessionId.of(new byte[]{10});
+    private static final SessionId ANOTHER_SESSION_ID = SessionId.of(new byte[]{11});
+    private static final SessionId YET_ANOTHER_SESSION_ID = SessionId.of(new byte[]{12});
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+
+    private LocalDrmSessionPool sessionPool;
+
+    @Before
+    public void setUp() throws MediaDrmException, MediaCryptoException {
+        given(mediaDrm.openSession()).willReturn(SESSION_ID.asBytes(), ANOTHER_SESSION_ID.asBytes(), YET_ANOTHER_SESSION_ID.asBytes());
+        given(mediaDrm.createMediaCrypto(any(byte[].class))).willReturn(FrameworkMediaCryptoFixture.aFrameworkMediaCrypto().build());
+
+        sessionPool = new LocalDrmSessionPool(MAX_IDLE_SESSIONS);
+    }
+
+    @Test
+    public void givenSessionIsAcquired_whenAcquiringSameKeySet_thenSharesSession() throws MediaDrmException, MediaCryptoException {
+        LocalDrmSession drmSession = sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        LocalDrmSession sharedDrmSession = sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        assertThat(sharedDrmSession.getSessionId()).isEqualTo(drmSession.getSessionId());
+        verify(mediaDrm).openSession();
+        verify(mediaDrm).restoreKeys(SESSION_ID.asBytes(), KEY_SET_ID.asBytes());
+    }
+
+    @Test
+    public void givenSharedSession_whenReleasingOneReference_thenKeepsSessionOpen() throws MediaDrmException, MediaCryptoException {
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        sessionPool.release(mediaDrm, SESSION_ID);
+
+        verify(mediaDrm, never()).closeSession(any(byte[].class));
+    }
+
+    @Test
+    public void givenReleasedSession_whenAcquiringSameKeySet_thenReusesSession() throws MediaDrmException, MediaCryptoException {
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.release(mediaDrm, SESSION_ID);
+
+        LocalDrmSession drmSession = sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        assertThat(drmSession.getSessionId()).isEqualTo(SESSION_ID);
+        verify(mediaDrm).openSession();
+        verify(mediaDrm, never()).closeSession(any(byte[].class));
+    }
+
+    @Test
+    public void givenTooManyIdleSessions_whenReleasingSession_thenClosesLeastRecentlyReleasedSession()
+            throws MediaDrmException, MediaCryptoException {
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.acquire(mediaDrm, ANOTHER_KEY_SET_ID);
+        sessionPool.release(mediaDrm, SESSION_ID);
+
+        sessionPool.release(mediaDrm, ANOTHER_SESSION_ID);
+
+        verify(mediaDrm).closeSession(SESSION_ID.asBytes());
+        verify(mediaDrm, never()).closeSession(ANOTHER_SESSION_ID.asBytes());
+    }
+
+    @Test
+    public void givenEvictedSession_whenAcquiringSameKeySet_thenOpensNewSession() throws MediaDrmException, MediaCryptoException {
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.acquire(mediaDrm, ANOTHER_KEY_SET_ID);
+        sessionPool.release(mediaDrm, SESSION_ID);
+        sessionPool.release(mediaDrm, ANOTHER_SESSION_ID);
+
+        LocalDrmSession drmSession = sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        assertThat(drmSession.getSessionId()).isEqualTo(YET_ANOTHER_SESSION_ID);
+        verify(mediaDrm, times(3)).openSession();
+    }
+
+    @Test
+    public void givenDiscardedSession_whenAcquiringSameKeySet_thenOpensNewSession() throws MediaDrmException, MediaCryptoException {
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.discard(mediaDrm, SESSION_ID);
+
+        LocalDrmSession drmSession = sessionPool.acquire(mediaDrm, KEY_SET_ID);
+
+        verify(mediaDrm).closeSession(SESSION_ID.asBytes());
+        assertThat(drmSession.getSessionId()).isEqualTo(ANOTHER_SESSION_ID);
+    }
+
+    @Test
+    public void givenKeysCannotBeRestored_whenAcquiringSession_thenClosesOpenedSession() throws MediaDrmException, MediaCryptoException {
+        willThrow(new IllegalStateException("keys were removed")).given(mediaDrm).restoreKeys(SESSION_ID.asBytes(), KEY_SET_ID.asBytes());
+
+        try {
+            sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        } catch (IllegalStateException expected) {
+            // the failure is reported by the caller
+        }
+
+        verify(mediaDrm).closeSession(SESSION_ID.asBytes());
+    }
+
+    @Test
+    public void givenMediaDrmRetainedTwice_whenReleasingItOnce_thenKeepsItAndItsSessions() throws MediaDrmException, MediaCryptoException {
+        sessionPool.retainMediaDrm(mediaDrm);
+        sessionPool.retainMediaDrm(mediaDrm);
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.release(mediaDrm, SESSION_ID);
+
+        sessionPool.releaseMediaDrm(mediaDrm);
+
+        verify(mediaDrm, never()).closeSession(any(byte[].class));
+        verify(mediaDrm, never()).release();
+    }
+
+    @Test
+    public void givenIdleSessionOfMediaDrm_whenReleasingLastReferenceToMediaDrm_thenClosesSessionAndReleasesMediaDrm()
+            throws MediaDrmException, MediaCryptoException {
+        sessionPool.retainMediaDrm(mediaDrm);
+        sessionPool.acquire(mediaDrm, KEY_SET_ID);
+        sessionPool.release(mediaDrm, SESSION_ID);
+
+        sessionPool.releaseMediaDrm(mediaDrm);
+
+        verify(mediaDrm).closeSession(SESSION_ID.asBytes());
+        verify(mediaDrm).release();
+    }
+
+    @Test
+    public void givenSharedMediaDrmWasReleased_whenObtainingSharedMediaDrm_thenCreatesNewOne() {
+        FrameworkMediaDrmCreator mediaDrmCreator = mock(FrameworkMediaDrmCreator.class);
+        FrameworkMediaDrm sharedMediaDrm = mock(FrameworkMediaDrm.class);
+        FrameworkMediaDrm newMediaDrm = mock(FrameworkMediaDrm.class);
+        given(mediaDrmCreator.create(DrmSessionCreator.WIDEVINE_MODULAR_UUID)).willReturn(sharedMediaDrm, newMediaDrm);
+        FrameworkMediaDrm obtainedMediaDrm = sessionPool.obtainSharedMediaDrm(DrmSessionCreator.WIDEVINE_MODULAR_UUID, mediaDrmCreator);
+        assertThat(sessionPool.obtainSharedMediaDrm(DrmSessionCreator.WIDEVINE_MODULAR_UUID, mediaDrmCreator)).isSameAs(obtainedMediaDrm);
+        sessionPool.releaseMediaDrm(obtainedMediaDrm);
+        sessionPool.releaseMediaDrm(obtainedMediaDrm);
+
+        FrameworkMediaDrm mediaDrmAfterRelease = sessionPool.obtainSharedMediaDrm(DrmSessionCreator.WIDEVINE_MODULAR_UUID, mediaDrmCreator);
+
+        verify(sharedMediaDrm).release();
+        assertThat(mediaDrmAfterRelease).isSameAs(newMediaDrm);
+    }
+
+    @Test
+    public void givenSessionWasNotAcquiredFromPool_whenReleasingSession_thenClosesSession() {
+        sessionPool.release(mediaDrm, YET_ANOTHER_SESSION_ID);
+
+        verify(mediaDrm).closeSession(YET_ANOTHER_SESSION_ID.asBytes());
+    }
+}
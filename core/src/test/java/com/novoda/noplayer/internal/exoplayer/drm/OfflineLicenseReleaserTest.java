@@ -0,0 +1,75 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.MediaDrmCallback;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OfflineLicenseReleaserTest {
+
+    private static final KeySetId EXPIRED_KEY_SET_ID = KeySetId.of(new byte[]{7, 8, 9});
+    private static final Executor SAME_THREAD_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+    @Mock
+    private MediaDrmCallback mediaDrmCallback;
+    @Mock
+    private OfflineLicenseStore offlineLicenseStore;
+
+    private OfflineLicenseReleaser offlineLicenseReleaser;
+
+    @Before
+    public void setUp() {
+        given(offlineLicenseStore.removeExpired()).willReturn(Collections.singletonList(EXPIRED_KEY_SET_ID));
+        offlineLicenseReleaser = new OfflineLicenseReleaser(mediaDrm, mediaDrmCallback, SAME_THREAD_EXECUTOR, new AtomicBoolean());
+    }
+
+    @Test
+    public void whenReleasingExpiredLicenses_thenReleasesLicensesRemovedFromStore() throws Exception {
+        offlineLicenseReleaser.releaseExpired(offlineLicenseStore);
+
+        verify(mediaDrm).getKeyRequest(
+                eq(EXPIRED_KEY_SET_ID.asBytes()),
+                ArgumentMatchers.<byte[]>isNull(),
+                ArgumentMatchers.<String>isNull(),
+                eq(ExoMediaDrm.KEY_TYPE_RELEASE),
+                ArgumentMatchers.<HashMap<String, String>>isNull()
+        );
+    }
+
+    @Test
+    public void givenExpiredLicensesWereReleased_whenReleasingExpiredLicensesAgain_thenDoesNotReadStoreAgain() {
+        offlineLicenseReleaser.releaseExpired(offlineLicenseStore);
+
+        offlineLicenseReleaser.releaseExpired(offlineLicenseStore);
+
+        verify(offlineLicenseStore, times(1)).removeExpired();
+    }
+}
@@ -0,0 +1,137 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.content.SharedPreferences;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OfflineLicenseStoreTest {
+
+    private static final byte[] INIT_DATA = {1, 2, 3};
+    private static final byte[] OTHER_INIT_DATA = {3, 2, 1};
+    private static final KeySetId KEY_SET_ID = KeySetId.of(new byte[]{-1, 0, 127, -128});
+    private static final long ONE_MINUTE_IN_SECONDS = 60;
+    private static final long DOES_NOT_EXPIRE = Long.MAX_VALUE;
+    private static final long NOW_IN_MILLIS = 1000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SharedPreferences preferences;
+    @Mock
+    private SharedPreferences.Editor editor;
+    @Mock
+    private Clock clock;
+
+    private OfflineLicenseStore store;
+
+    @Before
+    public void setUp() {
+        given(preferences.edit()).willReturn(editor);
+        given(editor.putString(anyString(), anyString())).willReturn(editor);
+        given(editor.putLong(anyString(), anyLong())).willReturn(editor);
+        given(editor.remove(anyString())).willReturn(editor);
+        given(clock.getCurrentTime()).willReturn(NOW_IN_MILLIS);
+        store = new OfflineLicenseStore(preferences, clock);
+    }
+
+    @Test
+    public void givenNoStoredLicense_whenQueryingKeySetId_thenReturnsAbsent() {
+        Optional<KeySetId> keySetId = store.keySetIdFor(INIT_DATA);
+
+        assertThat(keySetId.isAbsent()).isTrue();
+    }
+
+    @Test
+    public void givenSavedLicense_whenQueryingKeySetId_thenReturnsSavedKeySetId() {
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> valueCaptor = ArgumentCaptor.forClass(String.class);
+        store.save(INIT_DATA, KEY_SET_ID, ONE_MINUTE_IN_SECONDS);
+        verify(editor).putString(keyCaptor.capture(), valueCaptor.capture());
+        given(preferences.getString(eq(keyCaptor.getValue()), nullable(String.class))).willReturn(valueCaptor.getValue());
+
+        Optional<KeySetId> keySetId = store.keySetIdFor(INIT_DATA);
+
+        assertThat(keySetId).isEqualTo(Optional.of(KEY_SET_ID));
+    }
+
+    @Test
+    public void whenSavingLicensesForDifferentContent_thenStoresThemUnderDifferentKeys() {
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+
+        store.save(INIT_DATA, KEY_SET_ID, ONE_MINUTE_IN_SECONDS);
+        store.save(OTHER_INIT_DATA, KEY_SET_ID, ONE_MINUTE_IN_SECONDS);
+
+        verify(editor, times(2)).putString(keyCaptor.capture(), anyString());
+        assertThat(keyCaptor.getAllValues().get(0)).isNotEqualTo(keyCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    public void whenRemovingLicense_thenRemovesItFromPreferences() {
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        store.save(INIT_DATA, KEY_SET_ID, ONE_MINUTE_IN_SECONDS);
+        verify(editor).putString(keyCaptor.capture(), anyString());
+
+        store.remove(INIT_DATA);
+
+        verify(editor).remove(keyCaptor.getValue());
+    }
+
+    @Test
+    public void whenSavingLicense_thenStoresTimeItExpiresAt() {
+        store.save(INIT_DATA, KEY_SET_ID, ONE_MINUTE_IN_SECONDS);
+
+        verify(editor).putLong(anyString(), eq(NOW_IN_MILLIS + ONE_MINUTE_IN_SECONDS * 1000));
+    }
+
+    @Test
+    public void whenSavingLicenseThatDoesNotExpire_thenStoresItAsNeverExpiring() {
+        store.save(INIT_DATA, KEY_SET_ID, DOES_NOT_EXPIRE);
+
+        verify(editor).putLong(anyString(), eq(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void givenExpiredAndValidLicenses_whenRemovingExpiredLicenses_thenRemovesAndReturnsOnlyExpiredLicenses() {
+        Map<String, Object> storedLicenses = new HashMap<>();
+        storedLicenses.put("key_set_id_expired", "ff007f80");
+        storedLicenses.put("expires_at_expired", NOW_IN_MILLIS);
+        storedLicenses.put("key_set_id_valid", "01");
+        storedLicenses.put("expires_at_valid", NOW_IN_MILLIS + 1);
+        willReturn(storedLicenses).given(preferences).getAll();
+        given(preferences.getString(eq("key_set_id_expired"), nullable(String.class))).willReturn("ff007f80");
+
+        List<KeySetId> expiredKeySetIds = store.removeExpired();
+
+        assertThat(expiredKeySetIds).containsExactly(KEY_SET_ID);
+        verify(editor).remove("key_set_id_expired");
+        verify(editor).remove("expires_at_expired");
+        verify(editor, never()).remove("key_set_id_valid");
+        verify(editor, never()).remove("expires_at_valid");
+    }
+}
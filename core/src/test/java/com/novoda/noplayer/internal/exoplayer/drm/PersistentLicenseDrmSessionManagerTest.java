@@ -0,0 +1,208 @@
+package com.novoda.noplayer.internal.exoplayer.drm;
+
+import android.media.MediaCryptoException;
+import android.media.MediaDrmException;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.android.exoplayer2.drm.DefaultDrmSessionEventListener;
+import com.google.android.exoplayer2.drm.DrmInitData;
+import com.google.android.exoplayer2.drm.DrmSession;
+import com.google.android.exoplayer2.drm.DrmSessionManager;
+import com.google.android.exoplayer2.drm.ExoMediaDrm;
+import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
+import com.google.android.exoplayer2.drm.FrameworkMediaCryptoFixture;
+import com.google.android.exoplayer2.util.MimeTypes;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.KeySetId;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PersistentLicenseDrmSessionManagerTest {
+
+    private static final Looper IGNORED_LOOPER = null;
+    private static final byte[] INIT_DATA = {1, 2, 3};
+    private static final DrmInitData DRM_INIT_DATA = new DrmInitData(
+            new DrmInitData.SchemeData(DrmSessionCreator.WIDEVINE_MODULAR_UUID, MimeTypes.VIDEO_MP4, INIT_DATA)
+    );
+    private static final KeySetId STORED_KEY_SET_ID = KeySetId.of(new byte[]{4, 5, 6});
+    private static final SessionId SESSION_ID = SessionId.of(new byte[10]);
+    private static final String EXPIRED = "0";
+    private static final String ONE_DAY_IN_SECONDS = "86400";
+    private static final long ONE_DAY_LICENSE_DURATION_IN_SECONDS = 86400;
+    private static final int MAX_IDLE_SESSIONS = 2;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private DrmSessionManager<FrameworkMediaCrypto> onlineDrmSessionManager;
+    @Mock
+    private ExoMediaDrm<FrameworkMediaCrypto> mediaDrm;
+    @Mock
+    private OfflineLicenseStore offlineLicenseStore;
+    @Mock
+    private Handler handler;
+    @Mock
+    private DefaultDrmSessionEventListener eventListener;
+    @Mock
+    private DrmSession<FrameworkMediaCrypto> onlineDrmSession;
+    @Mock
+    private OfflineLicenseReleaser offlineLicenseReleaser;
+
+    private PersistentLicenseDrmSessionManager drmSessionManager;
+
+    @Before
+    public void setUp() throws MediaDrmException, MediaCryptoException {
+        given(mediaDrm.openSession()).willReturn(SESSION_ID.asBytes());
+        given(mediaDrm.createMediaCrypto(SESSION_ID.asBytes())).willReturn(FrameworkMediaCryptoFixture.aFrameworkMediaCrypto().build());
+        given(onlineDrmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA)).willReturn(onlineDrmSession);
+        given(offlineLicenseStore.keySetIdFor(INIT_DATA)).willReturn(Optional.<KeySetId>absent());
+
+        drmSessionManager = new PersistentLicenseDrmSessionManager(
+                onlineDrmSessionManager,
+                mediaDrm,
+                offlineLicenseStore,
+                handler,
+                eventListener,
+                new LocalDrmSessionPool(MAX_IDLE_SESSIONS),
+                offlineLicenseReleaser
+        );
+    }
+
+    @Test
+    public void givenNoStoredLicense_whenAcquiringSession_thenAcquiresSessionOnline() {
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        assertThat(drmSession).isEqualTo(onlineDrmSession);
+    }
+
+    @Test
+    public void givenStoredLicense_whenAcquiringSession_thenRestoresStoredLicense() {
+        givenStoredLicenseWithRemainingDuration(ONE_DAY_IN_SECONDS);
+
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        verify(mediaDrm).restoreKeys(SESSION_ID.asBytes(), STORED_KEY_SET_ID.asBytes());
+        assertThat(drmSession).isInstanceOf(LocalDrmSession.class);
+        verify(onlineDrmSessionManager, never()).acquireSession(any(), any());
+    }
+
+    @Test
+    public void givenExpiredStoredLicense_whenAcquiringSession_thenRemovesLicenseAndAcquiresSessionOnline() {
+        givenStoredLicenseWithRemainingDuration(EXPIRED);
+
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        verify(mediaDrm).closeSession(SESSION_ID.asBytes());
+        verify(offlineLicenseStore).remove(INIT_DATA);
+        assertThat(drmSession).isEqualTo(onlineDrmSession);
+    }
+
+    @Test
+    public void givenExpiredStoredLicense_whenAcquiringSession_thenReleasesLicense() {
+        givenStoredLicenseWithRemainingDuration(EXPIRED);
+
+        drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        verify(offlineLicenseReleaser).release(STORED_KEY_SET_ID);
+    }
+
+    @Test
+    public void whenAcquiringSession_thenReleasesExpiredLicensesInBackgroundWithoutReadingThem() {
+        drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        verify(offlineLicenseReleaser).releaseExpired(offlineLicenseStore);
+        verify(offlineLicenseStore, never()).removeExpired();
+    }
+
+    @Test
+    public void givenStoredLicenseCannotBeRestored_whenAcquiringSession_thenRemovesLicenseAndAcquiresSessionOnline() {
+        given(offlineLicenseStore.keySetIdFor(INIT_DATA)).willReturn(Optional.of(STORED_KEY_SET_ID));
+        willThrow(new IllegalStateException("keys were removed")).given(mediaDrm).restoreKeys(SESSION_ID.asBytes(), STORED_KEY_SET_ID.asBytes());
+
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        verify(offlineLicenseStore).remove(INIT_DATA);
+        assertThat(drmSession).isEqualTo(onlineDrmSession);
+    }
+
+    @Test
+    public void givenOnlineSessionWithOfflineLicense_whenKeysAreLoaded_thenStoresLicenseWithItsDuration() {
+        givenOnlineSessionWithOfflineLicense();
+        drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        drmSessionManager.onDrmKeysLoaded();
+
+        verify(offlineLicenseStore).save(INIT_DATA, STORED_KEY_SET_ID, ONE_DAY_LICENSE_DURATION_IN_SECONDS);
+    }
+
+    @Test
+    public void givenOnlineSessionWithOfflineLicense_whenKeysAreLoadedAfterSessionIsReleased_thenDoesNotStoreLicense() {
+        givenOnlineSessionWithOfflineLicense();
+        drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+        drmSessionManager.releaseSession(onlineDrmSession);
+
+        drmSessionManager.onDrmKeysLoaded();
+
+        verify(offlineLicenseStore, never()).save(any(byte[].class), any(KeySetId.class), anyLong());
+    }
+
+    @Test
+    public void givenOnlineSession_whenReleasingSession_thenReleasesSessionOnline() {
+        drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        drmSessionManager.releaseSession(onlineDrmSession);
+
+        verify(onlineDrmSessionManager).releaseSession(onlineDrmSession);
+    }
+
+    @Test
+    public void givenRestoredSession_whenReleasingSession_thenKeepsSessionOpenWithoutReleasingOnline() {
+        givenStoredLicenseWithRemainingDuration(ONE_DAY_IN_SECONDS);
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        drmSessionManager.releaseSession(drmSession);
+
+        verify(mediaDrm, never()).closeSession(any(byte[].class));
+        verify(onlineDrmSessionManager, never()).releaseSession(any(DrmSession.class));
+    }
+
+    @Test
+    public void givenReleasedRestoredSession_whenAcquiringSessionAgain_thenReusesOpenSession() throws MediaDrmException {
+        givenStoredLicenseWithRemainingDuration(ONE_DAY_IN_SECONDS);
+        drmSessionManager.releaseSession(drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA));
+
+        DrmSession<FrameworkMediaCrypto> drmSession = drmSessionManager.acquireSession(IGNORED_LOOPER, DRM_INIT_DATA);
+
+        assertThat(drmSession).isInstanceOf(LocalDrmSession.class);
+        verify(mediaDrm).openSession();
+        verify(mediaDrm).restoreKeys(SESSION_ID.asBytes(), STORED_KEY_SET_ID.asBytes());
+    }
+
+    private void givenOnlineSessionWithOfflineLicense() {
+        given(onlineDrmSession.getOfflineLicenseKeySetId()).willReturn(STORED_KEY_SET_ID.asBytes());
+        given(onlineDrmSession.queryKeyStatus()).willReturn(Collections.singletonMap("LicenseDurationRemaining", ONE_DAY_IN_SECONDS));
+    }
+
+    private void givenStoredLicenseWithRemainingDuration(String remainingDurationInSeconds) {
+        given(offlineLicenseStore.keySetIdFor(INIT_DATA)).willReturn(Optional.of(STORED_KEY_SET_ID));
+        given(mediaDrm.queryKeyStatus(SESSION_ID.asBytes()))
+                .willReturn(Collections.singletonMap("LicenseDurationRemaining", remainingDurationInSeconds));
+    }
+}
@@ -15,6 +15,7 @@ import com.google.android.exoplayer2.drm.KeysExpiredException;
 import com.google.android.exoplayer2.drm.UnsupportedDrmException;
 import com.google.android.exoplayer2.mediacodec.MediaCodecRenderer;
 import com.google.android.exoplayer2.offline.DownloadException;
+import com.google.android.exoplayer2.source.BehindLiveWindowException;
 import com.google.android.exoplayer2.source.ClippingMediaSource;
 import com.google.android.exoplayer2.source.MergingMediaSource;
 import com.google.android.exoplayer2.source.ads.AdsMediaSource;
@@ -53,6 +54,7 @@ import static com.novoda.noplayer.DetailErrorType.AUDIO_SINK_CONFIGURATION_ERROR
 import static com.novoda.noplayer.DetailErrorType.AUDIO_SINK_INITIALISATION_ERROR;
 import static com.novoda.noplayer.DetailErrorType.AUDIO_SINK_WRITE_ERROR;
 import static com.novoda.noplayer.DetailErrorType.AUDIO_UNHANDLED_FORMAT_ERROR;
+import static com.novoda.noplayer.DetailErrorType.BEHIND_LIVE_WINDOW_ERROR;
 import static com.novoda.noplayer.DetailErrorType.CACHE_WRITING_DATA_ERROR;
 import static com.novoda.noplayer.DetailErrorType.CLIPPING_MEDIA_SOURCE_CANNOT_CLIP_WRAPPED_SOURCE_INVALID_PERIOD_COUNT;
 import static com.novoda.noplayer.DetailErrorType.CLIPPING_MEDIA_SOURCE_CANNOT_CLIP_WRAPPED_SOURCE_NOT_SEEKABLE_TO_START;
@@ -105,6 +107,7 @@ public class ExoPlayerErrorMapperTest {
                 new Object[]{SOURCE, READING_LOCAL_FILE_ERROR, createSource(new FileDataSource.FileDataSourceException(new IOException()))},
                 new Object[]{SOURCE, UNEXPECTED_LOADING_ERROR, createSource(new Loader.UnexpectedLoaderException(new Throwable()))},
                 new Object[]{SOURCE, LIVE_STALE_MANIFEST_AND_NEW_MANIFEST_COULD_NOT_LOAD_ERROR, createSource(new DashManifestStaleException())},
+                new Object[]{SOURCE, BEHIND_LIVE_WINDOW_ERROR, createSource(new BehindLiveWindowException())},
                 new Object[]{SOURCE, DOWNLOAD_ERROR, createSource(new DownloadException("download-exception"))},
                 new Object[]{SOURCE, AD_LOAD_ERROR_THEN_WILL_SKIP, createSource(AdsMediaSource.AdLoadException.createForAd(new Exception()))},
                 new Object[]{SOURCE, AD_GROUP_LOAD_ERROR_THEN_WILL_SKIP, createSource(AdsMediaSource.AdLoadException.createForAdGroup(new Exception(), 0))},
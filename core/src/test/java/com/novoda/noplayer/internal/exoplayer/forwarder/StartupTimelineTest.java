@@ -0,0 +1,149 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.utils.Optional;
+import com.novoda.noplayer.model.DrmStartupReport;
+import com.novoda.noplayer.model.StartupReport;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class StartupTimelineTest {
+
+    private static final long LOAD_STARTED_AT = 1000;
+    private static final long PLAYER_CREATED_AT = 1050;
+    private static final long MANIFEST_LOADED_AT = 1300;
+    private static final long LOADED_AFTER_PRELOAD_AT = 1500;
+    private static final long SEGMENT_LOADED_AT = 1600;
+    private static final long DRM_SESSION_REQUESTED_AT = 1350;
+    private static final long DRM_SESSION_OPENED_AT = 1400;
+    private static final long DRM_LICENSE_ACQUIRED_AT = 1650;
+    private static final long DECODER_INITIALISED_AT = 1700;
+    private static final long FIRST_FRAME_RENDERED_AT = 1800;
+    private static final long SECOND_SEGMENT_LOADED_AT = 1900;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private NoPlayer.StartupListener startupListener;
+
+    private StartupTimeline startupTimeline;
+
+    @Before
+    public void setUp() {
+        startupTimeline = new StartupTimeline(clock, startupListener);
+    }
+
+    @Test
+    public void givenAllPhasesHappen_whenFirstFrameIsRendered_thenReportsTimeOfEachPhaseSinceStart() {
+        givenCurrentTime(LOAD_STARTED_AT);
+        startupTimeline.start();
+        givenCurrentTime(PLAYER_CREATED_AT);
+        startupTimeline.markPlayerCreated();
+        givenCurrentTime(MANIFEST_LOADED_AT);
+        startupTimeline.markManifestLoaded();
+        givenCurrentTime(SEGMENT_LOADED_AT);
+        startupTimeline.markSegmentLoaded();
+        givenCurrentTime(SECOND_SEGMENT_LOADED_AT);
+        startupTimeline.markSegmentLoaded();
+        givenCurrentTime(DECODER_INITIALISED_AT);
+        startupTimeline.markDecoderInitialised();
+        givenCurrentTime(FIRST_FRAME_RENDERED_AT);
+
+        startupTimeline.markFirstFrameRendered();
+
+        verify(startupListener).onStartupCompleted(new StartupReport(
+                Optional.of(PLAYER_CREATED_AT - LOAD_STARTED_AT),
+                Optional.of(MANIFEST_LOADED_AT - LOAD_STARTED_AT),
+                Optional.of(SEGMENT_LOADED_AT - LOAD_STARTED_AT),
+                DrmStartupReport.none(),
+                Optional.of(DECODER_INITIALISED_AT - LOAD_STARTED_AT),
+                FIRST_FRAME_RENDERED_AT - LOAD_STARTED_AT
+        ));
+    }
+
+    @Test
+    public void givenDrmContent_whenFirstFrameIsRendered_thenReportsTimeOfEachDrmPhaseSinceStart() {
+        givenCurrentTime(LOAD_STARTED_AT);
+        startupTimeline.start();
+        givenCurrentTime(DRM_SESSION_REQUESTED_AT);
+        startupTimeline.markDrmSessionRequested();
+        givenCurrentTime(DRM_SESSION_OPENED_AT);
+        startupTimeline.markDrmSessionOpened();
+        givenCurrentTime(DRM_LICENSE_ACQUIRED_AT);
+        startupTimeline.markDrmSessionOpened();
+        startupTimeline.markDrmLicenseAcquired();
+        givenCurrentTime(FIRST_FRAME_RENDERED_AT);
+
+        startupTimeline.markFirstFrameRendered();
+
+        ArgumentCaptor<StartupReport> startupReport = ArgumentCaptor.forClass(StartupReport.class);
+        verify(startupListener).onStartupCompleted(startupReport.capture());
+        assertThat(startupReport.getValue().drmSessionRequestedInMillis()).isEqualTo(Optional.of(DRM_SESSION_REQUESTED_AT - LOAD_STARTED_AT));
+        assertThat(startupReport.getValue().drmSessionOpenedInMillis()).isEqualTo(Optional.of(DRM_SESSION_OPENED_AT - LOAD_STARTED_AT));
+        assertThat(startupReport.getValue().drmLicenseAcquiredInMillis()).isEqualTo(Optional.of(DRM_LICENSE_ACQUIRED_AT - LOAD_STARTED_AT));
+    }
+
+    @Test
+    public void givenPreloaded_whenRestartingAtLoad_thenReportsPhasesSinceLoadAndPhasesCompletedBeforeAsZero() {
+        givenCurrentTime(LOAD_STARTED_AT);
+        startupTimeline.start();
+        givenCurrentTime(PLAYER_CREATED_AT);
+        startupTimeline.markPlayerCreated();
+        givenCurrentTime(MANIFEST_LOADED_AT);
+        startupTimeline.markManifestLoaded();
+        givenCurrentTime(LOADED_AFTER_PRELOAD_AT);
+        startupTimeline.restartAtLoad();
+        givenCurrentTime(SEGMENT_LOADED_AT);
+        startupTimeline.markSegmentLoaded();
+        givenCurrentTime(FIRST_FRAME_RENDERED_AT);
+
+        startupTimeline.markFirstFrameRendered();
+
+        verify(startupListener).onStartupCompleted(new StartupReport(
+                Optional.of(0L),
+                Optional.of(0L),
+                Optional.of(SEGMENT_LOADED_AT - LOADED_AFTER_PRELOAD_AT),
+                DrmStartupReport.none(),
+                Optional.<Long>absent(),
+                FIRST_FRAME_RENDERED_AT - LOADED_AFTER_PRELOAD_AT
+        ));
+    }
+
+    @Test
+    public void givenNotStarted_whenFirstFrameIsRendered_thenDoesNotReport() {
+        startupTimeline.markFirstFrameRendered();
+
+        verify(startupListener, never()).onStartupCompleted(any(StartupReport.class));
+    }
+
+    @Test
+    public void givenReported_whenFirstFrameIsRenderedAgain_thenDoesNotReportAgain() {
+        startupTimeline.start();
+        startupTimeline.markFirstFrameRendered();
+
+        startupTimeline.markFirstFrameRendered();
+
+        verify(startupListener, times(1)).onStartupCompleted(any(StartupReport.class));
+    }
+
+    private void givenCurrentTime(long currentTimeInMillis) {
+        given(clock.getCurrentTime()).willReturn(currentTimeInMillis);
+    }
+}
@@ -0,0 +1,58 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.ParserException;
+import com.novoda.noplayer.RetryPolicy;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class BackoffLoadErrorHandlingPolicyTest {
+
+    private static final int ANY_DATA_TYPE = C.DATA_TYPE_MEDIA;
+    private static final long ANY_LOAD_DURATION = 100;
+    private static final int MAX_RETRIES = 5;
+    private static final long INITIAL_BACKOFF_IN_MILLIS = 500;
+    private static final long MAX_BACKOFF_IN_MILLIS = 3000;
+
+    private final BackoffLoadErrorHandlingPolicy policy = new BackoffLoadErrorHandlingPolicy(
+            RetryPolicy.DEFAULT
+                    .withMaxRetries(MAX_RETRIES)
+                    .withBackoff(INITIAL_BACKOFF_IN_MILLIS, MAX_BACKOFF_IN_MILLIS)
+    );
+
+    @Test
+    public void whenGettingMinimumRetryCount_thenReturnsMaxRetries() {
+        int retryCount = policy.getMinimumLoadableRetryCount(ANY_DATA_TYPE);
+
+        assertThat(retryCount).isEqualTo(MAX_RETRIES);
+    }
+
+    @Test
+    public void givenConsecutiveErrors_whenGettingRetryDelay_thenDoublesDelay() {
+        IOException exception = new IOException("connection reset");
+
+        long firstDelay = policy.getRetryDelayMsFor(ANY_DATA_TYPE, ANY_LOAD_DURATION, exception, 1);
+        long secondDelay = policy.getRetryDelayMsFor(ANY_DATA_TYPE, ANY_LOAD_DURATION, exception, 2);
+
+        assertThat(firstDelay).isEqualTo(INITIAL_BACKOFF_IN_MILLIS);
+        assertThat(secondDelay).isEqualTo(2 * INITIAL_BACKOFF_IN_MILLIS);
+    }
+
+    @Test
+    public void givenManyErrors_whenGettingRetryDelay_thenCapsDelay() {
+        long delay = policy.getRetryDelayMsFor(ANY_DATA_TYPE, ANY_LOAD_DURATION, new IOException("connection reset"), 40);
+
+        assertThat(delay).isEqualTo(MAX_BACKOFF_IN_MILLIS);
+    }
+
+    @Test
+    public void givenParsingError_whenGettingRetryDelay_thenDoesNotRetry() {
+        long delay = policy.getRetryDelayMsFor(ANY_DATA_TYPE, ANY_LOAD_DURATION, new ParserException("malformed"), 1);
+
+        assertThat(delay).isEqualTo(C.TIME_UNSET);
+    }
+}
@@ -1,14 +1,12 @@
 package com.novoda.noplayer.internal.exoplayer.mediasource;
 
 import com.google.android.exoplayer2.Format;
-import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.source.TrackGroup;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.TrackSelection;
 import com.novoda.noplayer.ContentType;
 import com.novoda.noplayer.internal.exoplayer.RendererTypeRequester;
-import com.novoda.noplayer.internal.utils.Optional;
 import com.novoda.noplayer.model.PlayerVideoTrack;
 
 import org.junit.Before;
@@ -68,8 +66,6 @@ public class ExoPlayerVideoTrackSelectorTest {
     private TrackSelection.Factory trackSelectionFactory;
     @Mock
     private RendererTypeRequester rendererTypeRequester;
-    @Mock
-    private SimpleExoPlayer exoPlayer;
 
     private ExoPlayerVideoTrackSelector exoPlayerVideoTrackSelector;
 
@@ -98,26 +94,6 @@ public class ExoPlayerVideoTrackSelectorTest {
         assertThat(actualVideoTracks).isEqualTo(EXPECTED_TRACKS);
     }
 
-    @Test
-    public void givenTrackSelector_whenGettingCurrentlySelectedVideoTrack_thenReturnsSelectedTrack() {
-        givenTrackSelectorContainsTracks();
-        given(exoPlayer.getVideoFormat()).willReturn(ADDITIONAL_VIDEO_FORMAT);
-
-        Optional<PlayerVideoTrack> selectedVideoTrack = exoPlayerVideoTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester, ContentType.HLS);
-
-        assertThat(selectedVideoTrack).isEqualTo(Optional.of(ADDITIONAL_PLAYER_VIDEO_TRACK));
-    }
-
-    @Test
-    public void givenNoCurrentlySelectedTrack_whenGettingCurrentlySelectedVideoTrack_thenReturnsAbsent() {
-        givenTrackSelectorContainsTracks();
-        given(exoPlayer.getVideoFormat()).willReturn(null);
-
-        Optional<PlayerVideoTrack> selectedVideoTrack = exoPlayerVideoTrackSelector.getSelectedVideoTrack(exoPlayer, rendererTypeRequester, ContentType.HLS);
-
-        assertThat(selectedVideoTrack).isEqualTo(Optional.<PlayerVideoTrack>absent());
-    }
-
     @Test
     public void givenTrackSelector_whenClearMaxVideoBitrate_thenClearsMaxVideoBitrate() {
         givenTrackSelectorContainsTracks();
@@ -0,0 +1,157 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.HttpDataSource;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class MirrorFailoverDataSourceTest {
+
+    private static final String ORIGIN = "https://cdn1.example.com";
+    private static final String MIRROR = "https://cdn2.example.com";
+    private static final String SEGMENT_PATH = "/video/segment-1.ts";
+    private static final long FAILOVER_LATENCY_IN_MILLIS = 1000;
+    private static final int FAILOVER_ERROR_COUNT = 1;
+    private static final long LENGTH = 1024;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private DataSource upstream;
+    @Mock
+    private Clock clock;
+    @Mock
+    private Uri originUri;
+    @Mock
+    private Uri mirrorUri;
+
+    private MirrorFailover mirrorFailover;
+    private MirrorFailoverDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        NoPlayerLog.setLoggingEnabled(false);
+        given(originUri.toString()).willReturn(ORIGIN + SEGMENT_PATH);
+        given(mirrorUri.toString()).willReturn(MIRROR + SEGMENT_PATH);
+        mirrorFailover = new MirrorFailover(Arrays.asList(ORIGIN, MIRROR), FAILOVER_LATENCY_IN_MILLIS, FAILOVER_ERROR_COUNT);
+        dataSource = new MirrorFailoverDataSource(upstream, mirrorFailover, clock) {
+            @Override
+            Uri parse(String url) {
+                return url.startsWith(MIRROR) ? mirrorUri : originUri;
+            }
+        };
+    }
+
+    @Test
+    public void givenOpeningOriginSucceeds_whenOpening_thenDoesNotFailOver() throws IOException {
+        given(upstream.open(requestTo(originUri))).willReturn(LENGTH);
+
+        long length = dataSource.open(new DataSpec(originUri));
+
+        assertThat(length).isEqualTo(LENGTH);
+        verify(upstream, never()).open(requestTo(mirrorUri));
+    }
+
+    @Test
+    public void givenOpeningOriginFails_whenOpening_thenRetriesOnNextMirror() throws IOException {
+        given(upstream.open(requestTo(originUri))).willThrow(responseCodeError(HTTP_SERVICE_UNAVAILABLE));
+        given(upstream.open(requestTo(mirrorUri))).willReturn(LENGTH);
+
+        long length = dataSource.open(new DataSpec(originUri));
+
+        assertThat(length).isEqualTo(LENGTH);
+        verify(upstream).open(requestTo(mirrorUri));
+    }
+
+    @Test
+    public void givenOpeningEveryMirrorFails_whenOpening_thenThrowsLastError() throws IOException {
+        IOException lastError = new IOException("mirror failed");
+        given(upstream.open(requestTo(originUri))).willThrow(new IOException("origin failed"));
+        given(upstream.open(requestTo(mirrorUri))).willThrow(lastError);
+
+        thrown.expect(sameInstance(lastError));
+
+        dataSource.open(new DataSpec(originUri));
+    }
+
+    @Test
+    public void givenContentIsNotFound_whenOpening_thenThrowsWithoutFailingOver() throws IOException {
+        IOException notFound = responseCodeError(HTTP_NOT_FOUND);
+        given(upstream.open(requestTo(originUri))).willThrow(notFound);
+
+        IOException error = openCatchingError();
+
+        assertThat(error).isSameAs(notFound);
+        verify(upstream, never()).open(requestTo(mirrorUri));
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenRangeIsNotSatisfiable_whenOpening_thenThrowsWithoutFailingOver() throws IOException {
+        IOException rangeNotSatisfiable = responseCodeError(HTTP_RANGE_NOT_SATISFIABLE);
+        given(upstream.open(requestTo(originUri))).willThrow(rangeNotSatisfiable);
+
+        IOException error = openCatchingError();
+
+        assertThat(error).isSameAs(rangeNotSatisfiable);
+        verify(upstream, never()).open(requestTo(mirrorUri));
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    private static DataSpec requestTo(final Uri uri) {
+        return argThat(new ArgumentMatcher<DataSpec>() {
+            @Override
+            public boolean matches(DataSpec dataSpec) {
+                return dataSpec != null && dataSpec.uri == uri;
+            }
+        });
+    }
+
+    private IOException openCatchingError() {
+        try {
+            dataSource.open(new DataSpec(originUri));
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    private IOException responseCodeError(int responseCode) {
+        return new HttpDataSource.InvalidResponseCodeException(
+                responseCode,
+                null,
+                Collections.<String, List<String>>emptyMap(),
+                new DataSpec(originUri)
+        );
+    }
+}
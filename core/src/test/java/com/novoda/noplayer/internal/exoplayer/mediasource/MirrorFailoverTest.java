@@ -0,0 +1,90 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.novoda.noplayer.internal.utils.NoPlayerLog;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class MirrorFailoverTest {
+
+    private static final String ORIGIN = "https://cdn1.example.com";
+    private static final String MIRROR = "https://cdn2.example.com";
+    private static final String SEGMENT_PATH = "/video/segment-1.ts";
+    private static final long FAILOVER_LATENCY_IN_MILLIS = 1000;
+    private static final int FAILOVER_ERROR_COUNT = 2;
+
+    private MirrorFailover mirrorFailover;
+
+    @Before
+    public void setUp() {
+        NoPlayerLog.setLoggingEnabled(false);
+        mirrorFailover = new MirrorFailover(Arrays.asList(ORIGIN, MIRROR), FAILOVER_LATENCY_IN_MILLIS, FAILOVER_ERROR_COUNT);
+    }
+
+    @Test
+    public void givenNoErrors_whenResolving_thenKeepsOrigin() {
+        String url = mirrorFailover.resolve(ORIGIN + SEGMENT_PATH);
+
+        assertThat(url).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenFewerErrorsThanThreshold_whenResolving_thenKeepsOrigin() {
+        boolean failedOver = mirrorFailover.onError();
+
+        assertThat(failedOver).isFalse();
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenConsecutiveErrorsReachThreshold_whenResolving_thenUsesNextMirror() {
+        mirrorFailover.onError();
+        boolean failedOver = mirrorFailover.onError();
+
+        assertThat(failedOver).isTrue();
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(MIRROR + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenFastResponseBetweenErrors_whenResolving_thenKeepsOrigin() {
+        mirrorFailover.onError();
+        mirrorFailover.onResponse(FAILOVER_LATENCY_IN_MILLIS);
+        mirrorFailover.onError();
+
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenConsecutiveSlowResponses_whenResolving_thenUsesNextMirror() {
+        mirrorFailover.onResponse(FAILOVER_LATENCY_IN_MILLIS + 1);
+        mirrorFailover.onResponse(FAILOVER_LATENCY_IN_MILLIS + 1);
+
+        assertThat(mirrorFailover.resolve(ORIGIN + SEGMENT_PATH)).isEqualTo(MIRROR + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenLastMirrorFails_whenResolving_thenGoesBackToOrigin() {
+        givenFailedOverTimes(2);
+
+        assertThat(mirrorFailover.resolve(MIRROR + SEGMENT_PATH)).isEqualTo(ORIGIN + SEGMENT_PATH);
+    }
+
+    @Test
+    public void givenUrlOfAnotherHost_whenResolving_thenKeepsUrl() {
+        givenFailedOverTimes(1);
+
+        String url = mirrorFailover.resolve(ORIGIN + ".other.com" + SEGMENT_PATH);
+
+        assertThat(url).isEqualTo(ORIGIN + ".other.com" + SEGMENT_PATH);
+    }
+
+    private void givenFailedOverTimes(int times) {
+        for (int i = 0; i < times * FAILOVER_ERROR_COUNT; i++) {
+            mirrorFailover.onError();
+        }
+    }
+}
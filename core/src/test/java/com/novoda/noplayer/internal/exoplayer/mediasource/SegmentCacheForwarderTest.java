@@ -0,0 +1,110 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.os.Handler;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.novoda.noplayer.NoPlayer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.will;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class SegmentCacheForwarderTest {
+
+    private static final boolean IS_NETWORK = true;
+    private static final long ANY_CACHE_SIZE = 4096;
+    private static final long CACHED_BYTES_READ = 1024;
+    private static final int BYTES_TRANSFERRED = 512;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Handler handler;
+    @Mock
+    private NoPlayer.SegmentCacheListener segmentCacheListener;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private DataSource otherDataSource;
+    @Mock
+    private DataSpec dataSpec;
+    @Mock
+    private DataSource.Factory upstreamDataSourceFactory;
+
+    private SegmentCacheForwarder forwarder;
+
+    @Before
+    public void setUp() {
+        will(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                Runnable runnable = invocation.getArgument(0);
+                runnable.run();
+                return null;
+            }
+        }).given(handler).post(any(Runnable.class));
+
+        forwarder = new SegmentCacheForwarder(handler, segmentCacheListener);
+    }
+
+    @Test
+    public void whenBytesAreReadFromCache_thenNotifiesCacheHit() {
+        forwarder.onCachedBytesRead(ANY_CACHE_SIZE, CACHED_BYTES_READ);
+
+        verify(segmentCacheListener).onCacheHit(CACHED_BYTES_READ);
+    }
+
+    @Test
+    public void whenUpstreamTransferEnds_thenNotifiesCacheMissWithAllTransferredBytes() {
+        forwarder.onBytesTransferred(dataSource, dataSpec, IS_NETWORK, BYTES_TRANSFERRED);
+        forwarder.onBytesTransferred(dataSource, dataSpec, IS_NETWORK, BYTES_TRANSFERRED);
+
+        forwarder.onTransferEnd(dataSource, dataSpec, IS_NETWORK);
+
+        verify(segmentCacheListener).onCacheMiss(BYTES_TRANSFERRED * 2);
+    }
+
+    @Test
+    public void givenConcurrentTransfers_whenOneTransferEnds_thenNotifiesCacheMissWithItsBytesOnly() {
+        forwarder.onBytesTransferred(dataSource, dataSpec, IS_NETWORK, BYTES_TRANSFERRED);
+        forwarder.onBytesTransferred(otherDataSource, dataSpec, IS_NETWORK, BYTES_TRANSFERRED * 3);
+        forwarder.onBytesTransferred(dataSource, dataSpec, IS_NETWORK, BYTES_TRANSFERRED);
+
+        forwarder.onTransferEnd(dataSource, dataSpec, IS_NETWORK);
+        forwarder.onTransferEnd(otherDataSource, dataSpec, IS_NETWORK);
+
+        verify(segmentCacheListener).onCacheMiss(BYTES_TRANSFERRED * 2);
+        verify(segmentCacheListener).onCacheMiss(BYTES_TRANSFERRED * 3);
+    }
+
+    @Test
+    public void givenNoBytesTransferred_whenUpstreamTransferEnds_thenDoesNotNotify() {
+        forwarder.onTransferEnd(dataSource, dataSpec, IS_NETWORK);
+
+        verifyZeroInteractions(segmentCacheListener);
+    }
+
+    @Test
+    public void whenCreatingUpstreamDataSource_thenListensToItsTransfers() {
+        given(upstreamDataSourceFactory.createDataSource()).willReturn(dataSource);
+
+        DataSource createdDataSource = forwarder.listenTo(upstreamDataSourceFactory).createDataSource();
+
+        assertThat(createdDataSource).isSameAs(dataSource);
+        verify(dataSource).addTransferListener(forwarder);
+    }
+}
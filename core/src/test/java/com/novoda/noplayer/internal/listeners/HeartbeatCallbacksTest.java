@@ -0,0 +1,100 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HeartbeatCallbacksTest {
+
+    private static final long SHORT_INTERVAL_IN_MILLIS = 500;
+    private static final long LONG_INTERVAL_IN_MILLIS = 2000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private NoPlayer player;
+    @Mock
+    private NoPlayer.HeartbeatCallback frequentCallback;
+    @Mock
+    private NoPlayer.HeartbeatCallback infrequentCallback;
+    @Mock
+    private HeartbeatCallbacks.CallbackRegisteredListener callbackRegisteredListener;
+
+    private HeartbeatCallbacks heartbeatCallbacks;
+
+    @Before
+    public void setUp() {
+        heartbeatCallbacks = new HeartbeatCallbacks(clock);
+    }
+
+    @Test
+    public void givenNoCallbacks_thenHasNoInterval() {
+        assertThat(heartbeatCallbacks.shortestIntervalInMillis()).isEqualTo(HeartbeatCallbacks.NO_INTERVAL);
+    }
+
+    @Test
+    public void givenLastCallbackIsUnregistered_thenHasNoInterval() {
+        heartbeatCallbacks.registerCallback(frequentCallback, SHORT_INTERVAL_IN_MILLIS);
+
+        heartbeatCallbacks.unregisterCallback(frequentCallback);
+
+        assertThat(heartbeatCallbacks.shortestIntervalInMillis()).isEqualTo(HeartbeatCallbacks.NO_INTERVAL);
+    }
+
+    @Test
+    public void givenCallbackRegisteredListener_whenRegisteringCallback_thenNotifiesListener() {
+        heartbeatCallbacks.setCallbackRegisteredListener(callbackRegisteredListener);
+
+        heartbeatCallbacks.registerCallback(frequentCallback, SHORT_INTERVAL_IN_MILLIS);
+
+        verify(callbackRegisteredListener).onCallbackRegistered();
+    }
+
+    @Test
+    public void givenCallbacksWithDifferentIntervals_thenShortestIntervalIsTheShortestOfThem() {
+        heartbeatCallbacks.registerCallback(infrequentCallback, LONG_INTERVAL_IN_MILLIS);
+        heartbeatCallbacks.registerCallback(frequentCallback, SHORT_INTERVAL_IN_MILLIS);
+
+        assertThat(heartbeatCallbacks.shortestIntervalInMillis()).isEqualTo(SHORT_INTERVAL_IN_MILLIS);
+    }
+
+    @Test
+    public void givenCallbacksWithDifferentIntervals_whenBeatingAtShortestInterval_thenNotifiesEachCallbackAtItsInterval() {
+        heartbeatCallbacks.registerCallback(frequentCallback, SHORT_INTERVAL_IN_MILLIS);
+        heartbeatCallbacks.registerCallback(infrequentCallback, LONG_INTERVAL_IN_MILLIS);
+
+        for (long currentTime = 0; currentTime <= LONG_INTERVAL_IN_MILLIS; currentTime += SHORT_INTERVAL_IN_MILLIS) {
+            given(clock.getCurrentTime()).willReturn(currentTime);
+            heartbeatCallbacks.onBeat(player);
+        }
+
+        verify(frequentCallback, times(5)).onBeat(player);
+        verify(infrequentCallback, times(2)).onBeat(player);
+    }
+
+    @Test
+    public void givenBeatIsSlightlyEarly_whenBeating_thenStillNotifiesCallback() {
+        heartbeatCallbacks.registerCallback(frequentCallback, SHORT_INTERVAL_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(0L);
+        heartbeatCallbacks.onBeat(player);
+
+        given(clock.getCurrentTime()).willReturn(SHORT_INTERVAL_IN_MILLIS - 10);
+        heartbeatCallbacks.onBeat(player);
+
+        verify(frequentCallback, times(2)).onBeat(player);
+    }
+}
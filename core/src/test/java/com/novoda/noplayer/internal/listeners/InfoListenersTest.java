@@ -0,0 +1,128 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.model.InfoEvent;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+public class InfoListenersTest {
+
+    private static final String ANY_METHOD = "onLoadStarted";
+    private static final String ANY_PARAMETER = "windowIndex";
+    private static final int ANY_VALUE = 42;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private NoPlayer.InfoListener infoListener;
+    @Mock
+    private NoPlayer.InfoEventListener infoEventListener;
+
+    private InfoListeners infoListeners;
+
+    @Before
+    public void setUp() {
+        infoListeners = new InfoListeners();
+    }
+
+    @Test
+    public void givenNoListeners_whenCheckingForListeners_thenReturnsFalse() {
+        assertThat(infoListeners.hasListeners()).isFalse();
+    }
+
+    @Test
+    public void givenInfoListener_whenCheckingForListeners_thenReturnsTrue() {
+        infoListeners.add(infoListener);
+
+        assertThat(infoListeners.hasListeners()).isTrue();
+    }
+
+    @Test
+    public void givenInfoEventListener_whenCheckingForListeners_thenReturnsTrue() {
+        infoListeners.add(infoEventListener);
+
+        assertThat(infoListeners.hasListeners()).isTrue();
+    }
+
+    @Test
+    public void givenListenersAreCleared_whenCheckingForListeners_thenReturnsFalse() {
+        infoListeners.add(infoListener);
+        infoListeners.add(infoEventListener);
+
+        infoListeners.clear();
+
+        assertThat(infoListeners.hasListeners()).isFalse();
+    }
+
+    @Test
+    public void givenInfoEventListener_whenNotifyingInfoEvent_thenForwardsUnformattedValues() {
+        infoListeners.add(infoEventListener);
+        InfoEvent infoEvent = InfoEvent.create(ANY_METHOD, ANY_PARAMETER, ANY_VALUE);
+
+        infoListeners.onInfoEvent(infoEvent);
+
+        ArgumentCaptor<InfoEvent> argumentCaptor = ArgumentCaptor.forClass(InfoEvent.class);
+        verify(infoEventListener).onInfoEvent(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().parameter(ANY_PARAMETER)).isEqualTo(ANY_VALUE);
+    }
+
+    @Test
+    public void givenInfoListener_whenNotifyingInfoEvent_thenForwardsFormattedParameters() {
+        infoListeners.add(infoListener);
+
+        infoListeners.onInfoEvent(InfoEvent.create(ANY_METHOD, ANY_PARAMETER, ANY_VALUE));
+
+        verify(infoListener).onNewInfo(ANY_METHOD, Collections.singletonMap(ANY_PARAMETER, String.valueOf(ANY_VALUE)));
+    }
+
+    @Test
+    public void givenInfoListener_whenNotifyingInfoEventWithNullValue_thenForwardsNullAsString() {
+        infoListeners.add(infoListener);
+
+        infoListeners.onInfoEvent(InfoEvent.create(ANY_METHOD, ANY_PARAMETER, null));
+
+        verify(infoListener).onNewInfo(ANY_METHOD, Collections.singletonMap(ANY_PARAMETER, "null"));
+    }
+
+    @Test
+    public void givenInfoEventListener_whenNotifyingNewInfo_thenForwardsInfoEvent() {
+        infoListeners.add(infoEventListener);
+        Map<String, String> parameters = Collections.singletonMap(ANY_PARAMETER, String.valueOf(ANY_VALUE));
+
+        infoListeners.onNewInfo(ANY_METHOD, parameters);
+
+        ArgumentCaptor<InfoEvent> argumentCaptor = ArgumentCaptor.forClass(InfoEvent.class);
+        verify(infoEventListener).onInfoEvent(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().callingMethod()).isEqualTo(ANY_METHOD);
+        assertThat(argumentCaptor.getValue().parameters()).isEqualTo(parameters);
+    }
+
+    @Test
+    public void givenOnlyInfoEventListener_whenNotifyingInfoEvent_thenDoesNotFormatParameters() {
+        infoListeners.add(infoEventListener);
+        Object parameterValue = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Parameters should not be formatted");
+            }
+        };
+
+        infoListeners.onInfoEvent(InfoEvent.create(ANY_METHOD, ANY_PARAMETER, parameterValue));
+
+        verify(infoEventListener).onInfoEvent(any(InfoEvent.class));
+    }
+}
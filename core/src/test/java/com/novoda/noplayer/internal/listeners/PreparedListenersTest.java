@@ -0,0 +1,63 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerState;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PreparedListenersTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private NoPlayer.PreparedListener preparedListener;
+    @Mock
+    private PlayerState playerState;
+
+    private PreparedListeners preparedListeners;
+
+    @Before
+    public void setUp() {
+        preparedListeners = new PreparedListeners();
+        preparedListeners.add(preparedListener);
+    }
+
+    @Test
+    public void givenDeferred_whenCallingOnPrepared_thenDoesNotNotify() {
+        preparedListeners.defer();
+
+        preparedListeners.onPrepared(playerState);
+
+        verify(preparedListener, never()).onPrepared(playerState);
+    }
+
+    @Test
+    public void givenDeferredPreparation_whenResuming_thenNotifiesOnPrepared() {
+        preparedListeners.defer();
+        preparedListeners.onPrepared(playerState);
+
+        preparedListeners.resume();
+
+        verify(preparedListener).onPrepared(playerState);
+    }
+
+    @Test
+    public void givenDeferredPreparation_whenResettingState_thenResumingDoesNothing() {
+        preparedListeners.defer();
+        preparedListeners.onPrepared(playerState);
+        preparedListeners.resetPreparedState();
+
+        preparedListeners.resume();
+
+        verify(preparedListener, never()).onPrepared(playerState);
+    }
+}
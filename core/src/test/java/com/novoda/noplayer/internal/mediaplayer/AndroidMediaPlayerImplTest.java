@@ -13,13 +13,16 @@ import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerSurfaceHolder;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceRequester;
+import com.novoda.noplayer.internal.Clock;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
 import com.novoda.noplayer.internal.utils.NoPlayerLog;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.Either;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.PlaybackSnapshot;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerAudioTrackFixture;
 import com.novoda.noplayer.model.Timeout;
@@ -47,6 +50,7 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(Enclosed.class)
@@ -96,7 +100,7 @@ public class AndroidMediaPlayerImplTest {
             player.initialise();
 
             ArgumentCaptor<NoPlayer.PreparedListener> preparedListenerCaptor = ArgumentCaptor.forClass(NoPlayer.PreparedListener.class);
-            verify(listenersHolder).addPreparedListener(preparedListenerCaptor.capture());
+            verify(listenersHolder, times(2)).addPreparedListener(preparedListenerCaptor.capture());
 
             NoPlayer.PreparedListener preparedListener = preparedListenerCaptor.getValue();
             preparedListener.onPrepared(player);
@@ -104,6 +108,22 @@ public class AndroidMediaPlayerImplTest {
             verify(loadTimeout).cancel();
         }
 
+        @Test
+        public void whenInitialising_thenPublishesPlaybackSnapshotsOnHeartbeats() {
+            player.initialise();
+
+            verify(listenersHolder).addHeartbeatCallback(any(PlaybackSnapshotPublisher.class));
+        }
+
+        @Test
+        public void givenNoVideoLoaded_whenGettingPlaybackSnapshot_thenReturnsIdleSnapshot() {
+            player.initialise();
+
+            PlaybackSnapshot playbackSnapshot = player.getPlaybackSnapshot();
+
+            assertThat(playbackSnapshot.state()).isEqualTo(PlaybackSnapshot.State.IDLE);
+        }
+
         @Test
         public void whenInitialising_thenBindsHeart() {
             player.initialise();
@@ -115,7 +135,7 @@ public class AndroidMediaPlayerImplTest {
         public void givenInitialised_whenCallingOnPrepared_thenSetsOnSeekCompleteListener() {
             player.initialise();
             ArgumentCaptor<NoPlayer.PreparedListener> preparedListenerCaptor = ArgumentCaptor.forClass(NoPlayer.PreparedListener.class);
-            verify(listenersHolder).addPreparedListener(preparedListenerCaptor.capture());
+            verify(listenersHolder, times(2)).addPreparedListener(preparedListenerCaptor.capture());
 
             NoPlayer.PreparedListener preparedListener = preparedListenerCaptor.getValue();
             preparedListener.onPrepared(player);
@@ -373,6 +393,7 @@ public class AndroidMediaPlayerImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
+            verify(heart).release();
             verify(mediaPlayer).release();
             verify(listenersHolder).clear();
         }
@@ -404,6 +425,7 @@ public class AndroidMediaPlayerImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
+            verify(heart).release();
             verify(mediaPlayer).release();
             verify(containerView).setVisibility(View.GONE);
             verify(listenersHolder).clear();
@@ -670,6 +692,8 @@ public class AndroidMediaPlayerImplTest {
         @Mock
         Heart heart;
         @Mock
+        Clock clock;
+        @Mock
         DelayedActionExecutor delayedActionExecutor;
         @Mock
         BuggyVideoDriverPreventer buggyVideoDriverPreventer;
@@ -684,7 +708,7 @@ public class AndroidMediaPlayerImplTest {
         @Mock
         NoPlayer.VideoSizeChangedListener videoSizeChangedListener;
         @Mock
-        NoPlayer.InfoListener infoListener;
+        InfoListeners infoListener;
         @Mock
         NoPlayer.StateChangedListener stateChangedListener;
         @Mock
@@ -751,7 +775,8 @@ public class AndroidMediaPlayerImplTest {
                     loadTimeout,
                     heart,
                     delayedActionExecutor,
-                    buggyVideoDriverPreventer
+                    buggyVideoDriverPreventer,
+                    clock
             );
         }
     }
@@ -0,0 +1,94 @@
+package com.novoda.noplayer.model;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class PlaybackSnapshotTest {
+
+    private static final long CAPTURED_AT_IN_MILLIS = 10000;
+    private static final long POSITION_IN_MILLIS = 5000;
+    private static final long BUFFERED_POSITION_IN_MILLIS = 8000;
+    private static final long DURATION_IN_MILLIS = 9000;
+    private static final long UNKNOWN_DURATION = -1;
+    private static final Bitrate ANY_BITRATE = Bitrate.fromBitsPerSecond(1000000);
+
+    @Test
+    public void givenPlaying_whenExtrapolatingPosition_thenAddsTimeElapsedSinceCapture() {
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS + 250);
+
+        assertThat(positionInMillis).isEqualTo(POSITION_IN_MILLIS + 250);
+    }
+
+    @Test
+    public void givenPaused_whenExtrapolatingPosition_thenReturnsCapturedPosition() {
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PAUSED, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS + 250);
+
+        assertThat(positionInMillis).isEqualTo(POSITION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenPlaying_whenExtrapolatingPositionPastBufferedPosition_thenReturnsBufferedPosition() {
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS + 5000);
+
+        assertThat(positionInMillis).isEqualTo(BUFFERED_POSITION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenPlayingWithUnknownDuration_whenExtrapolatingPosition_thenIsOnlyLimitedByBufferedPosition() {
+        long bufferedPositionInMillis = 20000;
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, bufferedPositionInMillis, UNKNOWN_DURATION);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS + 5000);
+
+        assertThat(positionInMillis).isEqualTo(POSITION_IN_MILLIS + 5000);
+    }
+
+    @Test
+    public void givenPlaying_whenExtrapolatingPositionPastDuration_thenReturnsDuration() {
+        long bufferedPositionInMillis = 20000;
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, bufferedPositionInMillis, DURATION_IN_MILLIS);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS + 5000);
+
+        assertThat(positionInMillis).isEqualTo(DURATION_IN_MILLIS);
+    }
+
+    @Test
+    public void givenPlaying_whenExtrapolatingPositionToBeforeCapture_thenReturnsCapturedPosition() {
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+
+        long positionInMillis = snapshot.positionInMillisAt(CAPTURED_AT_IN_MILLIS - 250);
+
+        assertThat(positionInMillis).isEqualTo(POSITION_IN_MILLIS);
+    }
+
+    @Test
+    public void whenChangingBitrates_thenKeepsCaptureTime() {
+        PlaybackSnapshot snapshot = snapshot(PlaybackSnapshot.State.PLAYING, BUFFERED_POSITION_IN_MILLIS, DURATION_IN_MILLIS);
+        Bitrate videoBitrate = Bitrate.fromBitsPerSecond(2000000);
+
+        PlaybackSnapshot snapshotWithBitrates = snapshot.withBitrates(ANY_BITRATE, videoBitrate);
+
+        assertThat(snapshotWithBitrates.videoBitrate()).isEqualTo(videoBitrate);
+        assertThat(snapshotWithBitrates.capturedAtInMillis()).isEqualTo(CAPTURED_AT_IN_MILLIS);
+    }
+
+    private static PlaybackSnapshot snapshot(PlaybackSnapshot.State state, long bufferedPositionInMillis, long durationInMillis) {
+        return new PlaybackSnapshot(
+                state,
+                POSITION_IN_MILLIS,
+                bufferedPositionInMillis,
+                durationInMillis,
+                ANY_BITRATE,
+                ANY_BITRATE,
+                CAPTURED_AT_IN_MILLIS
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.novoda.noplayer.model;
+
+import com.novoda.noplayer.internal.utils.Optional;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class PlaybackStatsTest {
+
+    private static final long PLAYING_DURATION_IN_MILLIS = 120000;
+    private static final long STALL_DURATION_IN_MILLIS = 30000;
+    private static final Bitrate AVERAGE_VIDEO_BITRATE = Bitrate.fromBitsPerSecond(2000000);
+
+    @Test
+    public void whenCalculatingRebufferRatio_thenReturnsShareOfTimeSpentStalled() {
+        PlaybackStats stats = stats(Optional.of(500L), PLAYING_DURATION_IN_MILLIS, STALL_DURATION_IN_MILLIS, 0);
+
+        assertThat(stats.rebufferRatio()).isEqualTo(0.2);
+    }
+
+    @Test
+    public void givenNothingWatched_whenCalculatingRebufferRatio_thenReturnsZero() {
+        PlaybackStats stats = PlaybackStats.empty();
+
+        assertThat(stats.rebufferRatio()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void whenCalculatingDroppedFramesPerMinute_thenDividesDroppedFramesByMinutesPlayed() {
+        PlaybackStats stats = stats(Optional.of(500L), PLAYING_DURATION_IN_MILLIS, STALL_DURATION_IN_MILLIS, 30);
+
+        assertThat(stats.droppedFramesPerMinute()).isEqualTo(15.0);
+    }
+
+    @Test
+    public void givenNothingPlayed_whenCalculatingDroppedFramesPerMinute_thenReturnsZero() {
+        PlaybackStats stats = stats(Optional.<Long>absent(), 0, 0, 30);
+
+        assertThat(stats.droppedFramesPerMinute()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void givenJoined_whenConvertingToMap_thenContainsEveryStatistic() {
+        PlaybackStats stats = stats(Optional.of(500L), PLAYING_DURATION_IN_MILLIS, STALL_DURATION_IN_MILLIS, 30);
+
+        Map<String, String> map = stats.toMap();
+
+        assertThat(map).hasSize(10);
+        assertThat(map.get("join_time_ms")).isEqualTo("500");
+        assertThat(map.get("rebuffer_ratio")).isEqualTo("0.2");
+        assertThat(map.get("average_video_bitrate_kbps")).isEqualTo("2000");
+        assertThat(map.get("bytes_loaded")).isEqualTo("4096");
+    }
+
+    @Test
+    public void givenNotJoined_whenConvertingToMap_thenLeavesOutJoinTime() {
+        PlaybackStats stats = stats(Optional.<Long>absent(), 0, 0, 0);
+
+        Map<String, String> map = stats.toMap();
+
+        assertThat(map).hasSize(9);
+        assertThat(map.containsKey("join_time_ms")).isFalse();
+    }
+
+    private static PlaybackStats stats(Optional<Long> joinTimeInMillis,
+                                       long playingDurationInMillis,
+                                       long stallDurationInMillis,
+                                       int droppedFrames) {
+        return new PlaybackStats(joinTimeInMillis, playingDurationInMillis, 2, stallDurationInMillis, new VideoQualityStats(AVERAGE_VIDEO_BITRATE, 3, droppedFrames), 4096);
+    }
+}